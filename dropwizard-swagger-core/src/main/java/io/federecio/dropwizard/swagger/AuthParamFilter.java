@@ -16,12 +16,10 @@ package io.federecio.dropwizard.swagger;
 
 import java.util.List;
 import java.util.Map;
-import io.swagger.core.filter.SwaggerSpecFilter;
+import io.swagger.core.filter.AbstractSpecFilter;
 import io.swagger.model.ApiDescription;
-import io.swagger.models.Model;
 import io.swagger.models.Operation;
 import io.swagger.models.parameters.Parameter;
-import io.swagger.models.properties.Property;
 
 /**
  * This SwaggerSpecFilter checks for the presence of an
@@ -32,14 +30,7 @@ import io.swagger.models.properties.Property;
  *
  * From: https://www.reonomy.com/augmenting-dropwizard-with-swagger/
  */
-public class AuthParamFilter implements SwaggerSpecFilter {
-    @Override
-    public boolean isOperationAllowed(Operation operation, ApiDescription api,
-            Map<String, List<String>> params, Map<String, String> cookies,
-            Map<String, List<String>> headers) {
-        return true;
-    }
-
+public class AuthParamFilter extends AbstractSpecFilter {
     @Override
     public boolean isParamAllowed(Parameter parameter, Operation operation,
             ApiDescription api, Map<String, List<String>> params,
@@ -49,11 +40,4 @@ public class AuthParamFilter implements SwaggerSpecFilter {
             return false;
         return true;
     }
-
-    @Override
-    public boolean isPropertyAllowed(Model model, Property property,
-            String propertyName, Map<String, List<String>> params,
-            Map<String, String> cookies, Map<String, List<String>> headers) {
-        return true;
-    }
 }
\ No newline at end of file
@@ -103,6 +103,43 @@ public class ConfigurationHelper {
         return uriPathPrefix + "/oauth2-redirect.html";
     }
 
+    /**
+     * Returns the path of the specification events, relative to the
+     * application context
+     */
+    public String getSwaggerEventsUriPath() {
+        final String jerseyRootPath = getJerseyRootPath();
+        final String uriPathPrefix = jerseyRootPath.equals("/") ? ""
+            : jerseyRootPath;
+        return uriPathPrefix + "/swagger/events";
+    }
+
+    /**
+     * Returns the servlet URL pattern of the mock of the API, relative to the
+     * application context
+     */
+    public String getSwaggerMockUrlPattern() {
+        final String jerseyRootPath = getJerseyRootPath();
+        final String uriPathPrefix = jerseyRootPath.equals("/") ? ""
+            : jerseyRootPath;
+        return uriPathPrefix + swaggerBundleConfiguration.getMockConfiguration()
+                .getPath() + "/*";
+    }
+
+    /**
+     * Returns the servlet URL patterns of every path mounted by the bundle,
+     * relative to the application context
+     */
+    public String[] getSwaggerPathPatterns() {
+        final String jerseyRootPath = getJerseyRootPath();
+        final String uriPathPrefix = jerseyRootPath.equals("/") ? ""
+            : jerseyRootPath;
+        return new String[] { uriPathPrefix + "/swagger.json",
+                uriPathPrefix + "/swagger.yaml", uriPathPrefix + "/swagger",
+                uriPathPrefix + "/swagger/*", getSwaggerUriPath() + "/*",
+                getOAuth2RedirectUriPath() };
+    }
+
     private String getApplicationContextPath() {
         final ServerFactory serverFactory = configuration.getServerFactory();
 
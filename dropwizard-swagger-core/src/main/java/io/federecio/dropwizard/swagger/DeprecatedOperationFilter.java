@@ -0,0 +1,33 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.List;
+import java.util.Map;
+import io.swagger.core.filter.AbstractSpecFilter;
+import io.swagger.model.ApiDescription;
+import io.swagger.models.Operation;
+
+/**
+ * This SwaggerSpecFilter hides the operations marked as deprecated, that is
+ * the resource methods annotated with {@link Deprecated}.
+ */
+public class DeprecatedOperationFilter extends AbstractSpecFilter {
+    @Override
+    public boolean isOperationAllowed(Operation operation, ApiDescription api,
+            Map<String, List<String>> params, Map<String, String> cookies,
+            Map<String, List<String>> headers) {
+        return !Boolean.TRUE.equals(operation.isDeprecated());
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import com.google.common.collect.ImmutableSet;
+import io.swagger.core.filter.AbstractSpecFilter;
+import io.swagger.model.ApiDescription;
+import io.swagger.models.Operation;
+
+/**
+ * This SwaggerSpecFilter hides the operations carrying any of the given
+ * tags. Tags no longer used by any operation are dropped from the
+ * specification as well.
+ */
+public class HiddenTagsFilter extends AbstractSpecFilter {
+
+    private final ImmutableSet<String> hiddenTags;
+
+    public HiddenTagsFilter(Collection<String> hiddenTags) {
+        this.hiddenTags = ImmutableSet.copyOf(hiddenTags);
+    }
+
+    @Override
+    public boolean isOperationAllowed(Operation operation, ApiDescription api,
+            Map<String, List<String>> params, Map<String, String> cookies,
+            Map<String, List<String>> headers) {
+        final List<String> tags = operation.getTags();
+        if (tags == null) {
+            return true;
+        }
+        for (String tag : tags) {
+            if (hiddenTags.contains(tag)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.Iterator;
+import java.util.Map;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Computes the RFC 6902 JSON Patch turning a JSON document into another.
+ * Objects are compared member by member. Arrays are compared past their
+ * common head and tail, so that appending or removing an element does not
+ * replace the whole array.
+ */
+final class JsonDiff {
+
+    private JsonDiff() {
+    }
+
+    /**
+     * Returns the operations turning {@code source} into {@code target}
+     */
+    static ArrayNode diff(JsonNode source, JsonNode target) {
+        final ArrayNode patch = JsonNodeFactory.instance.arrayNode();
+        diff(patch, "", source, target);
+        return patch;
+    }
+
+    private static void diff(ArrayNode patch, String path, JsonNode source,
+            JsonNode target) {
+        if (source.equals(target)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            diffObjects(patch, path, source, target);
+        } else if (source.isArray() && target.isArray()) {
+            diffArrays(patch, path, source, target);
+        } else {
+            add(patch, "replace", path).set("value", target);
+        }
+    }
+
+    private static void diffObjects(ArrayNode patch, String path,
+            JsonNode source, JsonNode target) {
+        final Iterator<String> sourceNames = source.fieldNames();
+        while (sourceNames.hasNext()) {
+            final String name = sourceNames.next();
+            if (!target.has(name)) {
+                add(patch, "remove", path + "/" + escape(name));
+            }
+        }
+        final Iterator<Map.Entry<String, JsonNode>> targetFields = target
+                .fields();
+        while (targetFields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = targetFields.next();
+            final String fieldPath = path + "/" + escape(field.getKey());
+            final JsonNode sourceValue = source.get(field.getKey());
+            if (sourceValue == null) {
+                add(patch, "add", fieldPath).set("value", field.getValue());
+            } else {
+                diff(patch, fieldPath, sourceValue, field.getValue());
+            }
+        }
+    }
+
+    private static void diffArrays(ArrayNode patch, String path,
+            JsonNode source, JsonNode target) {
+        final int sourceSize = source.size();
+        final int targetSize = target.size();
+        final int shortest = Math.min(sourceSize, targetSize);
+        int head = 0;
+        while (head < shortest && source.get(head).equals(target.get(head))) {
+            head++;
+        }
+        int tail = 0;
+        while (tail < shortest - head && source.get(sourceSize - 1 - tail)
+                .equals(target.get(targetSize - 1 - tail))) {
+            tail++;
+        }
+
+        final int sourceChanged = sourceSize - head - tail;
+        final int targetChanged = targetSize - head - tail;
+        final int common = Math.min(sourceChanged, targetChanged);
+        for (int i = 0; i < common; i++) {
+            diff(patch, path + "/" + (head + i), source.get(head + i),
+                    target.get(head + i));
+        }
+        // remove from the end so that earlier indexes stay valid
+        for (int i = head + sourceChanged - 1; i >= head + common; i--) {
+            add(patch, "remove", path + "/" + i);
+        }
+        for (int i = head + common; i < head + targetChanged; i++) {
+            add(patch, "add", path + "/" + i).set("value", target.get(i));
+        }
+    }
+
+    private static ObjectNode add(ArrayNode patch, String op, String path) {
+        return patch.addObject().put("op", op).put("path", path);
+    }
+
+    /**
+     * Escapes a member name as a JSON Pointer reference token
+     */
+    private static String escape(String name) {
+        return name.replace("~", "~0").replace("/", "~1");
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import com.google.common.io.ByteStreams;
+
+/**
+ * An immutable, serialized representation of the specification. The bytes
+ * may be held gzip-compressed and may live outside of the Java heap.
+ */
+final class SpecBytes {
+
+    private static final int COPY_BUFFER_SIZE = 8192;
+
+    private final ByteBuffer buffer;
+    private final boolean compressed;
+    private final int length;
+
+    private SpecBytes(ByteBuffer buffer, boolean compressed, int length) {
+        this.buffer = buffer;
+        this.compressed = compressed;
+        this.length = length;
+    }
+
+    static SpecBytes of(byte[] bytes, boolean compress, boolean offHeap) {
+        final byte[] retained = compress ? gzip(bytes) : bytes;
+        final ByteBuffer buffer;
+        if (offHeap) {
+            buffer = ByteBuffer.allocateDirect(retained.length);
+            buffer.put(retained);
+            buffer.flip();
+        } else {
+            buffer = ByteBuffer.wrap(retained);
+        }
+        return new SpecBytes(buffer, compress, bytes.length);
+    }
+
+    /**
+     * Wraps uncompressed bytes that are already held outside of the heap, such
+     * as a memory-mapped file
+     */
+    static SpecBytes wrap(ByteBuffer buffer) {
+        return new SpecBytes(buffer.slice(), false, buffer.remaining());
+    }
+
+    /**
+     * Returns the size of the uncompressed representation
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * Returns the number of bytes actually retained
+     */
+    int retainedSize() {
+        return buffer.remaining();
+    }
+
+    boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Writes the bytes as they are retained, gzip-compressed or not
+     */
+    void writeRetainedTo(OutputStream output) throws IOException {
+        final ByteBuffer source = buffer.duplicate();
+        if (source.hasArray()) {
+            output.write(source.array(),
+                    source.arrayOffset() + source.position(),
+                    source.remaining());
+            return;
+        }
+        final byte[] chunk = new byte[Math.min(COPY_BUFFER_SIZE,
+                Math.max(1, source.remaining()))];
+        while (source.hasRemaining()) {
+            final int count = Math.min(chunk.length, source.remaining());
+            source.get(chunk, 0, count);
+            output.write(chunk, 0, count);
+        }
+    }
+
+    /**
+     * Writes the uncompressed representation
+     */
+    void writeTo(OutputStream output) throws IOException {
+        if (!compressed) {
+            writeRetainedTo(output);
+            return;
+        }
+        try (InputStream input = new GZIPInputStream(openRetained())) {
+            ByteStreams.copy(input, output);
+        }
+    }
+
+    ByteBuffer asReadOnlyBuffer() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    byte[] toByteArray() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(length);
+        try {
+            writeTo(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    private InputStream openRetained() {
+        final ByteBuffer source = buffer.duplicate();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return source.hasRemaining() ? source.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (!source.hasRemaining()) {
+                    return -1;
+                }
+                final int count = Math.min(len, source.remaining());
+                source.get(b, off, count);
+                return count;
+            }
+        };
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(
+                Math.max(64, bytes.length / 4));
+        try (OutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+}
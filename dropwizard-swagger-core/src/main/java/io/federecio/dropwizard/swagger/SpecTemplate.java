@@ -0,0 +1,142 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import com.google.common.primitives.Bytes;
+
+/**
+ * A serialized representation with splice points, from which variants only
+ * differing in a few values are assembled by copying bytes around rather
+ * than serializing the specification again.
+ */
+final class SpecTemplate {
+
+    /**
+     * The values that can be spliced in. Each is marked in the serialized
+     * representation by a unique placeholder string.
+     */
+    enum Slot {
+        HOST, SCHEMES, BASE_PATH;
+
+        private final String placeholder = "swagger-" + name().toLowerCase(Locale.ENGLISH)
+                + "-" + UUID.randomUUID().toString().replace("-", "");
+
+        String getPlaceholder() {
+            return placeholder;
+        }
+    }
+
+    private final List<byte[]> chunks;
+    private final List<Slot> slots;
+
+    private SpecTemplate(List<byte[]> chunks, List<Slot> slots) {
+        this.chunks = chunks;
+        this.slots = slots;
+    }
+
+    /**
+     * Creates a template from a representation in which each slot's
+     * placeholder appears exactly once, as a string. The quotes around a
+     * placeholder are part of the splice point, so values have to be valid
+     * JSON, which YAML accepts as well.
+     */
+    static SpecTemplate of(byte[] bytes) {
+        final Map<Integer, Slot> positions = new TreeMap<>();
+        for (Slot slot : Slot.values()) {
+            final byte[] placeholder = slot.getPlaceholder()
+                    .getBytes(StandardCharsets.UTF_8);
+            final int position = Bytes.indexOf(bytes, placeholder);
+            if (position < 0 || indexOf(bytes, placeholder,
+                    position + placeholder.length) >= 0) {
+                throw new IllegalStateException("Expected a single " + slot
+                        + " placeholder in the specification");
+            }
+            positions.put(position, slot);
+        }
+
+        final List<byte[]> chunks = new ArrayList<>();
+        final List<Slot> slots = new ArrayList<>();
+        int start = 0;
+        for (Map.Entry<Integer, Slot> entry : positions.entrySet()) {
+            int from = entry.getKey();
+            int to = from + entry.getValue().getPlaceholder().length();
+            if (from > 0 && to < bytes.length && isQuote(bytes[from - 1])
+                    && bytes[to] == bytes[from - 1]) {
+                from--;
+                to++;
+            }
+            chunks.add(Arrays.copyOfRange(bytes, start, from));
+            slots.add(entry.getValue());
+            start = to;
+        }
+        chunks.add(Arrays.copyOfRange(bytes, start, bytes.length));
+        return new SpecTemplate(chunks, slots);
+    }
+
+    /**
+     * Assembles a variant
+     *
+     * @param values
+     *            the JSON encoded value of every slot
+     * @return the serialized variant
+     */
+    byte[] render(Map<Slot, byte[]> values) {
+        final byte[][] spliced = new byte[slots.size()][];
+        int length = 0;
+        for (byte[] chunk : chunks) {
+            length += chunk.length;
+        }
+        for (int i = 0; i < slots.size(); i++) {
+            final byte[] value = values.get(slots.get(i));
+            if (value == null) {
+                throw new IllegalArgumentException(
+                        "Missing a value for " + slots.get(i));
+            }
+            spliced[i] = value;
+            length += value.length;
+        }
+
+        final byte[] rendered = new byte[length];
+        int position = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            final byte[] chunk = chunks.get(i);
+            System.arraycopy(chunk, 0, rendered, position, chunk.length);
+            position += chunk.length;
+            if (i < slots.size()) {
+                final byte[] value = spliced[i];
+                System.arraycopy(value, 0, rendered, position, value.length);
+                position += value.length;
+            }
+        }
+        return rendered;
+    }
+
+    private static boolean isQuote(byte b) {
+        return b == '"' || b == '\'';
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target, int from) {
+        final int found = Bytes.indexOf(
+                Arrays.copyOfRange(bytes, from, bytes.length), target);
+        return found < 0 ? found : from + found;
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.net.InetAddresses;
+
+/**
+ * Counts the requests to the documentation endpoints and the bytes served,
+ * by client. Counting a request only increments striped counters of its
+ * client; the number of clients is bounded, the least recently seen being
+ * evicted to make room for a new one.
+ */
+final class SwaggerAnalytics {
+
+    private static final int MAX_USER_AGENT_LENGTH = 200;
+
+    private final int ipv4PrefixLength;
+    private final int ipv6PrefixLength;
+    private final Cache<ClientKey, Client> clients;
+    private final LongAdder evicted = new LongAdder();
+
+    SwaggerAnalytics(SwaggerAnalyticsConfiguration configuration) {
+        this.ipv4PrefixLength = configuration.getIpv4PrefixLength();
+        this.ipv6PrefixLength = configuration.getIpv6PrefixLength();
+        this.clients = CacheBuilder.newBuilder()
+                .maximumSize(configuration.getMaxClients())
+                .<ClientKey, Client> removalListener(removal -> {
+                    if (removal.getCause() == RemovalCause.SIZE) {
+                        evicted.increment();
+                    }
+                }).build();
+    }
+
+    /**
+     * Counts a request
+     *
+     * @param userAgent
+     *            the User-Agent of the client
+     * @param address
+     *            the address of the client
+     * @param status
+     *            the status of the response
+     * @param bytes
+     *            the bytes of the response body
+     */
+    void record(@Nullable String userAgent, String address, int status,
+            long bytes) {
+        final ClientKey key = new ClientKey(
+                userAgent == null ? "-"
+                        : userAgent.length() > MAX_USER_AGENT_LENGTH
+                                ? userAgent.substring(0, MAX_USER_AGENT_LENGTH)
+                                : userAgent,
+                range(address));
+        final Client client;
+        try {
+            client = clients.get(key, () -> new Client(key));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        if (status == 304) {
+            client.conditionalHits.increment();
+        } else if (status >= 200 && status < 300) {
+            client.downloads.increment();
+        } else {
+            client.otherResponses.increment();
+        }
+        client.bytes.add(bytes);
+        client.lastSeen = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the clients counted, the first according to the given order
+     *
+     * @param limit
+     *            the maximum number of clients to return
+     * @param order
+     *            the order of the clients
+     */
+    List<Client> getTop(int limit, Comparator<Client> order) {
+        final List<Client> all = new ArrayList<>(clients.asMap().values());
+        all.sort(order);
+        return all.subList(0, Math.min(limit, all.size()));
+    }
+
+    long getClientCount() {
+        return clients.size();
+    }
+
+    long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    /**
+     * Returns the address range of an address, the address itself when it
+     * is not a literal IP address
+     */
+    private String range(String address) {
+        final InetAddress inet;
+        try {
+            inet = InetAddresses.forString(address);
+        } catch (IllegalArgumentException e) {
+            return address;
+        }
+        final byte[] bytes = inet.getAddress();
+        final int prefixLength = bytes.length == 4 ? ipv4PrefixLength
+                : ipv6PrefixLength;
+        for (int i = 0; i < bytes.length; i++) {
+            final int kept = Math.max(0, Math.min(8, prefixLength - i * 8));
+            bytes[i] &= (byte) (0xff << (8 - kept));
+        }
+        try {
+            return InetAddresses.toAddrString(InetAddress.getByAddress(bytes))
+                    + '/' + prefixLength;
+        } catch (UnknownHostException e) {
+            return address;
+        }
+    }
+
+    private static final class ClientKey {
+        private final String userAgent;
+        private final String range;
+        private final int hash;
+
+        ClientKey(String userAgent, String range) {
+            this.userAgent = userAgent;
+            this.range = range;
+            this.hash = 31 * userAgent.hashCode() + range.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClientKey)) {
+                return false;
+            }
+            final ClientKey other = (ClientKey) o;
+            return userAgent.equals(other.userAgent)
+                    && range.equals(other.range);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * The counters of a client
+     */
+    static final class Client {
+        private final ClientKey key;
+        private final LongAdder downloads = new LongAdder();
+        private final LongAdder conditionalHits = new LongAdder();
+        private final LongAdder otherResponses = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+        private volatile long lastSeen;
+
+        private Client(ClientKey key) {
+            this.key = key;
+        }
+
+        String getUserAgent() {
+            return key.userAgent;
+        }
+
+        String getRange() {
+            return key.range;
+        }
+
+        /**
+         * Returns the number of requests answered in full
+         */
+        long getDownloads() {
+            return downloads.sum();
+        }
+
+        /**
+         * Returns the number of conditional requests answered with a 304
+         */
+        long getConditionalHits() {
+            return conditionalHits.sum();
+        }
+
+        long getOtherResponses() {
+            return otherResponses.sum();
+        }
+
+        long getRequests() {
+            return getDownloads() + getConditionalHits() + getOtherResponses();
+        }
+
+        long getBytes() {
+            return bytes.sum();
+        }
+
+        long getLastSeen() {
+            return lastSeen;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Controls the counting of the requests to the documentation endpoints by
+ * client, a client being a User-Agent calling from an address range. The
+ * most active clients are listed by the {@code swagger-analytics} admin
+ * task.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerAnalyticsConfiguration {
+
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of clients counted, the least recently seen client
+     * being evicted to count a new one
+     */
+    @Min(1)
+    private int maxClients = 1024;
+
+    /**
+     * Number of clients listed by the admin task unless it is given a limit
+     */
+    @Min(1)
+    private int topClients = 20;
+
+    /**
+     * Length of the prefix IPv4 addresses are grouped by
+     */
+    @Min(0)
+    @Max(32)
+    private int ipv4PrefixLength = 24;
+
+    /**
+     * Length of the prefix IPv6 addresses are grouped by
+     */
+    @Min(0)
+    @Max(128)
+    private int ipv6PrefixLength = 48;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    @JsonProperty
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    @JsonProperty
+    public int getTopClients() {
+        return topClients;
+    }
+
+    @JsonProperty
+    public void setTopClients(int topClients) {
+        this.topClients = topClients;
+    }
+
+    @JsonProperty
+    public int getIpv4PrefixLength() {
+        return ipv4PrefixLength;
+    }
+
+    @JsonProperty
+    public void setIpv4PrefixLength(int ipv4PrefixLength) {
+        this.ipv4PrefixLength = ipv4PrefixLength;
+    }
+
+    @JsonProperty
+    public int getIpv6PrefixLength() {
+        return ipv6PrefixLength;
+    }
+
+    @JsonProperty
+    public void setIpv6PrefixLength(int ipv6PrefixLength) {
+        this.ipv6PrefixLength = ipv6PrefixLength;
+    }
+}
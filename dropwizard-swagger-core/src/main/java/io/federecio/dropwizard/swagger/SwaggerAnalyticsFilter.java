@@ -0,0 +1,143 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import javax.annotation.Nullable;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import com.google.common.net.HttpHeaders;
+
+/**
+ * Servlet filter counting the requests to the documentation endpoints and
+ * the bytes of their responses in {@link SwaggerAnalytics}. The bytes are
+ * counted before compression, and only up to the return of the request for
+ * the streams kept open, such as the specification events.
+ */
+final class SwaggerAnalyticsFilter implements Filter {
+
+    private final SwaggerAnalytics analytics;
+
+    SwaggerAnalyticsFilter(SwaggerAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // nothing to do
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+        final CountingResponse counting = new CountingResponse(
+                (HttpServletResponse) response);
+        try {
+            chain.doFilter(request, counting);
+        } finally {
+            counting.flushWriter();
+            analytics.record(
+                    ((HttpServletRequest) request)
+                            .getHeader(HttpHeaders.USER_AGENT),
+                    request.getRemoteAddr(), counting.getStatus(),
+                    counting.bytes);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // nothing to do
+    }
+
+    private static final class CountingResponse
+            extends HttpServletResponseWrapper {
+        private long bytes;
+        @Nullable
+        private ServletOutputStream output;
+        @Nullable
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (output == null) {
+                final ServletOutputStream delegate = super.getOutputStream();
+                output = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        delegate.write(b);
+                        bytes++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len)
+                            throws IOException {
+                        delegate.write(b, off, len);
+                        bytes += len;
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        delegate.flush();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        delegate.close();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return delegate.isReady();
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener listener) {
+                        delegate.setWriteListener(listener);
+                    }
+                };
+            }
+            return output;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(
+                        getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.PrintWriter;
+import java.time.Instant;
+import java.util.Comparator;
+import com.google.common.collect.ImmutableMultimap;
+import io.dropwizard.servlets.tasks.Task;
+
+/**
+ * Admin task listing the clients of the documentation endpoints that were
+ * served the most bytes. The optional {@code limit} parameter caps the
+ * number of clients listed, and {@code sort=requests} lists the clients
+ * sending the most requests first instead.
+ */
+public class SwaggerAnalyticsTask extends Task {
+
+    private final SwaggerAnalytics analytics;
+    private final int topClients;
+
+    SwaggerAnalyticsTask(SwaggerAnalytics analytics, int topClients) {
+        super("swagger-analytics");
+        this.analytics = analytics;
+        this.topClients = topClients;
+    }
+
+    @Override
+    public void execute(ImmutableMultimap<String, String> parameters,
+            PrintWriter output) throws Exception {
+        final int limit = parameters.get("limit").stream().findFirst()
+                .map(Integer::parseInt).orElse(topClients);
+        final Comparator<SwaggerAnalytics.Client> order = parameters
+                .get("sort").contains("requests")
+                        ? Comparator.comparingLong(
+                                SwaggerAnalytics.Client::getRequests)
+                        : Comparator.comparingLong(
+                                SwaggerAnalytics.Client::getBytes);
+
+        output.printf("%d clients, %d evicted%n",
+                analytics.getClientCount(), analytics.getEvictedCount());
+        output.printf("%10s %10s %10s %12s  %-24s %-20s  %s%n", "downloads",
+                "304s", "others", "bytes", "last seen", "range",
+                "user agent");
+        for (SwaggerAnalytics.Client client : analytics.getTop(limit,
+                order.reversed())) {
+            output.printf("%10d %10d %10d %12d  %-24s %-20s  %s%n",
+                    client.getDownloads(), client.getConditionalHits(),
+                    client.getOtherResponses(), client.getBytes(),
+                    Instant.ofEpochMilli(client.getLastSeen()),
+                    client.getRange(), client.getUserAgent());
+        }
+        output.flush();
+    }
+}
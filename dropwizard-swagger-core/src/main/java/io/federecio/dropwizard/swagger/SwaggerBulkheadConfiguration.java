@@ -0,0 +1,120 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Limits how much of the server the documentation endpoints can consume. Every
+ * path mounted by the bundle shares a bounded number of concurrent permits
+ * and, optionally, a token-bucket rate limit. Requests over either limit are
+ * rejected immediately instead of queueing behind the real API.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerBulkheadConfiguration {
+
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of documentation requests processed at the same time, a
+     * value of zero disables the concurrency limit
+     */
+    @Min(0)
+    private int maxConcurrentRequests = 16;
+
+    /**
+     * Sustained rate of documentation requests allowed per second, a value of
+     * zero disables the rate limit
+     */
+    @Min(0)
+    private double requestsPerSecond = 0;
+
+    /**
+     * Number of requests that may be served in a burst above the sustained
+     * rate, defaults to one second worth of requests
+     */
+    @Min(0)
+    private int burst = 0;
+
+    @Min(400)
+    @Max(599)
+    private int concurrencyRejectionStatus = 503;
+
+    @Min(400)
+    @Max(599)
+    private int rateRejectionStatus = 429;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    @JsonProperty
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    @JsonProperty
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    @JsonProperty
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    @JsonProperty
+    public int getBurst() {
+        return burst;
+    }
+
+    @JsonProperty
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    @JsonProperty
+    public int getConcurrencyRejectionStatus() {
+        return concurrencyRejectionStatus;
+    }
+
+    @JsonProperty
+    public void setConcurrencyRejectionStatus(int concurrencyRejectionStatus) {
+        this.concurrencyRejectionStatus = concurrencyRejectionStatus;
+    }
+
+    @JsonProperty
+    public int getRateRejectionStatus() {
+        return rateRejectionStatus;
+    }
+
+    @JsonProperty
+    public void setRateRejectionStatus(int rateRejectionStatus) {
+        this.rateRejectionStatus = rateRejectionStatus;
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import javax.annotation.Nullable;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.net.HttpHeaders;
+
+/**
+ * Servlet filter guarding the documentation endpoints with a concurrency
+ * bulkhead and an optional rate limit, see
+ * {@link SwaggerBulkheadConfiguration}.
+ */
+public class SwaggerBulkheadFilter implements Filter {
+
+    @Nullable
+    private final Semaphore permits;
+    @Nullable
+    private final TokenBucket bucket;
+    private final int concurrencyRejectionStatus;
+    private final int rateRejectionStatus;
+    private final Meter concurrencyRejections;
+    private final Meter rateRejections;
+
+    public SwaggerBulkheadFilter(SwaggerBulkheadConfiguration configuration,
+            MetricRegistry metrics) {
+        this.permits = configuration.getMaxConcurrentRequests() > 0
+                ? new Semaphore(configuration.getMaxConcurrentRequests())
+                : null;
+        this.bucket = configuration.getRequestsPerSecond() > 0
+                ? new TokenBucket(configuration.getRequestsPerSecond(),
+                        configuration.getBurst())
+                : null;
+        this.concurrencyRejectionStatus = configuration
+                .getConcurrencyRejectionStatus();
+        this.rateRejectionStatus = configuration.getRateRejectionStatus();
+        this.concurrencyRejections = metrics.meter(MetricRegistry
+                .name(SwaggerBulkheadFilter.class, "rejected-concurrency"));
+        this.rateRejections = metrics.meter(
+                MetricRegistry.name(SwaggerBulkheadFilter.class, "rejected-rate"));
+
+        final Semaphore semaphore = permits;
+        if (semaphore != null) {
+            final int maxConcurrentRequests = configuration
+                    .getMaxConcurrentRequests();
+            metrics.register(
+                    MetricRegistry.name(SwaggerBulkheadFilter.class, "active"),
+                    (Gauge<Integer>) () -> maxConcurrentRequests
+                            - semaphore.availablePermits());
+        }
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // nothing to do
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+        if (bucket != null && !bucket.tryAcquire()) {
+            rateRejections.mark();
+            reject((HttpServletResponse) response, rateRejectionStatus);
+            return;
+        }
+
+        final Semaphore semaphore = permits;
+        if (semaphore == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!semaphore.tryAcquire()) {
+            concurrencyRejections.mark();
+            reject((HttpServletResponse) response, concurrencyRejectionStatus);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        // nothing to do
+    }
+
+    private static void reject(HttpServletResponse response, int status) {
+        response.setStatus(status);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.setContentLength(0);
+    }
+}
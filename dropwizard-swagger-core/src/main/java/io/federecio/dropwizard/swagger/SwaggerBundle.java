@@ -0,0 +1,54 @@
+// Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import io.dropwizard.Configuration;
+import io.dropwizard.ConfiguredBundle;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.setup.Environment;
+
+/**
+ * A {@link io.dropwizard.ConfiguredBundle} that provides hassle-free
+ * configuration of Swagger and Swagger UI on top of Dropwizard.
+ */
+public abstract class SwaggerBundle<T extends Configuration>
+        implements ConfiguredBundle<T> {
+
+    @Override
+    public void initialize(Bootstrap<?> bootstrap) {
+        // Swagger and the views are set up in run(), and only when enabled,
+        // so a disabled bundle loads neither swagger-core nor Freemarker
+    }
+
+    @Override
+    public void run(T configuration, Environment environment) throws Exception {
+        final SwaggerBundleConfiguration swaggerBundleConfiguration = getSwaggerBundleConfiguration(
+                configuration);
+        if (swaggerBundleConfiguration == null) {
+            throw new IllegalStateException(
+                    "You need to provide an instance of SwaggerBundleConfiguration");
+        }
+
+        if (!swaggerBundleConfiguration.isEnabled()) {
+            return;
+        }
+
+        new SwaggerBundleRunner(configuration, swaggerBundleConfiguration)
+                .run(environment);
+    }
+
+    protected abstract SwaggerBundleConfiguration getSwaggerBundleConfiguration(
+            T configuration);
+}
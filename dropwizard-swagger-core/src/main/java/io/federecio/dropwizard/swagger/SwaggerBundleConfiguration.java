@@ -0,0 +1,489 @@
+// Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.validation.Valid;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.Strings;
+import io.dropwizard.Configuration;
+import io.dropwizard.validation.ValidationMethod;
+import io.swagger.jaxrs.config.BeanConfig;
+import io.swagger.jaxrs.config.SwaggerContextService;
+
+/**
+ * For the meaning of all these properties please refer to Swagger documentation
+ * or {@link io.swagger.jaxrs.config.BeanConfig}
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerBundleConfiguration {
+
+    /**
+     * This is the only property that is required for Swagger to work correctly.
+     * <p/>
+     * It is a comma separated list of the all the packages that contain the
+     * {@link io.swagger.annotations.Api} annotated resources. A gateway
+     * serves downstream specifications instead and does not need it.
+     */
+    private String resourcePackage;
+
+    private String title;
+    private String version;
+    private String description;
+    private String termsOfServiceUrl;
+    private String contact;
+    private String contactEmail;
+    private String contactUrl;
+    private String license;
+    private String licenseUrl;
+    private SwaggerViewConfiguration swaggerViewConfiguration = new SwaggerViewConfiguration();
+    private SwaggerOAuth2Configuration swaggerOAuth2Configuration = new SwaggerOAuth2Configuration();
+    private boolean prettyPrint = true;
+    private String host;
+    private String contextRoot = "/";
+    private String[] schemes = new String[] { "http" };
+    private boolean enabled = true;
+    private boolean includeSwaggerResource = true;
+
+    @Valid
+    private SwaggerBulkheadConfiguration bulkheadConfiguration = new SwaggerBulkheadConfiguration();
+
+    @Valid
+    private SwaggerSpecConfiguration specConfiguration = new SwaggerSpecConfiguration();
+
+    @Valid
+    private SwaggerFilterConfiguration filterConfiguration = new SwaggerFilterConfiguration();
+
+    @Valid
+    private SwaggerReferenceConfiguration referenceConfiguration = new SwaggerReferenceConfiguration();
+
+    @Valid
+    private SwaggerEventsConfiguration eventsConfiguration = new SwaggerEventsConfiguration();
+
+    @Valid
+    private SwaggerGatewayConfiguration gatewayConfiguration = new SwaggerGatewayConfiguration();
+
+    @Valid
+    private SwaggerStatsConfiguration statsConfiguration = new SwaggerStatsConfiguration();
+
+    @Valid
+    private SwaggerMockConfiguration mockConfiguration = new SwaggerMockConfiguration();
+
+    @Valid
+    private SwaggerValidationConfiguration validationConfiguration = new SwaggerValidationConfiguration();
+
+    @Valid
+    private SwaggerTryItOutConfiguration tryItOutConfiguration = new SwaggerTryItOutConfiguration();
+
+    @Valid
+    private SwaggerAnalyticsConfiguration analyticsConfiguration = new SwaggerAnalyticsConfiguration();
+
+    @Valid
+    private SwaggerWarmUpConfiguration warmUpConfiguration = new SwaggerWarmUpConfiguration();
+
+    @Valid
+    private SwaggerCompactionConfiguration compactionConfiguration = new SwaggerCompactionConfiguration();
+
+    @JsonIgnore
+    private final SwaggerFilterPipeline filterPipeline = new SwaggerFilterPipeline();
+
+    /**
+     * For most of the scenarios this property is not needed.
+     * <p/>
+     * This is not a property for Swagger but for bundle to set up Swagger UI
+     * correctly. It only needs to be used of the root path or the context path
+     * is set programmatically and therefore cannot be derived correctly. The
+     * problem arises in that if you set the root path or context path in the
+     * run() method in your Application subclass the bundle has already been
+     * initialized by that time and so does not know you set the path
+     * programmatically.
+     */
+    @JsonProperty
+    private String uriPrefix;
+
+    @JsonProperty
+    public String getResourcePackage() {
+        return resourcePackage;
+    }
+
+    @JsonProperty
+    public void setResourcePackage(String resourcePackage) {
+        this.resourcePackage = resourcePackage;
+    }
+
+    @JsonProperty
+    public String getTitle() {
+        return title;
+    }
+
+    @JsonProperty
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    @JsonProperty
+    public String getVersion() {
+        return version;
+    }
+
+    @JsonProperty
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    @JsonProperty
+    public String getDescription() {
+        return description;
+    }
+
+    @JsonProperty
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    @JsonProperty
+    public String getTermsOfServiceUrl() {
+        return termsOfServiceUrl;
+    }
+
+    @JsonProperty
+    public void setTermsOfServiceUrl(String termsOfServiceUrl) {
+        this.termsOfServiceUrl = termsOfServiceUrl;
+    }
+
+    @JsonProperty
+    public String getContact() {
+        return contact;
+    }
+
+    @JsonProperty
+    public void setContact(String contact) {
+        this.contact = contact;
+    }
+
+    @JsonProperty
+    public String getContactEmail() {
+        return contactEmail;
+    }
+
+    @JsonProperty
+    public void setContactEmail(String contactEmail) {
+        this.contactEmail = contactEmail;
+    }
+
+    @JsonProperty
+    public String getContactUrl() {
+        return contactUrl;
+    }
+
+    @JsonProperty
+    public void setContactUrl(String contactUrl) {
+        this.contactUrl = contactUrl;
+    }
+
+    @JsonProperty
+    public String getLicense() {
+        return license;
+    }
+
+    @JsonProperty
+    public void setLicense(String license) {
+        this.license = license;
+    }
+
+    @JsonProperty
+    public String getLicenseUrl() {
+        return licenseUrl;
+    }
+
+    @JsonProperty
+    public void setLicenseUrl(String licenseUrl) {
+        this.licenseUrl = licenseUrl;
+    }
+
+    @JsonProperty
+    public String getUriPrefix() {
+        return uriPrefix;
+    }
+
+    @JsonProperty
+    public void setUriPrefix(String uriPrefix) {
+        this.uriPrefix = uriPrefix;
+    }
+
+    @JsonProperty
+    public SwaggerViewConfiguration getSwaggerViewConfiguration() {
+        return swaggerViewConfiguration;
+    }
+
+    @JsonProperty
+    public void setSwaggerViewConfiguration(
+            final SwaggerViewConfiguration swaggerViewConfiguration) {
+        this.swaggerViewConfiguration = swaggerViewConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerOAuth2Configuration getSwaggerOAuth2Configuration() {
+        return swaggerOAuth2Configuration;
+    }
+
+    @JsonProperty("oauth2")
+    public void setSwaggerOAuth2Configuration(
+            final SwaggerOAuth2Configuration swaggerOAuth2Configuration) {
+        this.swaggerOAuth2Configuration = swaggerOAuth2Configuration;
+    }
+
+    @JsonProperty
+    public boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    @JsonProperty
+    public void setIsPrettyPrint(final boolean isPrettyPrint) {
+        this.prettyPrint = isPrettyPrint;
+    }
+
+    @JsonProperty
+    public String getHost() {
+        return host;
+    }
+
+    @JsonProperty
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    @JsonProperty
+    public String getContextRoot() {
+        return contextRoot;
+    }
+
+    @JsonProperty
+    public void setContextRoot(String contextRoot) {
+        this.contextRoot = contextRoot;
+    }
+
+    @JsonProperty
+    public String[] getSchemes() {
+        return schemes;
+    }
+
+    @JsonProperty
+    public void setSchemes(String[] schemes) {
+        this.schemes = schemes;
+    }
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setIsEnabled(final boolean isEnabled) {
+        this.enabled = isEnabled;
+    }
+
+    @JsonProperty
+    public boolean isIncludeSwaggerResource() {
+        return includeSwaggerResource;
+    }
+
+    @JsonProperty
+    public void setIncludeSwaggerResource(final boolean include) {
+        this.includeSwaggerResource = include;
+    }
+
+    @JsonProperty
+    public SwaggerBulkheadConfiguration getBulkheadConfiguration() {
+        return bulkheadConfiguration;
+    }
+
+    @JsonProperty("bulkhead")
+    public void setBulkheadConfiguration(
+            final SwaggerBulkheadConfiguration bulkheadConfiguration) {
+        this.bulkheadConfiguration = bulkheadConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerSpecConfiguration getSpecConfiguration() {
+        return specConfiguration;
+    }
+
+    @JsonProperty("spec")
+    public void setSpecConfiguration(
+            final SwaggerSpecConfiguration specConfiguration) {
+        this.specConfiguration = specConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerFilterConfiguration getFilterConfiguration() {
+        return filterConfiguration;
+    }
+
+    @JsonProperty("filters")
+    public void setFilterConfiguration(
+            final SwaggerFilterConfiguration filterConfiguration) {
+        this.filterConfiguration = filterConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerReferenceConfiguration getReferenceConfiguration() {
+        return referenceConfiguration;
+    }
+
+    @JsonProperty("reference")
+    public void setReferenceConfiguration(
+            final SwaggerReferenceConfiguration referenceConfiguration) {
+        this.referenceConfiguration = referenceConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerEventsConfiguration getEventsConfiguration() {
+        return eventsConfiguration;
+    }
+
+    @JsonProperty("events")
+    public void setEventsConfiguration(
+            final SwaggerEventsConfiguration eventsConfiguration) {
+        this.eventsConfiguration = eventsConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerGatewayConfiguration getGatewayConfiguration() {
+        return gatewayConfiguration;
+    }
+
+    @JsonProperty("gateway")
+    public void setGatewayConfiguration(
+            final SwaggerGatewayConfiguration gatewayConfiguration) {
+        this.gatewayConfiguration = gatewayConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerStatsConfiguration getStatsConfiguration() {
+        return statsConfiguration;
+    }
+
+    @JsonProperty("stats")
+    public void setStatsConfiguration(
+            final SwaggerStatsConfiguration statsConfiguration) {
+        this.statsConfiguration = statsConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerMockConfiguration getMockConfiguration() {
+        return mockConfiguration;
+    }
+
+    @JsonProperty("mock")
+    public void setMockConfiguration(
+            final SwaggerMockConfiguration mockConfiguration) {
+        this.mockConfiguration = mockConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerValidationConfiguration getValidationConfiguration() {
+        return validationConfiguration;
+    }
+
+    @JsonProperty("validation")
+    public void setValidationConfiguration(
+            final SwaggerValidationConfiguration validationConfiguration) {
+        this.validationConfiguration = validationConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerTryItOutConfiguration getTryItOutConfiguration() {
+        return tryItOutConfiguration;
+    }
+
+    @JsonProperty("tryItOut")
+    public void setTryItOutConfiguration(
+            final SwaggerTryItOutConfiguration tryItOutConfiguration) {
+        this.tryItOutConfiguration = tryItOutConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerAnalyticsConfiguration getAnalyticsConfiguration() {
+        return analyticsConfiguration;
+    }
+
+    @JsonProperty("analytics")
+    public void setAnalyticsConfiguration(
+            final SwaggerAnalyticsConfiguration analyticsConfiguration) {
+        this.analyticsConfiguration = analyticsConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerWarmUpConfiguration getWarmUpConfiguration() {
+        return warmUpConfiguration;
+    }
+
+    @JsonProperty("warmUp")
+    public void setWarmUpConfiguration(
+            final SwaggerWarmUpConfiguration warmUpConfiguration) {
+        this.warmUpConfiguration = warmUpConfiguration;
+    }
+
+    @JsonProperty
+    public SwaggerCompactionConfiguration getCompactionConfiguration() {
+        return compactionConfiguration;
+    }
+
+    @JsonProperty("compaction")
+    public void setCompactionConfiguration(
+            final SwaggerCompactionConfiguration compactionConfiguration) {
+        this.compactionConfiguration = compactionConfiguration;
+    }
+
+    @JsonIgnore
+    @ValidationMethod(message = "resourcePackage may not be empty")
+    public boolean isResourcePackageValid() {
+        return gatewayConfiguration.isEnabled()
+                || !Strings.isNullOrEmpty(resourcePackage);
+    }
+
+    /**
+     * Returns the pipeline to add filters to programmatically, before the
+     * bundle is run
+     */
+    @JsonIgnore
+    public SwaggerFilterPipeline getFilterPipeline() {
+        return filterPipeline;
+    }
+
+    /**
+     * Scans the resource package into a new {@link BeanConfig}, registered
+     * with swagger-core's static context and {@code ScannerFactory} like
+     * {@link BeanConfig#setScan(boolean)} does
+     *
+     * @param urlPattern
+     *            the path the specification is served under
+     * @return the configuration holding the scanned specification
+     * @deprecated the bundle builds and serves the specification itself,
+     *             this method is kept for applications calling it directly
+     */
+    @Deprecated
+    @JsonIgnore
+    public BeanConfig build(String urlPattern) {
+        final BeanConfig config = new SwaggerBundleRunner(new Configuration(),
+                this).buildBeanConfig(urlPattern);
+        new SwaggerContextService().withSwaggerConfig(config)
+                .withScanner(config).withBasePath(config.getBasePath())
+                .initConfig().initScanner();
+        return config;
+    }
+}
@@ -0,0 +1,475 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.lang.annotation.Annotation;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterRegistration;
+import javax.servlet.ServletRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Strings;
+import io.dropwizard.Configuration;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.setup.Environment;
+import io.swagger.converter.ModelConverters;
+import io.swagger.core.filter.SwaggerSpecFilter;
+import io.swagger.jackson.ModelResolver;
+import io.swagger.jaxrs.config.BeanConfig;
+import io.swagger.models.Contact;
+import io.swagger.models.Swagger;
+
+/**
+ * Sets up an enabled {@link SwaggerBundle}. Everything referencing Swagger
+ * or the views lives here rather than in the bundle, so that the JVM does
+ * not load those classes when the bundle is disabled.
+ */
+final class SwaggerBundleRunner {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SwaggerBundleRunner.class);
+
+    private final Configuration configuration;
+    private final SwaggerBundleConfiguration swaggerBundleConfiguration;
+
+    SwaggerBundleRunner(Configuration configuration,
+            SwaggerBundleConfiguration swaggerBundleConfiguration) {
+        this.configuration = configuration;
+        this.swaggerBundleConfiguration = swaggerBundleConfiguration;
+    }
+
+    void run(Environment environment) throws Exception {
+        final SwaggerModelCache modelCache = new SwaggerModelCache();
+        ModelConverters.getInstance()
+                .addConverter(new ModelResolver(environment.getObjectMapper()));
+
+        final ConfigurationHelper configurationHelper = new ConfigurationHelper(
+                configuration, swaggerBundleConfiguration);
+        final Optional<SwaggerUi> swaggerUi = SwaggerUi.load();
+        if (!swaggerUi.isPresent()) {
+            LOGGER.info("dropwizard-swagger-ui is not on the class path,"
+                    + " only serving the specification");
+        }
+
+        final SwaggerAnalyticsConfiguration analyticsConfiguration = swaggerBundleConfiguration
+                .getAnalyticsConfiguration();
+        if (analyticsConfiguration.isEnabled()) {
+            // registered first to count the requests the bulkhead rejects
+            final SwaggerAnalytics analytics = new SwaggerAnalytics(
+                    analyticsConfiguration);
+            final FilterRegistration.Dynamic counting = environment.servlets()
+                    .addFilter("swagger-analytics",
+                            new SwaggerAnalyticsFilter(analytics));
+            counting.setAsyncSupported(true);
+            counting.addMappingForUrlPatterns(
+                    EnumSet.of(DispatcherType.REQUEST), true,
+                    configurationHelper.getSwaggerPathPatterns());
+            environment.admin().addTask(new SwaggerAnalyticsTask(analytics,
+                    analyticsConfiguration.getTopClients()));
+        }
+
+        final SwaggerBulkheadConfiguration bulkheadConfiguration = swaggerBundleConfiguration
+                .getBulkheadConfiguration();
+        if (bulkheadConfiguration.isEnabled()) {
+            final FilterRegistration.Dynamic bulkhead = environment.servlets()
+                    .addFilter("swagger-bulkhead", new SwaggerBulkheadFilter(
+                            bulkheadConfiguration, environment.metrics()));
+            // the events are streamed asynchronously, past the bulkhead
+            bulkhead.setAsyncSupported(true);
+            bulkhead.addMappingForUrlPatterns(
+                    EnumSet.of(DispatcherType.REQUEST), true,
+                    configurationHelper.getSwaggerPathPatterns());
+        }
+
+        final String urlPattern = configurationHelper.getUrlPattern();
+        final SwaggerSpecConfiguration specConfiguration = swaggerBundleConfiguration
+                .getSpecConfiguration();
+        final String cacheDirectory = specConfiguration.getCacheDirectory();
+        final Set<Class<? extends Annotation>> hiddenAnnotations = getHiddenAnnotations();
+        final SwaggerGatewayConfiguration gatewayConfiguration = swaggerBundleConfiguration
+                .getGatewayConfiguration();
+        final SwaggerCompactionConfiguration compactionConfiguration = swaggerBundleConfiguration
+                .getCompactionConfiguration();
+        final SwaggerSpecCompactor compactor = compactionConfiguration
+                .isEnabled()
+                        ? new SwaggerSpecCompactor(compactionConfiguration)
+                        : null;
+        final SwaggerSpecCache specCache;
+        final SwaggerGateway gateway;
+        if (gatewayConfiguration.isEnabled()) {
+            gateway = new SwaggerGateway(swaggerBundleConfiguration,
+                    environment.lifecycle()
+                            .executorService("swagger-gateway-%d")
+                            .minThreads(gatewayConfiguration.getFetchThreads())
+                            .maxThreads(gatewayConfiguration.getFetchThreads())
+                            .build());
+            gateway.fetch();
+            // the disk cache is keyed by the local resources, not by what
+            // the downstream services serve
+            specCache = new SwaggerSpecCache(gateway::merge, buildTimeFilter(),
+                    specConfiguration, null, compactor);
+        } else {
+            gateway = null;
+            specCache = new SwaggerSpecCache(() -> modelCache.build(() -> {
+                final BeanConfig beanConfig = buildBeanConfig(urlPattern,
+                        hiddenAnnotations);
+                return beanConfig.configure(beanConfig.getSwagger());
+            }), buildTimeFilter(), specConfiguration,
+                    cacheDirectory == null ? null
+                            : new SwaggerSpecDiskCache(
+                                    Paths.get(cacheDirectory),
+                                    swaggerBundleConfiguration, urlPattern),
+                    compactor);
+        }
+        specCache.get();
+
+        final SwaggerTryItOutConfiguration tryItOutConfiguration = swaggerBundleConfiguration
+                .getTryItOutConfiguration();
+        if (tryItOutConfiguration.isEnabled()) {
+            final String jerseyRootPath = configurationHelper
+                    .getJerseyRootPath();
+            final String uriPathPrefix = jerseyRootPath.equals("/") ? ""
+                    : jerseyRootPath;
+            final SwaggerTryItOutFilter tryItOutFilter = new SwaggerTryItOutFilter(
+                    tryItOutConfiguration, environment.metrics(),
+                    uriPathPrefix);
+            // follows the documented paths as the specification changes
+            specCache.addListener(tryItOutFilter);
+            final FilterRegistration.Dynamic tryItOut = environment.servlets()
+                    .addFilter("swagger-try-it-out", tryItOutFilter);
+            tryItOut.setAsyncSupported(true);
+            tryItOut.addMappingForUrlPatterns(
+                    EnumSet.of(DispatcherType.REQUEST, DispatcherType.ASYNC),
+                    true, uriPathPrefix + "/*");
+        }
+
+        environment.metrics().register(
+                MetricRegistry.name(SwaggerSpecCache.class, "retained-bytes"),
+                (Gauge<Long>) specCache::getRetainedBytes);
+        environment.metrics().register(
+                MetricRegistry.name(SwaggerSpecCache.class, "json-bytes"),
+                (Gauge<Integer>) () -> specCache.get()
+                        .getLength(SwaggerSpecFormat.JSON));
+        if (specConfiguration.isLite()) {
+            environment.metrics().register(
+                    MetricRegistry.name(SwaggerSpecCache.class,
+                            "lite-json-bytes"),
+                    (Gauge<Integer>) () -> specCache.get().getLite()
+                            .map(lite -> lite.getLength(SwaggerSpecFormat.JSON))
+                            .orElse(0));
+        }
+        if (compactor != null) {
+            environment.metrics().register(
+                    MetricRegistry.name(SwaggerSpecCompactor.class,
+                            "saved-bytes"),
+                    (Gauge<Long>) specCache::getCompactionSavedBytes);
+        }
+        environment.admin().addTask(new SwaggerRefreshTask(specCache));
+        environment.admin().addTask(new SwaggerModelStatsTask(modelCache));
+
+        final List<SwaggerSpecUrl> specUrls = new ArrayList<>();
+        if (gateway != null) {
+            final long refreshInterval = gatewayConfiguration
+                    .getRefreshInterval().toMilliseconds();
+            if (refreshInterval > 0) {
+                final ScheduledFuture<?> refresh = environment.lifecycle()
+                        .scheduledExecutorService("swagger-gateway-refresh")
+                        .build()
+                        .scheduleWithFixedDelay(() -> gateway.refresh(specCache),
+                                refreshInterval, refreshInterval,
+                                TimeUnit.MILLISECONDS);
+                environment.lifecycle().manage(new Managed() {
+                    @Override
+                    public void start() {
+                        // scheduled above
+                    }
+
+                    @Override
+                    public void stop() {
+                        refresh.cancel(false);
+                    }
+                });
+            }
+            environment.jersey().register(new SwaggerGatewayResource(gateway));
+            if (!gatewayConfiguration.isMerge()) {
+                specUrls.add(new SwaggerSpecUrl("All services",
+                        "/swagger.json"));
+                for (SwaggerGateway.Service service : gateway.getServices()) {
+                    specUrls.add(new SwaggerSpecUrl(service.getName(),
+                            "/swagger/services/" + service.getName()
+                                    + ".json"));
+                }
+            }
+        }
+
+        final SwaggerEventsConfiguration eventsConfiguration = swaggerBundleConfiguration
+                .getEventsConfiguration();
+        if (eventsConfiguration.isEnabled() || (swaggerBundleConfiguration
+                .isIncludeSwaggerResource()
+                && swaggerBundleConfiguration.getSwaggerViewConfiguration()
+                        .isAutoReload())) {
+            final SwaggerEventsServlet eventsServlet = new SwaggerEventsServlet(
+                    eventsConfiguration,
+                    environment.lifecycle()
+                            .scheduledExecutorService("swagger-events")
+                            .threads(1).build());
+            specCache.addListener(eventsServlet);
+            final ServletRegistration.Dynamic events = environment.servlets()
+                    .addServlet("swagger-events", eventsServlet);
+            events.setAsyncSupported(true);
+            events.addMapping(configurationHelper.getSwaggerEventsUriPath());
+            environment.metrics().register(
+                    MetricRegistry.name(SwaggerEventsServlet.class,
+                            "subscribers"),
+                    (Gauge<Integer>) eventsServlet::getSubscriberCount);
+        }
+
+        if (swaggerBundleConfiguration.getMockConfiguration().isEnabled()) {
+            final SwaggerMockServlet mockServlet = new SwaggerMockServlet();
+            specCache.addListener(mockServlet);
+            environment.servlets().addServlet("swagger-mock", mockServlet)
+                    .addMapping(configurationHelper.getSwaggerMockUrlPattern());
+        }
+
+        final SwaggerValidationConfiguration validationConfiguration = swaggerBundleConfiguration
+                .getValidationConfiguration();
+        if (validationConfiguration.isEnabled()) {
+            final SwaggerRequestValidator validator = new SwaggerRequestValidator(
+                    validationConfiguration, environment.getObjectMapper(),
+                    environment.metrics());
+            specCache.addListener(validator);
+            environment.jersey().register(validator);
+        }
+
+        final SwaggerFilterChain serveTimeFilter = new SwaggerFilterChain(
+                swaggerBundleConfiguration.getFilterPipeline()
+                        .getServeTimeFilters(),
+                false);
+        final SwaggerRevisions revisions = specConfiguration.getRevisions() > 0
+                ? new SwaggerRevisions(specConfiguration.getRevisions())
+                : null;
+        if (revisions != null) {
+            specCache.addListener(revisions);
+        }
+        final SwaggerStatsConfiguration statsConfiguration = swaggerBundleConfiguration
+                .getStatsConfiguration();
+        final SwaggerStatsListener stats = statsConfiguration.isEnabled()
+                ? new SwaggerStatsListener(statsConfiguration,
+                        environment.metrics())
+                : null;
+        if (stats != null) {
+            specCache.addListener(stats);
+            environment.jersey().register(stats);
+            environment.jersey().register(new SwaggerStatsResource(stats));
+        }
+        final boolean statsExtensions = stats != null
+                && statsConfiguration.isVendorExtensions();
+        final boolean serveTimeFiltering = !serveTimeFilter.isEmpty()
+                || statsExtensions;
+        if (serveTimeFiltering && (specConfiguration.isReleaseModel()
+                || cacheDirectory != null)) {
+            LOGGER.info("Filtering the Swagger specification per request,"
+                    + " the model read back from the serialized"
+                    + " specification is kept until the next refresh");
+        }
+        environment.jersey().register(new SwaggerSpecResource(specCache,
+                specConfiguration.isForwardedHeaders()
+                        ? new SwaggerForwardedSpecs(specConfiguration)
+                        : null,
+                specConfiguration.isForwardedHeaders()
+                        && specConfiguration.isLite()
+                                ? new SwaggerForwardedSpecs(specConfiguration)
+                                : null,
+                serveTimeFiltering ? serveTimeFilter : null,
+                revisions, statsExtensions ? stats : null));
+        if (swaggerBundleConfiguration.isIncludeSwaggerResource()) {
+            final SwaggerSearchResource searchResource = new SwaggerSearchResource();
+            specCache.addListener(searchResource);
+            environment.jersey().register(searchResource);
+        }
+        if (swaggerUi.isPresent()) {
+            swaggerUi.get().run(configuration, swaggerBundleConfiguration,
+                    configurationHelper, specCache, specUrls, environment);
+        }
+
+        final SwaggerWarmUpConfiguration warmUpConfiguration = swaggerBundleConfiguration
+                .getWarmUpConfiguration();
+        if (warmUpConfiguration.isEnabled()) {
+            final String specPath = "/".equals(urlPattern) ? "" : urlPattern;
+            final List<String> paths = new ArrayList<>();
+            paths.add(specPath + "/swagger.json");
+            paths.add(specPath + "/swagger.yaml");
+            if (specConfiguration.isLite()) {
+                paths.add(specPath + "/swagger.json?profile=lite");
+                paths.add(specPath + "/swagger.yaml?profile=lite");
+            }
+            if (swaggerUi.isPresent()
+                    && swaggerBundleConfiguration.isIncludeSwaggerResource()) {
+                paths.add(specPath + "/swagger");
+                if (swaggerBundleConfiguration.getReferenceConfiguration()
+                        .isEnabled()) {
+                    paths.add(specPath + "/swagger/reference");
+                }
+            }
+            final SwaggerWarmUp warmUp = new SwaggerWarmUp(paths,
+                    warmUpConfiguration,
+                    environment.lifecycle()
+                            .executorService("swagger-warm-up").build(),
+                    environment.metrics().timer(MetricRegistry
+                            .name(SwaggerWarmUp.class, "duration")));
+            environment.lifecycle().addServerLifecycleListener(warmUp);
+            environment.healthChecks().register("swagger-warm-up", warmUp);
+        }
+    }
+
+    /**
+     * Merges the configured rules and the build-time filters of the pipeline
+     * into a single filter
+     */
+    private SwaggerFilterChain buildTimeFilter() {
+        final SwaggerFilterConfiguration filterConfiguration = swaggerBundleConfiguration
+                .getFilterConfiguration();
+        final List<SwaggerSpecFilter> filters = new ArrayList<>();
+        if (filterConfiguration.isHideInternalParameters()) {
+            filters.add(new AuthParamFilter());
+        }
+        if (filterConfiguration.isHideDeprecated()) {
+            filters.add(new DeprecatedOperationFilter());
+        }
+        if (!filterConfiguration.getHiddenTags().isEmpty()) {
+            filters.add(
+                    new HiddenTagsFilter(filterConfiguration.getHiddenTags()));
+        }
+        if (!filterConfiguration.getHiddenVendorExtensions().isEmpty()) {
+            filters.add(new VendorExtensionFilter(
+                    filterConfiguration.getHiddenVendorExtensions()));
+        }
+        filters.addAll(swaggerBundleConfiguration.getFilterPipeline()
+                .getBuildTimeFilters());
+        return new SwaggerFilterChain(filters,
+                filterConfiguration.isRemoveUnreferencedDefinitions());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<Class<? extends Annotation>> getHiddenAnnotations() {
+        final Set<Class<? extends Annotation>> annotations = new LinkedHashSet<>();
+        for (String name : swaggerBundleConfiguration.getFilterConfiguration()
+                .getHiddenAnnotations()) {
+            final Class<?> type;
+            try {
+                type = Class.forName(name);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(
+                        "Hidden annotation " + name + " cannot be found", e);
+            }
+            if (!type.isAnnotation()) {
+                throw new IllegalStateException(
+                        "Hidden annotation " + name + " is not an annotation");
+            }
+            annotations.add((Class<? extends Annotation>) type);
+        }
+        return annotations;
+    }
+
+    /**
+     * Scans the configured resource package, hiding the configured
+     * annotations
+     */
+    BeanConfig buildBeanConfig(String urlPattern) {
+        return buildBeanConfig(urlPattern, getHiddenAnnotations());
+    }
+
+    /**
+     * Scans the configured resource package. This is what
+     * {@code SwaggerBundleConfiguration#build} delegates to.
+     */
+    BeanConfig buildBeanConfig(String urlPattern,
+            Set<Class<? extends Annotation>> hiddenAnnotations) {
+        final String resourcePackage = swaggerBundleConfiguration
+                .getResourcePackage();
+        if (Strings.isNullOrEmpty(resourcePackage)) {
+            throw new IllegalStateException(
+                    "Resource package needs to be specified"
+                            + " for Swagger to correctly detect annotated resources");
+        }
+
+        final SwaggerFlightRecorder.Span span = SwaggerFlightRecorder
+                .begin(SwaggerFlightRecorder.Kind.BUILD);
+        final String contextRoot = swaggerBundleConfiguration.getContextRoot();
+        final BeanConfig config = new BeanConfig() {
+            @Override
+            public Set<Class<?>> classes() {
+                // BeanConfig reads whatever this returns in a single call,
+                // so read one class at a time here and hand it nothing
+                new SwaggerReader(getSwagger(), hiddenAnnotations)
+                        .read(super.classes());
+                return Collections.emptySet();
+            }
+        };
+        config.setTitle(swaggerBundleConfiguration.getTitle());
+        config.setVersion(swaggerBundleConfiguration.getVersion());
+        config.setDescription(swaggerBundleConfiguration.getDescription());
+        config.setContact(swaggerBundleConfiguration.getContact());
+        config.setLicense(swaggerBundleConfiguration.getLicense());
+        config.setLicenseUrl(swaggerBundleConfiguration.getLicenseUrl());
+        config.setTermsOfServiceUrl(
+                swaggerBundleConfiguration.getTermsOfServiceUrl());
+        config.setPrettyPrint(swaggerBundleConfiguration.isPrettyPrint());
+        config.setBasePath(
+                ("/".equals(contextRoot) ? "" : contextRoot) + urlPattern);
+        config.setResourcePackage(resourcePackage);
+        config.setSchemes(swaggerBundleConfiguration.getSchemes());
+        config.setHost(swaggerBundleConfiguration.getHost());
+
+        // Scan and read without registering the config with swagger-core's
+        // static context, which would keep the model reachable for the life
+        // of the JVM. The bundle serves the specification itself.
+        config.scanAndRead();
+
+        // Assign contact email/url after scan, since BeanConfig.scan will
+        // create a new info.Contact instance, thus overriding any info.Contact
+        // settings prior to scan.
+        final String contactEmail = swaggerBundleConfiguration
+                .getContactEmail();
+        final String contactUrl = swaggerBundleConfiguration.getContactUrl();
+        if (contactEmail != null || contactUrl != null) {
+            if (config.getInfo().getContact() == null) {
+                config.getInfo().setContact(new Contact());
+            }
+            if (contactEmail != null) {
+                config.getInfo().getContact().setEmail(contactEmail);
+            }
+            if (contactUrl != null) {
+                config.getInfo().getContact().setUrl(contactUrl);
+            }
+        }
+
+        span.end(configuration.getClass().getName(),
+                SwaggerReader.countOperations(config.getSwagger()),
+                resourcePackage);
+        return config;
+    }
+}
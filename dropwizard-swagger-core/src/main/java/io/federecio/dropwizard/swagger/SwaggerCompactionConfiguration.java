@@ -0,0 +1,92 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.validation.constraints.Min;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Controls the compaction of the served specification, which moves the
+ * parameters and responses repeated across operations to the top level of
+ * the specification and merges identical definitions.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerCompactionConfiguration {
+
+    private boolean enabled = false;
+
+    private boolean hoistParameters = true;
+
+    private boolean hoistResponses = true;
+
+    private boolean mergeDefinitions = true;
+
+    /**
+     * How many times a parameter or response needs to be repeated to be
+     * moved to the top level, which only happens when it saves bytes
+     */
+    @Min(2)
+    private int minOccurrences = 2;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public boolean isHoistParameters() {
+        return hoistParameters;
+    }
+
+    @JsonProperty
+    public void setHoistParameters(boolean hoistParameters) {
+        this.hoistParameters = hoistParameters;
+    }
+
+    @JsonProperty
+    public boolean isHoistResponses() {
+        return hoistResponses;
+    }
+
+    @JsonProperty
+    public void setHoistResponses(boolean hoistResponses) {
+        this.hoistResponses = hoistResponses;
+    }
+
+    @JsonProperty
+    public boolean isMergeDefinitions() {
+        return mergeDefinitions;
+    }
+
+    @JsonProperty
+    public void setMergeDefinitions(boolean mergeDefinitions) {
+        this.mergeDefinitions = mergeDefinitions;
+    }
+
+    @JsonProperty
+    public int getMinOccurrences() {
+        return minOccurrences;
+    }
+
+    @JsonProperty
+    public void setMinOccurrences(int minOccurrences) {
+        this.minOccurrences = minOccurrences;
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.annotation.Nullable;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The Java Flight Recorder events of the bundle. Only referenced through
+ * {@link SwaggerFlightRecorder}, as loading this class requires
+ * {@code jdk.jfr}.
+ */
+final class SwaggerEvents {
+
+    private SwaggerEvents() {
+    }
+
+    static SwaggerFlightRecorder.Span begin(SwaggerFlightRecorder.Kind kind) {
+        final SwaggerEvent event;
+        switch (kind) {
+        case BUILD:
+            event = new BuildEvent();
+            break;
+        case READ:
+            event = new ReadEvent();
+            break;
+        case FILTER:
+            event = new FilterEvent();
+            break;
+        case SERIALIZE:
+            event = new SerializeEvent();
+            break;
+        case RENDER:
+            event = new RenderEvent();
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown event " + kind);
+        }
+        if (!event.isEnabled()) {
+            return SwaggerFlightRecorder.Span.NONE;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Category({ "Dropwizard", "Swagger" })
+    abstract static class SwaggerEvent extends Event
+            implements SwaggerFlightRecorder.Span {
+
+        @Label("Class")
+        @Nullable
+        String className;
+
+        @Override
+        public boolean isRecording() {
+            return true;
+        }
+
+        @Override
+        public void end(String className, long size, String detail) {
+            end();
+            if (shouldCommit()) {
+                this.className = className;
+                setFields(size, detail);
+                commit();
+            }
+        }
+
+        abstract void setFields(long size, String detail);
+    }
+
+    @Name("io.federecio.dropwizard.swagger.Build")
+    @Label("Swagger Build")
+    @Description("Scan of the resource package and read of the resources found")
+    static class BuildEvent extends SwaggerEvent {
+        @Label("Resource Package")
+        @Nullable
+        String resourcePackage;
+
+        @Label("Operations")
+        long operations;
+
+        @Override
+        void setFields(long size, String detail) {
+            this.operations = size;
+            this.resourcePackage = detail;
+        }
+    }
+
+    @Name("io.federecio.dropwizard.swagger.Read")
+    @Label("Swagger Resource Read")
+    @Description("Read of the operations of a single resource class")
+    static class ReadEvent extends SwaggerEvent {
+        @Label("Operations")
+        long operations;
+
+        @Override
+        void setFields(long size, String detail) {
+            this.operations = size;
+        }
+    }
+
+    @Name("io.federecio.dropwizard.swagger.Filter")
+    @Label("Swagger Filter")
+    @Description("Filtering of the built specification")
+    static class FilterEvent extends SwaggerEvent {
+        @Label("Operations")
+        @Description("Operations left after filtering")
+        long operations;
+
+        @Override
+        void setFields(long size, String detail) {
+            this.operations = size;
+        }
+    }
+
+    @Name("io.federecio.dropwizard.swagger.Serialize")
+    @Label("Swagger Serialization")
+    @Description("Serialization of the specification in one format")
+    static class SerializeEvent extends SwaggerEvent {
+        @Label("Format")
+        @Nullable
+        String format;
+
+        @Label("Size")
+        @DataAmount
+        long size;
+
+        @Override
+        void setFields(long size, String detail) {
+            this.size = size;
+            this.format = detail;
+        }
+    }
+
+    @Name("io.federecio.dropwizard.swagger.Render")
+    @Label("Swagger View Rendering")
+    @Description("Rendering of the Swagger UI page")
+    static class RenderEvent extends SwaggerEvent {
+        @Label("Template")
+        @Nullable
+        String template;
+
+        @Label("Size")
+        @DataAmount
+        long size;
+
+        @Override
+        void setFields(long size, String detail) {
+            this.size = size;
+            this.template = detail;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.validation.constraints.Min;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+/**
+ * Controls the Server-Sent Events stream served under
+ * {@code /swagger/events}, which pushes the ETag of the specification each
+ * time it is built so that clients do not have to poll for changes.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerEventsConfiguration {
+
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of clients subscribed at the same time, further clients
+     * are turned away with a 503
+     */
+    @Min(1)
+    private int maxSubscribers = 256;
+
+    /**
+     * Interval between the comments written to idle subscribers, which keep
+     * proxies from closing the stream and detect clients that went away
+     */
+    @MinDuration(1)
+    private Duration keepAlive = Duration.seconds(15);
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    @JsonProperty
+    public void setMaxSubscribers(int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    @JsonProperty
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    @JsonProperty
+    public void setKeepAlive(Duration keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.net.HttpHeaders;
+import io.swagger.models.Swagger;
+
+/**
+ * Streams a Server-Sent Event named {@value #EVENT} carrying the JSON ETag of
+ * the specification, once when a client subscribes and then each time the
+ * specification is served anew.
+ * <p/>
+ * Subscribers are held as asynchronous requests rather than threads. Every
+ * write happens on the single thread of the given executor, which keeps the
+ * events of a subscriber in order. The writes are non-blocking: a subscriber
+ * still receiving its previous event when the next one is due is dropped,
+ * so a stalled client cannot delay the others, and reconnects on its own.
+ */
+final class SwaggerEventsServlet extends HttpServlet
+        implements SwaggerSpecListener {
+
+    static final String EVENT = "spec";
+    static final String CONTENT_TYPE = "text/event-stream";
+
+    private static final long serialVersionUID = 1L;
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SwaggerEventsServlet.class);
+    private static final byte[] KEEP_ALIVE = ":\n\n"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final int maxSubscribers;
+    private final transient ScheduledExecutorService executor;
+    private final transient ScheduledFuture<?> keepAlives;
+    private final transient Set<AsyncContext> subscribers = ConcurrentHashMap
+            .newKeySet();
+
+    @Nullable
+    private volatile byte[] event;
+
+    /**
+     * Constructor
+     *
+     * @param configuration
+     *            the events configuration
+     * @param executor
+     *            a single-threaded executor to write the events with
+     */
+    SwaggerEventsServlet(SwaggerEventsConfiguration configuration,
+            ScheduledExecutorService executor) {
+        this.maxSubscribers = configuration.getMaxSubscribers();
+        this.executor = executor;
+        final long keepAlive = configuration.getKeepAlive().toMilliseconds();
+        this.keepAlives = executor.scheduleWithFixedDelay(() -> {
+            for (AsyncContext subscriber : subscribers) {
+                send(subscriber, KEEP_ALIVE);
+            }
+        }, keepAlive, keepAlive, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onSpec(SwaggerSpec spec, Swagger model) {
+        // clients are told once the specification is served
+    }
+
+    @Override
+    public void onSpecServed(SwaggerSpec spec) {
+        final String entityTag = spec.getEntityTag(SwaggerSpecFormat.JSON)
+                .toString();
+        final byte[] encoded = ("id: " + entityTag + "\nevent: " + EVENT
+                + "\ndata: " + entityTag + "\n\n")
+                        .getBytes(StandardCharsets.UTF_8);
+        event = encoded;
+        executor.execute(() -> {
+            for (AsyncContext subscriber : subscribers) {
+                send(subscriber, encoded);
+            }
+        });
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (subscribers.size() >= maxSubscribers) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "10");
+            response.setContentLength(0);
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(CONTENT_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.flushBuffer();
+
+        final AsyncContext subscriber = request.startAsync();
+        subscriber.setTimeout(0);
+        // switches the output to non-blocking writes
+        response.getOutputStream().setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() {
+                // the events are written by the executor, once due
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                LOGGER.debug("Dropping Swagger events subscriber", t);
+                complete(subscriber);
+            }
+        });
+        subscriber.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent asyncEvent) {
+                subscribers.remove(subscriber);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent asyncEvent) {
+                subscribers.remove(subscriber);
+            }
+
+            @Override
+            public void onError(AsyncEvent asyncEvent) {
+                subscribers.remove(subscriber);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent asyncEvent) {
+                // nothing to do
+            }
+        });
+        subscribers.add(subscriber);
+        executor.execute(() -> {
+            final byte[] current = event;
+            if (current != null) {
+                send(subscriber, current);
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        keepAlives.cancel(false);
+        for (AsyncContext subscriber : subscribers) {
+            complete(subscriber);
+        }
+        subscribers.clear();
+    }
+
+    /**
+     * Returns the number of clients currently subscribed
+     */
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void send(AsyncContext subscriber, byte[] bytes) {
+        try {
+            final ServletOutputStream output = subscriber.getResponse()
+                    .getOutputStream();
+            if (!output.isReady()) {
+                LOGGER.debug("Dropping Swagger events subscriber still"
+                        + " receiving the previous event");
+                complete(subscriber);
+                return;
+            }
+            output.write(bytes);
+            // the bytes may only have been buffered, flushing needs a write
+            // to be possible again
+            if (output.isReady()) {
+                output.flush();
+            }
+        } catch (IOException | IllegalStateException e) {
+            LOGGER.debug("Dropping Swagger events subscriber", e);
+            complete(subscriber);
+        }
+    }
+
+    private void complete(AsyncContext subscriber) {
+        subscribers.remove(subscriber);
+        try {
+            subscriber.complete();
+        } catch (IllegalStateException e) {
+            // already completed
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import io.swagger.core.filter.AbstractSpecFilter;
+import io.swagger.core.filter.SwaggerSpecFilter;
+import io.swagger.model.ApiDescription;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.properties.Property;
+
+/**
+ * Combines several filters so that the specification is traversed once
+ * whatever their number. An operation, parameter or property is allowed when
+ * every filter allows it.
+ * <p/>
+ * Filters extending {@link AbstractSpecFilter} are only asked about the
+ * elements they override a method for, the others allow everything anyway.
+ */
+final class SwaggerFilterChain extends AbstractSpecFilter {
+
+    private final SwaggerSpecFilter[] operationFilters;
+    private final SwaggerSpecFilter[] paramFilters;
+    private final SwaggerSpecFilter[] propertyFilters;
+    private final boolean removingUnreferencedDefinitions;
+
+    SwaggerFilterChain(List<SwaggerSpecFilter> filters,
+            boolean removeUnreferencedDefinitions) {
+        final List<SwaggerSpecFilter> operations = new ArrayList<>();
+        final List<SwaggerSpecFilter> params = new ArrayList<>();
+        final List<SwaggerSpecFilter> properties = new ArrayList<>();
+        boolean removing = removeUnreferencedDefinitions;
+        for (SwaggerSpecFilter filter : filters) {
+            if (overrides(filter, "isOperationAllowed", Operation.class,
+                    ApiDescription.class, Map.class, Map.class, Map.class)) {
+                operations.add(filter);
+            }
+            if (overrides(filter, "isParamAllowed", Parameter.class,
+                    Operation.class, ApiDescription.class, Map.class,
+                    Map.class, Map.class)) {
+                params.add(filter);
+            }
+            if (overrides(filter, "isPropertyAllowed", Model.class,
+                    Property.class, String.class, Map.class, Map.class,
+                    Map.class)) {
+                properties.add(filter);
+            }
+            removing |= filter instanceof AbstractSpecFilter
+                    && ((AbstractSpecFilter) filter)
+                            .isRemovingUnreferencedDefinitions();
+        }
+        this.operationFilters = operations.toArray(new SwaggerSpecFilter[0]);
+        this.paramFilters = params.toArray(new SwaggerSpecFilter[0]);
+        this.propertyFilters = properties.toArray(new SwaggerSpecFilter[0]);
+        this.removingUnreferencedDefinitions = removing;
+    }
+
+    /**
+     * Returns whether no filter hides anything
+     */
+    boolean isEmpty() {
+        return operationFilters.length == 0 && paramFilters.length == 0
+                && propertyFilters.length == 0
+                && !removingUnreferencedDefinitions;
+    }
+
+    @Override
+    public boolean isOperationAllowed(Operation operation, ApiDescription api,
+            Map<String, List<String>> params, Map<String, String> cookies,
+            Map<String, List<String>> headers) {
+        for (SwaggerSpecFilter filter : operationFilters) {
+            if (!filter.isOperationAllowed(operation, api, params, cookies,
+                    headers)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isParamAllowed(Parameter parameter, Operation operation,
+            ApiDescription api, Map<String, List<String>> params,
+            Map<String, String> cookies, Map<String, List<String>> headers) {
+        for (SwaggerSpecFilter filter : paramFilters) {
+            if (!filter.isParamAllowed(parameter, operation, api, params,
+                    cookies, headers)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isPropertyAllowed(Model model, Property property,
+            String propertyName, Map<String, List<String>> params,
+            Map<String, String> cookies, Map<String, List<String>> headers) {
+        for (SwaggerSpecFilter filter : propertyFilters) {
+            if (!filter.isPropertyAllowed(model, property, propertyName,
+                    params, cookies, headers)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isRemovingUnreferencedDefinitions() {
+        return removingUnreferencedDefinitions;
+    }
+
+    private static boolean overrides(SwaggerSpecFilter filter, String method,
+            Class<?>... parameterTypes) {
+        if (!(filter instanceof AbstractSpecFilter)) {
+            return true;
+        }
+        try {
+            return filter.getClass().getMethod(method, parameterTypes)
+                    .getDeclaringClass() != AbstractSpecFilter.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+}
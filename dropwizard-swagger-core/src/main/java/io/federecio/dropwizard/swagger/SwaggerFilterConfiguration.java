@@ -0,0 +1,125 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Request-independent rules hiding parts of the API from the specification.
+ * They are applied once, when the specification is built, so they cost
+ * nothing per request.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerFilterConfiguration {
+
+    /**
+     * Whether to hide parameters annotated with
+     * {@code @ApiParam(access = "internal")}, such as Dropwizard {@code @Auth}
+     * parameters
+     */
+    private boolean hideInternalParameters = true;
+
+    /**
+     * Whether to hide operations annotated with {@link Deprecated}
+     */
+    private boolean hideDeprecated = false;
+
+    /**
+     * Operations carrying any of these tags are hidden
+     */
+    private List<String> hiddenTags = new ArrayList<>();
+
+    /**
+     * Fully qualified names of annotations hiding the resource classes or
+     * methods they are present on
+     */
+    private List<String> hiddenAnnotations = new ArrayList<>();
+
+    /**
+     * Operations and model properties carrying any of these vendor
+     * extensions are hidden, the {@code x-} prefix is optional
+     */
+    private List<String> hiddenVendorExtensions = new ArrayList<>();
+
+    /**
+     * Whether to drop the definitions no longer referenced once operations
+     * and properties have been hidden
+     */
+    private boolean removeUnreferencedDefinitions = false;
+
+    @JsonProperty
+    public boolean isHideInternalParameters() {
+        return hideInternalParameters;
+    }
+
+    @JsonProperty
+    public void setHideInternalParameters(boolean hideInternalParameters) {
+        this.hideInternalParameters = hideInternalParameters;
+    }
+
+    @JsonProperty
+    public boolean isHideDeprecated() {
+        return hideDeprecated;
+    }
+
+    @JsonProperty
+    public void setHideDeprecated(boolean hideDeprecated) {
+        this.hideDeprecated = hideDeprecated;
+    }
+
+    @JsonProperty
+    public List<String> getHiddenTags() {
+        return hiddenTags;
+    }
+
+    @JsonProperty
+    public void setHiddenTags(List<String> hiddenTags) {
+        this.hiddenTags = hiddenTags;
+    }
+
+    @JsonProperty
+    public List<String> getHiddenAnnotations() {
+        return hiddenAnnotations;
+    }
+
+    @JsonProperty
+    public void setHiddenAnnotations(List<String> hiddenAnnotations) {
+        this.hiddenAnnotations = hiddenAnnotations;
+    }
+
+    @JsonProperty
+    public List<String> getHiddenVendorExtensions() {
+        return hiddenVendorExtensions;
+    }
+
+    @JsonProperty
+    public void setHiddenVendorExtensions(
+            List<String> hiddenVendorExtensions) {
+        this.hiddenVendorExtensions = hiddenVendorExtensions;
+    }
+
+    @JsonProperty
+    public boolean isRemoveUnreferencedDefinitions() {
+        return removeUnreferencedDefinitions;
+    }
+
+    @JsonProperty
+    public void setRemoveUnreferencedDefinitions(
+            boolean removeUnreferencedDefinitions) {
+        this.removeUnreferencedDefinitions = removeUnreferencedDefinitions;
+    }
+}
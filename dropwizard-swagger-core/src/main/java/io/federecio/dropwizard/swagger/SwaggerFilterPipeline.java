@@ -0,0 +1,60 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import io.swagger.core.filter.SwaggerSpecFilter;
+
+/**
+ * Filters added programmatically on top of the configured
+ * {@link SwaggerFilterConfiguration} rules.
+ * <p/>
+ * Build-time filters must not depend on the request, they are merged with
+ * the configured rules and applied once to the model when the specification
+ * is built. Serve-time filters receive the query parameters, cookies and
+ * headers of each request, the specification is filtered and serialized
+ * again for every request when there are any.
+ */
+public class SwaggerFilterPipeline {
+
+    private final List<SwaggerSpecFilter> buildTimeFilters = new ArrayList<>();
+    private final List<SwaggerSpecFilter> serveTimeFilters = new ArrayList<>();
+
+    /**
+     * Adds a request-independent filter applied once to the built model
+     */
+    public SwaggerFilterPipeline addBuildTimeFilter(SwaggerSpecFilter filter) {
+        buildTimeFilters.add(filter);
+        return this;
+    }
+
+    /**
+     * Adds a filter applied for every request to the built model, only for
+     * rules that depend on the request
+     */
+    public SwaggerFilterPipeline addServeTimeFilter(SwaggerSpecFilter filter) {
+        serveTimeFilters.add(filter);
+        return this;
+    }
+
+    public List<SwaggerSpecFilter> getBuildTimeFilters() {
+        return Collections.unmodifiableList(buildTimeFilters);
+    }
+
+    public List<SwaggerSpecFilter> getServeTimeFilters() {
+        return Collections.unmodifiableList(serveTimeFilters);
+    }
+}
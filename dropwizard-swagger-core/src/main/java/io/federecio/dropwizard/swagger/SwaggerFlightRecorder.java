@@ -0,0 +1,89 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+/**
+ * Entry point for the bundle's Java Flight Recorder events.
+ * <p/>
+ * The events themselves live in {@link SwaggerEvents}, which is only loaded
+ * when the running JVM ships {@code jdk.jfr}. Elsewhere every span is
+ * {@link Span#NONE}, and so is it when no recording has the event enabled,
+ * which keeps the instrumented code paths almost free outside of
+ * recordings.
+ */
+final class SwaggerFlightRecorder {
+
+    private static final boolean AVAILABLE = isAvailable();
+
+    enum Kind {
+        BUILD, READ, FILTER, SERIALIZE, RENDER
+    }
+
+    /**
+     * A timed section of work, committed as an event when it ends
+     */
+    interface Span {
+        Span NONE = new Span() {
+            @Override
+            public boolean isRecording() {
+                return false;
+            }
+
+            @Override
+            public void end(String className, long size, String detail) {
+            }
+        };
+
+        /**
+         * Returns whether the span ends up in a recording, for callers
+         * needing extra work to compute the event fields
+         */
+        boolean isRecording();
+
+        /**
+         * Ends the span
+         *
+         * @param className
+         *            the class the work was done for
+         * @param size
+         *            the amount of work, in bytes or operations depending
+         *            on the event
+         * @param detail
+         *            the resource package or the format, depending on the
+         *            event
+         */
+        void end(String className, long size, String detail);
+    }
+
+    private SwaggerFlightRecorder() {
+    }
+
+    static boolean isEnabled() {
+        return AVAILABLE;
+    }
+
+    static Span begin(Kind kind) {
+        return AVAILABLE ? SwaggerEvents.begin(kind) : Span.NONE;
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false,
+                    SwaggerFlightRecorder.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,396 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import javax.ws.rs.core.EntityTag;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.swagger.models.Scheme;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+/**
+ * Variants of the specification whose host, schemes and base path follow the
+ * {@code X-Forwarded-Host}, {@code X-Forwarded-Proto} and
+ * {@code X-Forwarded-Prefix} headers set by proxies.
+ * <p/>
+ * The first time a specification is asked for with forwarded headers, its
+ * representations are turned into {@link SpecTemplate}s. Each variant is
+ * then assembled from a template and kept, up to a configured number of
+ * variants, keyed by the host, schemes and base path it was assembled with.
+ * Header values that are not a plausible host, scheme or path are ignored.
+ */
+final class SwaggerForwardedSpecs {
+
+    static final String FORWARDED_HOST = "X-Forwarded-Host";
+    static final String FORWARDED_PROTO = "X-Forwarded-Proto";
+    static final String FORWARDED_PREFIX = "X-Forwarded-Prefix";
+
+    private static final Pattern HOST = Pattern.compile(
+            "([A-Za-z0-9.-]+|\\[[0-9A-Fa-f:.]+\\])(:[0-9]{1,5})?");
+    private static final Pattern PREFIX = Pattern
+            .compile("(/[A-Za-z0-9._~!$&'()*+,;=:@%-]*)+");
+    private static final ImmutableSet<String> SCHEMES = ImmutableSet.of("http",
+            "https", "ws", "wss");
+    private static final int MAX_HEADER_LENGTH = 255;
+
+    /**
+     * The leading properties of a serialized Swagger model, in the order
+     * Jackson writes them
+     */
+    private static final ImmutableList<String> LEADING_PROPERTIES = ImmutableList
+            .of("swagger", "info", "host", "basePath", "tags", "schemes");
+
+    private final SwaggerSpecConfiguration configuration;
+    private final Cache<Variant, SwaggerSpec> variants;
+
+    @Nullable
+    private volatile Templates templates;
+
+    SwaggerForwardedSpecs(SwaggerSpecConfiguration configuration) {
+        this.configuration = configuration;
+        this.variants = CacheBuilder.newBuilder()
+                .maximumSize(configuration.getForwardedVariants()).build();
+    }
+
+    /**
+     * Returns the variant of the specification matching the forwarded
+     * headers of a request, or the specification itself when the request
+     * carries none
+     *
+     * @param spec
+     *            the current specification
+     * @param format
+     *            the representation requested
+     * @param forwardedHost
+     *            the X-Forwarded-Host header
+     * @param forwardedProto
+     *            the X-Forwarded-Proto header
+     * @param forwardedPrefix
+     *            the X-Forwarded-Prefix header
+     * @param baseUri
+     *            the URI the request was received on, for the host and
+     *            scheme the specification does not define
+     */
+    SwaggerSpec resolve(SwaggerSpec spec, SwaggerSpecFormat format,
+            @Nullable String forwardedHost, @Nullable String forwardedProto,
+            @Nullable String forwardedPrefix, URI baseUri) {
+        final Forwarded forwarded = Forwarded.parse(forwardedHost,
+                forwardedProto, forwardedPrefix);
+        if (forwarded == null) {
+            return spec;
+        }
+
+        final Templates current = templatesFor(spec);
+        final Variant variant = new Variant(current, format,
+                forwarded.getHost(current.host, baseUri),
+                forwarded.getSchemes(current.schemes, baseUri),
+                forwarded.getBasePath(current.basePath));
+        try {
+            return variants.get(variant, () -> render(variant));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            throw new IllegalStateException(
+                    "Unable to assemble the Swagger specification for "
+                            + variant.host,
+                    e.getCause());
+        }
+    }
+
+    /**
+     * Applies the forwarded headers of a request to a model built for that
+     * request only
+     */
+    void apply(Swagger model, @Nullable String forwardedHost,
+            @Nullable String forwardedProto, @Nullable String forwardedPrefix,
+            URI baseUri) {
+        final Forwarded forwarded = Forwarded.parse(forwardedHost,
+                forwardedProto, forwardedPrefix);
+        if (forwarded == null) {
+            return;
+        }
+        final List<String> schemes = new ArrayList<>();
+        if (model.getSchemes() != null) {
+            for (Scheme scheme : model.getSchemes()) {
+                schemes.add(scheme.toValue());
+            }
+        }
+        model.setHost(forwarded.getHost(model.getHost(), baseUri));
+        final List<Scheme> forwardedSchemes = new ArrayList<>();
+        for (String scheme : forwarded.getSchemes(schemes, baseUri)) {
+            forwardedSchemes.add(Scheme.forValue(scheme));
+        }
+        model.setSchemes(forwardedSchemes);
+        model.setBasePath(forwarded.getBasePath(
+                model.getBasePath() == null ? "/" : model.getBasePath()));
+    }
+
+    private Templates templatesFor(SwaggerSpec spec) {
+        final Templates current = templates;
+        if (current != null && current.spec == spec) {
+            return current;
+        }
+        synchronized (this) {
+            final Templates existing = templates;
+            if (existing != null && existing.spec == spec) {
+                return existing;
+            }
+            // variants of the previous specification are keyed by its
+            // templates, they are never asked for again
+            variants.invalidateAll();
+            final Templates created = new Templates(spec);
+            templates = created;
+            return created;
+        }
+    }
+
+    private SwaggerSpec render(Variant variant) throws JsonProcessingException {
+        final Map<SpecTemplate.Slot, byte[]> values = new EnumMap<>(
+                SpecTemplate.Slot.class);
+        values.put(SpecTemplate.Slot.HOST,
+                Json.mapper().writeValueAsBytes(variant.host));
+        values.put(SpecTemplate.Slot.SCHEMES,
+                Json.mapper().writeValueAsBytes(variant.schemes));
+        values.put(SpecTemplate.Slot.BASE_PATH,
+                Json.mapper().writeValueAsBytes(variant.basePath));
+        final byte[] bytes = variant.templates.get(variant.format)
+                .render(values);
+
+        return new SwaggerSpec(null,
+                Collections.singletonMap(variant.format,
+                        SpecBytes.of(bytes, configuration.isCompress(),
+                                configuration.isOffHeap())),
+                Collections.singletonMap(variant.format, new EntityTag(
+                        Hashing.murmur3_128().hashBytes(bytes).toString(),
+                        true)));
+    }
+
+    /**
+     * The valid values of the forwarded headers of a request
+     */
+    private static final class Forwarded {
+        @Nullable
+        private final String host;
+        @Nullable
+        private final String scheme;
+        @Nullable
+        private final String prefix;
+
+        private Forwarded(@Nullable String host, @Nullable String scheme,
+                @Nullable String prefix) {
+            this.host = host;
+            this.scheme = scheme;
+            this.prefix = prefix;
+        }
+
+        /**
+         * Returns the valid forwarded values, or null when there are none
+         */
+        @Nullable
+        private static Forwarded parse(@Nullable String forwardedHost,
+                @Nullable String forwardedProto,
+                @Nullable String forwardedPrefix) {
+            final String host = firstMatching(forwardedHost, HOST);
+            final String proto = forwardedProto == null ? null
+                    : first(forwardedProto).toLowerCase(Locale.ENGLISH);
+            final String scheme = proto != null && SCHEMES.contains(proto)
+                    ? proto : null;
+            final String prefix = firstMatching(forwardedPrefix, PREFIX);
+            if (host == null && scheme == null && prefix == null) {
+                return null;
+            }
+            return new Forwarded(host, scheme, prefix);
+        }
+
+        private String getHost(@Nullable String defaultHost, URI baseUri) {
+            return host != null ? host
+                    : defaultHost != null ? defaultHost
+                            : baseUri.getAuthority();
+        }
+
+        private List<String> getSchemes(List<String> defaultSchemes,
+                URI baseUri) {
+            return scheme != null ? Collections.singletonList(scheme)
+                    : !defaultSchemes.isEmpty() ? defaultSchemes
+                            : Collections.singletonList(baseUri.getScheme());
+        }
+
+        private String getBasePath(String basePath) {
+            return prefix == null ? basePath : joinPaths(prefix, basePath);
+        }
+    }
+
+    @Nullable
+    private static String firstMatching(@Nullable String header,
+            Pattern pattern) {
+        if (header == null) {
+            return null;
+        }
+        final String value = first(header);
+        return value.length() <= MAX_HEADER_LENGTH
+                && pattern.matcher(value).matches() ? value : null;
+    }
+
+    /**
+     * Returns the value set by the proxy closest to the client
+     */
+    private static String first(String header) {
+        final Iterator<String> values = Splitter.on(',').trimResults()
+                .split(header).iterator();
+        return values.next();
+    }
+
+    private static String joinPaths(String prefix, String basePath) {
+        final String trimmed = prefix.endsWith("/")
+                ? prefix.substring(0, prefix.length() - 1) : prefix;
+        return "/".equals(basePath) ? (trimmed.isEmpty() ? "/" : trimmed)
+                : trimmed + basePath;
+    }
+
+    /**
+     * The templates of every representation of a specification, along with
+     * the values they replace
+     */
+    private static final class Templates {
+        private final SwaggerSpec spec;
+        private final Map<SwaggerSpecFormat, SpecTemplate> byFormat = new EnumMap<>(
+                SwaggerSpecFormat.class);
+        @Nullable
+        private final String host;
+        private final List<String> schemes = new ArrayList<>();
+        private final String basePath;
+
+        private Templates(SwaggerSpec spec) {
+            this.spec = spec;
+            final ObjectNode tree;
+            try {
+                tree = (ObjectNode) Json.mapper().readTree(
+                        spec.getBytes(SwaggerSpecFormat.JSON).toByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.host = tree.hasNonNull("host") ? tree.get("host").asText()
+                    : null;
+            for (JsonNode scheme : tree.path("schemes")) {
+                schemes.add(scheme.asText());
+            }
+            this.basePath = tree.path("basePath").asText("/");
+
+            // same property order as the specification, so that only the
+            // spliced values differ from it
+            final ObjectNode template = Json.mapper().createObjectNode();
+            for (String property : LEADING_PROPERTIES) {
+                if ("host".equals(property)) {
+                    template.put(property,
+                            SpecTemplate.Slot.HOST.getPlaceholder());
+                } else if ("basePath".equals(property)) {
+                    template.put(property,
+                            SpecTemplate.Slot.BASE_PATH.getPlaceholder());
+                } else if ("schemes".equals(property)) {
+                    template.put(property,
+                            SpecTemplate.Slot.SCHEMES.getPlaceholder());
+                } else if (tree.has(property)) {
+                    template.set(property, tree.get(property));
+                }
+            }
+            final Iterator<Map.Entry<String, JsonNode>> fields = tree.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                if (!LEADING_PROPERTIES.contains(field.getKey())) {
+                    template.set(field.getKey(), field.getValue());
+                }
+            }
+
+            for (SwaggerSpecFormat format : SwaggerSpecFormat.values()) {
+                try {
+                    byFormat.put(format, SpecTemplate.of(
+                            format.getMapper().writeValueAsBytes(template)));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException(
+                            "Unable to serialize the Swagger specification as "
+                                    + format.getExtension(),
+                            e);
+                }
+            }
+        }
+
+        private SpecTemplate get(SwaggerSpecFormat format) {
+            final SpecTemplate template = byFormat.get(format);
+            if (template == null) {
+                throw new IllegalStateException(
+                        "No template for " + format.getExtension());
+            }
+            return template;
+        }
+    }
+
+    private static final class Variant {
+        private final Templates templates;
+        private final SwaggerSpecFormat format;
+        private final String host;
+        private final List<String> schemes;
+        private final String basePath;
+
+        private Variant(Templates templates, SwaggerSpecFormat format,
+                String host, List<String> schemes, String basePath) {
+            this.templates = templates;
+            this.format = format;
+            this.host = host;
+            this.schemes = schemes;
+            this.basePath = basePath;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Variant)) {
+                return false;
+            }
+            final Variant other = (Variant) obj;
+            return templates == other.templates && format == other.format
+                    && host.equals(other.host)
+                    && schemes.equals(other.schemes)
+                    && basePath.equals(other.basePath);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(templates), format,
+                    host, schemes, basePath);
+        }
+    }
+}
@@ -0,0 +1,541 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import com.google.common.net.HttpHeaders;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+/**
+ * Fetches the specifications of the downstream services of a gateway and
+ * merges them into one, see {@link SwaggerGatewayConfiguration}.
+ * <p/>
+ * The paths of each service are prefixed with its own prefix and base path.
+ * Definitions, parameters and responses keep their name unless another
+ * service already declared a different one under that name, in which case
+ * they are renamed after the service along with the references to them,
+ * with a counter appended when that name is taken too. Duplicate operation
+ * ids are renamed the same way.
+ */
+final class SwaggerGateway {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SwaggerGateway.class);
+
+    private static final ImmutableList<String> SHARED_SECTIONS = ImmutableList
+            .of("definitions", "parameters", "responses");
+    private static final ImmutableSet<String> METHODS = ImmutableSet.of("get", "put",
+            "post", "delete", "options", "head", "patch");
+
+    private final SwaggerBundleConfiguration bundleConfiguration;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    private final Map<String, Service> services = new LinkedHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param bundleConfiguration
+     *            the bundle configuration, describing the merged specification
+     *            and its gateway
+     * @param executor
+     *            the executor fetching the downstream specifications
+     */
+    SwaggerGateway(SwaggerBundleConfiguration bundleConfiguration,
+            ExecutorService executor) {
+        this.bundleConfiguration = bundleConfiguration;
+        this.executor = executor;
+        final SwaggerGatewayConfiguration configuration = bundleConfiguration
+                .getGatewayConfiguration();
+        this.timeoutMillis = configuration.getTimeout().toMilliseconds();
+        final long maxSpecBytes = configuration.getMaxSpecSize().toBytes();
+        for (SwaggerGatewayServiceConfiguration service : configuration
+                .getServices()) {
+            if (service.getName() == null || !service.getName()
+                    .matches(SwaggerGatewayServiceConfiguration.NAME_PATTERN)) {
+                throw new IllegalStateException("Downstream service name "
+                        + service.getName() + " does not match "
+                        + SwaggerGatewayServiceConfiguration.NAME_PATTERN);
+            }
+            if (services.put(service.getName(),
+                    new Service(service, timeoutMillis,
+                            maxSpecBytes)) != null) {
+                throw new IllegalStateException("Downstream service "
+                        + service.getName() + " is configured twice");
+            }
+        }
+    }
+
+    Iterable<Service> getServices() {
+        return Collections.unmodifiableCollection(services.values());
+    }
+
+    Optional<Service> getService(String name) {
+        return Optional.ofNullable(services.get(name));
+    }
+
+    /**
+     * Fetches every downstream specification in parallel, revalidating the
+     * ones already fetched
+     *
+     * @return whether any specification changed
+     */
+    boolean fetch() {
+        final List<Future<Boolean>> fetches = new ArrayList<>();
+        for (Service service : services.values()) {
+            fetches.add(executor.submit(service::fetch));
+        }
+        final long deadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        boolean changed = false;
+        final Iterator<Service> iterator = services.values().iterator();
+        for (Future<Boolean> fetch : fetches) {
+            final Service service = iterator.next();
+            try {
+                changed |= fetch.get(Math.max(0, deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                fetch.cancel(true);
+                service.failed("timed out after " + timeoutMillis + "ms");
+            } catch (ExecutionException e) {
+                service.failed(String.valueOf(e.getCause()));
+            } catch (InterruptedException e) {
+                fetch.cancel(true);
+                Thread.currentThread().interrupt();
+                service.failed("interrupted");
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Fetches the downstream specifications and refreshes the given cache if
+     * any of them changed, meant to run in the background
+     */
+    void refresh(SwaggerSpecCache cache) {
+        try {
+            if (fetch()) {
+                cache.refresh();
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to refresh the Swagger gateway", e);
+        }
+    }
+
+    /**
+     * Merges the last specification fetched from every service
+     */
+    Swagger merge() {
+        try {
+            return Json.mapper().treeToValue(mergeDocuments(), Swagger.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Unable to read the merged Swagger specification", e);
+        }
+    }
+
+    private ObjectNode mergeDocuments() {
+        final ObjectNode merged = Json.mapper().createObjectNode();
+        merged.put("swagger", "2.0");
+        final ObjectNode info = merged.putObject("info");
+        info.put("title", bundleConfiguration.getTitle() == null ? "API"
+                : bundleConfiguration.getTitle());
+        info.put("version", bundleConfiguration.getVersion() == null ? ""
+                : bundleConfiguration.getVersion());
+        if (bundleConfiguration.getDescription() != null) {
+            info.put("description", bundleConfiguration.getDescription());
+        }
+        if (bundleConfiguration.getHost() != null) {
+            merged.put("host", bundleConfiguration.getHost());
+        }
+        merged.put("basePath", "/");
+        final ArrayNode schemes = merged.putArray("schemes");
+        for (String scheme : bundleConfiguration.getSchemes()) {
+            schemes.add(scheme);
+        }
+
+        final Map<String, JsonNode> tags = new LinkedHashMap<>();
+        final ObjectNode paths = merged.putObject("paths");
+        final Set<String> operationIds = new HashSet<>();
+        for (Service service : services.values()) {
+            final Fetched fetched = service.fetched;
+            if (fetched == null) {
+                LOGGER.warn(
+                        "Swagger specification of {} has never been fetched, leaving it out",
+                        service.getName());
+                continue;
+            }
+            final ObjectNode document = fetched.document.deepCopy();
+            mergeShared(service, document, merged);
+            mergePaths(service, document, paths, operationIds);
+            for (JsonNode tag : document.path("tags")) {
+                tags.putIfAbsent(tag.path("name").asText(), tag);
+            }
+            final ObjectNode securityDefinitions = object(merged,
+                    "securityDefinitions");
+            final Iterator<Map.Entry<String, JsonNode>> definitions = document
+                    .path("securityDefinitions").fields();
+            while (definitions.hasNext()) {
+                final Map.Entry<String, JsonNode> definition = definitions
+                        .next();
+                if (!securityDefinitions.has(definition.getKey())) {
+                    securityDefinitions.set(definition.getKey(),
+                            definition.getValue());
+                }
+            }
+        }
+        if (!tags.isEmpty()) {
+            merged.putArray("tags").addAll(tags.values());
+        }
+        for (String section : SHARED_SECTIONS) {
+            removeIfEmpty(merged, section);
+        }
+        removeIfEmpty(merged, "securityDefinitions");
+        return merged;
+    }
+
+    /**
+     * Merges the definitions, parameters and responses of a service, renaming
+     * the ones clashing with those of another service
+     */
+    private static void mergeShared(Service service, ObjectNode document,
+            ObjectNode merged) {
+        final Map<String, String> renamed = new HashMap<>();
+        for (String section : SHARED_SECTIONS) {
+            final String prefix = "#/" + section + "/";
+            final JsonNode declared = document.path(section);
+            final JsonNode existing = merged.path(section);
+            final Set<String> taken = new HashSet<>();
+            final Iterator<Map.Entry<String, JsonNode>> entries = declared
+                    .fields();
+            while (entries.hasNext()) {
+                final Map.Entry<String, JsonNode> entry = entries.next();
+                final JsonNode other = existing.get(entry.getKey());
+                if (other != null && !other.equals(entry.getValue())) {
+                    renamed.put(prefix + entry.getKey(),
+                            prefix + freeName(service.getName() + "."
+                                    + entry.getKey(), existing, declared,
+                                    taken));
+                }
+            }
+        }
+        if (!renamed.isEmpty()) {
+            rewriteReferences(document, renamed);
+        }
+
+        for (String section : SHARED_SECTIONS) {
+            final String prefix = "#/" + section + "/";
+            final ObjectNode target = object(merged, section);
+            final Iterator<Map.Entry<String, JsonNode>> entries = document
+                    .path(section).fields();
+            while (entries.hasNext()) {
+                final Map.Entry<String, JsonNode> entry = entries.next();
+                final String reference = renamed
+                        .get(prefix + entry.getKey());
+                target.set(reference == null ? entry.getKey()
+                        : reference.substring(prefix.length()),
+                        entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the given name, suffixed with a counter if needed so that it is
+     * declared neither in the merged specification nor by the service, nor
+     * already taken by another renamed entry
+     */
+    private static String freeName(String name, JsonNode existing,
+            JsonNode declared, Set<String> taken) {
+        String candidate = name;
+        for (int i = 2; existing.has(candidate) || declared.has(candidate)
+                || !taken.add(candidate); i++) {
+            candidate = name + "_" + i;
+        }
+        return candidate;
+    }
+
+    private static void mergePaths(Service service, ObjectNode document,
+            ObjectNode paths, Set<String> operationIds) {
+        final String basePath = trimSlash(document.path("basePath").asText());
+        final JsonNode security = document.get("security");
+        final Iterator<Map.Entry<String, JsonNode>> entries = document
+                .path("paths").fields();
+        while (entries.hasNext()) {
+            final Map.Entry<String, JsonNode> entry = entries.next();
+            final String path = service.getPrefix() + basePath
+                    + entry.getKey();
+            if (paths.has(path)) {
+                LOGGER.warn("Path {} of {} is already declared, leaving it out",
+                        path, service.getName());
+                continue;
+            }
+            final Iterator<Map.Entry<String, JsonNode>> operations = entry
+                    .getValue().fields();
+            while (operations.hasNext()) {
+                final Map.Entry<String, JsonNode> operation = operations
+                        .next();
+                if (!METHODS.contains(operation.getKey())
+                        || !operation.getValue().isObject()) {
+                    continue;
+                }
+                final ObjectNode node = (ObjectNode) operation.getValue();
+                // the requirements of the service apply to its operations
+                if (security != null && !node.has("security")) {
+                    node.set("security", security);
+                }
+                final JsonNode operationId = node.get("operationId");
+                if (operationId != null
+                        && !operationIds.add(operationId.asText())) {
+                    String renamed = service.getName() + "_"
+                            + operationId.asText();
+                    for (int i = 2; !operationIds.add(renamed); i++) {
+                        renamed = service.getName() + "_"
+                                + operationId.asText() + "_" + i;
+                    }
+                    node.put("operationId", renamed);
+                }
+            }
+            paths.set(path, entry.getValue());
+        }
+    }
+
+    private static void rewriteReferences(JsonNode node,
+            Map<String, String> renamed) {
+        if (node.isObject()) {
+            final JsonNode reference = node.get("$ref");
+            if (reference != null && reference.isTextual()
+                    && renamed.containsKey(reference.asText())) {
+                ((ObjectNode) node).put("$ref",
+                        renamed.get(reference.asText()));
+            }
+        }
+        for (JsonNode child : node) {
+            rewriteReferences(child, renamed);
+        }
+    }
+
+    private static ObjectNode object(ObjectNode parent, String name) {
+        final JsonNode child = parent.get(name);
+        return child instanceof ObjectNode ? (ObjectNode) child
+                : parent.putObject(name);
+    }
+
+    private static void removeIfEmpty(ObjectNode parent, String name) {
+        final JsonNode child = parent.get(name);
+        if (child != null && child.size() == 0) {
+            parent.remove(name);
+        }
+    }
+
+    private static String trimSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1)
+                : path;
+    }
+
+    /**
+     * A downstream service and the last specification fetched from it
+     */
+    static final class Service {
+        private final String name;
+        private final String prefix;
+        private final URL url;
+        private final int timeoutMillis;
+        private final long maxSpecBytes;
+
+        @Nullable
+        private volatile Fetched fetched;
+        @Nullable
+        private volatile String error;
+        private volatile long checkedAt;
+
+        private Service(SwaggerGatewayServiceConfiguration configuration,
+                long timeoutMillis, long maxSpecBytes) {
+            this.name = configuration.getName();
+            this.prefix = trimSlash(configuration.getPrefix() == null
+                    ? "/" + name : configuration.getPrefix());
+            try {
+                this.url = new URL(configuration.getUrl());
+            } catch (MalformedURLException e) {
+                throw new IllegalStateException(
+                        "Invalid URL for downstream service " + name, e);
+            }
+            this.timeoutMillis = (int) Math.min(Integer.MAX_VALUE,
+                    timeoutMillis);
+            this.maxSpecBytes = maxSpecBytes;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        String getPrefix() {
+            return prefix;
+        }
+
+        URL getUrl() {
+            return url;
+        }
+
+        /**
+         * Returns the last specification fetched, with its host and schemes
+         * set to those of the service when it did not declare them
+         */
+        Optional<Fetched> getFetched() {
+            return Optional.ofNullable(fetched);
+        }
+
+        /**
+         * Returns when the specification was last fetched or revalidated, in
+         * milliseconds since the epoch, or zero if it never was
+         */
+        long getCheckedAt() {
+            return checkedAt;
+        }
+
+        /**
+         * Returns why the last fetch failed, or null if it succeeded
+         */
+        @Nullable
+        String getError() {
+            return error;
+        }
+
+        private boolean fetch() throws IOException {
+            final Fetched previous = fetched;
+            final HttpURLConnection connection = (HttpURLConnection) url
+                    .openConnection();
+            try {
+                connection.setConnectTimeout(timeoutMillis);
+                connection.setReadTimeout(timeoutMillis);
+                connection.setRequestProperty(HttpHeaders.ACCEPT,
+                        "application/json");
+                connection.setRequestProperty(HttpHeaders.ACCEPT_ENCODING,
+                        "gzip");
+                if (previous != null && previous.entityTag != null) {
+                    connection.setRequestProperty(HttpHeaders.IF_NONE_MATCH,
+                            previous.entityTag);
+                }
+
+                final int status = connection.getResponseCode();
+                if (status == HttpURLConnection.HTTP_NOT_MODIFIED
+                        && previous != null) {
+                    error = null;
+                    checkedAt = System.currentTimeMillis();
+                    return false;
+                }
+                if (status != HttpURLConnection.HTTP_OK) {
+                    throw new IOException("Unexpected status " + status
+                            + " fetching " + url);
+                }
+                final byte[] body;
+                try (InputStream input = "gzip".equalsIgnoreCase(
+                        connection.getContentEncoding())
+                                ? new GZIPInputStream(
+                                        connection.getInputStream())
+                                : connection.getInputStream()) {
+                    // one byte past the maximum tells a larger body apart
+                    body = ByteStreams.toByteArray(
+                            ByteStreams.limit(input, maxSpecBytes + 1));
+                }
+                if (body.length > maxSpecBytes) {
+                    throw new IOException("Swagger specification of " + name
+                            + " is larger than " + maxSpecBytes + " bytes");
+                }
+                final JsonNode tree = Json.mapper().readTree(body);
+                if (!tree.isObject()) {
+                    throw new IOException(
+                            "Swagger specification of " + name
+                                    + " is not a JSON object");
+                }
+                final ObjectNode document = (ObjectNode) tree;
+                if (!document.has("host")) {
+                    document.put("host", url.getAuthority());
+                    if (!document.has("schemes")) {
+                        document.putArray("schemes").add(url.getProtocol());
+                    }
+                }
+                fetched = new Fetched(document,
+                        Json.mapper().writeValueAsBytes(document),
+                        connection.getHeaderField(HttpHeaders.ETAG));
+                error = null;
+                checkedAt = System.currentTimeMillis();
+                return previous == null || !previous.document.equals(document);
+            } finally {
+                connection.disconnect();
+            }
+        }
+
+        private void failed(String reason) {
+            // only warn once for a service that keeps failing the same way
+            if (!reason.equals(error)) {
+                LOGGER.warn(
+                        "Unable to fetch the Swagger specification of {}: {}",
+                        name, reason);
+            }
+            error = reason;
+        }
+    }
+
+    /**
+     * A specification fetched from a downstream service
+     */
+    static final class Fetched {
+        private final ObjectNode document;
+        private final byte[] bytes;
+        @Nullable
+        private final String entityTag;
+
+        private Fetched(ObjectNode document, byte[] bytes,
+                @Nullable String entityTag) {
+            this.document = document;
+            this.bytes = bytes;
+            this.entityTag = entityTag;
+        }
+
+        byte[] getBytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Size;
+import io.dropwizard.validation.MinDuration;
+
+/**
+ * Turns the bundle into a documentation gateway: instead of scanning its own
+ * resources, it serves the specifications of downstream services, fetched in
+ * parallel and merged into a single specification.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerGatewayConfiguration {
+
+    private boolean enabled = false;
+
+    @Valid
+    @NotNull
+    private List<SwaggerGatewayServiceConfiguration> services = new ArrayList<>();
+
+    /**
+     * Time allowed to fetch every downstream specification, a service that
+     * does not answer in time keeps its previous specification
+     */
+    @MinDuration(1)
+    private Duration timeout = Duration.seconds(5);
+
+    /**
+     * Interval between background fetches, revalidating each specification
+     * with its ETag. A value of zero only fetches on startup.
+     */
+    @NotNull
+    private Duration refreshInterval = Duration.minutes(1);
+
+    /**
+     * Maximum number of downstream specifications fetched at the same time
+     */
+    @Min(1)
+    private int fetchThreads = 8;
+
+    /**
+     * Size of the largest downstream specification, a service serving a
+     * larger one fails to be fetched
+     */
+    @NotNull
+    private Size maxSpecSize = Size.megabytes(10);
+
+    /**
+     * Whether Swagger UI shows the merged specification, instead of one
+     * selector entry per service
+     */
+    private boolean merge = true;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public List<SwaggerGatewayServiceConfiguration> getServices() {
+        return services;
+    }
+
+    @JsonProperty
+    public void setServices(List<SwaggerGatewayServiceConfiguration> services) {
+        this.services = services;
+    }
+
+    @JsonProperty
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @JsonProperty
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @JsonProperty
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    @JsonProperty
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    @JsonProperty
+    public int getFetchThreads() {
+        return fetchThreads;
+    }
+
+    @JsonProperty
+    public void setFetchThreads(int fetchThreads) {
+        this.fetchThreads = fetchThreads;
+    }
+
+    @JsonProperty
+    public Size getMaxSpecSize() {
+        return maxSpecSize;
+    }
+
+    @JsonProperty
+    public void setMaxSpecSize(Size maxSpecSize) {
+        this.maxSpecSize = maxSpecSize;
+    }
+
+    @JsonProperty
+    public boolean isMerge() {
+        return merge;
+    }
+
+    @JsonProperty
+    public void setMerge(boolean merge) {
+        this.merge = merge;
+    }
+}
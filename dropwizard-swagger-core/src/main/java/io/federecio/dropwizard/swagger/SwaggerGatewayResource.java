@@ -0,0 +1,144 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.hash.Hashing;
+
+/**
+ * Lists the downstream services of a gateway and serves the specification
+ * last fetched from each of them, so that Swagger UI can show them one at a
+ * time without requests to other origins.
+ */
+@Path("/swagger/services")
+@Produces(MediaType.APPLICATION_JSON)
+public class SwaggerGatewayResource {
+
+    private final SwaggerGateway gateway;
+
+    SwaggerGatewayResource(SwaggerGateway gateway) {
+        this.gateway = gateway;
+    }
+
+    @GET
+    public List<ServiceStatus> getServices() {
+        final List<ServiceStatus> statuses = new ArrayList<>();
+        for (SwaggerGateway.Service service : gateway.getServices()) {
+            statuses.add(new ServiceStatus(service));
+        }
+        return statuses;
+    }
+
+    @GET
+    @Path("/{name}.json")
+    public Response getSpec(@PathParam("name") String name,
+            @Context Request request) {
+        final Optional<SwaggerGateway.Fetched> fetched = gateway
+                .getService(name)
+                .flatMap(SwaggerGateway.Service::getFetched);
+        if (!fetched.isPresent()) {
+            throw new NotFoundException();
+        }
+        final byte[] bytes = fetched.get().getBytes();
+        final EntityTag entityTag = new EntityTag(
+                Hashing.murmur3_128().hashBytes(bytes).toString(), true);
+        final Response.ResponseBuilder notModified = request
+                .evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.tag(entityTag).build();
+        }
+        return Response.ok(bytes).tag(entityTag).build();
+    }
+
+    /**
+     * The state of a downstream service
+     */
+    public static class ServiceStatus {
+        private final String name;
+        private final String prefix;
+        private final String url;
+        private final boolean available;
+        private final long checkedAt;
+        @Nullable
+        private final String error;
+
+        ServiceStatus(SwaggerGateway.Service service) {
+            this.name = service.getName();
+            this.prefix = service.getPrefix();
+            this.url = service.getUrl().toString();
+            this.available = service.getFetched().isPresent();
+            this.checkedAt = service.getCheckedAt();
+            this.error = service.getError();
+        }
+
+        @JsonProperty
+        public String getName() {
+            return name;
+        }
+
+        @JsonProperty
+        public String getPrefix() {
+            return prefix;
+        }
+
+        /**
+         * Returns where the specification is fetched from
+         */
+        @JsonProperty
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Returns whether a specification was ever fetched, it is left out of
+         * the merged specification otherwise
+         */
+        @JsonProperty
+        public boolean isAvailable() {
+            return available;
+        }
+
+        /**
+         * Returns when the specification was last fetched or revalidated, in
+         * milliseconds since the epoch
+         */
+        @JsonProperty
+        public long getCheckedAt() {
+            return checkedAt;
+        }
+
+        /**
+         * Returns why the last fetch failed, or null if it succeeded
+         */
+        @JsonProperty
+        @Nullable
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import org.hibernate.validator.constraints.NotEmpty;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A downstream service whose specification a gateway serves, see
+ * {@link SwaggerGatewayConfiguration}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerGatewayServiceConfiguration {
+
+    /**
+     * Names are used as they are in URLs and in references, so they are
+     * restricted to characters needing no escaping in either
+     */
+    static final String NAME_PATTERN = "[A-Za-z0-9_-]+";
+
+    /**
+     * Identifies the service in paths and in renamed definitions
+     */
+    @NotNull
+    @Pattern(regexp = NAME_PATTERN)
+    private String name = "";
+
+    /**
+     * Location of the {@code swagger.json} of the service
+     */
+    @NotEmpty
+    private String url = "";
+
+    /**
+     * Prefix of the paths of the service in the merged specification,
+     * defaults to a slash followed by the name
+     */
+    @Nullable
+    @Pattern(regexp = "(/[^/?#]+)*/?")
+    private String prefix;
+
+    @JsonProperty
+    public String getName() {
+        return name;
+    }
+
+    @JsonProperty
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    @JsonProperty
+    public String getUrl() {
+        return url;
+    }
+
+    @JsonProperty
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @JsonProperty
+    public void setPrefix(@Nullable String prefix) {
+        this.prefix = prefix;
+    }
+}
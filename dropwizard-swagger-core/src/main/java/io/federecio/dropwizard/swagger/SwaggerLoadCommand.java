@@ -0,0 +1,129 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.net.URL;
+import javax.annotation.Nullable;
+import io.dropwizard.Configuration;
+import io.dropwizard.cli.ConfiguredCommand;
+import io.dropwizard.jetty.ConnectorFactory;
+import io.dropwizard.jetty.HttpConnectorFactory;
+import io.dropwizard.jetty.HttpsConnectorFactory;
+import io.dropwizard.server.DefaultServerFactory;
+import io.dropwizard.server.ServerFactory;
+import io.dropwizard.server.SimpleServerFactory;
+import io.dropwizard.setup.Bootstrap;
+import net.sourceforge.argparse4j.impl.Arguments;
+import net.sourceforge.argparse4j.inf.Namespace;
+import net.sourceforge.argparse4j.inf.Subparser;
+
+/**
+ * Drives the running application with requests derived from its own
+ * specification, at a constant arrival rate, then reports the throughput
+ * and latency percentiles of each operation. The application is reached on
+ * its first application connector unless {@code --port} is given.
+ * <p/>
+ * The command is not added by {@link SwaggerBundle}, applications wanting it
+ * add it to their bootstrap themselves.
+ */
+public final class SwaggerLoadCommand<T extends Configuration>
+        extends ConfiguredCommand<T> {
+
+    private final SwaggerBundle<T> bundle;
+    private final Class<T> configurationClass;
+
+    /**
+     * Constructor
+     *
+     * @param bundle
+     *            the bundle to get the configuration of Swagger from
+     * @param configurationClass
+     *            the configuration class of the application
+     */
+    public SwaggerLoadCommand(SwaggerBundle<T> bundle,
+            Class<T> configurationClass) {
+        super("swagger-load",
+                "Drives the running application with requests derived from its specification");
+        this.bundle = bundle;
+        this.configurationClass = configurationClass;
+    }
+
+    @Override
+    protected Class<T> getConfigurationClass() {
+        return configurationClass;
+    }
+
+    @Override
+    public void configure(Subparser subparser) {
+        super.configure(subparser);
+        subparser.addArgument("--host").setDefault("localhost")
+                .help("host the application listens on");
+        subparser.addArgument("--port").type(Integer.class)
+                .help("port the application listens on, by default the port of its first application connector");
+        subparser.addArgument("--rate").type(Integer.class).setDefault(100)
+                .choices(Arguments.range(1, Integer.MAX_VALUE))
+                .help("requests started per second, whether or not the previous ones completed");
+        subparser.addArgument("--duration").type(Integer.class)
+                .setDefault(30).choices(Arguments.range(1, Integer.MAX_VALUE))
+                .help("seconds to drive the application for");
+        subparser.addArgument("--concurrency").type(Integer.class)
+                .setDefault(64).choices(Arguments.range(1, Integer.MAX_VALUE))
+                .help("maximum number of requests in flight, as many more may wait and the others are dropped");
+        subparser.addArgument("--operation").action(Arguments.append())
+                .help("operation id to drive, every operation by default");
+    }
+
+    @Override
+    protected void run(Bootstrap<T> bootstrap, Namespace namespace,
+            T configuration) throws Exception {
+        final SwaggerBundleConfiguration swaggerBundleConfiguration = bundle
+                .getSwaggerBundleConfiguration(configuration);
+        final ConnectorFactory connector = getConnector(
+                configuration.getServerFactory());
+        final Integer port = namespace.getInt("port");
+        if (port == null && !(connector instanceof HttpConnectorFactory)) {
+            throw new IllegalArgumentException(
+                    "Unable to find the port of the application, use --port");
+        }
+        final String scheme = connector instanceof HttpsConnectorFactory
+                ? "https"
+                : "http";
+        final String urlPattern = new ConfigurationHelper(configuration,
+                swaggerBundleConfiguration).getUrlPattern();
+        final URL base = new URL(scheme, namespace.getString("host"),
+                port == null ? ((HttpConnectorFactory) connector).getPort()
+                        : port,
+                "/");
+
+        new SwaggerLoadDriver(base,
+                new URL(base, ("/".equals(urlPattern) ? "" : urlPattern)
+                        + "/swagger.json"),
+                namespace.getInt("rate"), namespace.getInt("duration"),
+                namespace.getInt("concurrency"),
+                namespace.getList("operation")).run(System.out);
+    }
+
+    @Nullable
+    private static ConnectorFactory getConnector(ServerFactory serverFactory) {
+        if (serverFactory instanceof SimpleServerFactory) {
+            return ((SimpleServerFactory) serverFactory).getConnector();
+        }
+        if (serverFactory instanceof DefaultServerFactory && !((DefaultServerFactory) serverFactory)
+                .getApplicationConnectors().isEmpty()) {
+            return ((DefaultServerFactory) serverFactory)
+                    .getApplicationConnectors().get(0);
+        }
+        return null;
+    }
+}
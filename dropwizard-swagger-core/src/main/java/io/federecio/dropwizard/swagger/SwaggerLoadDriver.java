@@ -0,0 +1,357 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.Nullable;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.AbstractSerializableParameter;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.util.Json;
+
+/**
+ * Drives an application with requests derived from its specification. Each
+ * operation gets a request generator with a value for every required
+ * parameter and a body synthesized from its schema, and the requests are
+ * started at a constant rate whether or not the previous ones completed.
+ * The latency of a request is measured from the time it was due to start,
+ * so that an application falling behind is not hidden by the requests
+ * waiting for a free connection.
+ * <p/>
+ * At most one request per connection waits for a free one. The requests
+ * due while that queue is full are dropped rather than piling up, and the
+ * requests starting after the next one was due are counted as late, both
+ * reported apart from the latencies.
+ * <p/>
+ * {@link HttpURLConnection} does not send {@code PATCH} requests, so
+ * {@code PATCH} operations are not driven.
+ */
+final class SwaggerLoadDriver {
+
+    private final URL base;
+    private final URL specUrl;
+    private final int rate;
+    private final int duration;
+    private final int concurrency;
+    @Nullable
+    private final Collection<String> operationIds;
+
+    /**
+     * Constructor
+     *
+     * @param base
+     *            the URL of the application
+     * @param specUrl
+     *            the URL of its specification
+     * @param rate
+     *            the requests to start per second
+     * @param duration
+     *            the seconds to drive the application for
+     * @param concurrency
+     *            the maximum number of requests in flight
+     * @param operationIds
+     *            the ids of the operations to drive, or {@code null} for
+     *            all of them
+     */
+    SwaggerLoadDriver(URL base, URL specUrl, int rate, int duration,
+            int concurrency, @Nullable Collection<String> operationIds) {
+        this.base = base;
+        this.specUrl = specUrl;
+        this.rate = rate;
+        this.duration = duration;
+        this.concurrency = concurrency;
+        this.operationIds = operationIds;
+    }
+
+    /**
+     * Drives the application then prints the report
+     *
+     * @param output
+     *            the stream to print the report to
+     * @return the statistics of each operation driven
+     */
+    List<SwaggerOperationStats> run(PrintStream output)
+            throws IOException, InterruptedException {
+        final List<Generator> generators = generators(fetch());
+        if (generators.isEmpty()) {
+            output.println("No operation to drive");
+            return new ArrayList<>();
+        }
+
+        final long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        final long total = (long) rate * duration;
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency,
+                concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(concurrency));
+        final long start = System.nanoTime();
+        try {
+            for (long i = 0; i < total; i++) {
+                final long due = start + i * interval;
+                final long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                final Generator generator = generators
+                        .get((int) (i % generators.size()));
+                try {
+                    executor.execute(() -> generator.send(due, interval));
+                } catch (RejectedExecutionException e) {
+                    generator.dropped.increment();
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        executor.awaitTermination(duration + 60L, TimeUnit.SECONDS);
+        final double elapsed = (System.nanoTime() - start) / 1e9;
+
+        final List<SwaggerOperationStats> stats = new ArrayList<>();
+        output.println(String.format(Locale.ENGLISH,
+                "%-32s %8s %8s %8s %8s %10s %10s %10s %10s %10s", "operation",
+                "requests", "errors", "dropped", "late", "req/s", "p50 ms",
+                "p90 ms", "p99 ms", "p99.9 ms"));
+        for (Generator generator : generators) {
+            final SwaggerOperationStats operation = generator.stats;
+            stats.add(operation);
+            output.println(String.format(Locale.ENGLISH,
+                    "%-32s %8d %8d %8d %8d %10.1f %10.3f %10.3f %10.3f %10.3f",
+                    operation.getOperationId(), operation.getCount(),
+                    operation.getErrors(), generator.dropped.sum(),
+                    generator.late.sum(), operation.getCount() / elapsed,
+                    operation.getPercentile(0.5),
+                    operation.getPercentile(0.9),
+                    operation.getPercentile(0.99),
+                    operation.getPercentile(0.999)));
+        }
+        return stats;
+    }
+
+    private Swagger fetch() throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) specUrl
+                .openConnection();
+        connection.setRequestProperty("Accept", "application/json");
+        if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+            throw new IOException("Unable to fetch " + specUrl + ": HTTP "
+                    + connection.getResponseCode());
+        }
+        try (InputStream input = connection.getInputStream()) {
+            return Json.mapper().readValue(input, Swagger.class);
+        }
+    }
+
+    private List<Generator> generators(Swagger swagger) throws IOException {
+        final List<Generator> generators = new ArrayList<>();
+        if (swagger.getPaths() == null) {
+            return generators;
+        }
+        final Map<String, Model> definitions = swagger
+                .getDefinitions() == null ? ImmutableMap.of()
+                        : swagger.getDefinitions();
+        final String basePath = swagger.getBasePath() == null
+                || "/".equals(swagger.getBasePath()) ? ""
+                        : swagger.getBasePath();
+        // one window covers the whole run
+        final long window = TimeUnit.SECONDS.toNanos(duration + 60L);
+        for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+            for (Map.Entry<HttpMethod, Operation> entry : path.getValue()
+                    .getOperationMap().entrySet()) {
+                final Operation operation = entry.getValue();
+                // HttpURLConnection rejects PATCH as a request method
+                if (entry.getKey() == HttpMethod.PATCH
+                        || operation.getOperationId() == null
+                        || (operationIds != null && !operationIds
+                                .contains(operation.getOperationId()))) {
+                    continue;
+                }
+                final Generator generator = generator(entry.getKey(),
+                        basePath, path.getKey(), operation, definitions,
+                        new SwaggerOperationStats(operation.getOperationId(),
+                                entry.getKey().name(), path.getKey(),
+                                window));
+                if (generator != null) {
+                    generators.add(generator);
+                }
+            }
+        }
+        return generators;
+    }
+
+    /**
+     * Derives the request of an operation, or returns {@code null} when it
+     * takes form parameters, which are not generated
+     */
+    @Nullable
+    private Generator generator(HttpMethod method, String basePath,
+            String template, Operation operation,
+            Map<String, Model> definitions, SwaggerOperationStats stats)
+            throws IOException {
+        String path = template;
+        final StringBuilder query = new StringBuilder();
+        final Map<String, String> headers = new LinkedHashMap<>();
+        byte[] body = null;
+        for (Parameter parameter : operation.getParameters()) {
+            if (parameter instanceof BodyParameter) {
+                final Model schema = ((BodyParameter) parameter).getSchema();
+                if (schema != null) {
+                    body = Json.mapper().writeValueAsBytes(
+                            SwaggerMockBodies.synthesize(schema, definitions));
+                }
+                continue;
+            }
+            if (!(parameter instanceof AbstractSerializableParameter)) {
+                continue;
+            }
+            final String value = value(
+                    (AbstractSerializableParameter<?>) parameter);
+            switch (parameter.getIn()) {
+            case "path":
+                path = path.replace("{" + parameter.getName() + "}",
+                        URLEncoder.encode(value, "UTF-8").replace("+", "%20"));
+                break;
+            case "query":
+                if (parameter.getRequired()) {
+                    query.append(query.length() == 0 ? '?' : '&')
+                            .append(URLEncoder.encode(parameter.getName(),
+                                    "UTF-8"))
+                            .append('=')
+                            .append(URLEncoder.encode(value, "UTF-8"));
+                }
+                break;
+            case "header":
+                if (parameter.getRequired()) {
+                    headers.put(parameter.getName(), value);
+                }
+                break;
+            case "formData":
+                return null;
+            default:
+                break;
+            }
+        }
+        return new Generator(method.name(),
+                new URL(base, basePath + path + query), headers, body, stats);
+    }
+
+    /**
+     * Returns a value of a parameter, preferring the values it declares
+     */
+    private static String value(AbstractSerializableParameter<?> parameter) {
+        if (parameter.getEnum() != null && !parameter.getEnum().isEmpty()) {
+            return parameter.getEnum().get(0);
+        }
+        if (parameter.getDefault() != null) {
+            return parameter.getDefault().toString();
+        }
+        final String type = "array".equals(parameter.getType())
+                && parameter.getItems() != null
+                        ? parameter.getItems().getType()
+                        : parameter.getType();
+        if ("integer".equals(type) || "number".equals(type)) {
+            return parameter.getMinimum() == null ? "1"
+                    : parameter.getMinimum().toPlainString();
+        }
+        if ("boolean".equals(type)) {
+            return "true";
+        }
+        return "string";
+    }
+
+    private static final class Generator {
+        private final String method;
+        private final URL url;
+        private final Map<String, String> headers;
+        @Nullable
+        private final byte[] body;
+        private final SwaggerOperationStats stats;
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder late = new LongAdder();
+
+        Generator(String method, URL url, Map<String, String> headers,
+                @Nullable byte[] body, SwaggerOperationStats stats) {
+            this.method = method;
+            this.url = url;
+            this.headers = headers;
+            this.body = body;
+            this.stats = stats;
+        }
+
+        /**
+         * Sends the request, timing it from when it was due to start, and
+         * counts it as late if it starts after the next request was due
+         */
+        void send(long due, long interval) {
+            if (System.nanoTime() - due > interval) {
+                late.increment();
+            }
+            boolean error;
+            try {
+                final HttpURLConnection connection = (HttpURLConnection) url
+                        .openConnection();
+                connection.setRequestMethod(method);
+                connection.setRequestProperty("Accept", "application/json");
+                for (Map.Entry<String, String> header : headers.entrySet()) {
+                    connection.setRequestProperty(header.getKey(),
+                            header.getValue());
+                }
+                if (body != null) {
+                    connection.setDoOutput(true);
+                    connection.setRequestProperty("Content-Type",
+                            "application/json");
+                    connection.setFixedLengthStreamingMode(body.length);
+                    try (OutputStream output = connection.getOutputStream()) {
+                        output.write(body);
+                    }
+                }
+                final int status = connection.getResponseCode();
+                error = status >= 400;
+                // reading the response whole lets the connection be reused
+                try (InputStream input = error ? connection.getErrorStream()
+                        : connection.getInputStream()) {
+                    if (input != null) {
+                        ByteStreams.exhaust(input);
+                    }
+                }
+            } catch (IOException e) {
+                error = true;
+            }
+            stats.record(System.nanoTime() - due, error);
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import javax.annotation.Nullable;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.util.Json;
+
+/**
+ * Synthesizes a JSON document conforming to a schema of the specification,
+ * preferring the examples, defaults and enumerations it declares. A model
+ * referencing itself is not expanded again: a property leading back to it is
+ * left out, and an array of it is left empty.
+ */
+final class SwaggerMockBodies {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private final Map<String, Model> definitions;
+    private final Deque<String> expanding = new ArrayDeque<>();
+
+    private SwaggerMockBodies(Map<String, Model> definitions) {
+        this.definitions = definitions;
+    }
+
+    /**
+     * Returns a document conforming to the given schema
+     */
+    static JsonNode synthesize(Property schema,
+            Map<String, Model> definitions) {
+        final JsonNode body = new SwaggerMockBodies(definitions)
+                .property(schema);
+        return body == null ? NODES.nullNode() : body;
+    }
+
+    /**
+     * Returns a document conforming to the given model
+     */
+    static JsonNode synthesize(Model schema, Map<String, Model> definitions) {
+        final JsonNode body = new SwaggerMockBodies(definitions).model(schema);
+        return body == null ? NODES.nullNode() : body;
+    }
+
+    @Nullable
+    private JsonNode property(Property property) {
+        if (property.getExample() != null) {
+            return Json.mapper().valueToTree(property.getExample());
+        }
+        if (property instanceof RefProperty) {
+            return reference(((RefProperty) property).getSimpleRef());
+        }
+        if (property instanceof ArrayProperty) {
+            final ArrayNode array = NODES.arrayNode();
+            final Property items = ((ArrayProperty) property).getItems();
+            final JsonNode item = items == null ? null : property(items);
+            if (item != null) {
+                array.add(item);
+            }
+            return array;
+        }
+        if (property instanceof MapProperty) {
+            final ObjectNode map = NODES.objectNode();
+            final Property values = ((MapProperty) property)
+                    .getAdditionalProperties();
+            final JsonNode value = values == null ? null : property(values);
+            if (value != null) {
+                map.set("key", value);
+            }
+            return map;
+        }
+        if (property instanceof ObjectProperty) {
+            return properties(((ObjectProperty) property).getProperties());
+        }
+        if (property instanceof StringProperty) {
+            final StringProperty string = (StringProperty) property;
+            if (string.getEnum() != null && !string.getEnum().isEmpty()) {
+                return NODES.textNode(string.getEnum().get(0));
+            }
+            if (string.getDefault() != null) {
+                return NODES.textNode(string.getDefault());
+            }
+        }
+        return primitive(property.getType(), property.getFormat());
+    }
+
+    @Nullable
+    private JsonNode model(Model model) {
+        if (model.getExample() != null) {
+            return Json.mapper().valueToTree(model.getExample());
+        }
+        if (model instanceof RefModel) {
+            return reference(((RefModel) model).getSimpleRef());
+        }
+        if (model instanceof ArrayModel) {
+            final ArrayNode array = NODES.arrayNode();
+            final Property items = ((ArrayModel) model).getItems();
+            final JsonNode item = items == null ? null : property(items);
+            if (item != null) {
+                array.add(item);
+            }
+            return array;
+        }
+        if (model instanceof ComposedModel) {
+            final ObjectNode composed = NODES.objectNode();
+            for (Model part : ((ComposedModel) model).getAllOf()) {
+                final JsonNode node = model(part);
+                if (node instanceof ObjectNode) {
+                    composed.setAll((ObjectNode) node);
+                }
+            }
+            return composed;
+        }
+        if (model instanceof ModelImpl) {
+            final ModelImpl impl = (ModelImpl) model;
+            if (impl.getEnum() != null && !impl.getEnum().isEmpty()) {
+                return NODES.textNode(impl.getEnum().get(0));
+            }
+            if (impl.getType() != null && !"object".equals(impl.getType())) {
+                return primitive(impl.getType(), impl.getFormat());
+            }
+        }
+        return properties(model.getProperties());
+    }
+
+    @Nullable
+    private JsonNode reference(String name) {
+        final Model model = definitions.get(name);
+        if (model == null || expanding.contains(name)) {
+            return null;
+        }
+        expanding.push(name);
+        try {
+            return model(model);
+        } finally {
+            expanding.pop();
+        }
+    }
+
+    private ObjectNode properties(@Nullable Map<String, Property> properties) {
+        final ObjectNode object = NODES.objectNode();
+        if (properties != null) {
+            for (Map.Entry<String, Property> property : properties
+                    .entrySet()) {
+                final JsonNode value = property(property.getValue());
+                if (value != null) {
+                    object.set(property.getKey(), value);
+                }
+            }
+        }
+        return object;
+    }
+
+    private static JsonNode primitive(@Nullable String type,
+            @Nullable String format) {
+        if (type == null) {
+            return NODES.objectNode();
+        }
+        switch (type) {
+        case "integer":
+            return NODES.numberNode(0);
+        case "number":
+            return NODES.numberNode(0.0);
+        case "boolean":
+            return NODES.booleanNode(true);
+        case "object":
+            return NODES.objectNode();
+        case "string":
+            return NODES.textNode(string(format));
+        default:
+            return NODES.nullNode();
+        }
+    }
+
+    private static String string(@Nullable String format) {
+        if (format == null) {
+            return "string";
+        }
+        switch (format) {
+        case "date":
+            return "1970-01-01";
+        case "date-time":
+            return "1970-01-01T00:00:00Z";
+        case "uuid":
+            return "00000000-0000-0000-0000-000000000000";
+        case "email":
+            return "user@example.com";
+        case "uri":
+        case "url":
+            return "http://example.com";
+        case "byte":
+            return "";
+        default:
+            return "string";
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+/**
+ * The operations of a specification compiled into a trie of path segments,
+ * each operation holding the response the mock answers it with, already
+ * encoded. Literal segments take precedence over templated ones, so
+ * {@code /pets/mine} is routed apart from {@code /pets/{id}}.
+ * <p/>
+ * Routing a request walks the requested path in place, looking the literal
+ * segments up by binary search, and allocates nothing.
+ */
+final class SwaggerMockRouter {
+
+    private static final String JSON = "application/json";
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Node root = new Node();
+
+    private SwaggerMockRouter() {
+    }
+
+    /**
+     * Compiles the operations of the given specification
+     *
+     * @param swagger
+     *            the specification
+     * @return the router of its operations
+     */
+    static SwaggerMockRouter compile(Swagger swagger) {
+        final SwaggerMockRouter router = new SwaggerMockRouter();
+        final Map<String, Path> paths = swagger.getPaths();
+        if (paths == null) {
+            return router;
+        }
+        for (Map.Entry<String, Path> path : paths.entrySet()) {
+            Node node = router.root;
+            for (String segment : segments(path.getKey())) {
+                node = segment.indexOf('{') >= 0 ? node.parameter()
+                        : node.literal(segment);
+            }
+            for (Map.Entry<HttpMethod, Operation> operation : path.getValue()
+                    .getOperationMap().entrySet()) {
+                node.operations.put(operation.getKey().name(),
+                        respond(swagger, operation.getValue()));
+            }
+        }
+        router.root.freeze();
+        return router;
+    }
+
+    /**
+     * Returns the responses by HTTP method of the operations of a path
+     *
+     * @param path
+     *            the requested path, relative to the mock
+     * @return the responses of the operations of the path, or {@code null}
+     *         when the path is not documented
+     */
+    @Nullable
+    Map<String, MockResponse> route(String path) {
+        final Node node = find(root, path, 0);
+        return node == null ? null : node.view;
+    }
+
+    @Nullable
+    private static Node find(Node node, String path, int start) {
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start == path.length()) {
+            return node.operations.isEmpty() ? null : node;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+        final Node literal = node.literal(path, start, end);
+        if (literal != null) {
+            final Node found = find(literal, path, end);
+            if (found != null) {
+                return found;
+            }
+        }
+        return node.parameter == null ? null
+                : find(node.parameter, path, end);
+    }
+
+    private static List<String> segments(String path) {
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        while (start < path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (end > start) {
+                segments.add(path.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return segments;
+    }
+
+    /**
+     * Encodes the response of an operation: its lowest successful status,
+     * with the example declared for it or else a body synthesized from its
+     * schema
+     */
+    private static MockResponse respond(Swagger swagger, Operation operation) {
+        final Map<String, Response> responses = operation.getResponses();
+        if (responses == null || responses.isEmpty()) {
+            return new MockResponse(200, null, EMPTY);
+        }
+        final TreeMap<Integer, Response> statuses = new TreeMap<>();
+        for (Map.Entry<String, Response> response : responses.entrySet()) {
+            final Integer status = "default".equals(response.getKey()) ? 200
+                    : Ints.tryParse(response.getKey());
+            if (status != null) {
+                statuses.putIfAbsent(status, response.getValue());
+            }
+        }
+        if (statuses.isEmpty()) {
+            return new MockResponse(200, null, EMPTY);
+        }
+        Map.Entry<Integer, Response> chosen = statuses.ceilingEntry(200);
+        if (chosen == null || chosen.getKey() >= 300) {
+            chosen = statuses.firstEntry();
+        }
+        final int status = chosen.getKey();
+        final Response response = chosen.getValue();
+        final String contentType = contentType(swagger, operation);
+
+        final Map<String, Object> examples = response.getExamples();
+        if (examples != null && !examples.isEmpty()) {
+            final Object example = examples.containsKey(contentType)
+                    ? examples.get(contentType)
+                    : examples.values().iterator().next();
+            return new MockResponse(status, contentType, encode(example));
+        }
+        if (response.getSchema() == null) {
+            return new MockResponse(status, null, EMPTY);
+        }
+        final Map<String, Model> definitions = swagger
+                .getDefinitions();
+        return new MockResponse(status, contentType,
+                encode(SwaggerMockBodies.synthesize(response.getSchema(),
+                        definitions == null ? ImmutableMap.of()
+                                : definitions)));
+    }
+
+    private static String contentType(Swagger swagger, Operation operation) {
+        List<String> produces = operation.getProduces();
+        if (produces == null || produces.isEmpty()) {
+            produces = swagger.getProduces();
+        }
+        if (produces == null || produces.isEmpty()
+                || produces.contains(JSON)) {
+            return JSON;
+        }
+        return produces.get(0);
+    }
+
+    private static byte[] encode(Object body) {
+        if (body instanceof String) {
+            // examples declared through annotations are already encoded
+            return ((String) body).getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return Json.mapper().writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Unable to encode the mock response", e);
+        }
+    }
+
+    /**
+     * A response of the mock, encoded once when the specification is
+     * compiled
+     */
+    static final class MockResponse {
+        private final int status;
+        @Nullable
+        private final String contentType;
+        private final byte[] body;
+
+        MockResponse(int status, @Nullable String contentType, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        @Nullable
+        String getContentType() {
+            return contentType;
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new TreeMap<>();
+        private final Map<String, MockResponse> operations = new TreeMap<>();
+        private final Map<String, MockResponse> view = Collections
+                .unmodifiableMap(operations);
+        @Nullable
+        private Node parameter;
+
+        /**
+         * The literal segments and their nodes, sorted once compiled
+         */
+        private String[] segments = new String[0];
+        private Node[] children = new Node[0];
+
+        Node literal(String segment) {
+            return literals.computeIfAbsent(segment, s -> new Node());
+        }
+
+        Node parameter() {
+            if (parameter == null) {
+                parameter = new Node();
+            }
+            return parameter;
+        }
+
+        void freeze() {
+            segments = literals.keySet().toArray(new String[0]);
+            children = literals.values().toArray(new Node[0]);
+            for (Node child : children) {
+                child.freeze();
+            }
+            if (parameter != null) {
+                parameter.freeze();
+            }
+        }
+
+        /**
+         * Returns the node of the literal segment between the given indexes
+         * of a path, or {@code null} if there is none
+         */
+        @Nullable
+        Node literal(String path, int start, int end) {
+            int low = 0;
+            int high = segments.length - 1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                final int comparison = compare(segments[middle], path, start,
+                        end);
+                if (comparison < 0) {
+                    low = middle + 1;
+                } else if (comparison > 0) {
+                    high = middle - 1;
+                } else {
+                    return children[middle];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Compares a segment to a region of a path the way
+         * {@link String#compareTo(String)} would
+         */
+        private static int compare(String segment, String path, int start,
+                int end) {
+            final int length = Math.min(segment.length(), end - start);
+            for (int i = 0; i < length; i++) {
+                final int difference = segment.charAt(i)
+                        - path.charAt(start + i);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            return segment.length() - (end - start);
+        }
+    }
+}
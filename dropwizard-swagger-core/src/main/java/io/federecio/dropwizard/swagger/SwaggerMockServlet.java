@@ -0,0 +1,73 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.util.Map;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import com.google.common.base.Joiner;
+import com.google.common.base.Strings;
+import com.google.common.net.HttpHeaders;
+import io.swagger.models.Swagger;
+
+/**
+ * Serves the mock of the API, answering each documented operation with the
+ * response compiled for it by a {@link SwaggerMockRouter}. The router is
+ * compiled once per specification, so a request only walks the trie and
+ * writes bytes, without going through Jersey.
+ */
+final class SwaggerMockServlet extends HttpServlet
+        implements SwaggerSpecListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient volatile SwaggerMockRouter router = SwaggerMockRouter
+            .compile(new Swagger());
+
+    @Override
+    public void onSpec(SwaggerSpec spec, Swagger model) {
+        router = SwaggerMockRouter.compile(model);
+    }
+
+    @Override
+    protected void service(HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        final Map<String, SwaggerMockRouter.MockResponse> operations = router
+                .route(Strings.nullToEmpty(request.getPathInfo()));
+        if (operations == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        final SwaggerMockRouter.MockResponse mock = operations
+                .get(request.getMethod());
+        if (mock == null) {
+            response.setHeader(HttpHeaders.ALLOW,
+                    Joiner.on(", ").join(operations.keySet()));
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        response.setStatus(mock.getStatus());
+        if (mock.getContentType() != null) {
+            response.setContentType(mock.getContentType());
+        }
+        final byte[] body = mock.getBody();
+        response.setContentLength(body.length);
+        if (body.length > 0 && !"HEAD".equals(request.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import io.swagger.converter.ModelConverter;
+import io.swagger.converter.ModelConverterContext;
+import io.swagger.converter.ModelConverters;
+import io.swagger.models.Model;
+import io.swagger.models.properties.Property;
+
+/**
+ * Memoizes the models resolved while the specification is built.
+ * <p/>
+ * swagger-core resolves the models of every parameter and response in a
+ * fresh context, so a DTO shared by many operations is introspected again
+ * for each of them, together with everything it references. This converter
+ * sits in front of the {@link io.swagger.jackson.ModelResolver} and
+ * remembers, per type, the resolved model along with the models it defined
+ * and the types it depended on, which are replayed into later contexts
+ * instead of being resolved again.
+ * <p/>
+ * The converter is only registered with {@link ModelConverters} while
+ * {@link #build(Supplier)} runs, caching only happens on the thread running
+ * it and the cache is dropped once the build is done, so the models are
+ * neither retained nor shared with anyone else using {@code ModelConverters}.
+ * Properties are not memoized, as swagger-core mutates those it returns.
+ */
+public class SwaggerModelCache implements ModelConverter {
+
+    private final Map<JavaType, Entry> cache = new HashMap<>();
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final Set<JavaType> replaying = new HashSet<>();
+    private final Map<String, ModelStats> stats = new HashMap<>();
+
+    @Nullable
+    private volatile Thread builder;
+
+    /**
+     * Runs a build of the specification with memoization enabled, replacing
+     * the statistics of the previous build
+     *
+     * @param build
+     *            builds the specification
+     * @return the result of the build
+     */
+    public synchronized <T> T build(Supplier<T> build) {
+        stats.clear();
+        builder = Thread.currentThread();
+        ModelConverters.getInstance().addConverter(this);
+        try {
+            return build.get();
+        } finally {
+            ModelConverters.getInstance().removeConverter(this);
+            builder = null;
+            cache.clear();
+            frames.clear();
+            replaying.clear();
+        }
+    }
+
+    /**
+     * Returns the resolution statistics of the last build, the types that
+     * took the longest to resolve themselves first
+     */
+    public synchronized List<ModelStats> getStats() {
+        final List<ModelStats> sorted = new ArrayList<>(stats.values());
+        sorted.sort(Comparator.comparingLong(ModelStats::getSelfNanos)
+                .reversed());
+        return sorted;
+    }
+
+    @Override
+    @Nullable
+    public Property resolveProperty(Type type, ModelConverterContext context,
+            Annotation[] annotations, Iterator<ModelConverter> chain) {
+        if (!chain.hasNext()) {
+            return null;
+        }
+        return chain.next().resolveProperty(type,
+                isCaching() ? new RecordingContext(context) : context,
+                annotations, chain);
+    }
+
+    @Override
+    @Nullable
+    public Model resolve(Type type, ModelConverterContext context,
+            Iterator<ModelConverter> chain) {
+        if (!chain.hasNext()) {
+            return null;
+        }
+        if (!isCaching()) {
+            return chain.next().resolve(type, context, chain);
+        }
+
+        final JavaType key = TypeFactory.defaultInstance().constructType(type);
+        final ModelStats typeStats = stats.computeIfAbsent(key.toCanonical(),
+                ModelStats::new);
+        typeStats.requests++;
+        final Frame parent = frames.peek();
+        if (parent != null) {
+            parent.dependencies.add(type);
+        }
+
+        final Entry cached = cache.get(key);
+        if (cached != null) {
+            if (replaying.add(key)) {
+                try {
+                    cached.replay(context);
+                } finally {
+                    replaying.remove(key);
+                }
+            }
+            return cached.model;
+        }
+        for (Frame frame : frames) {
+            if (frame.key.equals(key)) {
+                // a cycle entered through another context, the outer
+                // resolution is incomplete so there is nothing to reuse
+                return chain.next().resolve(type, context, chain);
+            }
+        }
+
+        final Frame frame = new Frame(key);
+        frames.push(frame);
+        final long start = System.nanoTime();
+        final Model model;
+        try {
+            model = chain.next().resolve(type, new RecordingContext(context),
+                    chain);
+        } finally {
+            frames.pop();
+            final long elapsed = System.nanoTime() - start;
+            typeStats.resolutions++;
+            typeStats.totalNanos += elapsed;
+            typeStats.selfNanos += elapsed - frame.childNanos;
+            if (parent != null) {
+                parent.childNanos += elapsed;
+            }
+        }
+        cache.put(key, new Entry(model, frame.definitions, frame.dependencies));
+        return model;
+    }
+
+    private boolean isCaching() {
+        return builder == Thread.currentThread();
+    }
+
+    /**
+     * Resolution statistics of a single type
+     */
+    public static final class ModelStats {
+        private final String type;
+        private long requests;
+        private long resolutions;
+        private long totalNanos;
+        private long selfNanos;
+
+        private ModelStats(String type) {
+            this.type = type;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Returns how many times the model of the type was asked for
+         */
+        public long getRequests() {
+            return requests;
+        }
+
+        /**
+         * Returns how many times the model was actually resolved rather than
+         * taken from the cache
+         */
+        public long getResolutions() {
+            return resolutions;
+        }
+
+        /**
+         * Returns the time spent resolving the model, including the types it
+         * references
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Returns the time spent resolving the model, excluding the types it
+         * references
+         */
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+    }
+
+    private static final class Frame {
+        private final JavaType key;
+        private final List<Definition> definitions = new ArrayList<>();
+        private final Set<Type> dependencies = new LinkedHashSet<>();
+        private long childNanos;
+
+        private Frame(JavaType key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Entry {
+        @Nullable
+        private final Model model;
+        private final List<Definition> definitions;
+        private final Set<Type> dependencies;
+
+        private Entry(@Nullable Model model, List<Definition> definitions,
+                Set<Type> dependencies) {
+            this.model = model;
+            this.definitions = definitions;
+            this.dependencies = dependencies;
+        }
+
+        private void replay(ModelConverterContext context) {
+            for (Definition definition : definitions) {
+                if (definition.type == null) {
+                    context.defineModel(definition.name, definition.model);
+                } else {
+                    context.defineModel(definition.name, definition.model,
+                            definition.type, definition.prevName);
+                }
+            }
+            // the context skips the types it already processed, which also
+            // ends the replay of cyclic references
+            for (Type dependency : dependencies) {
+                context.resolve(dependency);
+            }
+        }
+    }
+
+    private static final class Definition {
+        private final String name;
+        private final Model model;
+        @Nullable
+        private final Type type;
+        @Nullable
+        private final String prevName;
+
+        private Definition(String name, Model model, @Nullable Type type,
+                @Nullable String prevName) {
+            this.name = name;
+            this.model = model;
+            this.type = type;
+            this.prevName = prevName;
+        }
+    }
+
+    /**
+     * Passes everything through to the actual context, noting the models
+     * defined and the types resolved on behalf of the type being resolved
+     */
+    private final class RecordingContext implements ModelConverterContext {
+        private final ModelConverterContext delegate;
+
+        private RecordingContext(ModelConverterContext delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void defineModel(String name, Model model) {
+            final Frame frame = frames.peek();
+            if (frame != null) {
+                frame.definitions.add(new Definition(name, model, null, null));
+            }
+            delegate.defineModel(name, model);
+        }
+
+        @Override
+        public void defineModel(String name, Model model, Type type,
+                @Nullable String prevName) {
+            final Frame frame = frames.peek();
+            if (frame != null) {
+                frame.definitions
+                        .add(new Definition(name, model, type, prevName));
+            }
+            delegate.defineModel(name, model, type, prevName);
+        }
+
+        @Override
+        @Nullable
+        public Property resolveProperty(Type type, Annotation[] annotations) {
+            return delegate.resolveProperty(type, annotations);
+        }
+
+        @Override
+        @Nullable
+        public Model resolve(Type type) {
+            final Frame frame = frames.peek();
+            if (frame != null) {
+                frame.dependencies.add(type);
+            }
+            return delegate.resolve(type);
+        }
+
+        @Override
+        public Iterator<ModelConverter> getConverters() {
+            return delegate.getConverters();
+        }
+    }
+}
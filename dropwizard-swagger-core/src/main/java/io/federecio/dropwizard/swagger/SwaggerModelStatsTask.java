@@ -0,0 +1,57 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.PrintWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import com.google.common.collect.ImmutableMultimap;
+import io.dropwizard.servlets.tasks.Task;
+
+/**
+ * Admin task listing how the models of the last specification build were
+ * resolved, the most expensive first. The optional {@code limit} parameter
+ * caps the number of types listed.
+ */
+public class SwaggerModelStatsTask extends Task {
+
+    private final SwaggerModelCache modelCache;
+
+    public SwaggerModelStatsTask(SwaggerModelCache modelCache) {
+        super("swagger-model-stats");
+        this.modelCache = modelCache;
+    }
+
+    @Override
+    public void execute(ImmutableMultimap<String, String> parameters,
+            PrintWriter output) throws Exception {
+        final List<SwaggerModelCache.ModelStats> stats = modelCache.getStats();
+        final int limit = parameters.get("limit").stream().findFirst()
+                .map(Integer::parseInt).orElse(stats.size());
+
+        output.printf("%10s %10s %10s %10s  %s%n", "requests", "resolved",
+                "self ms", "total ms", "type");
+        for (SwaggerModelCache.ModelStats type : stats.subList(0,
+                Math.min(limit, stats.size()))) {
+            output.printf("%10d %10d %10.3f %10.3f  %s%n", type.getRequests(),
+                    type.getResolutions(), millis(type.getSelfNanos()),
+                    millis(type.getTotalNanos()), type.getType());
+        }
+        output.flush();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.uri.UriTemplate;
+
+/**
+ * Keys the operations of the specification and the resource methods Jersey
+ * matched alike, by HTTP method and normalized path template, so that a
+ * resource method can be resolved to the operation documenting it.
+ */
+final class SwaggerOperationPaths {
+
+    private static final Pattern PARAMETER_REGEX = Pattern
+            .compile("\\{\\s*([^}:\\s]+)\\s*:[^}]*}");
+    private static final Pattern SLASHES = Pattern.compile("/{2,}");
+
+    private SwaggerOperationPaths() {
+    }
+
+    static String key(String method, String path) {
+        return method.toUpperCase(Locale.ENGLISH) + ' ' + path;
+    }
+
+    /**
+     * Returns the normalized path template of the resource method Jersey
+     * matched
+     */
+    static String matched(ExtendedUriInfo uriInfo) {
+        final List<UriTemplate> templates = uriInfo.getMatchedTemplates();
+        final StringBuilder path = new StringBuilder();
+        for (int i = templates.size() - 1; i >= 0; i--) {
+            path.append('/').append(templates.get(i).getTemplate());
+        }
+        return normalize(path.toString());
+    }
+
+    /**
+     * Drops the regular expressions of path parameters and duplicate or
+     * trailing slashes, as Swagger does when reading paths
+     */
+    static String normalize(String path) {
+        String normalized = SLASHES
+                .matcher(PARAMETER_REGEX.matcher(path).replaceAll("{$1}"))
+                .replaceAll("/");
+        if (normalized.length() > 1 && normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized.startsWith("/") ? normalized : "/" + normalized;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.concurrent.TimeUnit;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.SlidingTimeWindowArrayReservoir;
+import com.codahale.metrics.Timer;
+
+/**
+ * Records the latency of the requests to one operation in a Dropwizard
+ * {@link Timer}, and its server errors in a {@link Meter}. The reservoir of
+ * the timer holds the requests of the last window, so that percentiles
+ * follow the recent requests.
+ */
+final class SwaggerOperationStats {
+
+    private final String operationId;
+    private final String method;
+    private final String path;
+    private final Timer timer;
+    private final Meter errors;
+
+    /**
+     * Constructor, for statistics kept outside of a metric registry
+     */
+    SwaggerOperationStats(String operationId, String method, String path,
+            long windowNanos) {
+        this(operationId, method, path, newTimer(windowNanos), new Meter());
+    }
+
+    SwaggerOperationStats(String operationId, String method, String path,
+            Timer timer, Meter errors) {
+        this.operationId = operationId;
+        this.method = method;
+        this.path = path;
+        this.timer = timer;
+        this.errors = errors;
+    }
+
+    /**
+     * Returns a timer whose percentiles cover the given window
+     */
+    static Timer newTimer(long windowNanos) {
+        return new Timer(new SlidingTimeWindowArrayReservoir(windowNanos,
+                TimeUnit.NANOSECONDS));
+    }
+
+    String getOperationId() {
+        return operationId;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    /**
+     * Records a request
+     *
+     * @param nanos
+     *            how long the request took
+     * @param error
+     *            whether it failed with a server error
+     */
+    void record(long nanos, boolean error) {
+        timer.update(nanos, TimeUnit.NANOSECONDS);
+        if (error) {
+            errors.mark();
+        }
+    }
+
+    long getCount() {
+        return timer.getCount();
+    }
+
+    long getErrors() {
+        return errors.getCount();
+    }
+
+    /**
+     * Returns the rate of requests per second over the last minute
+     */
+    double getRate() {
+        return timer.getOneMinuteRate();
+    }
+
+    /**
+     * Returns the latency below which the given fraction of the recent
+     * requests completed, in milliseconds, or zero without recent requests
+     */
+    double getPercentile(double quantile) {
+        return timer.getSnapshot().getValue(quantile)
+                / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
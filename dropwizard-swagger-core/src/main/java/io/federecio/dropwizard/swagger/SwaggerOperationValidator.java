@@ -0,0 +1,244 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import org.glassfish.jersey.server.ContainerRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.ByteStreams;
+import io.swagger.models.Operation;
+import io.swagger.models.parameters.AbstractSerializableParameter;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+
+/**
+ * Validates the requests to an operation against the checks compiled from
+ * its parameters and body schema. A valid request goes through the compiled
+ * checks without building any message, and its JSON body is checked while
+ * it is parsed, without building a tree.
+ */
+final class SwaggerOperationValidator {
+
+    /**
+     * Reason of a request whose body is larger than allowed
+     */
+    static final String BODY_TOO_LARGE = "body is too large";
+
+    private final String operationId;
+    private final ParameterCheck[] parameters;
+    @Nullable
+    private final SwaggerSchemaChecks.NodeCheck body;
+    private final boolean bodyRequired;
+    private final long maxBodySize;
+
+    /**
+     * Constructor
+     *
+     * @param operationId
+     *            the operation id
+     * @param operation
+     *            the operation of the specification
+     * @param checks
+     *            the compiler of the schemas of the specification
+     * @param validateBody
+     *            whether to validate JSON bodies
+     * @param maxBodySize
+     *            the size in bytes of the largest JSON body validated
+     */
+    SwaggerOperationValidator(String operationId, Operation operation,
+            SwaggerSchemaChecks checks, boolean validateBody,
+            long maxBodySize) {
+        this.operationId = operationId;
+        this.maxBodySize = maxBodySize;
+        final List<ParameterCheck> compiled = new ArrayList<>();
+        SwaggerSchemaChecks.NodeCheck bodyCheck = null;
+        boolean required = false;
+        for (Parameter parameter : operation.getParameters()) {
+            if (parameter instanceof BodyParameter) {
+                if (validateBody) {
+                    bodyCheck = checks
+                            .model(((BodyParameter) parameter).getSchema());
+                    required = parameter.getRequired();
+                }
+            } else if (parameter instanceof AbstractSerializableParameter
+                    && !"formData".equals(parameter.getIn())) {
+                // form parameters would consume the entity of the request
+                final AbstractSerializableParameter<?> serializable = (AbstractSerializableParameter<?>) parameter;
+                compiled.add(new ParameterCheck(serializable,
+                        SwaggerSchemaChecks.parameter(serializable)));
+            }
+        }
+        this.parameters = compiled.toArray(new ParameterCheck[0]);
+        this.body = bodyCheck;
+        this.bodyRequired = required;
+    }
+
+    String getOperationId() {
+        return operationId;
+    }
+
+    /**
+     * Validates a request
+     *
+     * @param request
+     *            the request
+     * @param mapper
+     *            the object mapper to read JSON bodies with
+     * @return the reason the request is invalid, {@link #BODY_TOO_LARGE}
+     *         when its body is larger than allowed, or {@code null} when it
+     *         is valid
+     */
+    @Nullable
+    String validate(ContainerRequest request, ObjectMapper mapper)
+            throws IOException {
+        for (ParameterCheck parameter : parameters) {
+            final String error = parameter.validate(request);
+            if (error != null) {
+                return error;
+            }
+        }
+        if (body == null) {
+            return null;
+        }
+        final MediaType mediaType = request.getMediaType();
+        if (mediaType != null && !isJson(mediaType)) {
+            return null;
+        }
+        if (request.getLength() > maxBodySize) {
+            return BODY_TOO_LARGE;
+        }
+        // buffered, within the limit, for the resource to read it again
+        final byte[] entity = request.hasEntity()
+                ? ByteStreams.toByteArray(ByteStreams
+                        .limit(request.getEntityStream(), maxBodySize + 1))
+                : new byte[0];
+        if (entity.length > maxBodySize) {
+            return BODY_TOO_LARGE;
+        }
+        request.setEntityStream(new ByteArrayInputStream(entity));
+        final String error;
+        try (JsonParser parser = mapper.getFactory().createParser(entity)) {
+            if (parser.nextToken() == null) {
+                return bodyRequired ? "body is required" : null;
+            }
+            error = body.check(parser);
+        } catch (JsonProcessingException e) {
+            return "body is not valid JSON";
+        }
+        return error == null ? null : SwaggerSchemaChecks.locate("body", error);
+    }
+
+    private static boolean isJson(MediaType mediaType) {
+        return mediaType.getSubtype().equals("json")
+                || mediaType.getSubtype().endsWith("+json");
+    }
+
+    private static final class ParameterCheck {
+        private final String name;
+        private final String in;
+        private final boolean required;
+        private final boolean multi;
+        @Nullable
+        private final String separator;
+        private final SwaggerSchemaChecks.ValueCheck check;
+
+        ParameterCheck(AbstractSerializableParameter<?> parameter,
+                SwaggerSchemaChecks.ValueCheck check) {
+            this.name = parameter.getName();
+            this.in = parameter.getIn();
+            this.required = parameter.getRequired();
+            this.check = check;
+            final boolean array = "array".equals(parameter.getType());
+            final String format = parameter.getCollectionFormat();
+            this.multi = array && "multi".equals(format);
+            this.separator = !array || multi ? null
+                    : "ssv".equals(format) ? " "
+                            : "tsv".equals(format) ? "\t"
+                                    : "pipes".equals(format) ? "|" : ",";
+        }
+
+        @Nullable
+        String validate(ContainerRequest request) {
+            final List<String> values = values(request);
+            if (values == null || values.isEmpty()) {
+                return required ? in + " parameter " + name + " is required"
+                        : null;
+            }
+            final String separator = this.separator;
+            final int count = multi ? values.size() : 1;
+            for (int i = 0; i < count; i++) {
+                final String error = separator == null
+                        ? check.check(values.get(i))
+                        : split(values.get(i), separator);
+                if (error != null) {
+                    return in + " parameter " + name + ' ' + error;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Checks each item of a delimited array in place
+         */
+        @Nullable
+        private String split(String value, String separator) {
+            int start = 0;
+            while (start <= value.length()) {
+                int end = value.indexOf(separator, start);
+                if (end < 0) {
+                    end = value.length();
+                }
+                final String error = check.check(value, start, end);
+                if (error != null) {
+                    return error;
+                }
+                start = end + separator.length();
+            }
+            return null;
+        }
+
+        @Nullable
+        private List<String> values(ContainerRequest request) {
+            switch (in) {
+            case "path":
+                return request.getUriInfo().getPathParameters().get(name);
+            case "query":
+                return request.getUriInfo().getQueryParameters().get(name);
+            case "header":
+                final MultivaluedMap<String, String> headers = request
+                        .getHeaders();
+                return headers.get(name);
+            case "cookie":
+                final Map<String, Cookie> cookies = request.getCookies();
+                final Cookie cookie = cookies.get(name);
+                return cookie == null ? null
+                        : Collections
+                                .singletonList(cookie.getValue());
+            default:
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.collect.ImmutableSet;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.SwaggerDefinition;
+import io.swagger.jaxrs.Reader;
+import io.swagger.jaxrs.config.ReaderListener;
+import io.swagger.jaxrs.ext.SwaggerExtension;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+
+/**
+ * A {@link Reader} reading the resource classes one at a time, so that each
+ * read can be recorded on its own. Otherwise it does what
+ * {@link Reader#read(Set)} does: listeners are notified around the whole
+ * read and every {@link SwaggerDefinition} is applied before any resource
+ * is read.
+ * <p/>
+ * Resource classes and methods carrying one of the hidden annotations are
+ * left out of the specification, skipped while reading rather than removed
+ * afterwards, so that the visible operations keep their ids.
+ */
+class SwaggerReader extends Reader {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SwaggerReader.class);
+
+    private final Set<Class<? extends Annotation>> hiddenAnnotations;
+
+    SwaggerReader(Swagger swagger) {
+        this(swagger, Collections.emptySet());
+    }
+
+    SwaggerReader(Swagger swagger,
+            Set<Class<? extends Annotation>> hiddenAnnotations) {
+        super(swagger);
+        this.hiddenAnnotations = ImmutableSet.copyOf(hiddenAnnotations);
+    }
+
+    @Override
+    public Swagger read(Set<Class<?>> classes) {
+        // same order as swagger-core: supertypes first, then by name
+        final Set<Class<?>> sorted = new TreeSet<>((a, b) -> {
+            if (a.equals(b)) {
+                return 0;
+            } else if (a.isAssignableFrom(b)) {
+                return -1;
+            } else if (b.isAssignableFrom(a)) {
+                return 1;
+            }
+            return a.getName().compareTo(b.getName());
+        });
+        sorted.addAll(classes);
+
+        final Map<Class<?>, ReaderListener> listeners = new LinkedHashMap<>();
+        for (Class<?> cls : sorted) {
+            if (ReaderListener.class.isAssignableFrom(cls)
+                    && !listeners.containsKey(cls)) {
+                try {
+                    listeners.put(cls, (ReaderListener) cls
+                            .getDeclaredConstructor().newInstance());
+                } catch (Exception e) {
+                    LOGGER.error("Failed to create ReaderListener", e);
+                }
+            }
+        }
+
+        for (ReaderListener listener : listeners.values()) {
+            try {
+                listener.beforeScan(this, getSwagger());
+            } catch (Exception e) {
+                LOGGER.error("Unexpected error invoking beforeScan listener ["
+                        + listener.getClass().getName() + "]", e);
+            }
+        }
+
+        for (Class<?> cls : sorted) {
+            final SwaggerDefinition definition = cls
+                    .getAnnotation(SwaggerDefinition.class);
+            if (definition != null) {
+                readSwaggerConfig(cls, definition);
+            }
+        }
+
+        for (Class<?> cls : sorted) {
+            if (isHidden(cls)) {
+                continue;
+            }
+            final SwaggerFlightRecorder.Span span = SwaggerFlightRecorder
+                    .begin(SwaggerFlightRecorder.Kind.READ);
+            final int before = span.isRecording()
+                    ? countOperations(getSwagger()) : 0;
+            // also applies the class' SwaggerDefinition again, which changes
+            // nothing the second time
+            read(cls);
+            if (span.isRecording()) {
+                span.end(cls.getName(),
+                        countOperations(getSwagger()) - before, "");
+            }
+        }
+
+        for (ReaderListener listener : listeners.values()) {
+            try {
+                listener.afterScan(this, getSwagger());
+            } catch (Exception e) {
+                LOGGER.error("Unexpected error invoking afterScan listener ["
+                        + listener.getClass().getName() + "]", e);
+            }
+        }
+        return getSwagger();
+    }
+
+    private boolean isHidden(AnnotatedElement element) {
+        for (Class<? extends Annotation> annotation : hiddenAnnotations) {
+            if (element.isAnnotationPresent(annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns no HTTP method for the hidden methods, so that swagger-core
+     * reads no operation for them
+     */
+    @Override
+    @Nullable
+    public String extractOperationMethod(@Nullable ApiOperation apiOperation,
+            Method method, Iterator<SwaggerExtension> chain) {
+        if (isHidden(method)) {
+            return null;
+        }
+        return super.extractOperationMethod(apiOperation, method, chain);
+    }
+
+    /**
+     * Returns no sub-resource for the hidden sub-resource locators, so that
+     * swagger-core does not read their sub-resources either
+     */
+    @Override
+    @Nullable
+    protected Class<?> getSubResourceWithJaxRsSubresourceLocatorSpecs(
+            Method method) {
+        if (isHidden(method)) {
+            return null;
+        }
+        return super.getSubResourceWithJaxRsSubresourceLocatorSpecs(method);
+    }
+
+    /**
+     * Returns the number of operations of the specification
+     */
+    static int countOperations(@Nullable Swagger swagger) {
+        if (swagger == null || swagger.getPaths() == null) {
+            return 0;
+        }
+        int operations = 0;
+        for (Path path : swagger.getPaths().values()) {
+            operations += path.getOperations().size();
+        }
+        return operations;
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.validation.constraints.Min;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Controls the static HTML reference served under {@code /swagger/reference},
+ * an alternative to Swagger UI rendered on the server without any script.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerReferenceConfiguration {
+
+    /**
+     * Whether to render the reference, every page is rendered each time the
+     * specification is built
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of operations, or models, listed on a page
+     */
+    @Min(1)
+    private int pageSize = 50;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    @JsonProperty
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.PrintWriter;
+import com.google.common.collect.ImmutableMultimap;
+import io.dropwizard.servlets.tasks.Task;
+
+/**
+ * Admin task rebuilding the specification, the only time the model is
+ * rebuilt once it has been released.
+ */
+public class SwaggerRefreshTask extends Task {
+
+    private final SwaggerSpecCache cache;
+
+    public SwaggerRefreshTask(SwaggerSpecCache cache) {
+        super("swagger-refresh");
+        this.cache = cache;
+    }
+
+    @Override
+    public void execute(ImmutableMultimap<String, String> parameters,
+            PrintWriter output) throws Exception {
+        final SwaggerSpec spec = cache.refresh();
+        output.println("Rebuilt Swagger specification "
+                + spec.getEntityTag(SwaggerSpecFormat.JSON));
+        output.flush();
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import io.dropwizard.jersey.errors.ErrorMessage;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+
+/**
+ * Rejects the requests to documented operations that do not match the
+ * parameters and body schema the specification declares, before they reach
+ * the resources. The checks of every operation are compiled once per
+ * specification, and the resource method Jersey matched is resolved to its
+ * operation once, by HTTP method and path template.
+ * <p/>
+ * The time spent validating the requests to each operation is published as
+ * a timer named after its operation id.
+ */
+@Priority(Priorities.USER)
+final class SwaggerRequestValidator
+        implements ContainerRequestFilter, SwaggerSpecListener {
+
+    private final boolean validateBody;
+    private final long maxBodySize;
+    private final ObjectMapper mapper;
+    private final MetricRegistry metrics;
+    private final Meter rejected;
+
+    /**
+     * The validators of the operations of the current specification, swapped
+     * with the resource methods resolved to them
+     */
+    private volatile Operations operations = new Operations(
+            Collections.emptyMap());
+
+    /**
+     * Constructor
+     *
+     * @param configuration
+     *            the validation configuration
+     * @param mapper
+     *            the object mapper to read JSON bodies with
+     * @param metrics
+     *            the registry of the validation timers
+     */
+    SwaggerRequestValidator(SwaggerValidationConfiguration configuration,
+            ObjectMapper mapper, MetricRegistry metrics) {
+        this.validateBody = configuration.isValidateBody();
+        this.maxBodySize = configuration.getMaxBodySize().toBytes();
+        this.mapper = mapper;
+        this.metrics = metrics;
+        this.rejected = metrics.meter(
+                MetricRegistry.name(SwaggerRequestValidator.class, "rejected"));
+    }
+
+    @Override
+    public void onSpec(SwaggerSpec spec, Swagger model) {
+        final Map<String, SwaggerOperationValidator> compiled = new HashMap<>();
+        if (model.getPaths() != null) {
+            final SwaggerSchemaChecks checks = new SwaggerSchemaChecks(
+                    model.getDefinitions() == null ? ImmutableMap.of()
+                            : model.getDefinitions());
+            for (Map.Entry<String, Path> path : model.getPaths().entrySet()) {
+                for (Map.Entry<HttpMethod, Operation> operation : path
+                        .getValue().getOperationMap().entrySet()) {
+                    final String operationId = operation.getValue()
+                            .getOperationId();
+                    if (operationId != null) {
+                        compiled.put(
+                                SwaggerOperationPaths.key(
+                                        operation.getKey().name(),
+                                        SwaggerOperationPaths
+                                                .normalize(path.getKey())),
+                                new SwaggerOperationValidator(operationId,
+                                        operation.getValue(), checks,
+                                        validateBody, maxBodySize));
+                    }
+                }
+            }
+        }
+        // resource methods may now document another operation
+        operations = new Operations(compiled);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext)
+            throws IOException {
+        final ContainerRequest request = (ContainerRequest) requestContext;
+        final ExtendedUriInfo uriInfo = request.getUriInfo();
+        final ResourceMethod method = uriInfo.getMatchedResourceMethod();
+        if (method == null) {
+            return;
+        }
+        final Optional<Validation> validation = resolve(operations, method,
+                uriInfo);
+        if (!validation.isPresent()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        final String error = validation.get().validator.validate(request,
+                mapper);
+        validation.get().timer.update(System.nanoTime() - start,
+                TimeUnit.NANOSECONDS);
+        if (SwaggerOperationValidator.BODY_TOO_LARGE.equals(error)) {
+            rejected.mark();
+            requestContext.abortWith(Response
+                    .status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .entity(new ErrorMessage(
+                            Response.Status.REQUEST_ENTITY_TOO_LARGE
+                                    .getStatusCode(),
+                            error))
+                    .build());
+        } else if (error != null) {
+            rejected.mark();
+            requestContext.abortWith(Response
+                    .status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .entity(new ErrorMessage(
+                            Response.Status.BAD_REQUEST.getStatusCode(),
+                            error))
+                    .build());
+        }
+    }
+
+    private Optional<Validation> resolve(Operations current,
+            ResourceMethod method, ExtendedUriInfo uriInfo) {
+        final Optional<Validation> known = current.resolved.get(method);
+        if (known != null) {
+            return known;
+        }
+        final String httpMethod = method.getHttpMethod();
+        final SwaggerOperationValidator validator = httpMethod == null ? null
+                : current.validators.get(SwaggerOperationPaths.key(httpMethod,
+                        SwaggerOperationPaths.matched(uriInfo)));
+        final Optional<Validation> found = validator == null
+                ? Optional.empty()
+                : Optional.of(new Validation(validator,
+                        metrics.timer(MetricRegistry.name(
+                                SwaggerRequestValidator.class,
+                                validator.getOperationId()))));
+        current.resolved.putIfAbsent(method, found);
+        return found;
+    }
+
+    private static final class Operations {
+        /**
+         * The validators of the operations, by method and path
+         */
+        private final Map<String, SwaggerOperationValidator> validators;
+        private final ConcurrentMap<ResourceMethod, Optional<Validation>> resolved = new ConcurrentHashMap<>();
+
+        Operations(Map<String, SwaggerOperationValidator> validators) {
+            this.validators = validators;
+        }
+    }
+
+    private static final class Validation {
+        private final SwaggerOperationValidator validator;
+        private final Timer timer;
+
+        Validation(SwaggerOperationValidator validator, Timer timer) {
+            this.validator = validator;
+            this.timer = timer;
+        }
+    }
+}
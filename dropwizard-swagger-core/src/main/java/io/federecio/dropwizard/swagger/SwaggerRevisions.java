@@ -0,0 +1,137 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.Nullable;
+import javax.ws.rs.core.EntityTag;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+/**
+ * Keeps the JSON representation of the most recent revisions of the
+ * specification, keyed by their ETag, to serve JSON Patch documents from any
+ * of them to the current revision. Each patch is computed once per pair of
+ * revisions.
+ */
+final class SwaggerRevisions implements SwaggerSpecListener {
+
+    static final String JSON_PATCH = "application/json-patch+json";
+
+    private static final byte[] EMPTY_PATCH = { '[', ']' };
+    private static final String GZIP_SUFFIX = "--gzip";
+
+    private final Map<String, SpecBytes> revisions;
+    private final Cache<String, byte[]> patches;
+
+    /**
+     * Constructor
+     *
+     * @param capacity
+     *            the number of revisions kept, including the current one
+     */
+    SwaggerRevisions(int capacity) {
+        this.revisions = new LinkedHashMap<String, SpecBytes>(capacity + 1,
+                0.75f, false) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<String, SpecBytes> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.patches = CacheBuilder.newBuilder().maximumSize(capacity).build();
+    }
+
+    @Override
+    public void onSpec(SwaggerSpec spec, Swagger model) {
+        // the revision is recorded once it is served
+    }
+
+    @Override
+    public synchronized void onSpecServed(SwaggerSpec spec) {
+        final String key = spec.getEntityTag(SwaggerSpecFormat.JSON)
+                .getValue();
+        // a rebuilt identical revision becomes the most recent one again
+        revisions.remove(key);
+        revisions.put(key, spec.getBytes(SwaggerSpecFormat.JSON));
+    }
+
+    /**
+     * Returns the JSON Patch from the given revision to the current
+     * specification, or an empty {@link Optional} if that revision is not
+     * kept
+     *
+     * @param since
+     *            the ETag of the revision the client holds, with or without
+     *            its quotes and weak indicator
+     * @param current
+     *            the specification currently served
+     */
+    Optional<byte[]> getPatch(String since, SwaggerSpec current) {
+        final String sourceKey = parseEntityTag(since);
+        final String targetKey = current.getEntityTag(SwaggerSpecFormat.JSON)
+                .getValue();
+        if (sourceKey.equals(targetKey)) {
+            return Optional.of(EMPTY_PATCH);
+        }
+        final SpecBytes source = getRevision(sourceKey);
+        if (source == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(patches.get(sourceKey + "/" + targetKey,
+                    () -> Json.mapper().writeValueAsBytes(JsonDiff.diff(
+                            Json.mapper().readTree(source.toByteArray()),
+                            Json.mapper().readTree(current
+                                    .getBytes(SwaggerSpecFormat.JSON)
+                                    .toByteArray())))));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new UncheckedIOException((IOException) e.getCause());
+            }
+            throw new IllegalStateException("Unable to compute JSON Patch",
+                    e.getCause());
+        }
+    }
+
+    @Nullable
+    private synchronized SpecBytes getRevision(String key) {
+        return revisions.get(key);
+    }
+
+    private static String parseEntityTag(String value) {
+        String key = value.trim();
+        if (key.startsWith("W/\"") || key.startsWith("\"")) {
+            try {
+                key = EntityTag.valueOf(key).getValue();
+            } catch (IllegalArgumentException e) {
+                // not a valid entity tag, look it up as-is
+            }
+        }
+        // Jetty suffixes the tags of the responses it compresses
+        return key.endsWith(GZIP_SUFFIX)
+                ? key.substring(0, key.length() - GZIP_SUFFIX.length())
+                : key;
+    }
+}
@@ -0,0 +1,526 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.swagger.models.ArrayModel;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.RefModel;
+import io.swagger.models.parameters.AbstractSerializableParameter;
+import io.swagger.models.properties.AbstractNumericProperty;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.ObjectProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+
+/**
+ * Compiles the schemas of a specification into checks specialized for each
+ * type and constraint. A check returns {@code null} for a valid value, and
+ * only builds a message, prefixed with the location of the invalid value,
+ * for an invalid one. Bodies are checked as they are parsed, in a single
+ * pass and without building a tree.
+ */
+final class SwaggerSchemaChecks {
+
+    /**
+     * Checks the value of a parameter, as sent in the request, or a region
+     * of it holding one item of an array
+     */
+    interface ValueCheck {
+        @Nullable
+        String check(String value, int start, int end);
+
+        @Nullable
+        default String check(String value) {
+            return check(value, 0, value.length());
+        }
+    }
+
+    /**
+     * Checks the value of a JSON body the parser is positioned at, reading
+     * past it when it is valid
+     */
+    interface NodeCheck {
+        @Nullable
+        String check(JsonParser parser) throws IOException;
+    }
+
+    private static final NodeCheck ANY = parser -> {
+        parser.skipChildren();
+        return null;
+    };
+
+    private final Map<String, Model> definitions;
+    private final Map<String, DefinitionCheck> compiled = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param definitions
+     *            the definitions the schemas may refer to
+     */
+    SwaggerSchemaChecks(Map<String, Model> definitions) {
+        this.definitions = definitions;
+    }
+
+    /**
+     * Compiles the check of a serializable parameter, or of each item of an
+     * array parameter
+     */
+    static ValueCheck parameter(AbstractSerializableParameter<?> parameter) {
+        final String type = "array".equals(parameter.getType())
+                && parameter.getItems() != null
+                        ? parameter.getItems().getType()
+                        : parameter.getType();
+        final List<String> allowed = parameter.getEnum();
+        final ValueCheck typed = value(type, parameter.getMinimum(),
+                parameter.getMaximum(), parameter.getMinLength(),
+                parameter.getMaxLength(), parameter.getPattern());
+        if (allowed == null || allowed.isEmpty()) {
+            return typed;
+        }
+        final Set<String> values = new HashSet<>(allowed);
+        return (value, start, end) -> isOneOf(values, value, start, end)
+                ? typed.check(value, start, end)
+                : "must be one of " + allowed;
+    }
+
+    private static boolean isOneOf(Set<String> values, String value,
+            int start, int end) {
+        if (start == 0 && end == value.length()) {
+            return values.contains(value);
+        }
+        for (String allowed : values) {
+            if (allowed.length() == end - start
+                    && value.regionMatches(start, allowed, 0, end - start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ValueCheck value(@Nullable String type,
+            @Nullable BigDecimal minimum, @Nullable BigDecimal maximum,
+            @Nullable Integer minLength, @Nullable Integer maxLength,
+            @Nullable String pattern) {
+        if ("integer".equals(type) || "number".equals(type)) {
+            final boolean integer = "integer".equals(type);
+            final double min = minimum == null ? Double.NEGATIVE_INFINITY
+                    : minimum.doubleValue();
+            final double max = maximum == null ? Double.POSITIVE_INFINITY
+                    : maximum.doubleValue();
+            return (value, start, end) -> {
+                final double number;
+                if (integer) {
+                    number = parseLong(value, start, end);
+                    if (Double.isNaN(number)) {
+                        return "must be an integer";
+                    }
+                } else {
+                    try {
+                        // there is no parser of doubles over a region
+                        number = Double
+                                .parseDouble(value.substring(start, end));
+                    } catch (NumberFormatException e) {
+                        return "must be a number";
+                    }
+                }
+                return range(number, min, max);
+            };
+        }
+        if ("boolean".equals(type)) {
+            return (value, start, end) -> is("true", value, start, end)
+                    || is("false", value, start, end) ? null
+                            : "must be true or false";
+        }
+        final Pattern regex = pattern == null ? null : Pattern.compile(pattern);
+        final int min = minLength == null ? 0 : minLength;
+        final int max = maxLength == null ? Integer.MAX_VALUE : maxLength;
+        return (value, start, end) -> text(value, start, end, min, max, regex);
+    }
+
+    /**
+     * Parses a region holding a decimal integer in the range of a long, the
+     * way {@link Long#parseLong(String)} does, or returns NaN
+     */
+    private static double parseLong(String value, int start, int end) {
+        int i = start;
+        final boolean negative = i < end && value.charAt(i) == '-';
+        if (i < end && (negative || value.charAt(i) == '+')) {
+            i++;
+        }
+        if (i == end) {
+            return Double.NaN;
+        }
+        // accumulates negatively so that Long.MIN_VALUE fits
+        long result = 0;
+        for (; i < end; i++) {
+            final int digit = Character.digit(value.charAt(i), 10);
+            if (digit < 0 || result < Long.MIN_VALUE / 10
+                    || result * 10 < Long.MIN_VALUE + digit) {
+                return Double.NaN;
+            }
+            result = result * 10 - digit;
+        }
+        if (negative) {
+            return result;
+        }
+        return result == Long.MIN_VALUE ? Double.NaN : -result;
+    }
+
+    private static boolean is(String expected, String value, int start,
+            int end) {
+        return expected.length() == end - start
+                && value.regionMatches(start, expected, 0, end - start);
+    }
+
+    /**
+     * Compiles the check of a body schema
+     */
+    NodeCheck model(@Nullable Model model) {
+        if (model == null) {
+            return ANY;
+        }
+        if (model instanceof RefModel) {
+            return definition(((RefModel) model).getSimpleRef());
+        }
+        if (model instanceof ArrayModel) {
+            final ArrayModel array = (ArrayModel) model;
+            return array(property(array.getItems()), array.getMinItems(),
+                    array.getMaxItems());
+        }
+        if (model instanceof ComposedModel) {
+            // a single pass over the body checks the union of the properties
+            final Map<String, Property> properties = new LinkedHashMap<>();
+            allOf(model, properties, new HashSet<>());
+            return object(properties);
+        }
+        if (model instanceof ModelImpl) {
+            final ModelImpl impl = (ModelImpl) model;
+            if (impl.getType() != null && !"object".equals(impl.getType())) {
+                return primitive(impl.getType(), impl.getEnum(),
+                        impl.getMinimum(), impl.getMaximum(), null, null,
+                        null);
+            }
+        }
+        return object(model.getProperties());
+    }
+
+    private NodeCheck property(@Nullable Property property) {
+        if (property == null) {
+            return ANY;
+        }
+        if (property instanceof RefProperty) {
+            return definition(((RefProperty) property).getSimpleRef());
+        }
+        if (property instanceof ArrayProperty) {
+            final ArrayProperty array = (ArrayProperty) property;
+            return array(property(array.getItems()), array.getMinItems(),
+                    array.getMaxItems());
+        }
+        if (property instanceof MapProperty) {
+            final NodeCheck values = property(
+                    ((MapProperty) property).getAdditionalProperties());
+            return parser -> {
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    return "must be an object";
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String name = parser.getCurrentName();
+                    parser.nextToken();
+                    final String error = values.check(parser);
+                    if (error != null) {
+                        return locate(name, error);
+                    }
+                }
+                return null;
+            };
+        }
+        if (property instanceof ObjectProperty) {
+            return object(((ObjectProperty) property).getProperties());
+        }
+        if (property instanceof StringProperty) {
+            final StringProperty string = (StringProperty) property;
+            return primitive("string", string.getEnum(), null, null,
+                    string.getMinLength(), string.getMaxLength(),
+                    string.getPattern());
+        }
+        if (property instanceof AbstractNumericProperty) {
+            final AbstractNumericProperty number = (AbstractNumericProperty) property;
+            return primitive(property.getType(), null, number.getMinimum(),
+                    number.getMaximum(), null, null, null);
+        }
+        return primitive(property.getType(), null, null, null, null, null,
+                null);
+    }
+
+    /**
+     * Compiles each definition once, the check of a definition referring to
+     * itself delegating to the check being compiled
+     */
+    private NodeCheck definition(String name) {
+        final DefinitionCheck known = compiled.get(name);
+        if (known != null) {
+            return known;
+        }
+        final DefinitionCheck check = new DefinitionCheck();
+        compiled.put(name, check);
+        final Model model = definitions.get(name);
+        check.delegate = model == null ? ANY : model(model);
+        return check;
+    }
+
+    /**
+     * Collects the properties of the parts of a composed model
+     */
+    private void allOf(Model model, Map<String, Property> properties,
+            Set<String> visited) {
+        if (model instanceof RefModel) {
+            final String name = ((RefModel) model).getSimpleRef();
+            final Model definition = definitions.get(name);
+            if (definition != null && visited.add(name)) {
+                allOf(definition, properties, visited);
+            }
+        } else if (model instanceof ComposedModel) {
+            for (Model part : ((ComposedModel) model).getAllOf()) {
+                allOf(part, properties, visited);
+            }
+        } else if (model.getProperties() != null) {
+            properties.putAll(model.getProperties());
+        }
+    }
+
+    private NodeCheck object(@Nullable Map<String, Property> properties) {
+        if (properties == null || properties.isEmpty()) {
+            return parser -> {
+                if (parser.currentToken() != JsonToken.START_OBJECT) {
+                    return "must be an object";
+                }
+                parser.skipChildren();
+                return null;
+            };
+        }
+        final int size = properties.size();
+        final String[] names = new String[size];
+        final NodeCheck[] checks = new NodeCheck[size];
+        final boolean[] required = new boolean[size];
+        final Map<String, Integer> indexes = new HashMap<>();
+        int i = 0;
+        for (Map.Entry<String, Property> property : properties.entrySet()) {
+            names[i] = property.getKey();
+            checks[i] = property(property.getValue());
+            required[i] = property.getValue().getRequired();
+            indexes.put(names[i], i);
+            i++;
+        }
+        return parser -> {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return "must be an object";
+            }
+            // the properties present, in a single word for most objects
+            final long[] words = size > Long.SIZE
+                    ? new long[(size + Long.SIZE - 1) / Long.SIZE]
+                    : null;
+            long word = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final Integer index = indexes.get(parser.getCurrentName());
+                final JsonToken value = parser.nextToken();
+                if (index == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                final int p = index;
+                if (words == null) {
+                    word |= 1L << p;
+                } else {
+                    words[p / Long.SIZE] |= 1L << p;
+                }
+                final String error = checks[p].check(parser);
+                if (error != null) {
+                    return locate(names[p], error);
+                }
+            }
+            for (int p = 0; p < size; p++) {
+                final long present = words == null ? word
+                        : words[p / Long.SIZE];
+                if (required[p] && (present & 1L << p) == 0) {
+                    return names[p] + " is required";
+                }
+            }
+            return null;
+        };
+    }
+
+    private static NodeCheck array(NodeCheck items,
+            @Nullable Integer minItems, @Nullable Integer maxItems) {
+        final int min = minItems == null ? 0 : minItems;
+        final int max = maxItems == null ? Integer.MAX_VALUE : maxItems;
+        return parser -> {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                return "must be an array";
+            }
+            int count = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (count == max) {
+                    return items(min, max);
+                }
+                final String error = items.check(parser);
+                if (error != null) {
+                    return locate("[" + count + "]", error);
+                }
+                count++;
+            }
+            return count < min ? items(min, max) : null;
+        };
+    }
+
+    private static NodeCheck primitive(@Nullable String type,
+            @Nullable List<String> allowed, @Nullable BigDecimal minimum,
+            @Nullable BigDecimal maximum, @Nullable Integer minLength,
+            @Nullable Integer maxLength, @Nullable String pattern) {
+        if (type == null) {
+            return ANY;
+        }
+        switch (type) {
+        case "integer":
+        case "number": {
+            final boolean integer = "integer".equals(type);
+            final double min = minimum == null ? Double.NEGATIVE_INFINITY
+                    : minimum.doubleValue();
+            final double max = maximum == null ? Double.POSITIVE_INFINITY
+                    : maximum.doubleValue();
+            return parser -> {
+                final JsonToken token = parser.currentToken();
+                if (token != JsonToken.VALUE_NUMBER_INT && (integer
+                        || token != JsonToken.VALUE_NUMBER_FLOAT)) {
+                    return "must be " + (integer ? "an integer" : "a number");
+                }
+                return range(parser.getDoubleValue(), min, max);
+            };
+        }
+        case "boolean":
+            return parser -> parser.currentToken().isBoolean() ? null
+                    : "must be a boolean";
+        case "string": {
+            final Set<String> values = allowed == null || allowed.isEmpty()
+                    ? null
+                    : new HashSet<>(allowed);
+            final Pattern regex = pattern == null ? null
+                    : Pattern.compile(pattern);
+            final int min = minLength == null ? 0 : minLength;
+            final int max = maxLength == null ? Integer.MAX_VALUE : maxLength;
+            return parser -> {
+                if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                    return "must be a string";
+                }
+                if (values == null && regex == null) {
+                    // the length is known without building the string
+                    return length(parser.getTextLength(), min, max);
+                }
+                final String text = parser.getText();
+                if (values != null && !values.contains(text)) {
+                    return "must be one of " + allowed;
+                }
+                return text(text, 0, text.length(), min, max, regex);
+            };
+        }
+        default:
+            return ANY;
+        }
+    }
+
+    /**
+     * Prefixes the message of an invalid nested value with its location in
+     * the enclosing one, messages without a location starting with "must"
+     */
+    static String locate(String location, String error) {
+        if (error.startsWith("must")) {
+            return location + ' ' + error;
+        }
+        return location + (error.charAt(0) == '[' ? "" : ".") + error;
+    }
+
+    @Nullable
+    private static String range(double number, double min, double max) {
+        if (number < min) {
+            return "must be at least " + BigDecimal.valueOf(min)
+                    .stripTrailingZeros().toPlainString();
+        }
+        if (number > max) {
+            return "must be at most " + BigDecimal.valueOf(max)
+                    .stripTrailingZeros().toPlainString();
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String text(String text, int start, int end, int min,
+            int max, @Nullable Pattern regex) {
+        final String error = length(end - start, min, max);
+        if (error != null) {
+            return error;
+        }
+        if (regex != null
+                && !regex.matcher(text).region(start, end).matches()) {
+            return "must match " + regex.pattern();
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String length(int length, int min, int max) {
+        if (length < min || length > max) {
+            return "must have between " + min + " and " + max
+                    + " characters";
+        }
+        return null;
+    }
+
+    private static String items(int min, int max) {
+        return "must have between " + min + " and " + max + " items";
+    }
+
+    private static final class DefinitionCheck implements NodeCheck {
+        @Nullable
+        private NodeCheck delegate;
+
+        @Override
+        @Nullable
+        public String check(JsonParser parser) throws IOException {
+            if (delegate == null) {
+                parser.skipChildren();
+                return null;
+            }
+            return delegate.check(parser);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.google.common.net.UrlEscapers;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+
+/**
+ * An inverted index of the operations and models of a specification. It is
+ * built once per specification, a search then only looks up the query terms
+ * in a sorted term dictionary and merges their postings.
+ * <p/>
+ * Every query term must match, either exactly or as the prefix of an
+ * indexed term, for a document to be a hit. Identifiers are indexed whole
+ * and split on camel case, so {@code getNode} is found by {@code getnode},
+ * {@code node} and {@code get no}.
+ */
+final class SwaggerSearchIndex {
+
+    private static final float OPERATION_ID = 5;
+    private static final float MODEL_NAME = 5;
+    private static final float PATH = 4;
+    private static final float TAG = 3;
+    private static final float SUMMARY = 2;
+    private static final float PARAMETER = 2;
+    private static final float DESCRIPTION = 1;
+
+    /**
+     * Weight of a query term matching the prefix of an indexed term, rather
+     * than the whole term
+     */
+    private static final float PREFIX_MATCH = 0.5f;
+
+    private static final int MAX_QUERY_TERMS = 16;
+
+    private static final Splitter WORDS = Splitter
+            .on(CharMatcher.javaLetterOrDigit().negate()).omitEmptyStrings();
+    private static final Pattern CAMEL_CASE = Pattern
+            .compile("(?<=[a-z0-9])(?=[A-Z])|(?<=[A-Z])(?=[A-Z][a-z])");
+
+    private final List<SwaggerSearchResults.Hit> documents;
+    private final String[] terms;
+    private final int[][] postings;
+    private final float[][] weights;
+    private final int operations;
+
+    private SwaggerSearchIndex(List<SwaggerSearchResults.Hit> documents,
+            Map<String, Map<Integer, Float>> index, int operations) {
+        this.documents = documents;
+        final List<Map.Entry<String, Map<Integer, Float>>> entries = new ArrayList<>(
+                index.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+        this.terms = new String[entries.size()];
+        this.postings = new int[terms.length][];
+        this.weights = new float[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            final Map.Entry<String, Map<Integer, Float>> entry = entries
+                    .get(i);
+            final List<Map.Entry<Integer, Float>> termPostings = new ArrayList<>(
+                    entry.getValue().entrySet());
+            termPostings.sort(Map.Entry.comparingByKey());
+            final int[] docs = new int[termPostings.size()];
+            final float[] docWeights = new float[docs.length];
+            for (int j = 0; j < docs.length; j++) {
+                docs[j] = termPostings.get(j).getKey();
+                docWeights[j] = termPostings.get(j).getValue();
+            }
+            terms[i] = entry.getKey();
+            postings[i] = docs;
+            weights[i] = docWeights;
+        }
+        this.operations = operations;
+    }
+
+    /**
+     * Indexes the operations and models of a specification
+     *
+     * @param model
+     *            the specification
+     * @param specUrl
+     *            the URL of the JSON specification, relative to the search
+     *            endpoint
+     */
+    static SwaggerSearchIndex of(Swagger model, String specUrl) {
+        final List<SwaggerSearchResults.Hit> documents = new ArrayList<>();
+        final Map<String, Map<Integer, Float>> index = new HashMap<>();
+        if (model.getPaths() != null) {
+            for (Map.Entry<String, Path> path : model.getPaths().entrySet()) {
+                for (Map.Entry<HttpMethod, Operation> entry : path.getValue()
+                        .getOperationMap().entrySet()) {
+                    final String method = entry.getKey().name()
+                            .toLowerCase(Locale.ENGLISH);
+                    final Operation operation = entry.getValue();
+                    final String ref = "#/paths/" + escape(path.getKey()) + "/"
+                            + method;
+                    final int doc = documents.size();
+                    documents.add(new SwaggerSearchResults.Hit("operation",
+                            ref, specUrl + fragment(ref),
+                            method.toUpperCase(Locale.ENGLISH), path.getKey(),
+                            operation.getOperationId(), null,
+                            operation.getSummary(), operation.getTags(), 0));
+
+                    add(index, doc, operation.getOperationId(), OPERATION_ID);
+                    add(index, doc, path.getKey(), PATH);
+                    add(index, doc, method, PATH);
+                    if (operation.getTags() != null) {
+                        for (String tag : operation.getTags()) {
+                            add(index, doc, tag, TAG);
+                        }
+                    }
+                    add(index, doc, operation.getSummary(), SUMMARY);
+                    add(index, doc, operation.getDescription(), DESCRIPTION);
+                    addParameters(index, doc, operation.getParameters());
+                    addParameters(index, doc, path.getValue().getParameters());
+                }
+            }
+        }
+        final int operations = documents.size();
+
+        if (model.getDefinitions() != null) {
+            for (Map.Entry<String, Model> definition : model.getDefinitions()
+                    .entrySet()) {
+                final String ref = "#/definitions/"
+                        + escape(definition.getKey());
+                final int doc = documents.size();
+                documents.add(new SwaggerSearchResults.Hit("model", ref,
+                        specUrl + fragment(ref), null, null, null,
+                        definition.getKey(),
+                        definition.getValue().getDescription(), null, 0));
+
+                add(index, doc, definition.getKey(), MODEL_NAME);
+                add(index, doc, definition.getValue().getDescription(),
+                        DESCRIPTION);
+            }
+        }
+        return new SwaggerSearchIndex(documents, index, operations);
+    }
+
+    /**
+     * Returns the number of operations indexed
+     */
+    int getOperations() {
+        return operations;
+    }
+
+    /**
+     * Returns the number of models indexed
+     */
+    int getModels() {
+        return documents.size() - operations;
+    }
+
+    /**
+     * Returns the best matches of a query
+     *
+     * @param query
+     *            the terms to look for
+     * @param limit
+     *            the maximum number of hits returned
+     */
+    SwaggerSearchResults search(String query, int limit) {
+        final Set<String> queryTerms = new LinkedHashSet<>(tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return new SwaggerSearchResults(query, 0,
+                    Collections.emptyList());
+        }
+
+        final float[] scores = new float[documents.size()];
+        final int[] matchedTerms = new int[documents.size()];
+        int termNumber = 0;
+        for (String queryTerm : queryTerms) {
+            if (termNumber == MAX_QUERY_TERMS) {
+                break;
+            }
+            // each document counts once per query term, however many of its
+            // terms start with it
+            for (int i = firstTermStartingWith(queryTerm); i < terms.length
+                    && terms[i].startsWith(queryTerm); i++) {
+                final float factor = terms[i].length() == queryTerm.length()
+                        ? 1 : PREFIX_MATCH;
+                final int[] docs = postings[i];
+                for (int j = 0; j < docs.length; j++) {
+                    final int doc = docs[j];
+                    if (matchedTerms[doc] == termNumber) {
+                        matchedTerms[doc] = termNumber + 1;
+                    } else if (matchedTerms[doc] != termNumber + 1) {
+                        continue;
+                    }
+                    scores[doc] += weights[i][j] * factor;
+                }
+            }
+            termNumber++;
+        }
+
+        final List<Integer> matches = new ArrayList<>();
+        for (int doc = 0; doc < documents.size(); doc++) {
+            if (matchedTerms[doc] == termNumber) {
+                matches.add(doc);
+            }
+        }
+        // best score first, then in the order of the specification
+        matches.sort((a, b) -> {
+            final int byScore = Float.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Integer.compare(a, b);
+        });
+        final List<SwaggerSearchResults.Hit> hits = new ArrayList<>(
+                Math.min(limit, matches.size()));
+        for (Integer doc : matches.subList(0,
+                Math.min(limit, matches.size()))) {
+            hits.add(documents.get(doc).withScore(scores[doc]));
+        }
+        return new SwaggerSearchResults(query, matches.size(), hits);
+    }
+
+    private int firstTermStartingWith(String prefix) {
+        final int found = Arrays.binarySearch(terms, prefix);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    private static void addParameters(Map<String, Map<Integer, Float>> index,
+            int doc, @Nullable List<Parameter> parameters) {
+        if (parameters == null) {
+            return;
+        }
+        for (Parameter parameter : parameters) {
+            add(index, doc, parameter.getName(), PARAMETER);
+        }
+    }
+
+    private static void add(Map<String, Map<Integer, Float>> index, int doc,
+            @Nullable String text, float weight) {
+        if (text == null) {
+            return;
+        }
+        for (String term : tokenize(text)) {
+            // the best field a term appears in decides its weight
+            index.computeIfAbsent(term, t -> new HashMap<>()).merge(doc,
+                    weight, Math::max);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        final List<String> tokens = new ArrayList<>();
+        for (String word : WORDS.split(text)) {
+            tokens.add(word.toLowerCase(Locale.ENGLISH));
+            final String[] parts = CAMEL_CASE.split(word);
+            if (parts.length > 1) {
+                for (String part : parts) {
+                    tokens.add(part.toLowerCase(Locale.ENGLISH));
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Escapes a JSON pointer token
+     */
+    private static String escape(String token) {
+        return token.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String fragment(String ref) {
+        return "#" + UrlEscapers.urlFragmentEscaper().escape(ref.substring(1));
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.base.Stopwatch;
+import io.swagger.models.Swagger;
+
+/**
+ * Searches the operations and models of the specification, so that large
+ * APIs do not have to be filtered in the browser. The index is rebuilt each
+ * time the specification changes.
+ */
+@Path("/swagger/search")
+@Produces(MediaType.APPLICATION_JSON)
+public class SwaggerSearchResource implements SwaggerSpecListener {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SwaggerSearchResource.class);
+
+    private static final int MAX_LIMIT = 100;
+    private static final int MAX_QUERY_LENGTH = 256;
+
+    /**
+     * The JSON specification, relative to this resource
+     */
+    private static final String SPEC_URL = "../swagger.json";
+
+    @Nullable
+    private volatile SwaggerSearchIndex index;
+
+    @Override
+    public void onSpec(SwaggerSpec spec, Swagger model) {
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final SwaggerSearchIndex built = SwaggerSearchIndex.of(model,
+                SPEC_URL);
+        index = built;
+        LOGGER.info("Indexed {} operations and {} models in {}",
+                built.getOperations(), built.getModels(), stopwatch);
+    }
+
+    @GET
+    public SwaggerSearchResults search(
+            @QueryParam("q") @DefaultValue("") String query,
+            @QueryParam("limit") @DefaultValue("20") int limit) {
+        final String trimmed = query.length() > MAX_QUERY_LENGTH
+                ? query.substring(0, MAX_QUERY_LENGTH) : query;
+        final SwaggerSearchIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException(
+                    "The Swagger specification has not been indexed");
+        }
+        return current.search(trimmed,
+                Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.List;
+import javax.annotation.Nullable;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The operations and models matching a search, best matches first.
+ */
+public class SwaggerSearchResults {
+
+    private final String query;
+    private final int total;
+    private final List<Hit> hits;
+
+    public SwaggerSearchResults(String query, int total, List<Hit> hits) {
+        this.query = query;
+        this.total = total;
+        this.hits = hits;
+    }
+
+    @JsonProperty
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns the number of matches, including those left out of the hits
+     */
+    @JsonProperty
+    public int getTotal() {
+        return total;
+    }
+
+    @JsonProperty
+    public List<Hit> getHits() {
+        return hits;
+    }
+
+    /**
+     * A matching operation or model. {@code ref} is the JSON pointer of the
+     * matching slice of the specification and {@code href} links to it from
+     * the search endpoint.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Hit {
+
+        private final String kind;
+        private final String ref;
+        private final String href;
+        @Nullable
+        private final String method;
+        @Nullable
+        private final String path;
+        @Nullable
+        private final String operationId;
+        @Nullable
+        private final String name;
+        @Nullable
+        private final String summary;
+        @Nullable
+        private final List<String> tags;
+        private final float score;
+
+        Hit(String kind, String ref, String href, @Nullable String method,
+                @Nullable String path, @Nullable String operationId,
+                @Nullable String name, @Nullable String summary,
+                @Nullable List<String> tags, float score) {
+            this.kind = kind;
+            this.ref = ref;
+            this.href = href;
+            this.method = method;
+            this.path = path;
+            this.operationId = operationId;
+            this.name = name;
+            this.summary = summary;
+            this.tags = tags;
+            this.score = score;
+        }
+
+        Hit withScore(float newScore) {
+            return new Hit(kind, ref, href, method, path, operationId, name,
+                    summary, tags, newScore);
+        }
+
+        /**
+         * Returns either {@code operation} or {@code model}
+         */
+        @JsonProperty
+        public String getKind() {
+            return kind;
+        }
+
+        @JsonProperty
+        public String getRef() {
+            return ref;
+        }
+
+        @JsonProperty
+        public String getHref() {
+            return href;
+        }
+
+        @JsonProperty
+        @Nullable
+        public String getMethod() {
+            return method;
+        }
+
+        @JsonProperty
+        @Nullable
+        public String getPath() {
+            return path;
+        }
+
+        @JsonProperty
+        @Nullable
+        public String getOperationId() {
+            return operationId;
+        }
+
+        @JsonProperty
+        @Nullable
+        public String getName() {
+            return name;
+        }
+
+        @JsonProperty
+        @Nullable
+        public String getSummary() {
+            return summary;
+        }
+
+        @JsonProperty
+        @Nullable
+        public List<String> getTags() {
+            return tags;
+        }
+
+        @JsonProperty
+        public float getScore() {
+            return score;
+        }
+    }
+}
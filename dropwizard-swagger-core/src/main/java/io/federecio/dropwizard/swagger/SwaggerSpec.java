@@ -0,0 +1,108 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.ws.rs.core.EntityTag;
+import io.swagger.models.Swagger;
+
+/**
+ * An immutable snapshot of the built specification: its serialized
+ * representations and, unless it has been released, the model they were
+ * serialized from.
+ */
+public class SwaggerSpec {
+
+    @Nullable
+    private final Swagger model;
+    private final Map<SwaggerSpecFormat, SpecBytes> representations;
+    private final Map<SwaggerSpecFormat, EntityTag> entityTags;
+    @Nullable
+    private final SwaggerSpec lite;
+
+    SwaggerSpec(@Nullable Swagger model,
+            Map<SwaggerSpecFormat, SpecBytes> representations,
+            Map<SwaggerSpecFormat, EntityTag> entityTags) {
+        this(model, representations, entityTags, null);
+    }
+
+    SwaggerSpec(@Nullable Swagger model,
+            Map<SwaggerSpecFormat, SpecBytes> representations,
+            Map<SwaggerSpecFormat, EntityTag> entityTags,
+            @Nullable SwaggerSpec lite) {
+        this.model = model;
+        this.representations = representations;
+        this.entityTags = entityTags;
+        this.lite = lite;
+    }
+
+    /**
+     * Returns the model the specification was serialized from, or an empty
+     * {@link Optional} if the model has been released
+     */
+    public Optional<Swagger> getModel() {
+        return Optional.ofNullable(model);
+    }
+
+    /**
+     * Returns the {@link SwaggerSpecProfile#LITE} variant of the
+     * specification, or an empty {@link Optional} if it is not offered
+     */
+    public Optional<SwaggerSpec> getLite() {
+        return Optional.ofNullable(lite);
+    }
+
+    public EntityTag getEntityTag(SwaggerSpecFormat format) {
+        return get(entityTags, format);
+    }
+
+    /**
+     * Returns the size in bytes of the uncompressed representation
+     */
+    public int getLength(SwaggerSpecFormat format) {
+        return get(representations, format).length();
+    }
+
+    /**
+     * Returns the number of serialized bytes retained for all the
+     * representations, including those of the lite variant
+     */
+    public long getRetainedBytes() {
+        long retained = lite == null ? 0 : lite.getRetainedBytes();
+        for (SpecBytes bytes : representations.values()) {
+            retained += bytes.retainedSize();
+        }
+        return retained;
+    }
+
+    SpecBytes getBytes(SwaggerSpecFormat format) {
+        return get(representations, format);
+    }
+
+    /**
+     * Returns the value for a format, which every format has
+     */
+    private static <V> V get(Map<SwaggerSpecFormat, V> values,
+            SwaggerSpecFormat format) {
+        final V value = values.get(format);
+        if (value == null) {
+            throw new IllegalStateException(
+                    "The specification was not serialized as "
+                            + format.getExtension());
+        }
+        return value;
+    }
+}
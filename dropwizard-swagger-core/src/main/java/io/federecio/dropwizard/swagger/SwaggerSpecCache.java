@@ -0,0 +1,415 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Optional;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import javax.ws.rs.core.EntityTag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Stopwatch;
+import com.google.common.hash.Hashing;
+import io.swagger.core.filter.SpecFilter;
+import io.swagger.core.filter.SwaggerSpecFilter;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+/**
+ * Builds, filters and serializes the specification once and keeps the
+ * serialized representations around so they can be served without touching
+ * the model again.
+ */
+public class SwaggerSpecCache {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SwaggerSpecCache.class);
+
+    private final Supplier<Swagger> modelSupplier;
+    private final SwaggerSpecFilter filter;
+    private final SwaggerSpecConfiguration configuration;
+    @Nullable
+    private final SwaggerSpecDiskCache diskCache;
+    @Nullable
+    private final SwaggerSpecCompactor compactor;
+    private final List<SwaggerSpecListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Nullable
+    private volatile SwaggerSpec spec;
+    @Nullable
+    private volatile ReadBack readBack;
+    private volatile long compactionSavedBytes;
+
+    /**
+     * Constructor
+     *
+     * @param modelSupplier
+     *            builds a new model each time it is called
+     * @param filter
+     *            the request-independent filter applied to every model built
+     * @param configuration
+     *            how the serialized representations are retained
+     */
+    public SwaggerSpecCache(Supplier<Swagger> modelSupplier,
+            SwaggerSpecFilter filter, SwaggerSpecConfiguration configuration) {
+        this(modelSupplier, filter, configuration, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param modelSupplier
+     *            builds a new model each time it is called
+     * @param filter
+     *            the request-independent filter applied to every model built
+     * @param configuration
+     *            how the serialized representations are retained
+     * @param diskCache
+     *            where built specifications are persisted across restarts, or
+     *            null to always build on startup
+     */
+    public SwaggerSpecCache(Supplier<Swagger> modelSupplier,
+            SwaggerSpecFilter filter, SwaggerSpecConfiguration configuration,
+            @Nullable SwaggerSpecDiskCache diskCache) {
+        this(modelSupplier, filter, configuration, diskCache, null);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param modelSupplier
+     *            builds a new model each time it is called
+     * @param filter
+     *            the request-independent filter applied to every model built
+     * @param configuration
+     *            how the serialized representations are retained
+     * @param diskCache
+     *            where built specifications are persisted across restarts, or
+     *            null to always build on startup
+     * @param compactor
+     *            compacts every model built before it is serialized, or null
+     *            to serialize it as it is
+     */
+    SwaggerSpecCache(Supplier<Swagger> modelSupplier,
+            SwaggerSpecFilter filter, SwaggerSpecConfiguration configuration,
+            @Nullable SwaggerSpecDiskCache diskCache,
+            @Nullable SwaggerSpecCompactor compactor) {
+        this.modelSupplier = modelSupplier;
+        this.filter = filter;
+        this.configuration = configuration;
+        this.diskCache = diskCache;
+        this.compactor = compactor;
+    }
+
+    /**
+     * Adds a listener notified of every specification held from now on, and
+     * of the current one if there already is one
+     */
+    public synchronized void addListener(SwaggerSpecListener listener) {
+        listeners.add(listener);
+        final SwaggerSpec current = spec;
+        if (current != null) {
+            listener.onSpec(current, readModel(current));
+            listener.onSpecServed(current);
+        }
+    }
+
+    /**
+     * Returns the current specification. The first call reuses a matching
+     * entry of the disk cache when there is one, and builds the specification
+     * otherwise.
+     */
+    public SwaggerSpec get() {
+        final SwaggerSpec current = spec;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            final SwaggerSpec loaded = spec;
+            if (loaded != null) {
+                return loaded;
+            }
+            final Optional<SwaggerSpec> cached = loadFromDisk();
+            return cached.isPresent() ? cached.get() : refresh();
+        }
+    }
+
+    /**
+     * Rebuilds the model and replaces the current specification
+     */
+    public synchronized SwaggerSpec refresh() {
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final Swagger built = modelSupplier.get();
+        final SwaggerFlightRecorder.Span filtering = SwaggerFlightRecorder
+                .begin(SwaggerFlightRecorder.Kind.FILTER);
+        final Swagger filtered = new SpecFilter().filter(built, filter,
+                Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyMap());
+        filtering.end(filter.getClass().getName(),
+                SwaggerReader.countOperations(filtered), "");
+
+        // the listeners get the model read back from the compacted
+        // specification, so that they see what clients see
+        final SwaggerSpecCompactor.Compacted compacted = compactor == null
+                ? null
+                : compactor.compact(filtered);
+        final Swagger model = compacted == null ? filtered
+                : compacted.getModel();
+        if (compacted != null) {
+            compactionSavedBytes = compacted.getSavedBytes();
+            LOGGER.info(
+                    "Compacted Swagger specification by {} bytes as JSON ({} parameters and {} responses moved to the top level, {} definitions merged)",
+                    compacted.getSavedBytes(),
+                    compacted.getHoistedParameters(),
+                    compacted.getHoistedResponses(),
+                    compacted.getMergedDefinitions());
+        }
+
+        final Map<SwaggerSpecFormat, byte[]> serialized = new EnumMap<>(
+                SwaggerSpecFormat.class);
+        final Map<SwaggerSpecFormat, SpecBytes> representations = new EnumMap<>(
+                SwaggerSpecFormat.class);
+        final Map<SwaggerSpecFormat, EntityTag> entityTags = new EnumMap<>(
+                SwaggerSpecFormat.class);
+        for (SwaggerSpecFormat format : SwaggerSpecFormat.values()) {
+            final byte[] bytes = compacted == null ? serialize(model, format)
+                    : compacted.serialize(format);
+            serialized.put(format, bytes);
+            representations.put(format, SpecBytes.of(bytes,
+                    configuration.isCompress(), configuration.isOffHeap()));
+            entityTags.put(format, new EntityTag(
+                    Hashing.murmur3_128().hashBytes(bytes).toString(), true));
+        }
+        if (diskCache != null) {
+            diskCache.write(serialized);
+        }
+
+        final SwaggerSpec current = new SwaggerSpec(
+                configuration.isReleaseModel() ? null : model,
+                Collections.unmodifiableMap(representations),
+                Collections.unmodifiableMap(entityTags),
+                buildLite(json(serialized)));
+        for (SwaggerSpecListener listener : listeners) {
+            listener.onSpec(current, model);
+        }
+        spec = current;
+        for (SwaggerSpecListener listener : listeners) {
+            listener.onSpecServed(current);
+        }
+        final Optional<SwaggerSpec> lite = current.getLite();
+        if (lite.isPresent()) {
+            LOGGER.info(
+                    "Built Swagger specification in {} ({} bytes as JSON, {} bytes as lite JSON, {} bytes retained)",
+                    stopwatch, current.getLength(SwaggerSpecFormat.JSON),
+                    lite.get().getLength(SwaggerSpecFormat.JSON),
+                    current.getRetainedBytes());
+        } else {
+            LOGGER.info(
+                    "Built Swagger specification in {} ({} bytes as JSON, {} bytes retained)",
+                    stopwatch, current.getLength(SwaggerSpecFormat.JSON),
+                    current.getRetainedBytes());
+        }
+        return current;
+    }
+
+    /**
+     * Returns the JSON representation among those of every format
+     */
+    private static <V> V json(Map<SwaggerSpecFormat, V> representations) {
+        final V json = representations.get(SwaggerSpecFormat.JSON);
+        if (json == null) {
+            throw new IllegalStateException(
+                    "Missing the JSON representation of the specification");
+        }
+        return json;
+    }
+
+    /**
+     * Derives the lite variant from the JSON representation of the
+     * specification, when it is offered
+     */
+    @Nullable
+    private SwaggerSpec buildLite(byte[] json) {
+        if (!configuration.isLite()) {
+            return null;
+        }
+        final JsonNode tree;
+        try {
+            tree = SwaggerSpecProfile.LITE
+                    .derive(Json.mapper().readTree(json));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final Map<SwaggerSpecFormat, SpecBytes> representations = new EnumMap<>(
+                SwaggerSpecFormat.class);
+        final Map<SwaggerSpecFormat, EntityTag> entityTags = new EnumMap<>(
+                SwaggerSpecFormat.class);
+        for (SwaggerSpecFormat format : SwaggerSpecFormat.values()) {
+            final byte[] bytes = serialize(tree, format);
+            representations.put(format, SpecBytes.of(bytes,
+                    configuration.isCompress(), configuration.isOffHeap()));
+            entityTags.put(format, new EntityTag(
+                    Hashing.murmur3_128().hashBytes(bytes).toString(), true));
+        }
+        return new SwaggerSpec(null,
+                Collections.unmodifiableMap(representations),
+                Collections.unmodifiableMap(entityTags));
+    }
+
+    private Optional<SwaggerSpec> loadFromDisk() {
+        if (diskCache == null) {
+            return Optional.empty();
+        }
+        final Optional<Map<SwaggerSpecFormat, ByteBuffer>> cached = diskCache
+                .read();
+        if (!cached.isPresent()) {
+            return Optional.empty();
+        }
+
+        final Map<SwaggerSpecFormat, SpecBytes> representations = new EnumMap<>(
+                SwaggerSpecFormat.class);
+        final Map<SwaggerSpecFormat, EntityTag> entityTags = new EnumMap<>(
+                SwaggerSpecFormat.class);
+        for (Map.Entry<SwaggerSpecFormat, ByteBuffer> entry : cached.get()
+                .entrySet()) {
+            final SpecBytes mapped = SpecBytes.wrap(entry.getValue());
+            representations.put(entry.getKey(),
+                    configuration.isCompress()
+                            ? SpecBytes.of(mapped.toByteArray(), true,
+                                    configuration.isOffHeap())
+                            : mapped);
+            entityTags.put(entry.getKey(), new EntityTag(Hashing.murmur3_128()
+                    .hashBytes(mapped.asReadOnlyBuffer()).toString(), true));
+        }
+
+        // the model was never built, it will be on the next refresh
+        final SwaggerSpec loaded = new SwaggerSpec(null,
+                Collections.unmodifiableMap(representations),
+                Collections.unmodifiableMap(entityTags),
+                buildLite(json(representations).toByteArray()));
+        if (!listeners.isEmpty()) {
+            final Swagger model = readModel(loaded);
+            for (SwaggerSpecListener listener : listeners) {
+                listener.onSpec(loaded, model);
+            }
+        }
+        spec = loaded;
+        for (SwaggerSpecListener listener : listeners) {
+            listener.onSpecServed(loaded);
+        }
+        return Optional.of(loaded);
+    }
+
+    /**
+     * Returns the number of serialized bytes currently retained
+     */
+    public long getRetainedBytes() {
+        final SwaggerSpec current = spec;
+        return current == null ? 0 : current.getRetainedBytes();
+    }
+
+    /**
+     * Returns how many bytes the compaction removed from the JSON
+     * representation of the last specification built, zero when it is not
+     * compacted or was loaded from disk
+     */
+    public long getCompactionSavedBytes() {
+        return compactionSavedBytes;
+    }
+
+    /**
+     * Returns the model of the current specification, already filtered. It
+     * is read back from the JSON representation when the model was released
+     * or the specification was loaded from disk, once per specification: the
+     * model read back is then kept until the specification changes.
+     */
+    public Swagger getModel() {
+        final SwaggerSpec current = get();
+        final Optional<Swagger> model = current.getModel();
+        if (model.isPresent()) {
+            return model.get();
+        }
+        final ReadBack known = readBack;
+        if (known != null && known.spec == current) {
+            return known.model;
+        }
+        final Swagger read = readModel(current);
+        readBack = new ReadBack(current, read);
+        return read;
+    }
+
+    /**
+     * Returns the model of a specification, read back from its JSON
+     * representation when it was released, without keeping it
+     */
+    static Swagger readModel(SwaggerSpec spec) {
+        final Optional<Swagger> model = spec.getModel();
+        if (model.isPresent()) {
+            return model.get();
+        }
+        try {
+            return SwaggerSpecCompactor.read(Json.mapper().readTree(
+                    spec.getBytes(SwaggerSpecFormat.JSON).toByteArray()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] serialize(Swagger model, SwaggerSpecFormat format) {
+        return write(model, format);
+    }
+
+    static byte[] serialize(JsonNode tree, SwaggerSpecFormat format) {
+        return write(tree, format);
+    }
+
+    private static byte[] write(Object value, SwaggerSpecFormat format) {
+        final SwaggerFlightRecorder.Span span = SwaggerFlightRecorder
+                .begin(SwaggerFlightRecorder.Kind.SERIALIZE);
+        try {
+            final byte[] bytes = format.getMapper().writeValueAsBytes(value);
+            span.end(Swagger.class.getName(), bytes.length,
+                    format.getExtension());
+            return bytes;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Unable to serialize the Swagger specification as "
+                            + format.getExtension(),
+                    e);
+        }
+    }
+
+    /**
+     * A model read back, with the specification it was read from
+     */
+    private static final class ReadBack {
+        private final SwaggerSpec spec;
+        private final Swagger model;
+
+        ReadBack(SwaggerSpec spec, Swagger model) {
+            this.spec = spec;
+            this.model = model;
+        }
+    }
+}
@@ -0,0 +1,471 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+/**
+ * Compacts the JSON representation of a specification once it is built.
+ * Structurally identical definitions are merged first, so that parameters
+ * and responses differing only by the name of their schema become
+ * identical. Parameters and responses repeated across operations are then
+ * moved to the top level {@code parameters} and {@code responses} of the
+ * specification and referenced from the operations, when the references
+ * are shorter than what they replace.
+ */
+final class SwaggerSpecCompactor {
+
+    private static final String REF = "$ref";
+    private static final String DEFINITIONS = "#/definitions/";
+    private static final String PARAMETERS = "#/parameters/";
+    private static final String RESPONSES = "#/responses/";
+    private static final ImmutableSet<String> METHODS = ImmutableSet.of(
+            "get", "put", "post", "delete", "options", "head", "patch");
+
+    private final SwaggerCompactionConfiguration configuration;
+
+    SwaggerSpecCompactor(SwaggerCompactionConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Compacts a filtered model, leaving it untouched
+     */
+    Compacted compact(Swagger model) {
+        final ObjectNode tree = Json.mapper().valueToTree(model);
+        final long before = length(tree);
+        final int mergedDefinitions = configuration.isMergeDefinitions()
+                ? mergeDefinitions(tree)
+                : 0;
+        final int hoistedParameters = configuration.isHoistParameters()
+                ? hoist(tree, "parameters", PARAMETERS,
+                        parameterOccurrences(tree))
+                : 0;
+        final int hoistedResponses = configuration.isHoistResponses()
+                ? hoist(tree, "responses", RESPONSES,
+                        responseOccurrences(tree))
+                : 0;
+        return new Compacted(tree, read(tree.deepCopy()),
+                before - length(tree), hoistedParameters, hoistedResponses,
+                mergedDefinitions);
+    }
+
+    /**
+     * Reads a model from its JSON representation, with the references to
+     * top level parameters and responses replaced by what they refer to, so
+     * that the operations are complete on their own like in a model built
+     * by the bundle
+     */
+    static Swagger read(JsonNode tree) {
+        try {
+            return Json.mapper().treeToValue(expand(tree), Swagger.class);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static JsonNode expand(JsonNode tree) {
+        final JsonNode parameters = tree.path("parameters");
+        final JsonNode responses = tree.path("responses");
+        if (parameters.size() == 0 && responses.size() == 0) {
+            return tree;
+        }
+        for (ObjectNode pathItem : objects(tree.path("paths"))) {
+            expand(pathItem.path("parameters"), PARAMETERS, parameters);
+            for (ObjectNode operation : operations(pathItem)) {
+                expand(operation.path("parameters"), PARAMETERS, parameters);
+                expand(operation.path("responses"), RESPONSES, responses);
+            }
+        }
+        return tree;
+    }
+
+    private static void expand(JsonNode container, String prefix,
+            JsonNode targets) {
+        if (container.isArray()) {
+            final ArrayNode array = (ArrayNode) container;
+            for (int i = 0; i < array.size(); i++) {
+                final JsonNode target = target(array.get(i), prefix, targets);
+                if (target != null) {
+                    array.set(i, target.deepCopy());
+                }
+            }
+        } else if (container.isObject()) {
+            final ObjectNode object = (ObjectNode) container;
+            for (String name : Lists.newArrayList(object.fieldNames())) {
+                final JsonNode target = target(object.get(name), prefix,
+                        targets);
+                if (target != null) {
+                    object.set(name, target.deepCopy());
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static JsonNode target(JsonNode node, String prefix,
+            JsonNode targets) {
+        final String ref = node.path(REF).asText();
+        if (!ref.startsWith(prefix)) {
+            return null;
+        }
+        final JsonNode target = targets.get(ref.substring(prefix.length()));
+        return target == null || target.isMissingNode() ? null : target;
+    }
+
+    /**
+     * Merges the definitions that are identical, repeatedly since merging
+     * two definitions can make the definitions referring to them identical
+     *
+     * @return the number of definitions removed
+     */
+    private static int mergeDefinitions(ObjectNode tree) {
+        final JsonNode definitions = tree.path("definitions");
+        if (!definitions.isObject()) {
+            return 0;
+        }
+        int merged = 0;
+        while (true) {
+            final List<String> names = Lists
+                    .newArrayList(definitions.fieldNames());
+            Collections.sort(names);
+            final Map<JsonNode, String> canonical = new HashMap<>();
+            final Map<String, String> renamed = new HashMap<>();
+            for (String name : names) {
+                final String existing = canonical
+                        .putIfAbsent(definitions.get(name), name);
+                if (existing != null) {
+                    renamed.put(name, existing);
+                }
+            }
+            if (renamed.isEmpty()) {
+                return merged;
+            }
+            ((ObjectNode) definitions).remove(renamed.keySet());
+            rename(tree, renamed);
+            merged += renamed.size();
+        }
+    }
+
+    /**
+     * Renames the references to definitions in the schemas of a
+     * specification, leaving examples and vendor extensions as they are
+     */
+    private static void rename(ObjectNode tree, Map<String, String> renamed) {
+        for (JsonNode definition : tree.path("definitions")) {
+            renameInSchema(definition, renamed);
+        }
+        renameInParameters(tree.path("parameters"), renamed);
+        renameInResponses(tree.path("responses"), renamed);
+        for (ObjectNode pathItem : objects(tree.path("paths"))) {
+            renameInParameters(pathItem.path("parameters"), renamed);
+            for (ObjectNode operation : operations(pathItem)) {
+                renameInParameters(operation.path("parameters"), renamed);
+                renameInResponses(operation.path("responses"), renamed);
+            }
+        }
+    }
+
+    private static void renameInParameters(JsonNode parameters,
+            Map<String, String> renamed) {
+        for (JsonNode parameter : parameters) {
+            renameInSchema(parameter.path("schema"), renamed);
+        }
+    }
+
+    private static void renameInResponses(JsonNode responses,
+            Map<String, String> renamed) {
+        for (JsonNode response : responses) {
+            renameInSchema(response.path("schema"), renamed);
+        }
+    }
+
+    private static void renameInSchema(JsonNode schema,
+            Map<String, String> renamed) {
+        if (!schema.isObject()) {
+            return;
+        }
+        final String ref = schema.path(REF).asText();
+        if (ref.startsWith(DEFINITIONS)) {
+            final String target = renamed
+                    .get(ref.substring(DEFINITIONS.length()));
+            if (target != null) {
+                ((ObjectNode) schema).put(REF, DEFINITIONS + target);
+            }
+        }
+        for (JsonNode property : schema.path("properties")) {
+            renameInSchema(property, renamed);
+        }
+        for (JsonNode member : schema.path("allOf")) {
+            renameInSchema(member, renamed);
+        }
+        renameInSchema(schema.path("items"), renamed);
+        renameInSchema(schema.path("additionalProperties"), renamed);
+    }
+
+    private static Map<JsonNode, Occurrences> parameterOccurrences(
+            ObjectNode tree) {
+        final Map<JsonNode, Occurrences> occurrences = new LinkedHashMap<>();
+        for (ObjectNode pathItem : objects(tree.path("paths"))) {
+            addParameters(pathItem.path("parameters"), occurrences);
+            for (ObjectNode operation : operations(pathItem)) {
+                addParameters(operation.path("parameters"), occurrences);
+            }
+        }
+        return occurrences;
+    }
+
+    private static void addParameters(JsonNode parameters,
+            Map<JsonNode, Occurrences> occurrences) {
+        if (!parameters.isArray()) {
+            return;
+        }
+        final ArrayNode array = (ArrayNode) parameters;
+        for (int i = 0; i < array.size(); i++) {
+            final JsonNode parameter = array.get(i);
+            if (parameter.isObject() && !parameter.has(REF)) {
+                final int index = i;
+                occurrences
+                        .computeIfAbsent(parameter,
+                                value -> new Occurrences(value,
+                                        value.path("name").asText()))
+                        .add(ref -> array.set(index, ref));
+            }
+        }
+    }
+
+    private static Map<JsonNode, Occurrences> responseOccurrences(
+            ObjectNode tree) {
+        final Map<JsonNode, Occurrences> occurrences = new LinkedHashMap<>();
+        for (ObjectNode pathItem : objects(tree.path("paths"))) {
+            for (ObjectNode operation : operations(pathItem)) {
+                final JsonNode responses = operation.path("responses");
+                if (!responses.isObject()) {
+                    continue;
+                }
+                for (String code : Lists
+                        .newArrayList(responses.fieldNames())) {
+                    final JsonNode response = responses.get(code);
+                    if (response.isObject() && !response.has(REF)) {
+                        occurrences
+                                .computeIfAbsent(response,
+                                        value -> new Occurrences(value, code))
+                                .add(ref -> ((ObjectNode) responses)
+                                        .set(code, ref));
+                    }
+                }
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Moves the values repeated often enough to a top level section of the
+     * specification
+     *
+     * @return the number of values moved
+     */
+    private int hoist(ObjectNode tree, String section, String prefix,
+            Map<JsonNode, Occurrences> occurrences) {
+        final JsonNode existing = tree.path(section);
+        final ObjectNode targets = existing.isObject() ? (ObjectNode) existing
+                : JsonNodeFactory.instance.objectNode();
+        int hoisted = 0;
+        for (Occurrences occurrence : occurrences.values()) {
+            final int count = occurrence.replacements.size();
+            if (count < configuration.getMinOccurrences()) {
+                continue;
+            }
+            String name = nameOf(targets, occurrence.value);
+            final boolean added = name == null;
+            if (name == null) {
+                name = uniqueName(targets, occurrence.name);
+            }
+            final long length = occurrence.value.toString().length();
+            final long refLength = reference(prefix + name).toString()
+                    .length();
+            final long saved = count * (length - refLength)
+                    - (added ? name.length() + 4 + length : 0);
+            if (saved <= 0) {
+                continue;
+            }
+            if (added) {
+                targets.set(name, occurrence.value.deepCopy());
+            }
+            for (Consumer<JsonNode> replacement : occurrence.replacements) {
+                replacement.accept(reference(prefix + name));
+            }
+            hoisted++;
+        }
+        if (hoisted > 0 && !existing.isObject()) {
+            tree.set(section, targets);
+        }
+        return hoisted;
+    }
+
+    @Nullable
+    private static String nameOf(ObjectNode targets, JsonNode value) {
+        for (Map.Entry<String, JsonNode> target : Lists
+                .newArrayList(targets.fields())) {
+            if (target.getValue().equals(value)) {
+                return target.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a name not used yet, made of characters that need no escaping
+     * in a JSON pointer
+     */
+    private static String uniqueName(ObjectNode targets, String hint) {
+        final String base = hint.isEmpty() ? "_"
+                : hint.replaceAll("[^A-Za-z0-9._-]", "_");
+        String name = base;
+        for (int i = 2; targets.has(name); i++) {
+            name = base + "-" + i;
+        }
+        return name;
+    }
+
+    private static ObjectNode reference(String ref) {
+        return JsonNodeFactory.instance.objectNode().put(REF, ref);
+    }
+
+    private static List<ObjectNode> objects(JsonNode node) {
+        final List<ObjectNode> objects = new ArrayList<>();
+        for (JsonNode child : node) {
+            if (child.isObject()) {
+                objects.add((ObjectNode) child);
+            }
+        }
+        return objects;
+    }
+
+    private static List<ObjectNode> operations(ObjectNode pathItem) {
+        final List<ObjectNode> operations = new ArrayList<>();
+        for (String method : METHODS) {
+            final JsonNode operation = pathItem.path(method);
+            if (operation.isObject()) {
+                operations.add((ObjectNode) operation);
+            }
+        }
+        return operations;
+    }
+
+    private static long length(JsonNode tree) {
+        try {
+            return Json.mapper().writeValueAsBytes(tree).length;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The places a parameter or a response is repeated in
+     */
+    private static final class Occurrences {
+        private final JsonNode value;
+        private final String name;
+        private final List<Consumer<JsonNode>> replacements = new ArrayList<>();
+
+        /**
+         * @param name
+         *            what to name the value after when it is moved to the top
+         *            level
+         */
+        private Occurrences(JsonNode value, String name) {
+            this.value = value;
+            this.name = name;
+        }
+
+        private void add(Consumer<JsonNode> replacement) {
+            replacements.add(replacement);
+        }
+    }
+
+    /**
+     * The outcome of a compaction
+     */
+    static final class Compacted {
+        private final ObjectNode tree;
+        private final Swagger model;
+        private final long savedBytes;
+        private final int hoistedParameters;
+        private final int hoistedResponses;
+        private final int mergedDefinitions;
+
+        private Compacted(ObjectNode tree, Swagger model, long savedBytes,
+                int hoistedParameters, int hoistedResponses,
+                int mergedDefinitions) {
+            this.tree = tree;
+            this.model = model;
+            this.savedBytes = savedBytes;
+            this.hoistedParameters = hoistedParameters;
+            this.hoistedResponses = hoistedResponses;
+            this.mergedDefinitions = mergedDefinitions;
+        }
+
+        /**
+         * Returns the compacted specification in the given format
+         */
+        byte[] serialize(SwaggerSpecFormat format) {
+            return SwaggerSpecCache.serialize(tree, format);
+        }
+
+        /**
+         * Returns the model read back from the compacted specification,
+         * with the operations complete on their own
+         */
+        Swagger getModel() {
+            return model;
+        }
+
+        /**
+         * Returns how much smaller the JSON representation got
+         */
+        long getSavedBytes() {
+            return savedBytes;
+        }
+
+        int getHoistedParameters() {
+            return hoistedParameters;
+        }
+
+        int getHoistedResponses() {
+            return hoistedResponses;
+        }
+
+        int getMergedDefinitions() {
+            return mergedDefinitions;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.annotation.Nullable;
+import javax.validation.constraints.Min;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Controls how the built specification is retained in memory once it has
+ * been serialized.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerSpecConfiguration {
+
+    /**
+     * Whether to drop the {@link io.swagger.models.Swagger} model graph once
+     * every representation has been serialized, the model is only rebuilt
+     * when a refresh is requested. Filtering the specification per request
+     * needs the model, so it is then read back once and kept.
+     */
+    private boolean releaseModel = false;
+
+    /**
+     * Whether to keep the serialized representations gzip-compressed, clients
+     * accepting gzip are served the compressed bytes as-is
+     */
+    private boolean compress = false;
+
+    /**
+     * Whether to keep the serialized representations in direct memory,
+     * outside of the Java heap
+     */
+    private boolean offHeap = false;
+
+    /**
+     * Directory in which the built specification is persisted. On startup a
+     * persisted specification built from the same class path and
+     * configuration is memory-mapped instead of scanning the resources again.
+     * The class path is compared by the size and modification time of its
+     * jars and class files, so any rebuild or dependency change invalidates
+     * the persisted specification. Services may share the directory as long
+     * as they differ by URL pattern or resource package.
+     */
+    @Nullable
+    private String cacheDirectory;
+
+    /**
+     * Whether the host, schemes and basePath of the served specification
+     * follow the X-Forwarded-Host, X-Forwarded-Proto and X-Forwarded-Prefix
+     * request headers. Only enable behind a proxy that sets them.
+     */
+    private boolean forwardedHeaders = false;
+
+    /**
+     * Maximum number of distinct forwarded variants of the specification kept
+     * in memory
+     */
+    @Min(1)
+    private int forwardedVariants = 32;
+
+    /**
+     * Number of recent revisions of the specification kept to serve JSON
+     * Patch documents from, including the current one, a value of zero
+     * disables {@code ?since=}
+     */
+    @Min(0)
+    private int revisions = 8;
+
+    /**
+     * Whether to also serve the specification without descriptions,
+     * summaries, examples and external documentation, for machine consumers,
+     * with {@code ?profile=lite}
+     */
+    private boolean lite = false;
+
+    @JsonProperty
+    public boolean isReleaseModel() {
+        return releaseModel;
+    }
+
+    @JsonProperty
+    public void setReleaseModel(boolean releaseModel) {
+        this.releaseModel = releaseModel;
+    }
+
+    @JsonProperty
+    public boolean isCompress() {
+        return compress;
+    }
+
+    @JsonProperty
+    public void setCompress(boolean compress) {
+        this.compress = compress;
+    }
+
+    @JsonProperty
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    @JsonProperty
+    public void setOffHeap(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    @JsonProperty
+    @Nullable
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    @JsonProperty
+    public void setCacheDirectory(@Nullable String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    @JsonProperty
+    public boolean isForwardedHeaders() {
+        return forwardedHeaders;
+    }
+
+    @JsonProperty
+    public void setForwardedHeaders(boolean forwardedHeaders) {
+        this.forwardedHeaders = forwardedHeaders;
+    }
+
+    @JsonProperty
+    public int getForwardedVariants() {
+        return forwardedVariants;
+    }
+
+    @JsonProperty
+    public void setForwardedVariants(int forwardedVariants) {
+        this.forwardedVariants = forwardedVariants;
+    }
+
+    @JsonProperty
+    public int getRevisions() {
+        return revisions;
+    }
+
+    @JsonProperty
+    public void setRevisions(int revisions) {
+        this.revisions = revisions;
+    }
+
+    @JsonProperty
+    public boolean isLite() {
+        return lite;
+    }
+
+    @JsonProperty
+    public void setLite(boolean lite) {
+        this.lite = lite;
+    }
+}
@@ -0,0 +1,316 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.base.Splitter;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.dropwizard.jackson.Jackson;
+import io.swagger.core.filter.SwaggerSpecFilter;
+import io.swagger.jaxrs.Reader;
+import io.swagger.models.Swagger;
+
+/**
+ * Persists the serialized specification to a directory so that a restart
+ * with identical classes can skip the scan. Entries are keyed by a
+ * fingerprint of the size and modification time of every jar and class
+ * file on the class path, the bundle configuration and the Swagger library
+ * versions; any change to one of them produces a new key and the stale
+ * entries are removed on the next write. A class rewritten with the same
+ * size and modification time goes unnoticed.
+ * <p/>
+ * The directory may be shared: the entries are named after the URL pattern
+ * and resource package of the bundle, and only the stale entries under the
+ * same name are removed, never the temporary files being written.
+ */
+public class SwaggerSpecDiskCache {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SwaggerSpecDiskCache.class);
+
+    /**
+     * Bumped whenever the way the bundle builds the specification changes in
+     * a way that is not captured by the rest of the key
+     */
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_PREFIX = "swagger-";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final SwaggerBundleConfiguration configuration;
+    private final String urlPattern;
+    /**
+     * Prefix of the files of this bundle, among those of other services
+     * sharing the directory
+     */
+    private final String namePrefix;
+
+    @Nullable
+    private String key;
+
+    public SwaggerSpecDiskCache(Path directory,
+            SwaggerBundleConfiguration configuration, String urlPattern) {
+        this.directory = directory;
+        this.configuration = configuration;
+        this.urlPattern = urlPattern;
+        final Hasher namespace = Hashing.murmur3_32().newHasher();
+        putString(namespace, urlPattern);
+        putString(namespace, String.valueOf(configuration.getResourcePackage()));
+        this.namePrefix = FILE_PREFIX + namespace.hash() + "-";
+    }
+
+    /**
+     * Memory-maps the entry matching the current key, if there is one
+     */
+    public Optional<Map<SwaggerSpecFormat, ByteBuffer>> read() {
+        final String currentKey = getKey();
+        final Map<SwaggerSpecFormat, ByteBuffer> representations = new EnumMap<>(
+                SwaggerSpecFormat.class);
+        try {
+            for (SwaggerSpecFormat format : SwaggerSpecFormat.values()) {
+                final Path file = resolve(currentKey, format);
+                if (!Files.isRegularFile(file)) {
+                    return Optional.empty();
+                }
+                try (FileChannel channel = FileChannel.open(file,
+                        StandardOpenOption.READ)) {
+                    representations.put(format, channel
+                            .map(FileChannel.MapMode.READ_ONLY, 0,
+                                    channel.size())
+                            .asReadOnlyBuffer());
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read cached Swagger specification from {}",
+                    directory, e);
+            return Optional.empty();
+        }
+        LOGGER.info("Using cached Swagger specification {}", currentKey);
+        return Optional.of(representations);
+    }
+
+    /**
+     * Stores the serialized representations under the current key and removes
+     * entries left behind by previous keys
+     */
+    public void write(Map<SwaggerSpecFormat, byte[]> representations) {
+        final String currentKey = getKey();
+        try {
+            Files.createDirectories(directory);
+            for (Map.Entry<SwaggerSpecFormat, byte[]> entry : representations
+                    .entrySet()) {
+                final Path file = resolve(currentKey, entry.getKey());
+                final Path temporary = Files.createTempFile(directory,
+                        namePrefix, TEMPORARY_SUFFIX);
+                Files.write(temporary, entry.getValue());
+                Files.move(temporary, file,
+                        StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            removeStaleEntries(currentKey);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to cache Swagger specification in {}",
+                    directory, e);
+        }
+    }
+
+    /**
+     * Returns the key identifying the specification the current classes and
+     * configuration produce
+     */
+    public synchronized String getKey() {
+        String currentKey = key;
+        if (currentKey == null) {
+            currentKey = computeKey();
+            key = currentKey;
+        }
+        return currentKey;
+    }
+
+    private String computeKey() {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        hasher.putInt(FORMAT_VERSION);
+        putString(hasher,
+                String.valueOf(Swagger.class.getPackage().getImplementationVersion()));
+        putString(hasher,
+                String.valueOf(Reader.class.getPackage().getImplementationVersion()));
+        putString(hasher, urlPattern);
+        try {
+            hasher.putBytes(Jackson.newObjectMapper()
+                    .writeValueAsBytes(configuration));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Unable to fingerprint the Swagger bundle configuration",
+                    e);
+        }
+        // filters added programmatically are not part of the configuration
+        for (SwaggerSpecFilter filter : configuration.getFilterPipeline()
+                .getBuildTimeFilters()) {
+            putString(hasher, filter.getClass().getName());
+        }
+
+        // the resources may refer to models from any package or library, so
+        // the whole class path is fingerprinted, by size and modification
+        // time rather than by reading every class
+        try {
+            final Set<Path> entries = getClassPath(
+                    Thread.currentThread().getContextClassLoader());
+            for (Path entry : entries) {
+                putString(hasher, entry.toString());
+                if (Files.isDirectory(entry)) {
+                    putDirectory(hasher, entry);
+                } else if (Files.isRegularFile(entry)) {
+                    putFile(hasher, entry);
+                }
+            }
+            LOGGER.debug("Keyed the cached Swagger specification by {}"
+                    + " class path entries", entries.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Returns the directories and jars of the class path, including the jars
+     * listed by the manifests of other jars
+     */
+    private static Set<Path> getClassPath(ClassLoader classLoader)
+            throws IOException {
+        final Deque<Path> pending = new ArrayDeque<>();
+        for (ClassLoader loader = classLoader; loader != null; loader = loader
+                .getParent()) {
+            if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    if ("file".equals(url.getProtocol())) {
+                        try {
+                            pending.add(Paths.get(url.toURI()));
+                        } catch (URISyntaxException e) {
+                            LOGGER.debug("Ignoring class path entry {}", url);
+                        }
+                    }
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            for (String entry : Splitter.on(File.pathSeparatorChar)
+                    .omitEmptyStrings()
+                    .split(System.getProperty("java.class.path", ""))) {
+                pending.add(Paths.get(entry));
+            }
+        }
+
+        final Set<Path> entries = new LinkedHashSet<>();
+        while (!pending.isEmpty()) {
+            final Path entry = pending.poll().toAbsolutePath().normalize();
+            if (!entries.add(entry) || !Files.isRegularFile(entry)) {
+                continue;
+            }
+            try (JarFile jar = new JarFile(entry.toFile())) {
+                final Manifest manifest = jar.getManifest();
+                final String classPath = manifest == null ? null
+                        : manifest.getMainAttributes()
+                                .getValue(Attributes.Name.CLASS_PATH);
+                if (classPath != null) {
+                    for (String reference : Splitter.on(' ')
+                            .omitEmptyStrings().split(classPath)) {
+                        try {
+                            final URI uri = entry.toUri().resolve(reference);
+                            if ("file".equals(uri.getScheme())) {
+                                pending.add(Paths.get(uri));
+                            }
+                        } catch (IllegalArgumentException e) {
+                            LOGGER.debug("Ignoring class path entry {}",
+                                    reference);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // not a jar, fingerprinted as a plain file
+            }
+        }
+        return entries;
+    }
+
+    private void putDirectory(Hasher hasher, Path root) throws IOException {
+        final Path cache = directory.toAbsolutePath().normalize();
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> !file.startsWith(cache)).sorted()::iterator) {
+                putString(hasher, root.relativize(file).toString());
+                putFile(hasher, file);
+            }
+        }
+    }
+
+    private static void putFile(Hasher hasher, Path file) throws IOException {
+        hasher.putLong(Files.size(file));
+        hasher.putLong(Files.getLastModifiedTime(file).toMillis());
+    }
+
+    private void removeStaleEntries(String currentKey) throws IOException {
+        try (DirectoryStream<Path> entries = Files
+                .newDirectoryStream(directory, namePrefix + "*")) {
+            for (Path entry : entries) {
+                final String name = entry.getFileName().toString();
+                // temporary files may be in the middle of a concurrent write
+                if (!name.endsWith(TEMPORARY_SUFFIX)
+                        && !name.startsWith(namePrefix + currentKey + ".")) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        }
+    }
+
+    private Path resolve(String currentKey, SwaggerSpecFormat format) {
+        return directory.resolve(
+                namePrefix + currentKey + "." + format.getExtension());
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+    }
+}
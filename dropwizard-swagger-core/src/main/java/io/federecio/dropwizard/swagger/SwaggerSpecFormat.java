@@ -0,0 +1,56 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.ws.rs.core.MediaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+
+/**
+ * The representations in which the Swagger specification is served.
+ */
+public enum SwaggerSpecFormat {
+    JSON("json", MediaType.APPLICATION_JSON), YAML("yaml", "application/yaml");
+
+    private final String extension;
+    private final String mediaType;
+
+    SwaggerSpecFormat(String extension, String mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public ObjectMapper getMapper() {
+        return this == JSON ? Json.mapper() : Yaml.mapper();
+    }
+
+    public static SwaggerSpecFormat fromExtension(String extension) {
+        for (SwaggerSpecFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException(
+                "Unknown specification format: " + extension);
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import io.swagger.models.Swagger;
+
+/**
+ * Notified by a {@link SwaggerSpecCache} each time it holds a new
+ * specification, to derive whatever needs to follow the specification once
+ * rather than for every request.
+ */
+public interface SwaggerSpecListener {
+
+    /**
+     * Called with the new specification, before it is served
+     *
+     * @param spec
+     *            the new specification
+     * @param model
+     *            the filtered model it was serialized from, read back from
+     *            the JSON representation when the specification was loaded
+     *            from disk
+     */
+    void onSpec(SwaggerSpec spec, Swagger model);
+
+    /**
+     * Called once the new specification is served, for listeners telling
+     * clients about it
+     *
+     * @param spec
+     *            the specification now served
+     */
+    default void onSpecServed(SwaggerSpec spec) {
+        // nothing to do by default
+    }
+}
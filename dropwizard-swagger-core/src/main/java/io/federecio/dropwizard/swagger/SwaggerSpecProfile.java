@@ -0,0 +1,114 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * The variants of the specification, selected with the {@code profile} query
+ * parameter.
+ */
+public enum SwaggerSpecProfile {
+    /**
+     * The specification as built
+     */
+    FULL,
+
+    /**
+     * The specification without the prose and examples meant for people,
+     * for code generators, gateways and contract tests
+     */
+    LITE;
+
+    /**
+     * Properties holding prose or examples, removed from the lite variant
+     */
+    private static final ImmutableSet<String> TEXT = ImmutableSet.of(
+            "description", "summary", "example", "examples", "x-example",
+            "externalDocs");
+
+    /**
+     * Properties whose keys are names chosen by the application, rather than
+     * properties of the specification
+     */
+    private static final ImmutableSet<String> NAMED = ImmutableSet.of(
+            "paths", "definitions", "parameters", "responses", "properties",
+            "securityDefinitions", "headers");
+
+    /**
+     * Properties holding values of the API, left as they are
+     */
+    private static final ImmutableSet<String> VALUES = ImmutableSet.of(
+            "default", "enum", "scopes");
+
+    /**
+     * Returns the profile with the given name, in any case. Called by JAX-RS
+     * for query parameters.
+     */
+    public static SwaggerSpecProfile fromString(String name) {
+        return valueOf(name.toUpperCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Derives this variant from the JSON representation of the
+     * specification, modifying it in place
+     */
+    JsonNode derive(JsonNode tree) {
+        if (this == LITE && tree.isObject()) {
+            strip((ObjectNode) tree, false);
+        }
+        return tree;
+    }
+
+    private static void strip(ObjectNode object, boolean response) {
+        object.remove(TEXT);
+        if (response && !object.has("$ref")) {
+            // the one description Swagger 2.0 requires
+            object.put("description", "");
+        }
+        final Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final String name = field.getKey();
+            final JsonNode value = field.getValue();
+            if (name.startsWith("x-") || VALUES.contains(name)) {
+                continue;
+            }
+            if (NAMED.contains(name) && value.isObject()) {
+                for (JsonNode named : value) {
+                    if (named.isObject()) {
+                        strip((ObjectNode) named, "responses".equals(name));
+                    }
+                }
+            } else {
+                stripAll(value);
+            }
+        }
+    }
+
+    private static void stripAll(JsonNode node) {
+        if (node.isObject()) {
+            strip((ObjectNode) node, false);
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                stripAll(element);
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+import com.google.common.base.Splitter;
+import com.google.common.hash.Hashing;
+import com.google.common.net.HttpHeaders;
+import io.swagger.core.filter.SpecFilter;
+import io.swagger.core.filter.SwaggerSpecFilter;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+/**
+ * Serves the pre-serialized specification held by a {@link SwaggerSpecCache}.
+ * When there are serve-time filters, or live statistics to add to each
+ * operation, the specification is filtered and serialized for each request
+ * instead.
+ * <p/>
+ * A client holding a recent revision of the JSON specification can ask for
+ * {@code ?since=<etag>} to receive the JSON Patch to the current revision,
+ * or the full document when that revision is no longer kept.
+ * <p/>
+ * When the lite variant is offered, {@code ?profile=lite} serves the
+ * specification without its prose and examples.
+ */
+@Path("/swagger.{type:json|yaml}")
+public class SwaggerSpecResource {
+
+    private static final String FORWARDED_HEADERS = String.join(", ",
+            SwaggerForwardedSpecs.FORWARDED_HOST,
+            SwaggerForwardedSpecs.FORWARDED_PROTO,
+            SwaggerForwardedSpecs.FORWARDED_PREFIX);
+
+    private final SwaggerSpecCache cache;
+    @Nullable
+    private final SwaggerForwardedSpecs forwardedSpecs;
+    @Nullable
+    private final SwaggerForwardedSpecs liteForwardedSpecs;
+    @Nullable
+    private final SwaggerSpecFilter serveTimeFilter;
+    @Nullable
+    private final SwaggerRevisions revisions;
+    @Nullable
+    private final SwaggerStatsListener stats;
+
+    public SwaggerSpecResource(SwaggerSpecCache cache) {
+        this(cache, null, null, null, null, null);
+    }
+
+    SwaggerSpecResource(SwaggerSpecCache cache,
+            @Nullable SwaggerForwardedSpecs forwardedSpecs,
+            @Nullable SwaggerForwardedSpecs liteForwardedSpecs,
+            @Nullable SwaggerSpecFilter serveTimeFilter,
+            @Nullable SwaggerRevisions revisions,
+            @Nullable SwaggerStatsListener stats) {
+        this.cache = cache;
+        this.forwardedSpecs = forwardedSpecs;
+        this.liteForwardedSpecs = liteForwardedSpecs;
+        this.serveTimeFilter = serveTimeFilter;
+        this.revisions = revisions;
+        this.stats = stats;
+    }
+
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, "application/yaml" })
+    public Response getSpec(@PathParam("type") String type,
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) @Nullable String acceptEncoding,
+            @HeaderParam(SwaggerForwardedSpecs.FORWARDED_HOST) @Nullable String forwardedHost,
+            @HeaderParam(SwaggerForwardedSpecs.FORWARDED_PROTO) @Nullable String forwardedProto,
+            @HeaderParam(SwaggerForwardedSpecs.FORWARDED_PREFIX) @Nullable String forwardedPrefix,
+            @QueryParam("since") @Nullable String since,
+            @QueryParam("profile") @DefaultValue("full") SwaggerSpecProfile profile,
+            @Context Request request, @Context UriInfo uriInfo,
+            @Context javax.ws.rs.core.HttpHeaders httpHeaders) {
+        final SwaggerSpecFormat format = SwaggerSpecFormat.fromExtension(type);
+        final boolean lite = profile == SwaggerSpecProfile.LITE;
+        if (lite && !cache.get().getLite().isPresent()) {
+            throw new NotFoundException(
+                    "The lite profile of the specification is not offered");
+        }
+        if (serveTimeFilter != null) {
+            return getFilteredSpec(serveTimeFilter, format, profile,
+                    forwardedHost, forwardedProto, forwardedPrefix, request,
+                    uriInfo, httpHeaders);
+        }
+        // patches are between revisions as built, not forwarded variants
+        if (since != null && revisions != null && !lite
+                && format == SwaggerSpecFormat.JSON && forwardedHost == null
+                && forwardedProto == null && forwardedPrefix == null) {
+            final SwaggerSpec current = cache.get();
+            final Optional<byte[]> patch = revisions.getPatch(since, current);
+            if (patch.isPresent()) {
+                return getPatch(patch.get(), current, request);
+            }
+        }
+        final SwaggerSpec built = lite ? cache.get().getLite().get()
+                : cache.get();
+        final SwaggerForwardedSpecs forwarded = lite ? liteForwardedSpecs
+                : forwardedSpecs;
+        final SwaggerSpec spec = forwarded == null ? built
+                : forwarded.resolve(built, format, forwardedHost,
+                        forwardedProto, forwardedPrefix,
+                        uriInfo.getBaseUri());
+        final EntityTag entityTag = spec.getEntityTag(format);
+
+        final Response.ResponseBuilder notModified = request
+                .evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            if (forwardedSpecs != null) {
+                notModified.header(HttpHeaders.VARY, FORWARDED_HEADERS);
+            }
+            return notModified.tag(entityTag).build();
+        }
+
+        final SpecBytes bytes = spec.getBytes(format);
+        final boolean sendCompressed = bytes.isCompressed()
+                && acceptsGzip(acceptEncoding);
+        final StreamingOutput entity = sendCompressed ? bytes::writeRetainedTo
+                : bytes::writeTo;
+
+        final Response.ResponseBuilder response = Response
+                .ok(entity, format.getMediaType()).tag(entityTag)
+                .header(HttpHeaders.CONTENT_LENGTH, sendCompressed
+                        ? bytes.retainedSize() : bytes.length());
+        if (bytes.isCompressed()) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (forwardedSpecs != null) {
+            response.header(HttpHeaders.VARY, FORWARDED_HEADERS);
+        }
+        if (sendCompressed) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.build();
+    }
+
+    private static Response getPatch(byte[] patch, SwaggerSpec current,
+            Request request) {
+        final EntityTag entityTag = current
+                .getEntityTag(SwaggerSpecFormat.JSON);
+        final Response.ResponseBuilder notModified = request
+                .evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.tag(entityTag).build();
+        }
+        return Response.ok(patch, SwaggerRevisions.JSON_PATCH)
+                .tag(entityTag).build();
+    }
+
+    private Response getFilteredSpec(SwaggerSpecFilter filter,
+            SwaggerSpecFormat format, SwaggerSpecProfile profile,
+            @Nullable String forwardedHost,
+            @Nullable String forwardedProto, @Nullable String forwardedPrefix,
+            Request request, UriInfo uriInfo,
+            javax.ws.rs.core.HttpHeaders httpHeaders) {
+        final SwaggerFlightRecorder.Span filtering = SwaggerFlightRecorder
+                .begin(SwaggerFlightRecorder.Kind.FILTER);
+        final Swagger model = new SpecFilter().filter(cache.getModel(),
+                filter, uriInfo.getQueryParameters(),
+                getCookies(httpHeaders), httpHeaders.getRequestHeaders());
+        filtering.end(filter.getClass().getName(),
+                SwaggerReader.countOperations(model), "");
+        if (forwardedSpecs != null) {
+            forwardedSpecs.apply(model, forwardedHost, forwardedProto,
+                    forwardedPrefix, uriInfo.getBaseUri());
+        }
+        if (stats != null) {
+            stats.annotate(model);
+        }
+
+        final byte[] bytes = profile == SwaggerSpecProfile.FULL
+                ? SwaggerSpecCache.serialize(model, format)
+                : SwaggerSpecCache.serialize(
+                        profile.derive(Json.mapper().valueToTree(model)),
+                        format);
+        final EntityTag entityTag = new EntityTag(
+                Hashing.murmur3_128().hashBytes(bytes).toString(), true);
+        // the content depends on the request, keep it out of shared caches
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+
+        final Response.ResponseBuilder notModified = request
+                .evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.tag(entityTag).cacheControl(cacheControl)
+                    .build();
+        }
+        return Response.ok(bytes, format.getMediaType()).tag(entityTag)
+                .cacheControl(cacheControl).build();
+    }
+
+    private static Map<String, String> getCookies(
+            javax.ws.rs.core.HttpHeaders httpHeaders) {
+        final Map<String, String> cookies = new HashMap<>();
+        for (Cookie cookie : httpHeaders.getCookies().values()) {
+            cookies.put(cookie.getName(), cookie.getValue());
+        }
+        return cookies;
+    }
+
+    /**
+     * Returns whether the Accept-Encoding header accepts gzip with a non-zero
+     * quality, either by name or through the {@code *} wildcard
+     */
+    private static boolean acceptsGzip(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String coding : Splitter.on(',').trimResults().omitEmptyStrings()
+                .split(acceptEncoding)) {
+            final int parameters = coding.indexOf(';');
+            final String name = (parameters < 0 ? coding
+                    : coding.substring(0, parameters)).trim()
+                            .toLowerCase(Locale.ENGLISH);
+            final boolean accepted = parameters < 0
+                    || quality(coding.substring(parameters + 1)) > 0;
+            if ("gzip".equals(name) || "x-gzip".equals(name)) {
+                gzip = accepted;
+            } else if ("*".equals(name)) {
+                wildcard = accepted;
+            }
+        }
+        return gzip == null ? wildcard : gzip;
+    }
+
+    private static double quality(String parameters) {
+        for (String parameter : Splitter.on(';').trimResults()
+                .split(parameters)) {
+            final int equals = parameter.indexOf('=');
+            if (equals > 0 && "q".equalsIgnoreCase(
+                    parameter.substring(0, equals).trim())) {
+                try {
+                    return Double.parseDouble(
+                            parameter.substring(equals + 1).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
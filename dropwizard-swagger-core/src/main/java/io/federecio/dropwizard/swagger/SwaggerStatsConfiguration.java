@@ -0,0 +1,76 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.validation.constraints.NotNull;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+/**
+ * Controls the latency statistics recorded for each documented operation,
+ * keyed by operation id, served under {@code /swagger/stats} and published
+ * to the metric registry.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerStatsConfiguration {
+
+    private boolean enabled = false;
+
+    /**
+     * Whether every operation of the served specification carries its
+     * current x-latency-p50, x-latency-p99 and x-rate. The specification is
+     * then serialized for each request.
+     */
+    private boolean vendorExtensions = false;
+
+    /**
+     * Period the latency percentiles are computed over, they cover the
+     * requests of the last period
+     */
+    @NotNull
+    @MinDuration(1)
+    private Duration window = Duration.minutes(1);
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public boolean isVendorExtensions() {
+        return vendorExtensions;
+    }
+
+    @JsonProperty
+    public void setVendorExtensions(boolean vendorExtensions) {
+        this.vendorExtensions = vendorExtensions;
+    }
+
+    @JsonProperty
+    public Duration getWindow() {
+        return window;
+    }
+
+    @JsonProperty
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+}
@@ -0,0 +1,248 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import com.codahale.metrics.MetricRegistry;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+
+/**
+ * Times every request to a documented operation under its operation id,
+ * from the time Jersey matched it. The resource method Jersey matched is
+ * resolved to an operation of the specification once, by HTTP method and
+ * path template, and only the requests to documented operations carry any
+ * state.
+ * <p/>
+ * The latency of each operation is published as a timer named after its
+ * operation id, and its server errors as a meter.
+ */
+final class SwaggerStatsListener
+        implements ApplicationEventListener, SwaggerSpecListener {
+
+    static final String LATENCY_P50 = "x-latency-p50";
+    static final String LATENCY_P99 = "x-latency-p99";
+    static final String RATE = "x-rate";
+
+    /**
+     * Request property holding the timing of a request to a documented
+     * operation
+     */
+    private static final String TIMING = SwaggerStatsListener.class.getName()
+            + ".timing";
+
+    private final long windowNanos;
+    private final MetricRegistry metrics;
+    private final RequestEventListener timing = this::onRequestEvent;
+
+    /**
+     * The operation ids of the current specification, swapped with the
+     * resource methods resolved to them
+     */
+    private volatile Operations operations = new Operations(
+            Collections.emptyMap());
+    private final ConcurrentMap<String, SwaggerOperationStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param configuration
+     *            the statistics configuration
+     * @param metrics
+     *            the registry of the timers and meters of the operations
+     */
+    SwaggerStatsListener(SwaggerStatsConfiguration configuration,
+            MetricRegistry metrics) {
+        this.windowNanos = configuration.getWindow().toNanoseconds();
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void onSpec(SwaggerSpec spec, Swagger model) {
+        final Map<String, String> ids = new HashMap<>();
+        if (model.getPaths() != null) {
+            for (Map.Entry<String, Path> path : model.getPaths().entrySet()) {
+                for (Map.Entry<HttpMethod, Operation> operation : path
+                        .getValue().getOperationMap().entrySet()) {
+                    if (operation.getValue().getOperationId() != null) {
+                        ids.put(SwaggerOperationPaths.key(
+                                operation.getKey().name(),
+                                SwaggerOperationPaths.normalize(path.getKey())),
+                                operation.getValue().getOperationId());
+                    }
+                }
+            }
+        }
+        // resource methods may now document another operation
+        operations = new Operations(ids);
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+        // nothing to do
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return timing;
+    }
+
+    /**
+     * Returns the statistics of every operation requested so far
+     */
+    Collection<SwaggerOperationStats> getStats() {
+        final List<SwaggerOperationStats> all = new ArrayList<>(
+                stats.values());
+        all.sort((left, right) -> left.getOperationId()
+                .compareTo(right.getOperationId()));
+        return all;
+    }
+
+    Optional<SwaggerOperationStats> getStats(String operationId) {
+        return Optional.ofNullable(stats.get(operationId));
+    }
+
+    /**
+     * Adds the current statistics of each operation of a served copy of the
+     * specification as vendor extensions
+     */
+    void annotate(Swagger model) {
+        if (model.getPaths() == null) {
+            return;
+        }
+        for (Path path : model.getPaths().values()) {
+            for (Operation operation : path.getOperations()) {
+                final SwaggerOperationStats operationStats = operation
+                        .getOperationId() == null ? null
+                                : stats.get(operation.getOperationId());
+                if (operationStats == null) {
+                    continue;
+                }
+                // the extensions may be shared with the cached model
+                final Map<String, Object> extensions = new LinkedHashMap<>(
+                        operation.getVendorExtensions());
+                extensions.put(LATENCY_P50,
+                        round(operationStats.getPercentile(0.5)));
+                extensions.put(LATENCY_P99,
+                        round(operationStats.getPercentile(0.99)));
+                extensions.put(RATE, round(operationStats.getRate()));
+                operation.setVendorExtensions(extensions);
+            }
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000d;
+    }
+
+    private void onRequestEvent(RequestEvent event) {
+        if (event.getType() == RequestEvent.Type.REQUEST_MATCHED) {
+            final ResourceMethod method = event.getUriInfo()
+                    .getMatchedResourceMethod();
+            if (method == null) {
+                return;
+            }
+            final Optional<SwaggerOperationStats> operation = resolve(
+                    operations, method, event.getUriInfo());
+            if (operation.isPresent()) {
+                event.getContainerRequest().setProperty(TIMING,
+                        new Timing(operation.get(), System.nanoTime()));
+            }
+        } else if (event.getType() == RequestEvent.Type.FINISHED) {
+            final Object started = event.getContainerRequest()
+                    .getProperty(TIMING);
+            if (started != null) {
+                final Timing request = (Timing) started;
+                request.operation.record(System.nanoTime() - request.start,
+                        isServerError(event));
+            }
+        }
+    }
+
+    private static boolean isServerError(RequestEvent event) {
+        final ContainerResponse response = event.getContainerResponse();
+        return response == null ? event.getException() != null
+                : response.getStatus() >= 500;
+    }
+
+    private Optional<SwaggerOperationStats> resolve(Operations current,
+            ResourceMethod method, ExtendedUriInfo uriInfo) {
+        final Optional<SwaggerOperationStats> known = current.resolved
+                .get(method);
+        if (known != null) {
+            return known;
+        }
+        final String httpMethod = method.getHttpMethod();
+        final String normalized = SwaggerOperationPaths.matched(uriInfo);
+        final String operationId = httpMethod == null ? null
+                : current.operationIds.get(
+                        SwaggerOperationPaths.key(httpMethod, normalized));
+        final Optional<SwaggerOperationStats> found = operationId == null
+                ? Optional.empty()
+                : Optional.of(stats.computeIfAbsent(operationId,
+                        id -> new SwaggerOperationStats(id, httpMethod,
+                                normalized,
+                                metrics.timer(
+                                        MetricRegistry.name(
+                                                SwaggerStatsListener.class,
+                                                id),
+                                        () -> SwaggerOperationStats
+                                                .newTimer(windowNanos)),
+                                metrics.meter(MetricRegistry.name(
+                                        SwaggerStatsListener.class, id,
+                                        "errors")))));
+        current.resolved.putIfAbsent(method, found);
+        return found;
+    }
+
+    private static final class Operations {
+        /**
+         * The operation ids, by method and path
+         */
+        private final Map<String, String> operationIds;
+        private final ConcurrentMap<ResourceMethod, Optional<SwaggerOperationStats>> resolved = new ConcurrentHashMap<>();
+
+        Operations(Map<String, String> operationIds) {
+            this.operationIds = operationIds;
+        }
+    }
+
+    private static final class Timing {
+        private final SwaggerOperationStats operation;
+        private final long start;
+
+        Timing(SwaggerOperationStats operation, long start) {
+            this.operation = operation;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Serves the latency statistics of every operation requested since the
+ * application started, keyed by operation id.
+ */
+@Path("/swagger/stats")
+@Produces(MediaType.APPLICATION_JSON)
+public class SwaggerStatsResource {
+
+    private final SwaggerStatsListener listener;
+
+    SwaggerStatsResource(SwaggerStatsListener listener) {
+        this.listener = listener;
+    }
+
+    @GET
+    public List<OperationStats> getStats() {
+        final List<OperationStats> operations = new ArrayList<>();
+        for (SwaggerOperationStats stats : listener.getStats()) {
+            operations.add(new OperationStats(stats));
+        }
+        return operations;
+    }
+
+    /**
+     * A snapshot of the statistics of an operation
+     */
+    public static class OperationStats {
+        private final String operationId;
+        private final String method;
+        private final String path;
+        private final long count;
+        private final long errors;
+        private final double rate;
+        private final double p50;
+        private final double p99;
+
+        OperationStats(SwaggerOperationStats stats) {
+            this.operationId = stats.getOperationId();
+            this.method = stats.getMethod();
+            this.path = stats.getPath();
+            this.count = stats.getCount();
+            this.errors = stats.getErrors();
+            this.rate = stats.getRate();
+            this.p50 = stats.getPercentile(0.5);
+            this.p99 = stats.getPercentile(0.99);
+        }
+
+        @JsonProperty
+        public String getOperationId() {
+            return operationId;
+        }
+
+        @JsonProperty
+        public String getMethod() {
+            return method;
+        }
+
+        @JsonProperty
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the number of requests since the application started
+         */
+        @JsonProperty
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the number of requests that failed with a server error
+         */
+        @JsonProperty
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * Returns the rate of requests per second over the last minute
+         */
+        @JsonProperty
+        public double getRate() {
+            return rate;
+        }
+
+        /**
+         * Returns the median latency of the recent requests, in milliseconds
+         */
+        @JsonProperty
+        public double getP50() {
+            return p50;
+        }
+
+        /**
+         * Returns the 99th percentile latency of the recent requests, in
+         * milliseconds
+         */
+        @JsonProperty
+        public double getP99() {
+            return p99;
+        }
+    }
+}
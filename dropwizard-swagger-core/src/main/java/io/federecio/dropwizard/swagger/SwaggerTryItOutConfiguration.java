@@ -0,0 +1,91 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Controls the lane the requests sent from Swagger UI's "Try it out" are
+ * served on. Swagger UI tags them with a header, and only a few tagged
+ * requests are then processed at once, so exploratory calls cannot crowd out
+ * the real traffic. The lane covers the paths of the operations documented,
+ * following the specification when it is refreshed. Swagger UI only tags
+ * its requests when the lane is enabled, since the header makes cross-origin
+ * requests need a preflight.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerTryItOutConfiguration {
+
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of tagged requests processed at the same time
+     */
+    @Min(1)
+    private int maxConcurrentRequests = 2;
+
+    /**
+     * Number of tagged requests waiting for the lane, further requests are
+     * rejected immediately
+     */
+    @Min(0)
+    private int maxQueuedRequests = 16;
+
+    @Min(400)
+    @Max(599)
+    private int rejectionStatus = 503;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    @JsonProperty
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    @JsonProperty
+    public int getMaxQueuedRequests() {
+        return maxQueuedRequests;
+    }
+
+    @JsonProperty
+    public void setMaxQueuedRequests(int maxQueuedRequests) {
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+    @JsonProperty
+    public int getRejectionStatus() {
+        return rejectionStatus;
+    }
+
+    @JsonProperty
+    public void setRejectionStatus(int rejectionStatus) {
+        this.rejectionStatus = rejectionStatus;
+    }
+}
@@ -0,0 +1,315 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.net.HttpHeaders;
+import io.swagger.models.Swagger;
+
+/**
+ * Servlet filter bounding how many of the requests tagged by Swagger UI's
+ * "Try it out" are processed at once, see
+ * {@link SwaggerTryItOutConfiguration}. Other requests go through untouched.
+ * <p/>
+ * The filter is mapped on every path of the API and follows the
+ * specification it listens to, so that the paths added by a refresh are
+ * limited too: a tagged request is only limited when the first segment of
+ * its path is the one of a documented operation.
+ * <p/>
+ * A tagged request holds one of the permits of the lane while the rest of
+ * the chain processes it, on the thread of the server. When no permit is
+ * left, the request is suspended and its thread returned to the server, and
+ * the request is dispatched again once a permit is handed over to it. When
+ * a filter or servlet of the chain does not support asynchronous requests,
+ * the thread of the server waits for the permit instead.
+ */
+public class SwaggerTryItOutFilter implements Filter, SwaggerSpecListener {
+
+    /**
+     * Header Swagger UI adds to the requests it sends on behalf of the user
+     */
+    public static final String HEADER = "X-Swagger-UI-Try-It-Out";
+
+    /**
+     * Attribute marking a suspended request dispatched again with a permit
+     */
+    private static final String PERMIT = SwaggerTryItOutFilter.class.getName()
+            + ".permit";
+
+    private final String uriPathPrefix;
+    private volatile Documented documented = new Documented(false, false,
+            ImmutableSet.of());
+    private final Semaphore permits;
+    private final int maxQueuedRequests;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<AsyncContext> suspended = new ConcurrentLinkedQueue<>();
+    private final int rejectionStatus;
+    private final Meter processed;
+    private final Meter rejections;
+
+    /**
+     * Constructor
+     *
+     * @param configuration
+     *            the lane configuration
+     * @param metrics
+     *            the registry of the lane metrics
+     * @param uriPathPrefix
+     *            the path the API is served on, empty for the root
+     */
+    public SwaggerTryItOutFilter(SwaggerTryItOutConfiguration configuration,
+            MetricRegistry metrics, String uriPathPrefix) {
+        this.uriPathPrefix = uriPathPrefix;
+        final int maxConcurrentRequests = configuration
+                .getMaxConcurrentRequests();
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.maxQueuedRequests = configuration.getMaxQueuedRequests();
+        this.rejectionStatus = configuration.getRejectionStatus();
+        this.processed = metrics.meter(
+                MetricRegistry.name(SwaggerTryItOutFilter.class, "processed"));
+        this.rejections = metrics.meter(
+                MetricRegistry.name(SwaggerTryItOutFilter.class, "rejected"));
+        metrics.register(
+                MetricRegistry.name(SwaggerTryItOutFilter.class, "active"),
+                (Gauge<Integer>) () -> maxConcurrentRequests
+                        - permits.availablePermits());
+        metrics.register(
+                MetricRegistry.name(SwaggerTryItOutFilter.class, "queued"),
+                (Gauge<Integer>) queued::get);
+    }
+
+    @Override
+    public void onSpec(SwaggerSpec spec, Swagger model) {
+        boolean root = false;
+        boolean any = false;
+        final ImmutableSet.Builder<String> segments = ImmutableSet.builder();
+        if (model.getPaths() != null) {
+            for (String path : model.getPaths().keySet()) {
+                final String normalized = SwaggerOperationPaths
+                        .normalize(path);
+                final int end = normalized.indexOf('/', 1);
+                final String segment = end < 0 ? normalized
+                        : normalized.substring(0, end);
+                if (segment.indexOf('{') >= 0) {
+                    any = true;
+                } else if ("/".equals(segment)) {
+                    root = true;
+                } else {
+                    segments.add(segment);
+                }
+            }
+        }
+        documented = new Documented(root, any, segments.build());
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // nothing to do
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+        if (request.getAttribute(PERMIT) != null) {
+            // dispatched again with the permit handed over by release()
+            request.removeAttribute(PERMIT);
+            process(request, response, chain);
+            return;
+        }
+        if (request.getDispatcherType() != DispatcherType.REQUEST
+                || ((HttpServletRequest) request).getHeader(HEADER) == null
+                || !isDocumented((HttpServletRequest) request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (permits.tryAcquire()) {
+            process(request, response, chain);
+            return;
+        }
+        if (queued.incrementAndGet() > maxQueuedRequests) {
+            queued.decrementAndGet();
+            reject((HttpServletResponse) response);
+            return;
+        }
+
+        if (!request.isAsyncSupported()) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reject((HttpServletResponse) response);
+                return;
+            } finally {
+                queued.decrementAndGet();
+            }
+            process(request, response, chain);
+            return;
+        }
+
+        final AsyncContext async = request.startAsync();
+        async.setTimeout(0);
+        suspended.add(async);
+        // a permit may have been released before the request was queued
+        drain();
+    }
+
+    @Override
+    public void destroy() {
+        // nothing to do
+    }
+
+    /**
+     * Returns whether the request is under the first segment of a documented
+     * operation
+     */
+    private boolean isDocumented(HttpServletRequest request) {
+        final String uri = request.getRequestURI();
+        final int start = request.getContextPath().length()
+                + uriPathPrefix.length();
+        if (!uri.startsWith(uriPathPrefix, request.getContextPath().length())
+                || (uri.length() > start && uri.charAt(start) != '/')) {
+            return false;
+        }
+        final Documented current = documented;
+        if (current.any) {
+            return true;
+        }
+        if (uri.length() <= start + 1) {
+            return current.root;
+        }
+        final int end = uri.indexOf('/', start + 1);
+        return current.segments
+                .contains(end < 0 ? uri.substring(start)
+                        : uri.substring(start, end));
+    }
+
+    /**
+     * Processes a request holding a permit, and releases the permit once the
+     * request is complete
+     */
+    private void process(ServletRequest request, ServletResponse response,
+            FilterChain chain) throws IOException, ServletException {
+        processed.mark();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new Release());
+            } else {
+                release();
+            }
+        }
+    }
+
+    private void release() {
+        permits.release();
+        drain();
+    }
+
+    /**
+     * Hands the available permits over to the suspended requests, oldest
+     * first
+     */
+    private void drain() {
+        while (!suspended.isEmpty() && permits.tryAcquire()) {
+            final AsyncContext next = suspended.poll();
+            if (next == null) {
+                permits.release();
+                continue;
+            }
+            queued.decrementAndGet();
+            next.getRequest().setAttribute(PERMIT, Boolean.TRUE);
+            next.dispatch();
+        }
+    }
+
+    private void reject(HttpServletResponse response) {
+        rejections.mark();
+        response.setStatus(rejectionStatus);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.setContentLength(0);
+    }
+
+    /**
+     * The first segments of the documented operations
+     */
+    private static final class Documented {
+        private final boolean root;
+        private final boolean any;
+        private final Set<String> segments;
+
+        Documented(boolean root, boolean any, Set<String> segments) {
+            this.root = root;
+            this.any = any;
+            this.segments = segments;
+        }
+    }
+
+    /**
+     * Releases the permit of a request the chain completes asynchronously
+     */
+    private final class Release implements AsyncListener {
+        private final AtomicInteger once = new AtomicInteger();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            releaseOnce();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            releaseOnce();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            releaseOnce();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // starting again clears the listeners of the request
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void releaseOnce() {
+            if (once.getAndIncrement() == 0) {
+                release();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import io.dropwizard.Configuration;
+import io.dropwizard.setup.Environment;
+
+/**
+ * Serves the documentation pages next to the specification. The
+ * implementation lives in the optional dropwizard-swagger-ui module, which
+ * brings Swagger UI, its assets and Freemarker; applications only serving
+ * the specification leave it off the class path.
+ */
+interface SwaggerUi {
+
+    /**
+     * Registers the documentation pages
+     *
+     * @param configuration
+     *            the application configuration
+     * @param swaggerBundleConfiguration
+     *            the bundle configuration
+     * @param configurationHelper
+     *            the paths derived from the configuration
+     * @param specCache
+     *            the specification served by the bundle
+     * @param specUrls
+     *            the specifications to offer in the selector of Swagger UI,
+     *            or an empty list to only show the specification of the
+     *            application
+     * @param environment
+     *            the application environment
+     * @throws Exception
+     *             if the views cannot be set up
+     */
+    void run(Configuration configuration,
+            SwaggerBundleConfiguration swaggerBundleConfiguration,
+            ConfigurationHelper configurationHelper, SwaggerSpecCache specCache,
+            List<SwaggerSpecUrl> specUrls, Environment environment)
+            throws Exception;
+
+    /**
+     * Returns the implementation found on the class path, if any
+     */
+    static Optional<SwaggerUi> load() {
+        final Iterator<SwaggerUi> implementations = ServiceLoader
+                .load(SwaggerUi.class, SwaggerUi.class.getClassLoader())
+                .iterator();
+        return implementations.hasNext() ? Optional.of(implementations.next())
+                : Optional.empty();
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.validation.constraints.NotNull;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Size;
+
+/**
+ * Controls the validation of the requests to documented operations against
+ * the parameters and body schema the specification declares for them,
+ * invalid requests being rejected with a 400 before reaching the resources.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerValidationConfiguration {
+
+    private boolean enabled = false;
+
+    /**
+     * Whether JSON bodies are validated too, which requires buffering them
+     */
+    private boolean validateBody = true;
+
+    /**
+     * Size of the largest JSON body validated, larger bodies being rejected
+     * with a 413
+     */
+    @NotNull
+    private Size maxBodySize = Size.megabytes(1);
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public boolean isValidateBody() {
+        return validateBody;
+    }
+
+    @JsonProperty
+    public void setValidateBody(boolean validateBody) {
+        this.validateBody = validateBody;
+    }
+
+    @JsonProperty
+    public Size getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    @JsonProperty
+    public void setMaxBodySize(Size maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+}
@@ -27,6 +27,8 @@ public class SwaggerViewConfiguration {
     private String validatorUrl;
     private boolean showApiSelector;
     private boolean showAuth;
+    private boolean autoReload;
+    private boolean showExtensions;
 
     public SwaggerViewConfiguration() {
         this.pageTitle = DEFAULT_TITLE;
@@ -34,6 +36,8 @@ public class SwaggerViewConfiguration {
         this.validatorUrl = null;
         this.showApiSelector = true;
         this.showAuth = true;
+        this.autoReload = false;
+        this.showExtensions = false;
     }
 
     public String getPageTitle() {
@@ -75,4 +79,28 @@ public class SwaggerViewConfiguration {
     public void setShowAuth(boolean showAuth) {
         this.showAuth = showAuth;
     }
+
+    /**
+     * Whether Swagger UI reloads the specification each time it changes,
+     * which serves the specification events even if they are not enabled
+     */
+    public boolean isAutoReload() {
+        return autoReload;
+    }
+
+    public void setAutoReload(boolean autoReload) {
+        this.autoReload = autoReload;
+    }
+
+    /**
+     * Whether Swagger UI shows the vendor extensions of operations, such as
+     * their latency statistics
+     */
+    public boolean isShowExtensions() {
+        return showExtensions;
+    }
+
+    public void setShowExtensions(boolean showExtensions) {
+        this.showExtensions = showExtensions;
+    }
 }
@@ -0,0 +1,156 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.SslConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.health.HealthCheck;
+import com.google.common.io.ByteStreams;
+import com.google.common.net.HttpHeaders;
+import io.dropwizard.lifecycle.ServerLifecycleListener;
+
+/**
+ * Requests each documentation endpoint once the server has started, in
+ * every representation it is served in, then reports healthy. This goes
+ * through the whole stack a user request goes through: the serialized
+ * specifications are read and compressed, the serve-time filters run, and
+ * Swagger UI is rendered, compiling its template.
+ * <p/>
+ * The endpoints are requested on the first connector of the server, over
+ * HTTPS when it is a TLS connector, from a thread of the given executor so
+ * that the start of the server is not delayed. A failed request is logged
+ * and reported in the health check message, which only turns unhealthy
+ * when every path failed.
+ */
+final class SwaggerWarmUp extends HealthCheck
+        implements ServerLifecycleListener {
+
+    static final String USER_AGENT = "dropwizard-swagger-warm-up";
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SwaggerWarmUp.class);
+
+    private final List<String> paths;
+    private final int timeoutMillis;
+    private final ExecutorService executor;
+    private final Timer duration;
+
+    @Nullable
+    private volatile Result result;
+
+    /**
+     * Constructor
+     *
+     * @param paths
+     *            the paths to request, relative to the server
+     * @param configuration
+     *            the warm-up configuration
+     * @param executor
+     *            the executor to warm up from
+     * @param duration
+     *            the timer to record the duration of the warm-up with
+     */
+    SwaggerWarmUp(List<String> paths, SwaggerWarmUpConfiguration configuration,
+            ExecutorService executor, Timer duration) {
+        this.paths = paths;
+        this.timeoutMillis = (int) configuration.getTimeout().toMilliseconds();
+        this.executor = executor;
+        this.duration = duration;
+    }
+
+    @Override
+    public void serverStarted(Server server) {
+        for (Connector connector : server.getConnectors()) {
+            if (connector instanceof ServerConnector) {
+                final ServerConnector serverConnector =
+                        (ServerConnector) connector;
+                final String scheme = serverConnector.getConnectionFactory(
+                        SslConnectionFactory.class) == null ? "http" : "https";
+                final int port = serverConnector.getLocalPort();
+                executor.execute(() -> warmUp(scheme, port));
+                return;
+            }
+        }
+        result = Result.unhealthy("No connector to warm up on");
+    }
+
+    @Override
+    protected Result check() {
+        final Result current = result;
+        return current == null ? Result.unhealthy("Warming up") : current;
+    }
+
+    private void warmUp(String scheme, int port) {
+        final long start = System.nanoTime();
+        final List<String> failures = new ArrayList<>();
+        for (String path : paths) {
+            for (boolean gzip : new boolean[] { false, true }) {
+                try {
+                    request(new URL(scheme, "localhost", port, path), gzip);
+                } catch (IOException e) {
+                    LOGGER.warn("Unable to warm up {}", path, e);
+                    failures.add(path);
+                    break;
+                }
+            }
+        }
+        final long nanos = System.nanoTime() - start;
+        duration.update(nanos, TimeUnit.NANOSECONDS);
+        final long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (failures.isEmpty()) {
+            result = Result.healthy("Warmed up in %d ms", millis);
+        } else if (failures.size() < paths.size()) {
+            result = Result.healthy("Warmed up in %d ms, failed to warm up %s",
+                    millis, failures);
+        } else {
+            result = Result.unhealthy("Failed to warm up %s", failures);
+        }
+    }
+
+    private void request(URL url, boolean gzip) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) url
+                .openConnection();
+        connection.setConnectTimeout(timeoutMillis);
+        connection.setReadTimeout(timeoutMillis);
+        connection.setRequestProperty(HttpHeaders.USER_AGENT, USER_AGENT);
+        if (gzip) {
+            connection.setRequestProperty(HttpHeaders.ACCEPT_ENCODING,
+                    "gzip");
+        }
+        final int status = connection.getResponseCode();
+        try (InputStream input = status >= 400 ? connection.getErrorStream()
+                : connection.getInputStream()) {
+            if (input != null) {
+                ByteStreams.exhaust(input);
+            }
+        }
+        if (status >= 400) {
+            throw new IOException("HTTP " + status);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import javax.validation.constraints.NotNull;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+/**
+ * Controls the warm-up of the documentation endpoints once the server has
+ * started. Each endpoint is requested once in every representation, so the
+ * first requests of users do not pay for class loading, template
+ * compilation and cold code. The {@code swagger-warm-up} health check stays
+ * unhealthy until the warm-up has finished.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SwaggerWarmUpConfiguration {
+
+    private boolean enabled = false;
+
+    /**
+     * Time allowed for each warm-up request
+     */
+    @NotNull
+    @MinDuration(1)
+    private Duration timeout = Duration.seconds(30);
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @JsonProperty
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
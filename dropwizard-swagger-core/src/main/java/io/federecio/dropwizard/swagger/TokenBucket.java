@@ -0,0 +1,54 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.concurrent.TimeUnit;
+import com.google.common.base.Ticker;
+
+/**
+ * A minimal token bucket: tokens are added continuously at a fixed rate up to
+ * a maximum capacity, and each acquired permit removes one token.
+ */
+class TokenBucket {
+
+    private final Ticker ticker;
+    private final double tokensPerNano;
+    private final double capacity;
+
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, Ticker.systemTicker());
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, Ticker ticker) {
+        this.ticker = ticker;
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst > 0 ? burst : Math.max(1, Math.ceil(permitsPerSecond));
+        this.tokens = capacity;
+        this.lastRefill = ticker.read();
+    }
+
+    synchronized boolean tryAcquire() {
+        final long now = ticker.read();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import com.google.common.collect.ImmutableSet;
+import io.swagger.core.filter.AbstractSpecFilter;
+import io.swagger.model.ApiDescription;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.properties.Property;
+
+/**
+ * This SwaggerSpecFilter hides the operations and model properties carrying
+ * any of the given vendor extensions, for example operations annotated with
+ * {@code @ApiOperation(extensions = @Extension(properties = @ExtensionProperty(name = "internal", value = "true")))}
+ * are hidden by the {@code x-internal} extension.
+ */
+public class VendorExtensionFilter extends AbstractSpecFilter {
+
+    private static final String PREFIX = "x-";
+
+    private final ImmutableSet<String> hiddenExtensions;
+
+    /**
+     * Constructor
+     *
+     * @param hiddenExtensions
+     *            names of the hidden extensions, with or without their
+     *            {@code x-} prefix
+     */
+    public VendorExtensionFilter(Collection<String> hiddenExtensions) {
+        final ImmutableSet.Builder<String> names = ImmutableSet.builder();
+        for (String name : hiddenExtensions) {
+            names.add(name.startsWith(PREFIX) ? name : PREFIX + name);
+        }
+        this.hiddenExtensions = names.build();
+    }
+
+    @Override
+    public boolean isOperationAllowed(Operation operation, ApiDescription api,
+            Map<String, List<String>> params, Map<String, String> cookies,
+            Map<String, List<String>> headers) {
+        return isAllowed(operation.getVendorExtensions());
+    }
+
+    @Override
+    public boolean isPropertyAllowed(Model model, Property property,
+            String propertyName, Map<String, List<String>> params,
+            Map<String, String> cookies, Map<String, List<String>> headers) {
+        return isAllowed(property.getVendorExtensions());
+    }
+
+    private boolean isAllowed(@Nullable Map<String, Object> extensions) {
+        if (extensions == null || extensions.isEmpty()) {
+            return true;
+        }
+        for (String name : extensions.keySet()) {
+            if (hiddenExtensions.contains(name)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
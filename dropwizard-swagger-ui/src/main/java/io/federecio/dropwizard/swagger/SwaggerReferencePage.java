@@ -0,0 +1,375 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.List;
+import java.util.Locale;
+import javax.annotation.Nullable;
+
+/**
+ * What the templates of the static HTML reference are rendered with. The
+ * index lists the tags, a tag page lists one page of the operations of a
+ * tag, and a models page one page of the definitions.
+ */
+public class SwaggerReferencePage {
+
+    private final String title;
+    @Nullable
+    private final String version;
+    @Nullable
+    private final String description;
+    private final String heading;
+    private final String referencePath;
+    private final List<TagView> tags;
+    private final List<OperationView> operations;
+    private final List<ModelView> models;
+    private final int page;
+    private final int pageCount;
+    @Nullable
+    private final String pageHref;
+
+    SwaggerReferencePage(String title, @Nullable String version,
+            @Nullable String description, String heading, String referencePath,
+            List<TagView> tags, List<OperationView> operations,
+            List<ModelView> models, int page, int pageCount,
+            @Nullable String pageHref) {
+        this.title = title;
+        this.version = version;
+        this.description = description;
+        this.heading = heading;
+        this.referencePath = referencePath;
+        this.tags = tags;
+        this.operations = operations;
+        this.models = models;
+        this.page = page;
+        this.pageCount = pageCount;
+        this.pageHref = pageHref;
+    }
+
+    /**
+     * Returns the title of the API
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    @Nullable
+    public String getVersion() {
+        return version;
+    }
+
+    @Nullable
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the heading of this page
+     */
+    public String getHeading() {
+        return heading;
+    }
+
+    /**
+     * Returns the path of the reference index, other pages are below it
+     */
+    public String getReferencePath() {
+        return referencePath;
+    }
+
+    public List<TagView> getTags() {
+        return tags;
+    }
+
+    public List<OperationView> getOperations() {
+        return operations;
+    }
+
+    public List<ModelView> getModels() {
+        return models;
+    }
+
+    /**
+     * Returns the number of this page, starting at 1
+     */
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageCount() {
+        return pageCount;
+    }
+
+    /**
+     * Returns the link to another page of the same list
+     */
+    public String getPageHref(int number) {
+        return pageHref + "?page=" + number;
+    }
+
+    public static class TagView {
+        private final String name;
+        @Nullable
+        private final String description;
+        private final String href;
+        private final int operationCount;
+
+        TagView(String name, @Nullable String description, String href,
+                int operationCount) {
+            this.name = name;
+            this.description = description;
+            this.href = href;
+            this.operationCount = operationCount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Nullable
+        public String getDescription() {
+            return description;
+        }
+
+        public String getHref() {
+            return href;
+        }
+
+        public int getOperationCount() {
+            return operationCount;
+        }
+    }
+
+    public static class OperationView {
+        private final String method;
+        private final String path;
+        @Nullable
+        private final String operationId;
+        @Nullable
+        private final String summary;
+        @Nullable
+        private final String description;
+        private final boolean deprecated;
+        private final List<ParameterView> parameters;
+        private final List<ResponseView> responses;
+
+        OperationView(String method, String path,
+                @Nullable String operationId, @Nullable String summary,
+                @Nullable String description, boolean deprecated,
+                List<ParameterView> parameters, List<ResponseView> responses) {
+            this.method = method;
+            this.path = path;
+            this.operationId = operationId;
+            this.summary = summary;
+            this.description = description;
+            this.deprecated = deprecated;
+            this.parameters = parameters;
+            this.responses = responses;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the anchor of the operation on its page
+         */
+        public String getAnchor() {
+            return operationId != null ? operationId
+                    : method.toLowerCase(Locale.ENGLISH) + path;
+        }
+
+        @Nullable
+        public String getOperationId() {
+            return operationId;
+        }
+
+        @Nullable
+        public String getSummary() {
+            return summary;
+        }
+
+        @Nullable
+        public String getDescription() {
+            return description;
+        }
+
+        public boolean isDeprecated() {
+            return deprecated;
+        }
+
+        public List<ParameterView> getParameters() {
+            return parameters;
+        }
+
+        public List<ResponseView> getResponses() {
+            return responses;
+        }
+    }
+
+    public static class ParameterView {
+        private final String name;
+        private final String in;
+        private final boolean required;
+        private final TypeView type;
+        @Nullable
+        private final String description;
+
+        ParameterView(String name, String in, boolean required, TypeView type,
+                @Nullable String description) {
+            this.name = name;
+            this.in = in;
+            this.required = required;
+            this.type = type;
+            this.description = description;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getIn() {
+            return in;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public TypeView getType() {
+            return type;
+        }
+
+        @Nullable
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    public static class ResponseView {
+        private final String code;
+        @Nullable
+        private final String description;
+        @Nullable
+        private final TypeView type;
+
+        ResponseView(String code, @Nullable String description,
+                @Nullable TypeView type) {
+            this.code = code;
+            this.description = description;
+            this.type = type;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        @Nullable
+        public String getDescription() {
+            return description;
+        }
+
+        @Nullable
+        public TypeView getType() {
+            return type;
+        }
+    }
+
+    public static class ModelView {
+        private final String name;
+        @Nullable
+        private final String description;
+        private final List<PropertyView> properties;
+
+        ModelView(String name, @Nullable String description,
+                List<PropertyView> properties) {
+            this.name = name;
+            this.description = description;
+            this.properties = properties;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Nullable
+        public String getDescription() {
+            return description;
+        }
+
+        public List<PropertyView> getProperties() {
+            return properties;
+        }
+    }
+
+    public static class PropertyView {
+        private final String name;
+        private final boolean required;
+        private final TypeView type;
+        @Nullable
+        private final String description;
+
+        PropertyView(String name, boolean required, TypeView type,
+                @Nullable String description) {
+            this.name = name;
+            this.required = required;
+            this.type = type;
+            this.description = description;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public TypeView getType() {
+            return type;
+        }
+
+        @Nullable
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * A type, linking to its definition when it refers to a model
+     */
+    public static class TypeView {
+        private final String label;
+        @Nullable
+        private final String href;
+
+        TypeView(String label, @Nullable String href) {
+            this.label = label;
+            this.href = href;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        @Nullable
+        public String getHref() {
+            return href;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nullable;
+import com.google.common.collect.Lists;
+import com.google.common.net.UrlEscapers;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import io.swagger.models.ArrayModel;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.Tag;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.models.parameters.SerializableParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.MapProperty;
+import io.swagger.models.properties.Property;
+import io.swagger.models.properties.RefProperty;
+
+/**
+ * Renders a specification into the pages of the static HTML reference, all
+ * at once.
+ */
+final class SwaggerReferenceRenderer {
+
+    static final String INDEX = "";
+    static final String MODELS = "models";
+    static final String TAGS = "tags/";
+
+    /**
+     * Swagger UI lists the operations without any tag under this one
+     */
+    private static final String DEFAULT_TAG = "default";
+
+    private final Configuration freemarker;
+    private final String referencePath;
+    private final int pageSize;
+
+    /**
+     * Constructor
+     *
+     * @param referencePath
+     *            the path the reference index is served on
+     * @param pageSize
+     *            the maximum number of operations or models on a page
+     */
+    SwaggerReferenceRenderer(String referencePath, int pageSize) {
+        this.freemarker = new Configuration(Configuration.VERSION_2_3_23);
+        freemarker.setClassForTemplateLoading(SwaggerReferenceRenderer.class,
+                "");
+        freemarker.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        this.referencePath = referencePath;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Renders every page, keyed by {@link #INDEX}, {@link #MODELS} followed
+     * by the page number, or {@link #TAGS} followed by the tag and the page
+     * number, separated by a slash
+     */
+    Map<String, byte[]> render(Swagger model) {
+        final Map<String, Integer> modelPages = new HashMap<>();
+        final List<Map.Entry<String, Model>> definitions = model
+                .getDefinitions() == null ? Collections.emptyList()
+                        : new ArrayList<>(model.getDefinitions().entrySet());
+        for (int i = 0; i < definitions.size(); i++) {
+            modelPages.put(definitions.get(i).getKey(), i / pageSize + 1);
+        }
+        final Types types = new Types(modelPages);
+
+        final Map<String, List<SwaggerReferencePage.OperationView>> byTag = new LinkedHashMap<>();
+        if (model.getTags() != null) {
+            for (Tag tag : model.getTags()) {
+                byTag.put(tag.getName(), new ArrayList<>());
+            }
+        }
+        if (model.getPaths() != null) {
+            for (Map.Entry<String, Path> path : model.getPaths().entrySet()) {
+                for (Map.Entry<HttpMethod, Operation> entry : path.getValue()
+                        .getOperationMap().entrySet()) {
+                    final SwaggerReferencePage.OperationView operation = operationView(
+                            path.getKey(), path.getValue(), entry.getKey(),
+                            entry.getValue(), types);
+                    final List<String> tags = entry.getValue().getTags();
+                    for (String tag : tags == null || tags.isEmpty()
+                            ? Collections.singletonList(DEFAULT_TAG) : tags) {
+                        byTag.computeIfAbsent(tag, t -> new ArrayList<>())
+                                .add(operation);
+                    }
+                }
+            }
+        }
+
+        final String title = model.getInfo() == null
+                || model.getInfo().getTitle() == null ? "API"
+                        : model.getInfo().getTitle();
+        final String version = model.getInfo() == null ? null
+                : model.getInfo().getVersion();
+        final String description = model.getInfo() == null ? null
+                : model.getInfo().getDescription();
+
+        final Map<String, byte[]> pages = new HashMap<>();
+        final List<SwaggerReferencePage.TagView> tagViews = new ArrayList<>();
+        for (Map.Entry<String, List<SwaggerReferencePage.OperationView>> tag : byTag
+                .entrySet()) {
+            if (tag.getValue().isEmpty()) {
+                continue;
+            }
+            final String tagPath = referencePath + "/" + TAGS
+                    + UrlEscapers.urlPathSegmentEscaper().escape(tag.getKey());
+            final Tag definition = model.getTag(tag.getKey());
+            tagViews.add(new SwaggerReferencePage.TagView(tag.getKey(),
+                    definition == null ? null : definition.getDescription(),
+                    tagPath, tag.getValue().size()));
+
+            final List<List<SwaggerReferencePage.OperationView>> partitions = Lists
+                    .partition(tag.getValue(), pageSize);
+            for (int i = 0; i < partitions.size(); i++) {
+                pages.put(TAGS + tag.getKey() + "/" + (i + 1),
+                        render("reference-tag.ftl",
+                                new SwaggerReferencePage(title, version,
+                                        description, tag.getKey(),
+                                        referencePath,
+                                        Collections.emptyList(),
+                                        partitions.get(i),
+                                        Collections.emptyList(), i + 1,
+                                        partitions.size(), tagPath)));
+            }
+        }
+
+        final List<List<Map.Entry<String, Model>>> modelPartitions = Lists
+                .partition(definitions, pageSize);
+        for (int i = 0; i < modelPartitions.size(); i++) {
+            final List<SwaggerReferencePage.ModelView> modelViews = new ArrayList<>();
+            for (Map.Entry<String, Model> definition : modelPartitions
+                    .get(i)) {
+                modelViews.add(modelView(definition.getKey(),
+                        definition.getValue(), types));
+            }
+            pages.put(MODELS + "/" + (i + 1), render("reference-models.ftl",
+                    new SwaggerReferencePage(title, version, description,
+                            "Models", referencePath, Collections.emptyList(),
+                            Collections.emptyList(), modelViews, i + 1,
+                            modelPartitions.size(),
+                            referencePath + "/" + MODELS)));
+        }
+
+        pages.put(INDEX, render("reference-index.ftl",
+                new SwaggerReferencePage(title, version, description, title,
+                        referencePath, tagViews, Collections.emptyList(),
+                        Collections.emptyList(), 1,
+                        modelPartitions.size(), referencePath + "/" + MODELS)));
+        return pages;
+    }
+
+    private byte[] render(String templateName, SwaggerReferencePage page) {
+        try {
+            final Template template = freemarker.getTemplate(templateName);
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            try (Writer writer = new OutputStreamWriter(output,
+                    StandardCharsets.UTF_8)) {
+                template.process(page, writer);
+            }
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (TemplateException e) {
+            throw new IllegalStateException(
+                    "Unable to render the Swagger reference page "
+                            + page.getHeading(),
+                    e);
+        }
+    }
+
+    private static SwaggerReferencePage.OperationView operationView(
+            String pathName, Path path, HttpMethod method, Operation operation,
+            Types types) {
+        final List<SwaggerReferencePage.ParameterView> parameters = new ArrayList<>();
+        final List<Parameter> declared = new ArrayList<>();
+        if (path.getParameters() != null) {
+            declared.addAll(path.getParameters());
+        }
+        if (operation.getParameters() != null) {
+            declared.addAll(operation.getParameters());
+        }
+        for (Parameter parameter : declared) {
+            parameters.add(new SwaggerReferencePage.ParameterView(
+                    parameter.getName(), parameter.getIn(),
+                    parameter.getRequired(), types.of(parameter),
+                    parameter.getDescription()));
+        }
+
+        final List<SwaggerReferencePage.ResponseView> responses = new ArrayList<>();
+        if (operation.getResponses() != null) {
+            for (Map.Entry<String, Response> response : operation
+                    .getResponses().entrySet()) {
+                final Property schema = response.getValue().getSchema();
+                responses.add(new SwaggerReferencePage.ResponseView(
+                        response.getKey(),
+                        response.getValue().getDescription(),
+                        schema == null ? null : types.of(schema)));
+            }
+        }
+
+        return new SwaggerReferencePage.OperationView(
+                method.name().toUpperCase(Locale.ENGLISH), pathName,
+                operation.getOperationId(), operation.getSummary(),
+                operation.getDescription(),
+                Boolean.TRUE.equals(operation.isDeprecated()), parameters,
+                responses);
+    }
+
+    private static SwaggerReferencePage.ModelView modelView(String name,
+            Model model, Types types) {
+        final List<SwaggerReferencePage.PropertyView> properties = new ArrayList<>();
+        if (model.getProperties() != null) {
+            for (Map.Entry<String, Property> property : model.getProperties()
+                    .entrySet()) {
+                properties.add(new SwaggerReferencePage.PropertyView(
+                        property.getKey(), property.getValue().getRequired(),
+                        types.of(property.getValue()),
+                        property.getValue().getDescription()));
+            }
+        }
+        return new SwaggerReferencePage.ModelView(name,
+                model.getDescription(), properties);
+    }
+
+    /**
+     * Describes types, linking the models to the page they are on
+     */
+    private final class Types {
+        /**
+         * The page number of each model
+         */
+        private final Map<String, Integer> modelPages;
+
+        private Types(Map<String, Integer> modelPages) {
+            this.modelPages = modelPages;
+        }
+
+        private SwaggerReferencePage.TypeView of(Parameter parameter) {
+            if (parameter instanceof BodyParameter) {
+                final Model schema = ((BodyParameter) parameter).getSchema();
+                return schema == null
+                        ? new SwaggerReferencePage.TypeView("body", null)
+                        : of(schema);
+            }
+            if (parameter instanceof SerializableParameter) {
+                final SerializableParameter serializable = (SerializableParameter) parameter;
+                if ("array".equals(serializable.getType())
+                        && serializable.getItems() != null) {
+                    final SwaggerReferencePage.TypeView items = of(
+                            serializable.getItems());
+                    return new SwaggerReferencePage.TypeView(
+                            "array of " + items.getLabel(), items.getHref());
+                }
+                return new SwaggerReferencePage.TypeView(
+                        label(serializable.getType(),
+                                serializable.getFormat()),
+                        null);
+            }
+            return new SwaggerReferencePage.TypeView("", null);
+        }
+
+        private SwaggerReferencePage.TypeView of(Model model) {
+            if (model instanceof RefModel) {
+                return ref(((RefModel) model).getSimpleRef());
+            }
+            if (model instanceof ArrayModel
+                    && ((ArrayModel) model).getItems() != null) {
+                final SwaggerReferencePage.TypeView items = of(
+                        ((ArrayModel) model).getItems());
+                return new SwaggerReferencePage.TypeView(
+                        "array of " + items.getLabel(), items.getHref());
+            }
+            if (model instanceof ModelImpl) {
+                return new SwaggerReferencePage.TypeView(
+                        label(((ModelImpl) model).getType(),
+                                ((ModelImpl) model).getFormat()),
+                        null);
+            }
+            return new SwaggerReferencePage.TypeView("object", null);
+        }
+
+        private SwaggerReferencePage.TypeView of(Property property) {
+            if (property instanceof RefProperty) {
+                return ref(((RefProperty) property).getSimpleRef());
+            }
+            if (property instanceof ArrayProperty
+                    && ((ArrayProperty) property).getItems() != null) {
+                final SwaggerReferencePage.TypeView items = of(
+                        ((ArrayProperty) property).getItems());
+                return new SwaggerReferencePage.TypeView(
+                        "array of " + items.getLabel(), items.getHref());
+            }
+            if (property instanceof MapProperty && ((MapProperty) property)
+                    .getAdditionalProperties() != null) {
+                final SwaggerReferencePage.TypeView values = of(
+                        ((MapProperty) property).getAdditionalProperties());
+                return new SwaggerReferencePage.TypeView(
+                        "map of " + values.getLabel(), values.getHref());
+            }
+            return new SwaggerReferencePage.TypeView(
+                    label(property.getType(), property.getFormat()), null);
+        }
+
+        private SwaggerReferencePage.TypeView ref(String name) {
+            final Integer modelPage = modelPages.get(name);
+            return new SwaggerReferencePage.TypeView(name,
+                    modelPage == null ? null
+                            : referencePath + "/" + MODELS + "?page="
+                                    + modelPage + "#"
+                                    + UrlEscapers.urlFragmentEscaper()
+                                            .escape("model-" + name));
+        }
+
+        private String label(@Nullable String type, @Nullable String format) {
+            if (type == null) {
+                return "object";
+            }
+            return format == null ? type : type + " (" + format + ")";
+        }
+    }
+}
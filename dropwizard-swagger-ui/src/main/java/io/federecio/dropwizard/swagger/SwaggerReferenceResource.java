@@ -0,0 +1,127 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.google.common.base.Stopwatch;
+import com.google.common.hash.Hashing;
+import io.swagger.models.Swagger;
+
+/**
+ * Serves the static HTML reference: an index of the tags, the operations of
+ * each tag and the models, paginated. Every page is rendered when the
+ * specification is built and served as-is afterwards, no script is needed
+ * to read it.
+ */
+@Path("/swagger/reference")
+@Produces(MediaType.TEXT_HTML + ";charset=UTF-8")
+public class SwaggerReferenceResource implements SwaggerSpecListener {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SwaggerReferenceResource.class);
+
+    private final SwaggerReferenceRenderer renderer;
+
+    private volatile Map<String, RenderedPage> pages = new HashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param referencePath
+     *            the path this resource is served on, including the context
+     *            and the Jersey root path
+     * @param configuration
+     *            the reference configuration
+     */
+    public SwaggerReferenceResource(String referencePath,
+            SwaggerReferenceConfiguration configuration) {
+        this.renderer = new SwaggerReferenceRenderer(referencePath,
+                configuration.getPageSize());
+    }
+
+    @Override
+    public void onSpec(SwaggerSpec spec, Swagger model) {
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        final Map<String, RenderedPage> rendered = new HashMap<>();
+        long bytes = 0;
+        for (Map.Entry<String, byte[]> page : renderer.render(model)
+                .entrySet()) {
+            rendered.put(page.getKey(), new RenderedPage(page.getValue()));
+            bytes += page.getValue().length;
+        }
+        pages = rendered;
+        LOGGER.info("Rendered {} Swagger reference pages in {} ({} bytes)",
+                rendered.size(), stopwatch, bytes);
+    }
+
+    @GET
+    public Response getIndex(@Context Request request) {
+        return serve(SwaggerReferenceRenderer.INDEX, request);
+    }
+
+    @GET
+    @Path("/tags/{tag}")
+    public Response getTag(@PathParam("tag") String tag,
+            @QueryParam("page") @DefaultValue("1") int page,
+            @Context Request request) {
+        return serve(SwaggerReferenceRenderer.TAGS + tag + "/" + page,
+                request);
+    }
+
+    @GET
+    @Path("/models")
+    public Response getModels(@QueryParam("page") @DefaultValue("1") int page,
+            @Context Request request) {
+        return serve(SwaggerReferenceRenderer.MODELS + "/" + page, request);
+    }
+
+    private Response serve(String key, Request request) {
+        final RenderedPage page = pages.get(key);
+        if (page == null) {
+            throw new NotFoundException();
+        }
+        final Response.ResponseBuilder notModified = request
+                .evaluatePreconditions(page.entityTag);
+        if (notModified != null) {
+            return notModified.tag(page.entityTag).build();
+        }
+        return Response.ok(page.bytes).tag(page.entityTag).build();
+    }
+
+    private static final class RenderedPage {
+        private final byte[] bytes;
+        private final EntityTag entityTag;
+
+        private RenderedPage(byte[] bytes) {
+            this.bytes = bytes;
+            this.entityTag = new EntityTag(
+                    Hashing.murmur3_128().hashBytes(bytes).toString(), true);
+        }
+    }
+}
@@ -14,6 +14,8 @@
  */
 package io.federecio.dropwizard.swagger;
 
+import java.util.Collections;
+import java.util.List;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
@@ -26,6 +28,8 @@ public class SwaggerResource {
     private final SwaggerOAuth2Configuration oAuth2Configuration;
     private final String contextRoot;
     private final String urlPattern;
+    private final List<SwaggerSpecUrl> specUrls;
+    private final boolean tryItOutLane;
 
     public SwaggerResource(String urlPattern,
             SwaggerViewConfiguration viewConfiguration,
@@ -34,21 +38,42 @@ public class SwaggerResource {
         this.viewConfiguration = viewConfiguration;
         this.oAuth2Configuration = oAuth2Configuration;
         this.contextRoot = "/";
+        this.specUrls = Collections.emptyList();
+        this.tryItOutLane = false;
     }
 
     public SwaggerResource(String urlPattern,
             SwaggerViewConfiguration viewConfiguration,
             SwaggerOAuth2Configuration oAuth2Configuration,
             String contextRoot) {
+        this(urlPattern, viewConfiguration, oAuth2Configuration, contextRoot,
+                Collections.emptyList());
+    }
+
+    public SwaggerResource(String urlPattern,
+            SwaggerViewConfiguration viewConfiguration,
+            SwaggerOAuth2Configuration oAuth2Configuration,
+            String contextRoot, List<SwaggerSpecUrl> specUrls) {
+        this(urlPattern, viewConfiguration, oAuth2Configuration, contextRoot,
+                specUrls, false);
+    }
+
+    public SwaggerResource(String urlPattern,
+            SwaggerViewConfiguration viewConfiguration,
+            SwaggerOAuth2Configuration oAuth2Configuration,
+            String contextRoot, List<SwaggerSpecUrl> specUrls,
+            boolean tryItOutLane) {
         this.viewConfiguration = viewConfiguration;
         this.oAuth2Configuration = oAuth2Configuration;
         this.urlPattern = urlPattern;
         this.contextRoot = contextRoot;
+        this.specUrls = specUrls;
+        this.tryItOutLane = tryItOutLane;
     }
 
     @GET
     public SwaggerView get() {
         return new SwaggerView(contextRoot, urlPattern, viewConfiguration,
-                oAuth2Configuration);
+                oAuth2Configuration, specUrls, tryItOutLane);
     }
 }
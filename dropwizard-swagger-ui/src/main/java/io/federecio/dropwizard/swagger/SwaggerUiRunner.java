@@ -0,0 +1,85 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.List;
+import io.dropwizard.Configuration;
+import io.dropwizard.assets.AssetsBundle;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.views.ViewBundle;
+
+/**
+ * Sets up Swagger UI for an enabled {@link SwaggerBundle}. Found by the
+ * bundle through {@link java.util.ServiceLoader}, which is why it is public.
+ */
+public final class SwaggerUiRunner implements SwaggerUi {
+
+    @Override
+    public void run(Configuration configuration,
+            SwaggerBundleConfiguration swaggerBundleConfiguration,
+            ConfigurationHelper configurationHelper, SwaggerSpecCache specCache,
+            List<SwaggerSpecUrl> specUrls, Environment environment)
+            throws Exception {
+        new ViewBundle<Configuration>().run(configuration, environment);
+
+        new AssetsBundle("/swagger-static",
+                configurationHelper.getSwaggerUriPath(), null, "swagger-assets")
+                        .run(environment);
+
+        new AssetsBundle("/swagger-static/oauth2-redirect.html",
+                configurationHelper.getOAuth2RedirectUriPath(), null, "swagger-oauth2-connect")
+                        .run(environment);
+
+        if (!swaggerBundleConfiguration.isIncludeSwaggerResource()) {
+            return;
+        }
+        environment.jersey()
+                .register(new SwaggerResource(
+                        configurationHelper.getUrlPattern(),
+                        swaggerBundleConfiguration
+                                .getSwaggerViewConfiguration(),
+                        swaggerBundleConfiguration.getSwaggerOAuth2Configuration(),
+                        swaggerBundleConfiguration.getContextRoot(),
+                        specUrls, swaggerBundleConfiguration
+                                .getTryItOutConfiguration().isEnabled()));
+        final SwaggerReferenceConfiguration referenceConfiguration = swaggerBundleConfiguration
+                .getReferenceConfiguration();
+        if (referenceConfiguration.isEnabled()) {
+            final SwaggerReferenceResource referenceResource = new SwaggerReferenceResource(
+                    getContextPath(swaggerBundleConfiguration,
+                            configurationHelper) + "/swagger/reference",
+                    referenceConfiguration);
+            specCache.addListener(referenceResource);
+            environment.jersey().register(referenceResource);
+        }
+        if (SwaggerFlightRecorder.isEnabled()) {
+            environment.jersey().register(new SwaggerViewEventInterceptor());
+        }
+    }
+
+    /**
+     * Returns the path the Jersey resources are served on, as
+     * {@link SwaggerView} computes it for Swagger UI
+     */
+    private static String getContextPath(
+            SwaggerBundleConfiguration swaggerBundleConfiguration,
+            ConfigurationHelper configurationHelper) {
+        final String contextRoot = swaggerBundleConfiguration.getContextRoot();
+        final String contextRootPrefix = "/".equals(contextRoot) ? ""
+                : contextRoot;
+        final String urlPattern = configurationHelper.getUrlPattern();
+        return urlPattern.equals("/") ? contextRootPrefix
+                : contextRootPrefix + urlPattern;
+    }
+}
@@ -15,6 +15,9 @@
 package io.federecio.dropwizard.swagger;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import javax.annotation.Nonnull;
 import io.dropwizard.views.View;
 
@@ -33,11 +36,50 @@ public class SwaggerView extends View {
 
     private final SwaggerViewConfiguration viewConfiguration;
     private final SwaggerOAuth2Configuration oauth2Configuration;
+    private final List<SwaggerSpecUrl> specUrls;
+    private final boolean tryItOutLane;
 
     public SwaggerView(@Nonnull final String contextRoot,
             @Nonnull final String urlPattern,
             @Nonnull SwaggerViewConfiguration viewConfiguration,
             @Nonnull SwaggerOAuth2Configuration oauth2Configuration) {
+        this(contextRoot, urlPattern, viewConfiguration, oauth2Configuration,
+                Collections.emptyList());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param specUrls
+     *            the specifications to offer in the selector of Swagger UI,
+     *            relative to the context path, or an empty list to only show
+     *            the specification of the application
+     */
+    public SwaggerView(@Nonnull final String contextRoot,
+            @Nonnull final String urlPattern,
+            @Nonnull SwaggerViewConfiguration viewConfiguration,
+            @Nonnull SwaggerOAuth2Configuration oauth2Configuration,
+            @Nonnull List<SwaggerSpecUrl> specUrls) {
+        this(contextRoot, urlPattern, viewConfiguration, oauth2Configuration,
+                specUrls, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param specUrls
+     *            the specifications to offer in the selector of Swagger UI,
+     *            relative to the context path, or an empty list to only show
+     *            the specification of the application
+     * @param tryItOutLane
+     *            whether the requests of "Try it out" are served on their own
+     *            lane, and so tagged by Swagger UI
+     */
+    public SwaggerView(@Nonnull final String contextRoot,
+            @Nonnull final String urlPattern,
+            @Nonnull SwaggerViewConfiguration viewConfiguration,
+            @Nonnull SwaggerOAuth2Configuration oauth2Configuration,
+            @Nonnull List<SwaggerSpecUrl> specUrls, boolean tryItOutLane) {
         super(viewConfiguration.getTemplateUrl(), StandardCharsets.UTF_8);
 
         String contextRootPrefix = "/".equals(contextRoot) ? "" : contextRoot;
@@ -55,6 +97,13 @@ public class SwaggerView extends View {
 
         this.viewConfiguration = viewConfiguration;
         this.oauth2Configuration = oauth2Configuration;
+        final List<SwaggerSpecUrl> absoluteUrls = new ArrayList<>();
+        for (SwaggerSpecUrl specUrl : specUrls) {
+            absoluteUrls.add(new SwaggerSpecUrl(specUrl.getName(),
+                    contextPath + specUrl.getUrl()));
+        }
+        this.specUrls = absoluteUrls;
+        this.tryItOutLane = tryItOutLane;
     }
 
     /**
@@ -101,6 +150,42 @@ public class SwaggerView extends View {
         return viewConfiguration.isShowApiSelector();
     }
 
+    /**
+     * Returns whether to reload the specification when it changes
+     */
+    public boolean getAutoReload() {
+        return viewConfiguration.isAutoReload();
+    }
+
+    /**
+     * Returns whether to show the vendor extensions of operations
+     */
+    public boolean getShowExtensions() {
+        return viewConfiguration.isShowExtensions();
+    }
+
+    /**
+     * Returns whether Swagger UI tags the requests of "Try it out"
+     */
+    public boolean getTryItOutLane() {
+        return tryItOutLane;
+    }
+
+    /**
+     * Returns the header Swagger UI tags the requests of "Try it out" with
+     */
+    public String getTryItOutHeader() {
+        return SwaggerTryItOutFilter.HEADER;
+    }
+
+    /**
+     * Returns the specifications to offer in the selector, empty when there
+     * is only the one of the application
+     */
+    public List<SwaggerSpecUrl> getSpecUrls() {
+        return specUrls;
+    }
+
     /**
      * @return {@link SwaggerOAuth2Configuration} containing every properties to
      *         init oauth2
@@ -0,0 +1,50 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import com.google.common.io.CountingOutputStream;
+
+/**
+ * Records the rendering of {@link SwaggerView} as a flight recorder event,
+ * with the number of bytes written.
+ */
+final class SwaggerViewEventInterceptor implements WriterInterceptor {
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context)
+            throws IOException, WebApplicationException {
+        final Object entity = context.getEntity();
+        if (!(entity instanceof SwaggerView)) {
+            context.proceed();
+            return;
+        }
+
+        final SwaggerFlightRecorder.Span span = SwaggerFlightRecorder
+                .begin(SwaggerFlightRecorder.Kind.RENDER);
+        if (!span.isRecording()) {
+            context.proceed();
+            return;
+        }
+        final CountingOutputStream output = new CountingOutputStream(
+                context.getOutputStream());
+        context.setOutputStream(output);
+        context.proceed();
+        span.end(entity.getClass().getName(), output.getCount(),
+                ((SwaggerView) entity).getTemplateName());
+    }
+}
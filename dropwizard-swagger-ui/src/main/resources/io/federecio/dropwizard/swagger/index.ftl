@@ -74,7 +74,15 @@
 window.onload = function() {
   // Build a system
   const ui = SwaggerUIBundle({
+    <#if specUrls?has_content>
+    urls: [
+    <#list specUrls as specUrl>
+      { name: "${specUrl.name}", url: "${specUrl.url}" }<#sep>,</#sep>
+    </#list>
+    ],
+    <#else>
     url: "${contextPath}/swagger.json",
+    </#if>
     <#if validatorUrl??>
     validatorUrl: "${validatorUrl}",
     <#else>
@@ -82,7 +90,16 @@ window.onload = function() {
     </#if>
     dom_id: '#swagger-ui',
     deepLinking: true,
+    showExtensions: ${showExtensions?c},
     supportedSubmitMethods: ['get', 'post', 'put', 'delete', 'patch'],
+    <#if tryItOutLane>
+    requestInterceptor: function(request) {
+      if (!request.loadSpec) {
+        request.headers['${tryItOutHeader}'] = 'true';
+      }
+      return request;
+    },
+    </#if>
     onComplete: function(swaggerApi, swaggerUi) {
       if (window.SwaggerTranslator) {
         window.SwaggerTranslator.translate();
@@ -120,6 +137,18 @@ window.onload = function() {
     }
   });
 
+  <#if autoReload>
+  if (window.EventSource) {
+    var specEtag = null;
+    new EventSource("${contextPath}/swagger/events").addEventListener("spec", function(event) {
+      if (specEtag !== null && specEtag !== event.data) {
+        ui.specActions.download("${contextPath}/swagger.json");
+      }
+      specEtag = event.data;
+    });
+  }
+  </#if>
+
   window.ui = ui
 }
 </script>
@@ -0,0 +1,23 @@
+<#-- @ftlvariable name="" type="io.federecio.dropwizard.swagger.SwaggerReferencePage" -->
+<#import "reference-layout.ftl" as layout>
+<#escape x as x?html>
+<@layout.document>
+<h1>${title}</h1>
+<#if description?has_content>
+<p>${description}</p>
+</#if>
+<h2>Operations</h2>
+<ul>
+  <#list tags as tag>
+  <li>
+    <a href="${tag.href}">${tag.name}</a> (${tag.operationCount?c})
+    <#if tag.description?has_content> - ${tag.description}</#if>
+  </li>
+  </#list>
+</ul>
+<#if pageCount gt 0>
+<h2>Models</h2>
+<p><a href="${getPageHref(1)}">All models</a></p>
+</#if>
+</@layout.document>
+</#escape>
@@ -0,0 +1,58 @@
+<#-- Layout shared by the pages of the static reference, imported as "layout" -->
+<#macro document>
+<#escape x as x?html>
+<!DOCTYPE html>
+<html lang="en">
+<head>
+  <meta charset="UTF-8">
+  <title><#if heading != title>${heading} - </#if>${title}</title>
+  <style>
+    body {
+      margin: 0 auto;
+      max-width: 960px;
+      padding: 0 16px 32px;
+      font-family: sans-serif;
+      color: #3b4151;
+      background: #fafafa;
+    }
+    header { padding: 16px 0; border-bottom: 1px solid #d9d9d9; }
+    header a { font-size: 1.4em; font-weight: bold; color: inherit; text-decoration: none; }
+    .version { color: #7d8492; }
+    section.operation { margin: 16px 0; padding: 8px 16px; border: 1px solid #d9d9d9; border-radius: 4px; background: #fff; }
+    section.deprecated { opacity: 0.6; }
+    .method { display: inline-block; min-width: 64px; font-weight: bold; }
+    code, .path { font-family: monospace; }
+    table { width: 100%; border-collapse: collapse; }
+    th, td { padding: 4px 8px; text-align: left; vertical-align: top; border-bottom: 1px solid #eee; }
+    nav.pagination a, nav.pagination strong { margin-right: 8px; }
+  </style>
+</head>
+<body>
+<header>
+  <a href="${referencePath}">${title}</a><#if version?has_content> <span class="version">${version}</span></#if>
+</header>
+<main>
+<#nested>
+</main>
+</body>
+</html>
+</#escape>
+</#macro>
+
+<#macro pagination>
+<#if pageCount gt 1>
+<nav class="pagination">
+  <#if page gt 1><a rel="prev" href="${getPageHref(page - 1)?html}">Previous</a></#if>
+  <#list 1..pageCount as number>
+  <#if number == page><strong>${number?c}</strong><#else><a href="${getPageHref(number)?html}">${number?c}</a></#if>
+  </#list>
+  <#if page lt pageCount><a rel="next" href="${getPageHref(page + 1)?html}">Next</a></#if>
+</nav>
+</#if>
+</#macro>
+
+<#macro typeLink type>
+<#escape x as x?html>
+<#if type.href??><a href="${type.href}"><code>${type.label}</code></a><#else><code>${type.label}</code></#if>
+</#escape>
+</#macro>
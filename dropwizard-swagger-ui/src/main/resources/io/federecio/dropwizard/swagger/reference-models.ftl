@@ -0,0 +1,28 @@
+<#-- @ftlvariable name="" type="io.federecio.dropwizard.swagger.SwaggerReferencePage" -->
+<#import "reference-layout.ftl" as layout>
+<#escape x as x?html>
+<@layout.document>
+<h1>${heading}</h1>
+<@layout.pagination/>
+<#list models as model>
+<section id="model-${model.name}" class="operation">
+  <h2>${model.name}</h2>
+  <#if model.description?has_content><p>${model.description}</p></#if>
+  <#if model.properties?has_content>
+  <table>
+    <tr><th>Property</th><th>Type</th><th>Required</th><th>Description</th></tr>
+    <#list model.properties as property>
+    <tr>
+      <td><code>${property.name}</code></td>
+      <td><@layout.typeLink type=property.type/></td>
+      <td>${property.required?string("yes", "no")}</td>
+      <td>${property.description!}</td>
+    </tr>
+    </#list>
+  </table>
+  </#if>
+</section>
+</#list>
+<@layout.pagination/>
+</@layout.document>
+</#escape>
@@ -0,0 +1,45 @@
+<#-- @ftlvariable name="" type="io.federecio.dropwizard.swagger.SwaggerReferencePage" -->
+<#import "reference-layout.ftl" as layout>
+<#escape x as x?html>
+<@layout.document>
+<h1>${heading}</h1>
+<@layout.pagination/>
+<#list operations as operation>
+<section id="${operation.anchor}" class="operation<#if operation.deprecated> deprecated</#if>">
+  <h2><span class="method">${operation.method}</span> <span class="path">${operation.path}</span></h2>
+  <#if operation.summary?has_content><p><strong>${operation.summary}</strong></p></#if>
+  <#if operation.description?has_content><p>${operation.description}</p></#if>
+  <#if operation.deprecated><p><em>Deprecated</em></p></#if>
+  <#if operation.parameters?has_content>
+  <h3>Parameters</h3>
+  <table>
+    <tr><th>Name</th><th>In</th><th>Type</th><th>Required</th><th>Description</th></tr>
+    <#list operation.parameters as parameter>
+    <tr>
+      <td><code>${parameter.name}</code></td>
+      <td>${parameter.in}</td>
+      <td><@layout.typeLink type=parameter.type/></td>
+      <td>${parameter.required?string("yes", "no")}</td>
+      <td>${parameter.description!}</td>
+    </tr>
+    </#list>
+  </table>
+  </#if>
+  <#if operation.responses?has_content>
+  <h3>Responses</h3>
+  <table>
+    <tr><th>Code</th><th>Type</th><th>Description</th></tr>
+    <#list operation.responses as response>
+    <tr>
+      <td>${response.code}</td>
+      <td><#if response.type??><@layout.typeLink type=response.type/></#if></td>
+      <td>${response.description!}</td>
+    </tr>
+    </#list>
+  </table>
+  </#if>
+</section>
+</#list>
+<@layout.pagination/>
+</@layout.document>
+</#escape>
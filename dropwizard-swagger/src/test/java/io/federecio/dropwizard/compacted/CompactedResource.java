@@ -0,0 +1,85 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.compacted;
+
+import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+
+/**
+ * Operations repeating the same header and error response, with two
+ * identical models, kept out of the default resource package so that they
+ * only appear in the specification of the compaction test. They are never
+ * registered with Jersey.
+ */
+@Path("/")
+@Api("/")
+@Produces(MediaType.APPLICATION_JSON)
+public class CompactedResource {
+
+    private static final String NOT_FOUND = "No order or invoice exists with this identifier";
+
+    @GET
+    @Path("/orders/{id}")
+    @ApiOperation("Find an order")
+    @ApiResponses(@ApiResponse(code = 404, message = NOT_FOUND))
+    public Order getOrder(@HeaderParam("X-Request-Id") String requestId,
+            @PathParam("id") long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @DELETE
+    @Path("/orders/{id}")
+    @ApiOperation("Cancel an order")
+    @ApiResponses(@ApiResponse(code = 404, message = NOT_FOUND))
+    public void cancelOrder(@HeaderParam("X-Request-Id") String requestId,
+            @PathParam("id") long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @GET
+    @Path("/invoices/{id}")
+    @ApiOperation("Find an invoice")
+    @ApiResponses(@ApiResponse(code = 404, message = NOT_FOUND))
+    public Invoice getInvoice(@HeaderParam("X-Request-Id") String requestId,
+            @PathParam("id") long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    public static class Order {
+        @JsonProperty
+        public long id;
+
+        @JsonProperty
+        public double total;
+    }
+
+    public static class Invoice {
+        @JsonProperty
+        public long id;
+
+        @JsonProperty
+        public double total;
+    }
+}
@@ -0,0 +1,125 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.filtered;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import io.swagger.annotations.Extension;
+import io.swagger.annotations.ExtensionProperty;
+
+/**
+ * Operations hidden by the filters, kept out of the default resource
+ * package so that they only appear in the specification of the filter tests
+ */
+@Path("/filtered")
+@Api("/filtered")
+public class FilteredResource {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ ElementType.TYPE, ElementType.METHOD })
+    public @interface Internal {
+    }
+
+    @GET
+    @Path("/public")
+    @ApiOperation(value = "Visible to everyone", tags = "public")
+    public PublicView getPublic(
+            @ApiParam(access = "internal") @HeaderParam("X-User") String user) {
+        return new PublicView();
+    }
+
+    @GET
+    @Path("/deprecated")
+    @Deprecated
+    @ApiOperation(value = "Replaced by /public", tags = "public")
+    public PublicView getDeprecated() {
+        return new PublicView();
+    }
+
+    @GET
+    @Path("/admin")
+    @ApiOperation(value = "Administration report", tags = "admin")
+    public AdminReport getAdmin() {
+        return new AdminReport();
+    }
+
+    @GET
+    @Path("/internal")
+    @Internal
+    @ApiOperation(value = "Internal operation", tags = "public")
+    public PublicView getInternal() {
+        return new PublicView();
+    }
+
+    @GET
+    @Path("/overloaded")
+    @Internal
+    @ApiOperation(value = "Internal overload", tags = "public")
+    public PublicView getOverloaded() {
+        return new PublicView();
+    }
+
+    @GET
+    @Path("/overloaded/named")
+    @ApiOperation(value = "Public overload", tags = "public")
+    public PublicView getOverloaded(@QueryParam("name") String name) {
+        return new PublicView();
+    }
+
+    @GET
+    @Path("/nicknamed")
+    @ApiOperation(value = "Named after an internal method", nickname = "getInternal", tags = "public")
+    public PublicView getNicknamed() {
+        return new PublicView();
+    }
+
+    @GET
+    @Path("/experimental")
+    @ApiOperation(value = "Experimental operation", tags = "public", extensions = @Extension(properties = @ExtensionProperty(name = "experimental", value = "true")))
+    public PublicView getExperimental() {
+        return new PublicView();
+    }
+
+    @GET
+    @Path("/beta")
+    @ApiOperation(value = "Beta operation", tags = "beta")
+    public PublicView getBeta() {
+        return new PublicView();
+    }
+
+    @GET
+    @Path("/draft")
+    @ApiOperation(value = "Draft operation", tags = "public")
+    public PublicView getDraft() {
+        return new PublicView();
+    }
+
+    public static class PublicView {
+        public String name;
+    }
+
+    public static class AdminReport {
+        public long requests;
+    }
+}
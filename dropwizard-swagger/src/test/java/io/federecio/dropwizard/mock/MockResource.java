@@ -0,0 +1,74 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.mock;
+
+import java.util.List;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiModelProperty;
+
+/**
+ * Operations answered by the mock, kept out of the default resource package
+ * so that they only appear in the specification of the mock test. They are
+ * never registered with Jersey.
+ */
+@Path("/pets")
+@Api("/pets")
+@Produces(MediaType.APPLICATION_JSON)
+public class MockResource {
+
+    @GET
+    @Path("/{id}")
+    @ApiOperation("Find a pet")
+    public Pet getPet(@PathParam("id") long id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @GET
+    @Path("/mine")
+    @ApiOperation("Find my pets")
+    public List<Pet> getMine() {
+        throw new UnsupportedOperationException();
+    }
+
+    @POST
+    @ApiOperation(value = "Add a pet", code = 201)
+    public Pet addPet(Pet pet) {
+        throw new UnsupportedOperationException();
+    }
+
+    public static class Pet {
+        @JsonProperty
+        @ApiModelProperty(example = "Rex")
+        public String name;
+
+        @JsonProperty
+        public int age;
+
+        @JsonProperty
+        @ApiModelProperty(allowableValues = "dog, cat")
+        public String kind;
+
+        @JsonProperty
+        public Pet parent;
+    }
+}
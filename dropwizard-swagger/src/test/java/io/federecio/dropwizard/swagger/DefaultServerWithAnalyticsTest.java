@@ -0,0 +1,76 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.Arrays;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithAnalyticsTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("test-default-analytics.yaml"));
+
+    @Test
+    public void clientsAreCountedByUserAgentAndRange() throws Exception {
+        final String entityTag = RestAssured.given()
+                .port(RULE.getLocalPort()).header("User-Agent", "poller/1.0")
+                .expect().statusCode(HttpStatus.OK_200).when()
+                .get("/swagger.json").header("ETag");
+        RestAssured.given().port(RULE.getLocalPort())
+                .header("User-Agent", "poller/1.0")
+                .header("If-None-Match", entityTag).expect()
+                .statusCode(HttpStatus.NOT_MODIFIED_304).when()
+                .get("/swagger.json");
+        RestAssured.given().port(RULE.getLocalPort())
+                .header("User-Agent", "browser/2.0").expect()
+                .statusCode(HttpStatus.OK_200).when().get("/swagger");
+
+        final String report = RestAssured.given()
+                .port(RULE.getAdminPort()).expect()
+                .statusCode(HttpStatus.OK_200).when()
+                .post("/tasks/swagger-analytics").asString();
+
+        assertThat(report).containsPattern("^\\d+ clients, 0 evicted");
+        final String poller = Arrays.stream(report.split("\n"))
+                .filter(line -> line.endsWith("poller/1.0")).findFirst()
+                .orElseThrow(AssertionError::new);
+        assertThat(poller.trim().split("\\s+")).startsWith("1", "1", "0");
+        assertThat(poller).containsPattern("(127\\.0\\.0\\.0/24|::/48)");
+    }
+
+    @Test
+    public void limitCapsTheClientsListed() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .header("User-Agent", "other/3.0").expect()
+                .statusCode(HttpStatus.OK_200).when().get("/swagger.json");
+
+        final String report = RestAssured.given()
+                .port(RULE.getAdminPort()).queryParam("limit", "1")
+                .queryParam("sort", "requests").expect()
+                .statusCode(HttpStatus.OK_200).when()
+                .post("/tasks/swagger-analytics").asString();
+
+        // a summary line, a header line, and one client
+        assertThat(report.split("\n")).hasSize(3);
+    }
+}
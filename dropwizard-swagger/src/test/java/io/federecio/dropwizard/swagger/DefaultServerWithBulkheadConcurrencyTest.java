@@ -0,0 +1,75 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.junit.Assert.assertEquals;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithBulkheadConcurrencyTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithBulkhead.class,
+            ResourceHelpers.resourceFilePath(
+                    "test-default-bulkhead-concurrency.yaml"));
+
+    @Test
+    public void requestsOverTheConcurrencyLimitAreShed() throws Exception {
+        TestApplicationWithBulkhead.RELEASE = new CountDownLatch(1);
+        final CompletableFuture<Integer> held = CompletableFuture
+                .supplyAsync(() -> RestAssured.given()
+                        .port(RULE.getLocalPort())
+                        .header(TestApplicationWithBulkhead.HOLD, "true")
+                        .get("/swagger.json").statusCode());
+        try {
+            final Gauge<?> active = RULE.getEnvironment().metrics().getGauges()
+                    .get(MetricRegistry.name(SwaggerBulkheadFilter.class,
+                            "active"));
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (!Integer.valueOf(1).equals(active.getValue())
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            RestAssured.given().port(RULE.getLocalPort()).expect()
+                    .statusCode(HttpStatus.SERVICE_UNAVAILABLE_503)
+                    .header("Retry-After", "1").when().get("/swagger.json");
+            // the real API is not affected
+            RestAssured.given().port(RULE.getLocalPort()).expect()
+                    .statusCode(HttpStatus.OK_200).when().get("/test.json");
+        } finally {
+            TestApplicationWithBulkhead.RELEASE.countDown();
+        }
+        assertEquals(HttpStatus.OK_200,
+                held.get(10, TimeUnit.SECONDS).intValue());
+
+        assertEquals(1, RULE.getEnvironment().metrics()
+                .meter(MetricRegistry.name(SwaggerBulkheadFilter.class,
+                        "rejected-concurrency"))
+                .getCount());
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200).when().get("/swagger.json");
+    }
+}
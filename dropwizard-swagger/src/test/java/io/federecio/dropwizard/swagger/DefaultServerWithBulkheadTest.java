@@ -0,0 +1,53 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.junit.Assert.assertEquals;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithBulkheadTest extends DropwizardCommonTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("test-default-bulkhead.yaml"));
+
+    public DefaultServerWithBulkheadTest() {
+        super(RULE.getLocalPort(), "/");
+    }
+
+    @Test
+    public void excessDocumentationRequestsAreShed() throws Exception {
+        RestAssured.expect().statusCode(HttpStatus.OK_200).when()
+                .get(Path.from(basePath, "swagger.json"));
+        RestAssured.expect().statusCode(HttpStatus.TOO_MANY_REQUESTS_429)
+                .header("Retry-After", "1").when()
+                .get(Path.from(basePath, "swagger.json"));
+
+        // the real API is not affected
+        RestAssured.expect().statusCode(HttpStatus.OK_200).when()
+                .get(Path.from(basePath, "test.json"));
+
+        assertEquals(1, RULE.getEnvironment().metrics()
+                .meter(MetricRegistry.name(SwaggerBulkheadFilter.class,
+                        "rejected-rate"))
+                .getCount());
+    }
+}
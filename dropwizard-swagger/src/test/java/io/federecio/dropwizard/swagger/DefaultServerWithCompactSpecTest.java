@@ -0,0 +1,92 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertTrue;
+import org.eclipse.jetty.http.HttpStatus;
+import org.hamcrest.core.StringContains;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithCompactSpecTest extends DropwizardTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("test-default-compact-spec.yaml"));
+
+    public DefaultServerWithCompactSpecTest() {
+        super(RULE.getLocalPort(), "/");
+    }
+
+    @Test
+    public void compressedSpecIsServedToAllClients() throws Exception {
+        RestAssured.given().header("Accept-Encoding", "gzip").expect()
+                .statusCode(HttpStatus.OK_200)
+                .header("Content-Encoding", "gzip")
+                .body(StringContains
+                        .containsString(TestResource.OPERATION_DESCRIPTION))
+                .when().get(Path.from(basePath, "swagger.json"));
+        RestAssured.given().header("Accept-Encoding", "identity").expect()
+                .statusCode(HttpStatus.OK_200)
+                .body(StringContains
+                        .containsString(TestResource.OPERATION_DESCRIPTION))
+                .when().get(Path.from(basePath, "swagger.yaml"));
+    }
+
+    @Test
+    public void gzipRefusedWithZeroQualityIsNotSent() throws Exception {
+        for (String acceptEncoding : new String[] { "gzip;q=0",
+                "identity, gzip;q=0", "*;q=0.5, gzip; q=0.000" }) {
+            RestAssured.given().header("Accept-Encoding", acceptEncoding)
+                    .expect().statusCode(HttpStatus.OK_200)
+                    .header("Content-Encoding", nullValue())
+                    .body(StringContains.containsString(
+                            TestResource.OPERATION_DESCRIPTION))
+                    .when().get(Path.from(basePath, "swagger.json"));
+        }
+        RestAssured.given().header("Accept-Encoding", "identity;q=0.5, *")
+                .expect().statusCode(HttpStatus.OK_200)
+                .header("Content-Encoding", "gzip")
+                .when().get(Path.from(basePath, "swagger.json"));
+    }
+
+    @Test
+    public void unchangedSpecIsNotResent() throws Exception {
+        final String etag = RestAssured.get(Path.from(basePath, "swagger.json"))
+                .header("ETag");
+        RestAssured.given().header("If-None-Match", etag).expect()
+                .statusCode(HttpStatus.NOT_MODIFIED_304).when()
+                .get(Path.from(basePath, "swagger.json"));
+    }
+
+    @Test
+    public void retainedBytesAreReported() throws Exception {
+        final Gauge<?> retained = RULE.getEnvironment().metrics().getGauges()
+                .get(MetricRegistry.name(SwaggerSpecCache.class,
+                        "retained-bytes"));
+        assertTrue((Long) retained.getValue() > 0);
+
+        RestAssured.given().port(RULE.getAdminPort()).expect()
+                .statusCode(HttpStatus.OK_200).when()
+                .post("/tasks/swagger-refresh");
+        assertTrue((Long) retained.getValue() > 0);
+    }
+}
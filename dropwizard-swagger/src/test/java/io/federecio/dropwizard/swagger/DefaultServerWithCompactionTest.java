@@ -0,0 +1,132 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import java.nio.charset.StandardCharsets;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+public class DefaultServerWithCompactionTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("test-default-compaction.yaml"));
+
+    @Test
+    public void repeatedParametersAreReferenced() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("parameters.'X-Request-Id'.in", equalTo("header"))
+                .body("paths.'/orders/{id}'.get.parameters.'$ref'",
+                        hasItem("#/parameters/X-Request-Id"))
+                .body("paths.'/invoices/{id}'.get.parameters.'$ref'",
+                        hasItem("#/parameters/X-Request-Id"))
+                .body("paths.'/orders/{id}'.delete.parameters.name",
+                        everyItem(equalTo(null)))
+                .when().get("/swagger.json");
+    }
+
+    @Test
+    public void repeatedResponsesAreReferenced() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("responses.'404'.description", equalTo(
+                        "No order or invoice exists with this identifier"))
+                .body("paths.'/orders/{id}'.delete.responses.'404'.'$ref'",
+                        equalTo("#/responses/404"))
+                .when().get("/swagger.json");
+    }
+
+    @Test
+    public void identicalDefinitionsAreMerged() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("definitions", hasKey("Invoice"))
+                .body("definitions", not(hasKey("Order")))
+                // merging made the responses of both getters identical
+                .body("paths.'/orders/{id}'.get.responses.'200'.'$ref'",
+                        equalTo("#/responses/200"))
+                .body("responses.'200'.schema.'$ref'",
+                        equalTo("#/definitions/Invoice"))
+                .when().get("/swagger.json");
+    }
+
+    @Test
+    public void yamlIsCompacted() throws Exception {
+        final String yaml = RestAssured.given().port(RULE.getLocalPort())
+                .expect().statusCode(HttpStatus.OK_200).when()
+                .get("/swagger.yaml").asString();
+
+        assertThat(yaml).contains("$ref: \"#/parameters/X-Request-Id\"")
+                .doesNotContain("Order:");
+    }
+
+    @Test
+    public void listenersSeeCompleteOperations() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("q", "request").expect()
+                .statusCode(HttpStatus.OK_200).body("total", equalTo(3))
+                .when().get("/swagger/search");
+    }
+
+    @Test
+    public void savedBytesAreReported() throws Exception {
+        final Gauge<?> saved = RULE.getEnvironment().metrics().getGauges()
+                .get(MetricRegistry.name(SwaggerSpecCompactor.class,
+                        "saved-bytes"));
+
+        assertThat((Long) saved.getValue()).isPositive();
+    }
+
+    @Test
+    public void onlySchemaReferencesAreRenamed() throws Exception {
+        final Swagger model = Json.mapper().readValue("{"
+                + "\"swagger\":\"2.0\","
+                + "\"x-sample\":{\"$ref\":\"#/definitions/Order\"},"
+                + "\"paths\":{\"/orders\":{\"get\":{\"responses\":{\"200\":{"
+                + "\"description\":\"ok\","
+                + "\"schema\":{\"type\":\"array\",\"items\":{\"$ref\":\"#/definitions/Order\"}},"
+                + "\"examples\":{\"application/json\":{\"$ref\":\"#/definitions/Order\"}}}}}}},"
+                + "\"definitions\":{\"Invoice\":{\"type\":\"object\"},"
+                + "\"Order\":{\"type\":\"object\"}}}", Swagger.class);
+        final SwaggerCompactionConfiguration configuration = new SwaggerCompactionConfiguration();
+        configuration.setHoistParameters(false);
+        configuration.setHoistResponses(false);
+
+        final String json = new String(new SwaggerSpecCompactor(configuration)
+                .compact(model).serialize(SwaggerSpecFormat.JSON),
+                StandardCharsets.UTF_8);
+
+        assertThat(json).contains(
+                "\"items\":{\"$ref\":\"#/definitions/Invoice\"}")
+                .contains("\"application/json\":{\"$ref\":\"#/definitions/Order\"}")
+                .contains("\"x-sample\":{\"$ref\":\"#/definitions/Order\"}");
+    }
+}
@@ -0,0 +1,109 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithEventsTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("test-default-events.yaml"));
+
+    @Test
+    public void refreshesArePushed() throws Exception {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(
+                "http://localhost:" + RULE.getLocalPort() + "/swagger/events")
+                        .openConnection();
+        connection.setReadTimeout(10000);
+        try {
+            assertThat(connection.getResponseCode())
+                    .isEqualTo(HttpStatus.OK_200);
+            assertThat(connection.getContentType())
+                    .startsWith("text/event-stream");
+            final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(connection.getInputStream(),
+                            StandardCharsets.UTF_8));
+
+            final List<String> event = readEvent(reader);
+            assertThat(event).contains("event: spec");
+            final String entityTag = event.get(event.size() - 1)
+                    .substring("data: ".length());
+            assertThat(event).contains("id: " + entityTag);
+            RestAssured.given().port(RULE.getLocalPort())
+                    .header("If-None-Match", entityTag).expect()
+                    .statusCode(HttpStatus.NOT_MODIFIED_304).when()
+                    .get("/swagger.json");
+
+            RestAssured.given().port(RULE.getAdminPort()).expect()
+                    .statusCode(HttpStatus.OK_200).when()
+                    .post("/tasks/swagger-refresh");
+            assertThat(readEvent(reader)).contains("event: spec");
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    public void swaggerUiSubscribes() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body(containsString("new EventSource(\"/swagger/events\")"))
+                .when().get("/swagger");
+    }
+
+    @Test
+    public void swaggerUiDoesNotTagRequestsWithoutTheLane() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body(not(containsString(SwaggerTryItOutFilter.HEADER)))
+                .when().get("/swagger");
+    }
+
+    /**
+     * Reads the lines of the next event, skipping keep-alive comments
+     */
+    private static List<String> readEvent(BufferedReader reader)
+            throws Exception {
+        final List<String> lines = new ArrayList<>();
+        for (String line = reader.readLine(); line != null; line = reader
+                .readLine()) {
+            if (line.isEmpty()) {
+                if (!lines.isEmpty()) {
+                    return lines;
+                }
+            } else if (!line.startsWith(":")) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,84 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithFiltersTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithFilters.class,
+            ResourceHelpers.resourceFilePath("test-default-filters.yaml"));
+
+    @Test
+    public void buildTimeRulesHideOperations() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("paths", hasKey("/filtered/public"))
+                .body("paths.'/filtered/public'.get.parameters", empty())
+                .body("paths", not(hasKey("/filtered/deprecated")))
+                .body("paths", not(hasKey("/filtered/admin")))
+                .body("paths", not(hasKey("/filtered/internal")))
+                .body("paths", not(hasKey("/filtered/overloaded")))
+                .body("paths.'/filtered/overloaded/named'.get.operationId",
+                        equalTo("getOverloaded"))
+                .body("paths.'/filtered/nicknamed'.get.operationId",
+                        equalTo("getInternal"))
+                .body("paths", not(hasKey("/filtered/experimental")))
+                .body("paths", not(hasKey("/filtered/draft")))
+                .body("paths", not(hasKey("/internal")))
+                .body("definitions", hasKey("PublicView"))
+                .body("definitions", not(hasKey("AdminReport")))
+                .body("tags.name", not(hasItem("admin")))
+                .when().get("/swagger.json");
+    }
+
+    @Test
+    public void serveTimeFiltersSeeTheRequest() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .header("Cache-Control", containsString("private"))
+                .body("paths", not(hasKey("/filtered/beta")))
+                .when().get("/swagger.json");
+        RestAssured.given().port(RULE.getLocalPort())
+                .header(TestApplicationWithFilters.BETA_HEADER, "true")
+                .expect().statusCode(HttpStatus.OK_200)
+                .body("paths", hasKey("/filtered/beta"))
+                .body("paths", not(hasKey("/filtered/draft")))
+                .when().get("/swagger.json");
+    }
+
+    @Test
+    public void serveTimeFilteredSpecIsNotResentUnchanged() throws Exception {
+        final String etag = RestAssured.given().port(RULE.getLocalPort())
+                .get("/swagger.yaml").header("ETag");
+        RestAssured.given().port(RULE.getLocalPort())
+                .header("If-None-Match", etag).expect()
+                .statusCode(HttpStatus.NOT_MODIFIED_304).when()
+                .get("/swagger.yaml");
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import io.dropwizard.testing.DropwizardTestSupport;
+import io.dropwizard.testing.ResourceHelpers;
+import io.restassured.RestAssured;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class DefaultServerWithFlightRecorderTest {
+
+    private static final String PREFIX = "io.federecio.dropwizard.swagger.";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void bundleWorkIsRecorded() throws Exception {
+        Assume.assumeTrue(SwaggerFlightRecorder.isEnabled()
+                && FlightRecorder.isAvailable());
+
+        final Path file = folder.newFile("swagger.jfr").toPath();
+        try (Recording recording = new Recording()) {
+            for (String event : new String[] { "Build", "Read", "Filter",
+                    "Serialize", "Render" }) {
+                recording.enable(PREFIX + event);
+            }
+            recording.start();
+
+            final DropwizardTestSupport<TestConfiguration> support = new DropwizardTestSupport<>(
+                    TestApplication.class,
+                    ResourceHelpers.resourceFilePath("test-default.yaml"));
+            support.before();
+            try {
+                RestAssured.given().port(support.getLocalPort()).expect()
+                        .statusCode(HttpStatus.OK_200).when().get("/swagger");
+            } finally {
+                support.after();
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        final RecordedEvent build = single(events, "Build");
+        assertThat(build.getString("resourcePackage"))
+                .isEqualTo("io.federecio.dropwizard.swagger");
+        assertThat(build.getLong("operations")).isEqualTo(1);
+        assertThat(build.getDuration().isNegative()).isFalse();
+
+        assertThat(named(events, "Read"))
+                .filteredOn(event -> TestResource.class.getName()
+                        .equals(event.getString("className")))
+                .extracting(event -> event.getLong("operations"))
+                .containsExactly(1L);
+
+        assertThat(single(events, "Filter").getString("className"))
+                .isEqualTo(SwaggerFilterChain.class.getName());
+
+        assertThat(named(events, "Serialize"))
+                .extracting(event -> event.getString("format"))
+                .containsExactlyInAnyOrder("json", "yaml");
+        assertThat(named(events, "Serialize"))
+                .allMatch(event -> event.getLong("size") > 0);
+
+        final RecordedEvent render = single(events, "Render");
+        assertThat(render.getString("className"))
+                .isEqualTo(SwaggerView.class.getName());
+        assertThat(render.getLong("size")).isPositive();
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events,
+            String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName()
+                        .equals(PREFIX + name))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events,
+            String name) {
+        final List<RecordedEvent> named = named(events, name);
+        assertThat(named).hasSize(1);
+        return named.get(0);
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.swagger.util.Yaml;
+
+public class DefaultServerWithForwardedHeadersTest extends DropwizardTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("test-default-forwarded.yaml"));
+
+    public DefaultServerWithForwardedHeadersTest() {
+        super(RULE.getLocalPort(), "/");
+    }
+
+    @Test
+    public void forwardedHeadersRewriteHostSchemesAndBasePath()
+            throws Exception {
+        final Response response = RestAssured.given()
+                .header("X-Forwarded-Host", "api.example.com")
+                .header("X-Forwarded-Proto", "https")
+                .header("X-Forwarded-Prefix", "/public").expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("host", equalTo("api.example.com"))
+                .body("schemes", contains("https"))
+                .body("basePath", equalTo("/public"))
+                .body("paths", hasKey("/test.json"))
+                .when().get(Path.from(basePath, "swagger.json"));
+        assertThat(response.getHeaders().getValues("Vary")).contains(
+                "X-Forwarded-Host, X-Forwarded-Proto, X-Forwarded-Prefix");
+    }
+
+    @Test
+    public void forwardedYamlIsValid() throws Exception {
+        final String yaml = RestAssured.given()
+                .header("X-Forwarded-Host", "api.example.com:8443, proxy.local")
+                .header("X-Forwarded-Proto", "HTTPS").expect()
+                .statusCode(HttpStatus.OK_200).when()
+                .get(Path.from(basePath, "swagger.yaml")).asString();
+
+        final JsonNode spec = Yaml.mapper().readTree(yaml);
+        assertThat(spec.path("host").asText()).isEqualTo("api.example.com:8443");
+        assertThat(spec.path("schemes").get(0).asText()).isEqualTo("https");
+        assertThat(spec.path("basePath").asText()).isEqualTo("/");
+        assertThat(spec.path("paths").has("/test.json")).isTrue();
+    }
+
+    @Test
+    public void invalidForwardedHeadersAreIgnored() throws Exception {
+        final String plain = RestAssured.get(Path.from(basePath, "swagger.json"))
+                .asString();
+        final String forwarded = RestAssured.given()
+                .header("X-Forwarded-Host", "evil.com/\"<script>")
+                .header("X-Forwarded-Proto", "gopher")
+                .get(Path.from(basePath, "swagger.json")).asString();
+        assertThat(forwarded).isEqualTo(plain);
+    }
+
+    @Test
+    public void variantsHaveTheirOwnEntityTags() throws Exception {
+        final String first = RestAssured.given()
+                .header("X-Forwarded-Host", "one.example.com")
+                .get(Path.from(basePath, "swagger.json")).header("ETag");
+        final String second = RestAssured.given()
+                .header("X-Forwarded-Host", "two.example.com")
+                .get(Path.from(basePath, "swagger.json")).header("ETag");
+        final String plain = RestAssured.get(Path.from(basePath, "swagger.json"))
+                .header("ETag");
+        assertThat(first).isNotEqualTo(second).isNotEqualTo(plain);
+
+        RestAssured.given().header("X-Forwarded-Host", "one.example.com")
+                .header("If-None-Match", first).expect()
+                .statusCode(HttpStatus.NOT_MODIFIED_304).when()
+                .get(Path.from(basePath, "swagger.json"));
+    }
+}
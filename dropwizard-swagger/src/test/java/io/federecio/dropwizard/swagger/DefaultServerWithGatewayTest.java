@@ -0,0 +1,230 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.AfterClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.testing.ConfigOverride;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.dropwizard.util.Size;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithGatewayTest {
+
+    private static final StubService USERS = new StubService("{"
+            + "\"swagger\":\"2.0\",\"info\":{\"title\":\"Users\",\"version\":\"1\"},"
+            + "\"tags\":[{\"name\":\"users\"}],"
+            + "\"paths\":{\"/users/{id}\":{\"get\":{\"operationId\":\"getUser\",\"tags\":[\"users\"],"
+            + "\"responses\":{\"200\":{\"description\":\"ok\",\"schema\":{\"$ref\":\"#/definitions/User\"}}}}}},"
+            + "\"definitions\":{\"User\":{\"type\":\"object\",\"properties\":{\"id\":{\"type\":\"string\"}}},"
+            + "\"orders.User\":{\"type\":\"object\",\"properties\":{\"orderId\":{\"type\":\"string\"}}}}}");
+
+    private static final StubService ORDERS = new StubService("{"
+            + "\"swagger\":\"2.0\",\"info\":{\"title\":\"Orders\",\"version\":\"1\"},"
+            + "\"basePath\":\"/api\","
+            + "\"paths\":{\"/orders\":{\"get\":{\"operationId\":\"getUser\","
+            + "\"responses\":{\"200\":{\"description\":\"ok\",\"schema\":{\"$ref\":\"#/definitions/User\"}}}}}},"
+            + "\"definitions\":{\"User\":{\"type\":\"object\",\"properties\":{\"login\":{\"type\":\"string\"}}}}}");
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("test-default-gateway.yaml"),
+            ConfigOverride.config("swagger.gateway.services[0].url",
+                    USERS.getUrl()),
+            ConfigOverride.config("swagger.gateway.services[1].url",
+                    ORDERS.getUrl()));
+
+    @AfterClass
+    public static void stopStubs() {
+        USERS.stop();
+        ORDERS.stop();
+    }
+
+    @Test
+    public void specificationsAreMerged() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("info.title", equalTo("Portal"))
+                .body("paths", hasKey("/users/users/{id}"))
+                .body("paths", hasKey("/shop/api/orders"))
+                .body("paths.'/users/users/{id}'.get.operationId",
+                        equalTo("getUser"))
+                .body("paths.'/users/users/{id}'.get.responses.'200'.schema.'$ref'",
+                        equalTo("#/definitions/User"))
+                .body("paths.'/shop/api/orders'.get.operationId",
+                        equalTo("orders_getUser"))
+                .body("paths.'/shop/api/orders'.get.responses.'200'.schema.'$ref'",
+                        equalTo("#/definitions/orders.User_2"))
+                .body("definitions.User.properties", hasKey("id"))
+                .body("definitions.'orders.User'.properties", hasKey("orderId"))
+                .body("definitions.'orders.User_2'.properties", hasKey("login"))
+                .body("tags.name", contains("users")).when()
+                .get("/swagger.json");
+    }
+
+    @Test
+    public void servicesAreListedAndServed() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("name", contains("users", "orders", "missing"))
+                .body("prefix", contains("/users", "/shop", "/missing"))
+                .body("available", contains(true, true, false))
+                .body("[2].error", not(equalTo(null))).when()
+                .get("/swagger/services");
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("info.title", equalTo("Orders"))
+                .body("host", equalTo("localhost:" + ORDERS.getPort()))
+                .when().get("/swagger/services/orders.json");
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.NOT_FOUND_404).when()
+                .get("/swagger/services/missing.json");
+    }
+
+    @Test
+    public void swaggerUiOffersEachService() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body(containsString(
+                        "{ name: \"orders\", url: \"/swagger/services/orders.json\" }"))
+                .when().get("/swagger");
+    }
+
+    @Test
+    public void specificationsAreRevalidated() throws Exception {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (USERS.notModified.get() == 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(USERS.notModified.get()).isGreaterThan(0);
+    }
+
+    @Test
+    public void unsafeServiceNamesAreRefused() throws Exception {
+        final SwaggerGatewayServiceConfiguration service = new SwaggerGatewayServiceConfiguration();
+        service.setName("users/../admin");
+        service.setUrl(USERS.getUrl());
+        final SwaggerBundleConfiguration configuration = new SwaggerBundleConfiguration();
+        configuration.getGatewayConfiguration()
+                .setServices(Collections.singletonList(service));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThatThrownBy(() -> new SwaggerGateway(configuration, executor))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("users/../admin");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void oversizedSpecificationsFail() throws Exception {
+        final SwaggerGatewayServiceConfiguration service = new SwaggerGatewayServiceConfiguration();
+        service.setName("users");
+        service.setUrl(USERS.getUrl());
+        final SwaggerBundleConfiguration configuration = new SwaggerBundleConfiguration();
+        configuration.getGatewayConfiguration()
+                .setServices(Collections.singletonList(service));
+        configuration.getGatewayConfiguration()
+                .setMaxSpecSize(Size.bytes(64));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final SwaggerGateway gateway = new SwaggerGateway(configuration,
+                    executor);
+            gateway.fetch();
+            final SwaggerGateway.Service users = gateway.getService("users")
+                    .get();
+            assertThat(users.getFetched()).isEmpty();
+            assertThat(users.getError()).contains("larger than 64 bytes");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * A downstream service serving a fixed specification with an ETag
+     */
+    private static final class StubService {
+        private static final String ENTITY_TAG = "\"v1\"";
+
+        private final HttpServer server;
+        private final AtomicInteger notModified = new AtomicInteger();
+
+        private StubService(String specification) {
+            final byte[] body = specification.getBytes(StandardCharsets.UTF_8);
+            try {
+                server = HttpServer.create(new InetSocketAddress("localhost", 0),
+                        0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            server.createContext("/swagger.json", exchange -> {
+                exchange.getResponseHeaders().set("ETag", ENTITY_TAG);
+                if (ENTITY_TAG.equals(exchange.getRequestHeaders()
+                        .getFirst("If-None-Match"))) {
+                    notModified.incrementAndGet();
+                    exchange.sendResponseHeaders(HttpStatus.NOT_MODIFIED_304,
+                            -1);
+                } else {
+                    exchange.getResponseHeaders().set("Content-Type",
+                            "application/json");
+                    exchange.sendResponseHeaders(HttpStatus.OK_200,
+                            body.length);
+                    try (OutputStream output = exchange.getResponseBody()) {
+                        output.write(body);
+                    }
+                }
+                exchange.close();
+            });
+            server.start();
+        }
+
+        private int getPort() {
+            return server.getAddress().getPort();
+        }
+
+        private String getUrl() {
+            return "http://localhost:" + getPort() + "/swagger.json";
+        }
+
+        private void stop() {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithLiteSpecTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithTree.class,
+            ResourceHelpers.resourceFilePath("test-default-lite.yaml"));
+
+    @Test
+    public void fullSpecKeepsTheProse() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("info.description",
+                        equalTo("An API documented for people"))
+                .body("paths.'/tree/node'.get.summary",
+                        equalTo("Returns a tree of nodes"))
+                .when().get("/swagger.json");
+    }
+
+    @Test
+    public void liteSpecHasNoProse() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("profile", "lite").expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("info.description", nullValue())
+                .body("paths.'/tree/node'.get.summary", nullValue())
+                .body("paths.'/tree/node'.get.operationId",
+                        equalTo("getNode"))
+                .body("paths.'/tree/node'.get.responses.'200'.description",
+                        equalTo(""))
+                .body("definitions.TreeNode.type", equalTo("object"))
+                .when().get("/swagger.json");
+    }
+
+    @Test
+    public void liteSpecIsServedAsYaml() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("profile", "LITE").expect()
+                .statusCode(HttpStatus.OK_200)
+                .header("Content-Type", containsString("application/yaml"))
+                .body(containsString("operationId: \"getNode\""))
+                .body(not(containsString("Returns a tree of nodes")))
+                .when().get("/swagger.yaml");
+    }
+
+    @Test
+    public void liteSpecHasItsOwnEntityTag() throws Exception {
+        final String full = RestAssured.given().port(RULE.getLocalPort())
+                .get("/swagger.json").header("ETag");
+        final String lite = RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("profile", "lite").get("/swagger.json")
+                .header("ETag");
+
+        assertThat(lite).isNotNull().isNotEqualTo(full);
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("profile", "lite").header("If-None-Match", lite)
+                .expect().statusCode(HttpStatus.NOT_MODIFIED_304).when()
+                .get("/swagger.json");
+    }
+
+    @Test
+    public void unknownProfileIsRejected() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("profile", "tiny").expect()
+                .statusCode(HttpStatus.BAD_REQUEST_400).when()
+                .get("/swagger.json");
+    }
+
+    @Test
+    public void sizesAreReported() throws Exception {
+        final Gauge<?> full = RULE.getEnvironment().metrics().getGauges()
+                .get(MetricRegistry.name(SwaggerSpecCache.class,
+                        "json-bytes"));
+        final Gauge<?> lite = RULE.getEnvironment().metrics().getGauges()
+                .get(MetricRegistry.name(SwaggerSpecCache.class,
+                        "lite-json-bytes"));
+
+        assertThat((Integer) lite.getValue()).isPositive()
+                .isLessThan((Integer) full.getValue());
+    }
+}
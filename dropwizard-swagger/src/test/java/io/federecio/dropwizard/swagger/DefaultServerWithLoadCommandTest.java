@@ -0,0 +1,106 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.ClassRule;
+import org.junit.Test;
+import io.dropwizard.cli.Cli;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.dropwizard.util.JarLocation;
+
+public class DefaultServerWithLoadCommandTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithTree.class,
+            ResourceHelpers.resourceFilePath("test-default-tree.yaml"));
+
+    @Test
+    public void operationsAreDrivenAndReported() throws Exception {
+        final URL base = new URL("http", "localhost", RULE.getLocalPort(),
+                "/");
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final List<SwaggerOperationStats> stats = new SwaggerLoadDriver(base,
+                new URL(base, "/swagger.json"), 60, 1, 4, null)
+                        .run(new PrintStream(output, true, "UTF-8"));
+
+        assertThat(stats).extracting(SwaggerOperationStats::getOperationId)
+                .contains("getNode", "postNode");
+        for (SwaggerOperationStats operation : stats) {
+            assertThat(operation.getCount()).isGreaterThan(0);
+            assertThat(operation.getErrors()).isEqualTo(0);
+            assertThat(operation.getPercentile(0.99)).isGreaterThan(0);
+        }
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8))
+                .contains("p99 ms").contains("dropped").contains("late")
+                .contains("getNode");
+    }
+
+    @Test
+    public void commandIsAddedByTheApplication() throws Exception {
+        final TestApplicationWithTree application =
+                new TestApplicationWithTree();
+        final Bootstrap<TestConfiguration> bootstrap = new Bootstrap<>(
+                application);
+        application.initialize(bootstrap);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        final boolean success = new Cli(
+                new JarLocation(TestApplicationWithTree.class), bootstrap,
+                output, output).run("swagger-load", "--port",
+                        String.valueOf(RULE.getLocalPort()), "--rate", "20",
+                        "--duration", "1", "--operation", "getNode",
+                        ResourceHelpers
+                                .resourceFilePath("test-default-tree.yaml"));
+
+        assertThat(success).isTrue();
+    }
+
+    @Test
+    public void commandIsNotAddedByTheBundle() throws Exception {
+        final Bootstrap<TestConfiguration> bootstrap = new Bootstrap<>(
+                new TestApplication());
+        new TestApplication().initialize(bootstrap);
+        bootstrap.getCommands().forEach(command -> assertThat(
+                command.getName()).isNotEqualTo("swagger-load"));
+    }
+
+    @Test
+    public void rateMustBePositive() throws Exception {
+        final TestApplicationWithTree application =
+                new TestApplicationWithTree();
+        final Bootstrap<TestConfiguration> bootstrap = new Bootstrap<>(
+                application);
+        application.initialize(bootstrap);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        final boolean success = new Cli(
+                new JarLocation(TestApplicationWithTree.class), bootstrap,
+                output, output).run("swagger-load", "--port",
+                        String.valueOf(RULE.getLocalPort()), "--rate", "0",
+                        ResourceHelpers
+                                .resourceFilePath("test-default-tree.yaml"));
+
+        assertThat(success).isFalse();
+    }
+}
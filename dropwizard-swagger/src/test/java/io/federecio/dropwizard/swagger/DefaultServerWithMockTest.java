@@ -0,0 +1,100 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithMockTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("test-default-mock.yaml"));
+
+    @Test
+    public void bodyIsSynthesizedFromTheSchema() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .header("Content-Type", containsString("application/json"))
+                .body("name", equalTo("Rex"))
+                .body("age", equalTo(0))
+                .body("kind", equalTo("dog"))
+                .body("$", not(hasKey("parent")))
+                .when().get("/mock/pets/42");
+    }
+
+    @Test
+    public void literalSegmentTakesPrecedence() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("$", hasSize(1))
+                .body("[0].name", equalTo("Rex"))
+                .when().get("/mock/pets/mine");
+    }
+
+    @Test
+    public void segmentsAreMatchedWhole() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("name", equalTo("Rex"))
+                .when().get("/mock/pets/min");
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("name", equalTo("Rex"))
+                .when().get("/mock/pets/mines");
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.NOT_FOUND_404)
+                .when().get("/mock/pets/mine/42");
+    }
+
+    @Test
+    public void statusOfTheOperationIsServed() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.CREATED_201)
+                .when().post("/mock/pets");
+    }
+
+    @Test
+    public void undocumentedPathIsNotFound() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.NOT_FOUND_404)
+                .when().get("/mock/owners");
+    }
+
+    @Test
+    public void undocumentedMethodIsNotAllowed() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.METHOD_NOT_ALLOWED_405)
+                .header("Allow", equalTo("GET"))
+                .when().delete("/mock/pets/42");
+    }
+
+    @Test
+    public void resourcesAreNotCalled() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.NOT_FOUND_404)
+                .when().get("/pets/42");
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import java.util.Arrays;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.federecio.dropwizard.tree.TreeResource;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithModelCacheTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithTree.class,
+            ResourceHelpers.resourceFilePath("test-default-tree.yaml"));
+
+    @Test
+    public void recursiveModelIsDefinedOnce() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("definitions.TreeNode.properties.parent.$ref",
+                        equalTo("#/definitions/TreeNode"))
+                .body("definitions.TreeNode.properties.children.items.$ref",
+                        equalTo("#/definitions/TreeNode"))
+                .when().get("/swagger.json");
+    }
+
+    @Test
+    public void sharedModelIsResolvedOnce() throws Exception {
+        final String stats = RestAssured.given().port(RULE.getAdminPort())
+                .expect().statusCode(HttpStatus.OK_200).when()
+                .post("/tasks/swagger-model-stats").asString();
+
+        // asked for by the GET response and the POST body and response,
+        // resolved only the first time
+        final String[] columns = Arrays.stream(stats.split("\n"))
+                .filter(line -> line.endsWith(
+                        TreeResource.TreeNode.class.getName()))
+                .findFirst().get().trim().split("\\s+");
+        assertThat(Long.parseLong(columns[0])).isGreaterThanOrEqualTo(3);
+        assertThat(Long.parseLong(columns[1])).isEqualTo(1);
+    }
+}
@@ -14,11 +14,14 @@
 package io.federecio.dropwizard.swagger;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import org.junit.ClassRule;
 import org.junit.Test;
 import io.dropwizard.testing.ResourceHelpers;
 import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.swagger.config.ScannerFactory;
+import io.swagger.jaxrs.config.BeanConfig;
 
 public class DefaultServerWithNoSwaggerTest extends DropwizardNoSwaggerTest {
 
@@ -42,4 +45,16 @@ public class DefaultServerWithNoSwaggerTest extends DropwizardNoSwaggerTest {
         config.setIsEnabled(false);
         assertFalse(config.isEnabled());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testDeprecatedBuildRegistersTheScanner() {
+        final SwaggerBundleConfiguration config = new SwaggerBundleConfiguration();
+        config.setResourcePackage(TestResource.class.getPackage().getName());
+
+        final BeanConfig beanConfig = config.build("/");
+
+        assertSame(beanConfig, ScannerFactory.getScanner());
+        assertTrue(beanConfig.getSwagger().getPaths().containsKey("/test.json"));
+    }
+}
@@ -0,0 +1,95 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithReferenceTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithTree.class,
+            ResourceHelpers.resourceFilePath("test-default-reference.yaml"));
+
+    @Test
+    public void indexLinksToEveryTag() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .header("Content-Type", containsString("text/html"))
+                .body(containsString("href=\"/swagger/reference/tags/test\""))
+                .body(containsString("href=\"/swagger/reference/tags/tree\""))
+                .body(containsString("href=\"/swagger/reference/models?page=1\""))
+                .body(not(containsString("<script")))
+                .when().get("/swagger/reference");
+    }
+
+    @Test
+    public void operationsArePaginated() throws Exception {
+        final String first = RestAssured.given().port(RULE.getLocalPort())
+                .expect().statusCode(HttpStatus.OK_200).when()
+                .get("/swagger/reference/tags/tree").asString();
+        final String second = RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("page", 2).expect().statusCode(HttpStatus.OK_200)
+                .when().get("/swagger/reference/tags/tree").asString();
+
+        assertThat(count(first, "<section")).isEqualTo(1);
+        assertThat(count(second, "<section")).isEqualTo(1);
+        assertThat(first).contains("rel=\"next\"");
+        assertThat(second).doesNotContain("rel=\"next\"");
+        assertThat(first + second)
+                .contains("Returns a tree of nodes")
+                .contains("Stores a tree of nodes")
+                .contains("/swagger/reference/models?page=1#model-TreeNode");
+
+        RestAssured.given().port(RULE.getLocalPort()).queryParam("page", 3)
+                .expect().statusCode(HttpStatus.NOT_FOUND_404).when()
+                .get("/swagger/reference/tags/tree");
+    }
+
+    @Test
+    public void modelsAreListed() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body(containsString("id=\"model-TreeNode\""))
+                .when().get("/swagger/reference/models");
+    }
+
+    @Test
+    public void unchangedPagesAreNotResent() throws Exception {
+        final String etag = RestAssured.given().port(RULE.getLocalPort())
+                .get("/swagger/reference").header("ETag");
+        RestAssured.given().port(RULE.getLocalPort())
+                .header("If-None-Match", etag).expect()
+                .statusCode(HttpStatus.NOT_MODIFIED_304).when()
+                .get("/swagger/reference");
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part,
+                i + part.length())) {
+            count++;
+        }
+        return count;
+    }
+}
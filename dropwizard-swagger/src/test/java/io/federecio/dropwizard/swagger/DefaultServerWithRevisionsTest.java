@@ -0,0 +1,83 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.swagger.util.Json;
+
+public class DefaultServerWithRevisionsTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithRevisions.class,
+            ResourceHelpers.resourceFilePath("test-default-revisions.yaml"));
+
+    @Test
+    public void patchesFollowRevisions() throws Exception {
+        final String before = RestAssured.given().port(RULE.getLocalPort())
+                .get("/swagger.json").header("ETag");
+
+        TestApplicationWithRevisions.released = true;
+        try {
+            RestAssured.given().port(RULE.getAdminPort()).expect()
+                    .statusCode(HttpStatus.OK_200).when()
+                    .post("/tasks/swagger-refresh");
+
+            final Response patch = RestAssured.given()
+                    .port(RULE.getLocalPort()).queryParam("since", before)
+                    .expect().statusCode(HttpStatus.OK_200)
+                    .header("Content-Type",
+                            containsString(SwaggerRevisions.JSON_PATCH))
+                    .when().get("/swagger.json");
+            final JsonNode operations = Json.mapper()
+                    .readTree(patch.asByteArray());
+            assertThat(operations).contains(Json.mapper().createObjectNode()
+                    .put("op", "add")
+                    .put("path", "/paths/~1tree~1node/post")
+                    .set("value", Json.mapper().readTree(RestAssured.given()
+                            .port(RULE.getLocalPort()).get("/swagger.json")
+                            .asByteArray()).at("/paths/~1tree~1node/post")));
+
+            final String after = patch.header("ETag");
+            assertThat(RestAssured.given().port(RULE.getLocalPort())
+                    .queryParam("since", after).expect()
+                    .statusCode(HttpStatus.OK_200).when()
+                    .get("/swagger.json").asString()).isEqualTo("[]");
+        } finally {
+            TestApplicationWithRevisions.released = false;
+        }
+    }
+
+    @Test
+    public void unknownRevisionsGetTheFullDocument() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("since", "W/\"unknown\"").expect()
+                .statusCode(HttpStatus.OK_200)
+                .header("Content-Type", containsString("application/json"))
+                .body("swagger", equalTo("2.0"))
+                .body("paths", notNullValue()).when().get("/swagger.json");
+    }
+}
@@ -0,0 +1,72 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItems;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithSearchTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithTree.class,
+            ResourceHelpers.resourceFilePath("test-default-tree.yaml"));
+
+    @Test
+    public void operationsAndModelsAreFound() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).queryParam("q", "node")
+                .expect().statusCode(HttpStatus.OK_200)
+                .body("total", equalTo(3))
+                .body("hits.operationId", hasItems("getNode", "postNode"))
+                .body("hits.name", hasItems("TreeNode"))
+                .when().get("/swagger/search");
+    }
+
+    @Test
+    public void everyTermMustMatch() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("q", "get no").expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("hits.operationId", contains("getNode"))
+                .body("hits[0].ref", equalTo("#/paths/~1tree~1node/get"))
+                .body("hits[0].href",
+                        equalTo("../swagger.json#/paths/~1tree~1node/get"))
+                .when().get("/swagger/search");
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("q", "node unknown").expect()
+                .statusCode(HttpStatus.OK_200).body("total", equalTo(0))
+                .body("hits", empty()).when().get("/swagger/search");
+    }
+
+    @Test
+    public void indexFollowsTheSpecification() throws Exception {
+        RestAssured.given().port(RULE.getAdminPort()).expect()
+                .statusCode(HttpStatus.OK_200).when()
+                .post("/tasks/swagger-refresh");
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("q", "dummy").expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("hits.operationId", contains("dummyEndpoint"))
+                .when().get("/swagger/search");
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.eclipse.jetty.http.HttpStatus;
+import org.hamcrest.core.StringContains;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import io.dropwizard.testing.ConfigOverride;
+import io.dropwizard.testing.DropwizardTestSupport;
+import io.dropwizard.testing.ResourceHelpers;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithSpecCacheDirectoryTest {
+
+    @ClassRule
+    public static final TemporaryFolder CACHE = new TemporaryFolder();
+
+    @Test
+    public void restartReusesCachedSpecification() throws Exception {
+        // entries of another service sharing the directory, and a file it is
+        // writing
+        final Path other = CACHE.newFile("swagger-other-0123.json").toPath();
+        final Path writing = CACHE.newFile("swagger-0123.tmp").toPath();
+
+        final DropwizardTestSupport<TestConfiguration> first = newApplication();
+        first.before();
+        try {
+            RestAssured.given().port(first.getLocalPort()).expect()
+                    .statusCode(HttpStatus.OK_200)
+                    .body(StringContains.containsString(
+                            TestResource.OPERATION_DESCRIPTION))
+                    .when().get("/swagger.json");
+        } finally {
+            first.after();
+        }
+
+        final File[] cached = CACHE.getRoot()
+                .listFiles((dir, name) -> name.endsWith(".json")
+                        && !name.equals(other.getFileName().toString()));
+        assertThat(cached).hasSize(1);
+
+        // a restart with identical classes and configuration must not scan,
+        // so it serves whatever the cache holds
+        final Path file = cached[0].toPath();
+        final String json = new String(Files.readAllBytes(file),
+                StandardCharsets.UTF_8);
+        Files.write(file,
+                json.replace(TestResource.OPERATION_DESCRIPTION, "from cache")
+                        .getBytes(StandardCharsets.UTF_8));
+
+        final DropwizardTestSupport<TestConfiguration> second = newApplication();
+        second.before();
+        try {
+            RestAssured.given().port(second.getLocalPort()).expect()
+                    .statusCode(HttpStatus.OK_200)
+                    .body(StringContains.containsString("from cache")).when()
+                    .get("/swagger.json");
+        } finally {
+            second.after();
+        }
+        assertThat(other).exists();
+        assertThat(writing).exists();
+    }
+
+    private static DropwizardTestSupport<TestConfiguration> newApplication() {
+        return new DropwizardTestSupport<>(TestApplication.class,
+                ResourceHelpers.resourceFilePath("test-default.yaml"),
+                ConfigOverride.config("swagger.spec.cacheDirectory",
+                        CACHE.getRoot().getAbsolutePath()));
+    }
+}
@@ -0,0 +1,91 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithStatsTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithTree.class,
+            ResourceHelpers.resourceFilePath("test-default-stats.yaml"));
+
+    @BeforeClass
+    public static void sendRequests() {
+        for (int i = 0; i < 3; i++) {
+            RestAssured.given().port(RULE.getLocalPort())
+                    .accept("application/json").expect()
+                    .statusCode(HttpStatus.OK_200).when()
+                    .get("/tree/node");
+        }
+    }
+
+    @Test
+    public void operationsAreTimedByOperationId() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("find { it.operationId == 'getNode' }.method",
+                        equalTo("GET"))
+                .body("find { it.operationId == 'getNode' }.path",
+                        equalTo("/tree/node"))
+                .body("find { it.operationId == 'getNode' }.count",
+                        equalTo(3))
+                .body("find { it.operationId == 'getNode' }.errors",
+                        equalTo(0))
+                .body("find { it.operationId == 'getNode' }.p99",
+                        greaterThan(0f))
+                .body("operationId", not(hasItem("postNode")))
+                .when().get("/swagger/stats");
+    }
+
+    @Test
+    public void operationsArePublishedAsMetrics() throws Exception {
+        assertThat(RULE.getEnvironment().metrics().getTimers()
+                .get(MetricRegistry.name(SwaggerStatsListener.class,
+                        "getNode"))
+                .getCount()).isEqualTo(3);
+        assertThat(RULE.getEnvironment().metrics().getMeters())
+                .containsKey(MetricRegistry.name(SwaggerStatsListener.class,
+                        "getNode", "errors"))
+                .doesNotContainKey(MetricRegistry
+                        .name(SwaggerStatsListener.class, "postNode", "errors"));
+    }
+
+    @Test
+    public void statisticsAreVendorExtensions() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("paths.'/tree/node'.get", hasKey("x-latency-p50"))
+                .body("paths.'/tree/node'.get", hasKey("x-latency-p99"))
+                .body("paths.'/tree/node'.get", hasKey("x-rate"))
+                .body("paths.'/tree/node'.post",
+                        not(hasKey("x-latency-p50")))
+                .when().get("/swagger.json");
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.dropwizard.testing.DropwizardTestSupport;
+import io.dropwizard.testing.ResourceHelpers;
+
+/**
+ * Boots the test application in a fresh JVM with {@code -verbose:class}, so
+ * that classes loaded by earlier tests in this JVM do not hide what a
+ * disabled bundle pulls in.
+ */
+public class DefaultServerWithSwaggerDisabledFootprintTest {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(DefaultServerWithSwaggerDisabledFootprintTest.class);
+
+    /**
+     * Resolved, but neither linked nor initialized, by Jackson when binding
+     * the configuration, as the return type of the deprecated
+     * {@link SwaggerBundleConfiguration#build(String)}
+     */
+    private static final List<String> BUILD_SIGNATURE = Arrays.asList(
+            "io.swagger.config.Scanner", "io.swagger.config.SwaggerConfig",
+            "io.swagger.jaxrs.config.AbstractScanner",
+            "io.swagger.jaxrs.config.BeanConfig");
+
+    @Test
+    public void disabledBundleDoesNotLoadSwaggerOrFreemarker()
+            throws Exception {
+        final Footprint disabled = boot("test-default-disabled.yaml");
+        final Footprint enabled = boot("test-default.yaml");
+
+        // the annotations are referenced by the application's own resources
+        assertThat(disabled.loaded)
+                .filteredOn(name -> name.startsWith("io.swagger.")
+                        && !name.startsWith("io.swagger.annotations.")
+                        && !BUILD_SIGNATURE.contains(name))
+                .isEmpty();
+        assertThat(disabled.loaded)
+                .filteredOn(name -> name.startsWith("freemarker."))
+                .isEmpty();
+        assertThat(enabled.loaded)
+                .filteredOn(name -> name.startsWith("io.swagger.models."))
+                .isNotEmpty();
+        assertThat(disabled.loaded.size())
+                .isLessThan(enabled.loaded.size());
+
+        LOGGER.debug(
+                "Disabled bundle saves {} classes, {} KB of metaspace and "
+                        + "{} ms of startup",
+                enabled.loaded.size() - disabled.loaded.size(),
+                (enabled.metaspaceBytes - disabled.metaspaceBytes) / 1024,
+                TimeUnit.NANOSECONDS.toMillis(
+                        enabled.startupNanos - disabled.startupNanos));
+    }
+
+    private static Footprint boot(String config)
+            throws IOException, InterruptedException {
+        final String java = System.getProperty("java.home") + File.separator
+                + "bin" + File.separator + "java";
+        final Process process = new ProcessBuilder(java, "-verbose:class",
+                "-cp", System.getProperty("java.class.path"),
+                Probe.class.getName(), ResourceHelpers.resourceFilePath(config))
+                        .redirectErrorStream(true).start();
+
+        final Footprint footprint = new Footprint();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(Probe.RESULT)) {
+                    final String[] values = line
+                            .substring(Probe.RESULT.length()).split(" ");
+                    footprint.startupNanos = Long.parseLong(values[0]);
+                    footprint.metaspaceBytes = Long.parseLong(values[1]);
+                } else {
+                    final String name = loadedClass(line);
+                    if (name != null) {
+                        footprint.loaded.add(name);
+                    }
+                }
+            }
+        }
+        assertThat(process.waitFor()).isZero();
+        assertThat(footprint.startupNanos).isPositive();
+        return footprint;
+    }
+
+    /**
+     * Extracts the class name from a {@code -verbose:class} line, in either
+     * the "[Loaded name from ...]" (Java 8) or "[...][class,load] name
+     * source: ..." (Java 9+) format.
+     */
+    private static String loadedClass(String line) {
+        final String marker;
+        if (line.startsWith("[Loaded ")) {
+            marker = "[Loaded ";
+        } else if (line.contains("[class,load] ")) {
+            marker = "[class,load] ";
+        } else {
+            return null;
+        }
+        final int start = line.indexOf(marker) + marker.length();
+        final int end = line.indexOf(' ', start);
+        return end < 0 ? line.substring(start) : line.substring(start, end);
+    }
+
+    private static final class Footprint {
+        final List<String> loaded = new ArrayList<>();
+        long startupNanos;
+        long metaspaceBytes;
+    }
+
+    public static final class Probe {
+        static final String RESULT = "footprint: ";
+
+        public static void main(String[] args) throws Exception {
+            final DropwizardTestSupport<TestConfiguration> support = new DropwizardTestSupport<>(
+                    TestApplication.class, args[0]);
+            final long start = System.nanoTime();
+            support.before();
+            final long startup = System.nanoTime() - start;
+            long metaspace = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory
+                    .getMemoryPoolMXBeans()) {
+                if ("Metaspace".equals(pool.getName())) {
+                    metaspace = pool.getUsage().getUsed();
+                }
+            }
+            support.after();
+            System.out.println(RESULT + startup + " " + metaspace);
+            System.exit(0);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithTryItOutTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithTree.class,
+            ResourceHelpers.resourceFilePath("test-default-try-it-out.yaml"));
+
+    @Test
+    public void taggedRequestIsServedOnTheLane() throws Exception {
+        final long processed = processed().getCount();
+
+        RestAssured.given().port(RULE.getLocalPort())
+                .header(SwaggerTryItOutFilter.HEADER, "true")
+                .accept("application/json").expect()
+                .statusCode(HttpStatus.OK_200)
+                .header("Content-Type", containsString("application/json"))
+                .when().get("/tree/node");
+
+        assertThat(processed().getCount()).isEqualTo(processed + 1);
+    }
+
+    @Test
+    public void untaggedRequestIsServedDirectly() throws Exception {
+        final long processed = processed().getCount();
+
+        RestAssured.given().port(RULE.getLocalPort())
+                .accept("application/json").expect()
+                .statusCode(HttpStatus.OK_200)
+                .when().get("/tree/node");
+
+        assertThat(processed().getCount()).isEqualTo(processed);
+    }
+
+    @Test
+    public void concurrentTaggedRequestsWaitForTheLane() throws Exception {
+        final long processed = processed().getCount();
+        final ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                statuses.add(clients.submit(() -> RestAssured.given()
+                        .port(RULE.getLocalPort())
+                        .header(SwaggerTryItOutFilter.HEADER, "true")
+                        .get("/test.json").statusCode()));
+            }
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get(30, TimeUnit.SECONDS))
+                        .isEqualTo(HttpStatus.OK_200);
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertThat(processed().getCount()).isEqualTo(processed + 8);
+        assertThat(RULE.getEnvironment().metrics().getGauges()
+                .get(MetricRegistry.name(SwaggerTryItOutFilter.class,
+                        "active"))
+                .getValue()).isEqualTo(0);
+    }
+
+    @Test
+    public void taggedRequestOutsideTheOperationsIsServedDirectly()
+            throws Exception {
+        final long processed = processed().getCount();
+
+        RestAssured.given().port(RULE.getLocalPort())
+                .header(SwaggerTryItOutFilter.HEADER, "true").expect()
+                .statusCode(HttpStatus.OK_200).when().get("/swagger.json");
+
+        assertThat(processed().getCount()).isEqualTo(processed);
+    }
+
+    @Test
+    public void swaggerUiTagsItsRequests() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body(containsString(
+                        "request.headers['" + SwaggerTryItOutFilter.HEADER
+                                + "'] = 'true'"))
+                .when().get("/swagger");
+    }
+
+    private static Meter processed() {
+        return RULE.getEnvironment().metrics().meter(MetricRegistry
+                .name(SwaggerTryItOutFilter.class, "processed"));
+    }
+}
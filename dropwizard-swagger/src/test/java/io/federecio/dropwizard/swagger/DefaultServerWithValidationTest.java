@@ -0,0 +1,133 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import java.util.Arrays;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Strings;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.swagger.models.parameters.QueryParameter;
+
+public class DefaultServerWithValidationTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplicationWithValidation.class,
+            ResourceHelpers.resourceFilePath("test-default-validation.yaml"));
+
+    @Test
+    public void validRequestsReachTheResource() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("status", "open").expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("item", equalTo("7"))
+                .when().get("/orders/7");
+        RestAssured.given().port(RULE.getLocalPort())
+                .contentType(ContentType.JSON)
+                .body("{\"item\":\"book\",\"quantity\":3}").expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("quantity", equalTo(3))
+                .when().post("/orders");
+    }
+
+    @Test
+    public void invalidParameterIsRejected() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .queryParam("status", "lost").expect()
+                .statusCode(HttpStatus.BAD_REQUEST_400)
+                .body("message", equalTo(
+                        "query parameter status must be one of [open, closed]"))
+                .when().get("/orders/7");
+    }
+
+    @Test
+    public void missingPropertyIsRejected() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .contentType(ContentType.JSON)
+                .body("{\"quantity\":3}").expect()
+                .statusCode(HttpStatus.BAD_REQUEST_400)
+                .body("message", equalTo("body.item is required"))
+                .when().post("/orders");
+    }
+
+    @Test
+    public void propertyOutOfRangeIsRejected() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .contentType(ContentType.JSON)
+                .body("{\"item\":\"book\",\"quantity\":500}").expect()
+                .statusCode(HttpStatus.BAD_REQUEST_400)
+                .body("message",
+                        equalTo("body.quantity must be at most 100"))
+                .when().post("/orders");
+    }
+
+    @Test
+    public void malformedBodyIsRejected() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort())
+                .contentType(ContentType.JSON)
+                .body("{\"item\":\"book\",\"quantity\":").expect()
+                .statusCode(HttpStatus.BAD_REQUEST_400)
+                .body("message", equalTo("body is not valid JSON"))
+                .when().post("/orders");
+    }
+
+    @Test
+    public void bodyLargerThanAllowedIsRejected() throws Exception {
+        final String item = Strings.repeat("a", 2048);
+        RestAssured.given().port(RULE.getLocalPort())
+                .contentType(ContentType.JSON)
+                .body("{\"item\":\"" + item + "\",\"quantity\":3}")
+                .expect().statusCode(HttpStatus.PAYLOAD_TOO_LARGE_413)
+                .when().post("/orders");
+    }
+
+    @Test
+    public void validationIsTimedByOperationId() throws Exception {
+        RestAssured.given().port(RULE.getLocalPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .when().get("/orders/8");
+        assertThat(RULE.getEnvironment().metrics().getTimers())
+                .containsKey(MetricRegistry.name(
+                        SwaggerRequestValidator.class, "getOrder"));
+    }
+
+    @Test
+    public void arrayItemsAreCheckedInPlace() throws Exception {
+        final SwaggerSchemaChecks.ValueCheck integers = SwaggerSchemaChecks
+                .parameter(new QueryParameter().type("integer"));
+        assertThat(integers.check("7,x,-9", 0, 1)).isNull();
+        assertThat(integers.check("7,x,-9", 2, 3))
+                .isEqualTo("must be an integer");
+        assertThat(integers.check("7,x,-9", 4, 6)).isNull();
+        assertThat(integers.check("-9223372036854775808")).isNull();
+        assertThat(integers.check("9223372036854775808"))
+                .isEqualTo("must be an integer");
+
+        final SwaggerSchemaChecks.ValueCheck statuses = SwaggerSchemaChecks
+                .parameter(new QueryParameter().type("string")
+                        ._enum(Arrays.asList("open", "closed")));
+        assertThat(statuses.check("open|lost", 0, 4)).isNull();
+        assertThat(statuses.check("open|lost", 5, 9))
+                .isEqualTo("must be one of [open, closed]");
+    }
+}
@@ -0,0 +1,91 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.health.HealthCheck;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+import io.restassured.RestAssured;
+
+public class DefaultServerWithWarmUpTest {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("test-default-warm-up.yaml"));
+
+    @Test
+    public void healthCheckReportsTheWarmUp() throws Exception {
+        final HealthCheck.Result result = awaitWarmUp();
+
+        assertThat(result.isHealthy()).isTrue();
+        assertThat(result.getMessage()).startsWith("Warmed up in")
+                .doesNotContain("failed");
+        assertThat(RULE.getEnvironment().metrics()
+                .timer(MetricRegistry.name(SwaggerWarmUp.class, "duration"))
+                .getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void healthCheckIsServedOnTheAdminPort() throws Exception {
+        awaitWarmUp();
+
+        RestAssured.given().port(RULE.getAdminPort()).expect()
+                .statusCode(HttpStatus.OK_200)
+                .body("swagger-warm-up.healthy", equalTo(true))
+                .when().get("/healthcheck");
+    }
+
+    @Test
+    public void failingEveryPathIsUnhealthy() throws Exception {
+        final SwaggerWarmUp warmUp = new SwaggerWarmUp(
+                ImmutableList.of("/missing.json", "/missing.yaml"),
+                new SwaggerWarmUpConfiguration(),
+                MoreExecutors.newDirectExecutorService(), new Timer());
+
+        warmUp.serverStarted(RULE.getEnvironment().getApplicationContext()
+                .getServer());
+
+        final HealthCheck.Result result = warmUp.execute();
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).startsWith("Failed to warm up")
+                .contains("/missing.json", "/missing.yaml");
+    }
+
+    private static HealthCheck.Result awaitWarmUp()
+            throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        HealthCheck.Result result;
+        do {
+            result = RULE.getEnvironment().healthChecks()
+                    .runHealthCheck("swagger-warm-up");
+            if (result.isHealthy()) {
+                return result;
+            }
+            Thread.sleep(50);
+        } while (System.nanoTime() < deadline);
+        return result;
+    }
+}
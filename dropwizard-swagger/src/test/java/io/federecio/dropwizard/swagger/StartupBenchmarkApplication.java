@@ -0,0 +1,76 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import io.dropwizard.Application;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.setup.Environment;
+
+/**
+ * Application serving a {@link SyntheticApi}, with or without the bundle,
+ * and recording how long the bundle spends in each phase.
+ */
+public class StartupBenchmarkApplication extends Application<TestConfiguration> {
+
+    private final SyntheticApi api;
+    private final boolean withBundle;
+
+    private long initializeNanos;
+    private long runNanos;
+
+    StartupBenchmarkApplication(SyntheticApi api, boolean withBundle) {
+        this.api = api;
+        this.withBundle = withBundle;
+    }
+
+    @Override
+    public void initialize(Bootstrap<TestConfiguration> bootstrap) {
+        if (!withBundle) {
+            return;
+        }
+        final long start = System.nanoTime();
+        bootstrap.addBundle(new SwaggerBundle<TestConfiguration>() {
+            @Override
+            public void run(TestConfiguration configuration,
+                    Environment environment) throws Exception {
+                final long start = System.nanoTime();
+                super.run(configuration, environment);
+                runNanos = System.nanoTime() - start;
+            }
+
+            @Override
+            protected SwaggerBundleConfiguration getSwaggerBundleConfiguration(
+                    TestConfiguration configuration) {
+                return configuration.swaggerBundleConfiguration;
+            }
+        });
+        initializeNanos = System.nanoTime() - start;
+    }
+
+    @Override
+    public void run(TestConfiguration configuration, Environment environment)
+            throws Exception {
+        for (Class<?> resource : api.getResources()) {
+            environment.jersey().register(resource);
+        }
+    }
+
+    long getInitializeNanos() {
+        return initializeNanos;
+    }
+
+    long getRunNanos() {
+        return runNanos;
+    }
+}
@@ -0,0 +1,190 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Splitter;
+import com.google.common.io.ByteStreams;
+import io.dropwizard.Application;
+import io.dropwizard.testing.ConfigOverride;
+import io.dropwizard.testing.DropwizardTestSupport;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+
+/**
+ * Measures what the bundle adds to the startup of applications of growing
+ * size. For each size a synthetic API is generated and the application is
+ * booted alternately without and with the bundle; the report shows the
+ * median of the iterations.
+ * <p/>
+ * Not part of the regular test run, use
+ * {@code mvn test -Pbenchmark -Dbenchmark.operations=10,100,1000,5000
+ * -Dbenchmark.iterations=3}. All boots share one JVM, so only the first
+ * iteration pays for class loading and JIT compilation of the bundle.
+ */
+public class SwaggerStartupBenchmark {
+
+    @Rule
+    public final TemporaryFolder workspace = new TemporaryFolder();
+
+    @Test
+    public void startupCost() throws Throwable {
+        final List<Integer> sizes = new ArrayList<>();
+        for (String size : Splitter.on(',').trimResults().omitEmptyStrings()
+                .split(System.getProperty("benchmark.operations",
+                        "10,100,1000,5000"))) {
+            sizes.add(Integer.valueOf(size));
+        }
+        final int iterations = Integer
+                .getInteger("benchmark.iterations", 3);
+
+        final StringBuilder report = new StringBuilder(String.format(
+                "%n%10s %12s %12s %12s %12s %12s %14s %12s %14s%n",
+                "operations", "baseline ms", "bundle ms", "init ms", "run ms",
+                "first ms", "spec bytes", "retained", "heap delta"));
+        for (int operations : sizes) {
+            final Path directory = workspace.newFolder("ops" + operations)
+                    .toPath();
+            final SyntheticApi api = SyntheticApi.generate(operations,
+                    directory);
+
+            final List<Sample> baseline = new ArrayList<>();
+            final List<Sample> bundle = new ArrayList<>();
+            for (int i = 0; i < iterations; i++) {
+                baseline.add(boot(api, false));
+                bundle.add(boot(api, true));
+            }
+
+            report.append(String.format(
+                    "%10d %12.1f %12.1f %12.1f %12.1f %12.1f %14d %12d %14d%n",
+                    operations, millis(median(baseline, s -> s.startupNanos)),
+                    millis(median(bundle, s -> s.startupNanos)),
+                    millis(median(bundle, s -> s.initializeNanos)),
+                    millis(median(bundle, s -> s.runNanos)),
+                    millis(median(bundle, s -> s.firstResponseNanos)),
+                    median(bundle, s -> s.specBytes),
+                    median(bundle, s -> s.retainedBytes),
+                    median(bundle, s -> s.heapUsed)
+                            - median(baseline, s -> s.heapUsed)));
+        }
+        System.out.println(report);
+    }
+
+    private static Sample boot(SyntheticApi api, boolean withBundle)
+            throws Throwable {
+        final DropwizardAppRule<TestConfiguration> rule = new DropwizardAppRule<>(
+                new DropwizardTestSupport<TestConfiguration>(
+                        StartupBenchmarkApplication.class,
+                        ResourceHelpers.resourceFilePath("test-default.yaml"),
+                        ConfigOverride.config("swagger.resourcePackage",
+                                api.getPackageName()),
+                        ConfigOverride.config("logging.level", "WARN")) {
+                    @Override
+                    public Application<TestConfiguration> newApplication() {
+                        return new StartupBenchmarkApplication(api, withBundle);
+                    }
+                });
+
+        final Sample sample = new Sample();
+        final Thread thread = Thread.currentThread();
+        final ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(api.getClassLoader());
+        try {
+            final long start = System.nanoTime();
+            rule.apply(new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    sample.startupNanos = System.nanoTime() - start;
+                    final String path = withBundle ? "/swagger.json"
+                            : "/resource0/op0/1";
+                    sample.specBytes = get(rule.getLocalPort(), path);
+                    sample.firstResponseNanos = System.nanoTime() - start;
+
+                    final StartupBenchmarkApplication application = rule
+                            .getApplication();
+                    sample.initializeNanos = application.getInitializeNanos();
+                    sample.runNanos = application.getRunNanos();
+                    final Gauge<?> retained = rule.getEnvironment().metrics()
+                            .getGauges().get(MetricRegistry.name(
+                                    SwaggerSpecCache.class, "retained-bytes"));
+                    sample.retainedBytes = retained == null ? 0
+                            : (Long) retained.getValue();
+                    sample.heapUsed = usedHeapAfterGc();
+                }
+            }, Description.EMPTY).evaluate();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+        return sample;
+    }
+
+    private static long get(int port, String path) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL(
+                "http://localhost:" + port + path).openConnection();
+        try (InputStream input = connection.getResponseCode() < 400
+                ? connection.getInputStream() : connection.getErrorStream()) {
+            return input == null ? 0
+                    : ByteStreams.exhaust(input);
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage()
+                .getUsed();
+    }
+
+    private static long median(List<Sample> samples,
+            ToLongFunction<Sample> metric) {
+        final long[] values = samples.stream().mapToLong(metric).toArray();
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Sample {
+        long startupNanos;
+        long initializeNanos;
+        long runNanos;
+        long firstResponseNanos;
+        long specBytes;
+        long retainedBytes;
+        long heapUsed;
+    }
+}
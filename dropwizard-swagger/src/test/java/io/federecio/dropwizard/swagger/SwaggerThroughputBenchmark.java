@@ -0,0 +1,404 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import org.eclipse.jetty.http.HttpStatus;
+import org.junit.ClassRule;
+import org.junit.Test;
+import com.google.common.base.Splitter;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.ThreadMXBean;
+import io.dropwizard.testing.ResourceHelpers;
+import io.dropwizard.testing.junit.DropwizardAppRule;
+
+/**
+ * Measures how the documentation endpoints hold up under concurrency,
+ * through Jetty rather than in isolation. Each path is driven in turn by a
+ * number of clients, each sending requests back to back on its own
+ * keep-alive connection. After a warm-up, the report shows for each path
+ * the throughput, the latency percentiles, what the server allocated per
+ * request and the collections during the measurement.
+ * <p/>
+ * Not part of the regular test run, use
+ * {@code mvn test -Pbenchmark -Dtest=SwaggerThroughputBenchmark
+ * -Dbenchmark.clients=16 -Dbenchmark.duration=10 -Dbenchmark.warmUp=5}.
+ * Clients and server share the JVM, so compare runs on the same machine
+ * only. The collection times are pauses with the default collector of JDK 8
+ * only; concurrent collectors report their whole cycle.
+ */
+public class SwaggerThroughputBenchmark {
+
+    @ClassRule
+    public static final DropwizardAppRule<TestConfiguration> RULE = new DropwizardAppRule<TestConfiguration>(
+            TestApplication.class,
+            ResourceHelpers.resourceFilePath("test-default-throughput.yaml"));
+
+    @Test
+    public void throughput() throws Exception {
+        final int clients = Integer.getInteger("benchmark.clients", 16);
+        final long duration = TimeUnit.SECONDS
+                .toNanos(Integer.getInteger("benchmark.duration", 10));
+        final long warmUp = TimeUnit.SECONDS
+                .toNanos(Integer.getInteger("benchmark.warmUp", 5));
+
+        final StringBuilder report = new StringBuilder(String.format(
+                "%n%-40s %10s %10s %9s %9s %9s %9s %12s %6s %9s %9s%n", "path",
+                "requests", "rps", "p50 ms", "p99 ms", "p999 ms", "max ms",
+                "alloc/req", "gcs", "gc ms", "max gc"));
+        for (String path : Splitter.on(',').trimResults().omitEmptyStrings()
+                .split(System.getProperty("benchmark.paths",
+                        "/swagger.json,/swagger,/swagger-static/swagger-ui-bundle.js"))) {
+            try (Client client = new Client(RULE.getLocalPort(), path)) {
+                assertThat(client.get()).as(path).isEqualTo(HttpStatus.OK_200);
+            }
+            drive(path, clients, warmUp);
+            final Run run = drive(path, clients, duration);
+            report.append(String.format(Locale.ROOT,
+                    "%-40s %10d %10.0f %9.2f %9.2f %9.2f %9.2f %12d %6d %9d %9d%n",
+                    path, run.latencies.length,
+                    run.latencies.length / (run.nanos / 1e9),
+                    run.percentile(0.5), run.percentile(0.99),
+                    run.percentile(0.999),
+                    run.percentile(1),
+                    run.latencies.length == 0 ? 0
+                            : run.allocatedBytes / run.latencies.length,
+                    run.collections, run.collectionMillis,
+                    run.maxCollectionMillis));
+            assertThat(run.errors).as(path + " errors").isZero();
+        }
+        System.out.println(report);
+    }
+
+    private static Run drive(String path, int clients, long nanos)
+            throws Exception {
+        final Worker[] workers = new Worker[clients];
+        final Set<Long> clientThreads = new HashSet<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < clients; i++) {
+            workers[i] = new Worker(path, start, nanos);
+            workers[i].setName("throughput-client-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+            clientThreads.add(workers[i].getId());
+        }
+
+        final GcRecorder gc = new GcRecorder();
+        final Map<Long, Long> allocatedBefore = allocatedBytes(clientThreads);
+        final long begin = System.nanoTime();
+        start.countDown();
+        for (Worker worker : workers) {
+            worker.join();
+        }
+        final Run run = new Run();
+        run.nanos = System.nanoTime() - begin;
+        for (Map.Entry<Long, Long> allocated : allocatedBytes(clientThreads)
+                .entrySet()) {
+            run.allocatedBytes += allocated.getValue() - allocatedBefore
+                    .getOrDefault(allocated.getKey(), 0L);
+        }
+        gc.close();
+        run.collections = gc.count.get();
+        run.collectionMillis = gc.total.get();
+        run.maxCollectionMillis = gc.max.get();
+
+        int count = 0;
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw worker.failure;
+            }
+            count += worker.count;
+            run.errors += worker.errors;
+        }
+        run.latencies = new long[count];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, run.latencies, offset,
+                    worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(run.latencies);
+        return run;
+    }
+
+    /**
+     * Returns the bytes allocated so far by each live thread, but the
+     * clients
+     */
+    private static Map<Long, Long> allocatedBytes(Set<Long> excluded) {
+        final ThreadMXBean threads = (ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        final long[] ids = threads.getAllThreadIds();
+        final long[] allocated = threads.getThreadAllocatedBytes(ids);
+        final Map<Long, Long> result = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (allocated[i] >= 0 && !excluded.contains(ids[i])) {
+                result.put(ids[i], allocated[i]);
+            }
+        }
+        return result;
+    }
+
+    private static final class Run {
+        long nanos;
+        long[] latencies = new long[0];
+        long errors;
+        long allocatedBytes;
+        long collections;
+        long collectionMillis;
+        long maxCollectionMillis;
+
+        /**
+         * Returns the latency below which the given fraction of the
+         * requests completed, in milliseconds
+         */
+        double percentile(double quantile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            final int rank = (int) Math.ceil(quantile * latencies.length);
+            return latencies[Math.max(0, rank - 1)] / 1e6;
+        }
+    }
+
+    /**
+     * Sends requests back to back for a given time, recording the latency of
+     * each
+     */
+    private static final class Worker extends Thread {
+        private final String path;
+        private final CountDownLatch start;
+        private final long nanos;
+        long[] latencies = new long[1 << 14];
+        int count;
+        long errors;
+        Exception failure;
+
+        Worker(String path, CountDownLatch start, long nanos) {
+            this.path = path;
+            this.start = start;
+            this.nanos = nanos;
+        }
+
+        @Override
+        public void run() {
+            try (Client client = new Client(RULE.getLocalPort(), path)) {
+                start.await();
+                final long deadline = System.nanoTime() + nanos;
+                long now = System.nanoTime();
+                while (now < deadline) {
+                    final int status = client.get();
+                    final long end = System.nanoTime();
+                    if (status != HttpStatus.OK_200) {
+                        errors++;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = end - now;
+                    now = end;
+                }
+            } catch (Exception e) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * A minimal HTTP/1.1 client keeping a single connection alive, so that
+     * the measurement is not about the client
+     */
+    private static final class Client implements Closeable {
+        private final int port;
+        private final byte[] request;
+        private final StringBuilder line = new StringBuilder();
+        private Socket socket;
+        private InputStream input;
+        private OutputStream output;
+
+        Client(int port, String path) {
+            this.port = port;
+            this.request = ("GET " + path + " HTTP/1.1\r\nHost: localhost:"
+                    + port + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        }
+
+        /**
+         * Sends the request and reads the whole response
+         *
+         * @return the status of the response
+         */
+        int get() throws IOException {
+            if (socket == null) {
+                socket = new Socket("localhost", port);
+                socket.setTcpNoDelay(true);
+                input = new BufferedInputStream(socket.getInputStream(),
+                        1 << 16);
+                output = socket.getOutputStream();
+            }
+            output.write(request);
+            output.flush();
+
+            final String statusLine = readLine();
+            final int status = Integer.parseInt(statusLine.substring(9, 12));
+            long contentLength = -1;
+            boolean chunked = false;
+            boolean close = false;
+            for (String header = readLine(); !header.isEmpty(); header = readLine()) {
+                final int colon = header.indexOf(':');
+                final String name = header.substring(0, colon).trim();
+                final String value = header.substring(colon + 1).trim();
+                if ("Content-Length".equalsIgnoreCase(name)) {
+                    contentLength = Long.parseLong(value);
+                } else if ("Transfer-Encoding".equalsIgnoreCase(name)) {
+                    chunked = "chunked".equalsIgnoreCase(value);
+                } else if ("Connection".equalsIgnoreCase(name)) {
+                    close = "close".equalsIgnoreCase(value);
+                }
+            }
+            if (chunked) {
+                for (long size = Long.parseLong(chunkSize(), 16); size > 0; size = Long
+                        .parseLong(chunkSize(), 16)) {
+                    skip(size);
+                    readLine();
+                }
+                // trailers
+                while (!readLine().isEmpty()) {
+                    continue;
+                }
+            } else if (contentLength > 0) {
+                skip(contentLength);
+            }
+            if (close) {
+                close();
+            }
+            return status;
+        }
+
+        private String chunkSize() throws IOException {
+            final String size = readLine();
+            final int extension = size.indexOf(';');
+            return extension < 0 ? size : size.substring(0, extension);
+        }
+
+        private String readLine() throws IOException {
+            line.setLength(0);
+            for (int c = input.read(); c != '\n'; c = input.read()) {
+                if (c < 0) {
+                    throw new EOFException("Connection closed");
+                }
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            return line.toString();
+        }
+
+        private void skip(long bytes) throws IOException {
+            for (long remaining = bytes; remaining > 0;) {
+                final long skipped = input.skip(remaining);
+                if (skipped <= 0) {
+                    if (input.read() < 0) {
+                        throw new EOFException("Connection closed");
+                    }
+                    remaining--;
+                } else {
+                    remaining -= skipped;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (socket != null) {
+                socket.close();
+                socket = null;
+            }
+        }
+    }
+
+    /**
+     * Records the collections reported while it is open
+     */
+    private static final class GcRecorder
+            implements NotificationListener, Closeable {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong total = new AtomicLong();
+        final AtomicLong max = new AtomicLong();
+        private final List<NotificationEmitter> emitters = new ArrayList<>();
+
+        GcRecorder() {
+            for (GarbageCollectorMXBean collector : ManagementFactory
+                    .getGarbageCollectorMXBeans()) {
+                if (collector instanceof NotificationEmitter) {
+                    final NotificationEmitter emitter = (NotificationEmitter) collector;
+                    emitter.addNotificationListener(this, null, null);
+                    emitters.add(emitter);
+                }
+            }
+        }
+
+        @Override
+        public void handleNotification(Notification notification,
+                Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION
+                    .equals(notification.getType())) {
+                return;
+            }
+            final long duration = GarbageCollectionNotificationInfo
+                    .from((CompositeData) notification.getUserData())
+                    .getGcInfo().getDuration();
+            count.incrementAndGet();
+            total.addAndGet(duration);
+            max.accumulateAndGet(duration, Math::max);
+        }
+
+        @Override
+        public void close() {
+            for (NotificationEmitter emitter : emitters) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (ListenerNotFoundException e) {
+                    // already removed
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Generates, compiles and loads a package of synthetic JAX-RS resources with
+ * a given number of Swagger-annotated operations. Every resource returns and
+ * accepts its own three-level DTO graph, and all of them share a recursive
+ * DTO, so the model resolution cost grows with the API like it does in real
+ * services.
+ */
+final class SyntheticApi {
+
+    private static final int OPERATIONS_PER_RESOURCE = 10;
+
+    private final String packageName;
+    private final ClassLoader classLoader;
+    private final List<Class<?>> resources;
+
+    private SyntheticApi(String packageName, ClassLoader classLoader,
+            List<Class<?>> resources) {
+        this.packageName = packageName;
+        this.classLoader = classLoader;
+        this.resources = resources;
+    }
+
+    static SyntheticApi generate(int operations, Path directory) {
+        final String packageName = "synthetic.ops" + operations;
+        final Path sources = directory.resolve("src");
+        final Path classes = directory.resolve("classes");
+        final Path packageDirectory = sources
+                .resolve(packageName.replace('.', File.separatorChar));
+        final List<File> files = new ArrayList<>();
+        final List<String> resourceNames = new ArrayList<>();
+        try {
+            Files.createDirectories(packageDirectory);
+            Files.createDirectories(classes);
+            files.add(write(packageDirectory, "Shared",
+                    "package " + packageName + ";\n"
+                            + "public class Shared {\n"
+                            + "    public String id;\n"
+                            + "    public java.util.List<Shared> related;\n"
+                            + "}\n"));
+
+            final int resourceCount = (operations + OPERATIONS_PER_RESOURCE - 1)
+                    / OPERATIONS_PER_RESOURCE;
+            for (int r = 0; r < resourceCount; r++) {
+                final int count = Math.min(OPERATIONS_PER_RESOURCE,
+                        operations - r * OPERATIONS_PER_RESOURCE);
+                files.add(write(packageDirectory, "Leaf" + r, leaf(packageName, r)));
+                files.add(write(packageDirectory, "Child" + r, child(packageName, r)));
+                files.add(write(packageDirectory, "Dto" + r, dto(packageName, r)));
+                files.add(write(packageDirectory, "Resource" + r,
+                        resource(packageName, r, count)));
+                resourceNames.add(packageName + ".Resource" + r);
+            }
+            compile(files, classes);
+
+            final URLClassLoader classLoader = new URLClassLoader(
+                    new URL[] { classes.toUri().toURL() },
+                    SyntheticApi.class.getClassLoader());
+            final List<Class<?>> resources = new ArrayList<>();
+            for (String name : resourceNames) {
+                resources.add(classLoader.loadClass(name));
+            }
+            return new SyntheticApi(packageName, classLoader, resources);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    String getPackageName() {
+        return packageName;
+    }
+
+    ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    List<Class<?>> getResources() {
+        return resources;
+    }
+
+    private static String leaf(String packageName, int r) {
+        return "package " + packageName + ";\n"
+                + "public class Leaf" + r + " {\n"
+                + "    public String label;\n"
+                + "    public double weight;\n"
+                + "    public java.time.Instant updatedAt;\n"
+                + "}\n";
+    }
+
+    private static String child(String packageName, int r) {
+        return "package " + packageName + ";\n"
+                + "public class Child" + r + " {\n"
+                + "    public int position;\n"
+                + "    public Leaf" + r + " leaf;\n"
+                + "    public java.util.Map<String, Leaf" + r + "> leaves;\n"
+                + "}\n";
+    }
+
+    private static String dto(String packageName, int r) {
+        return "package " + packageName + ";\n"
+                + "@io.swagger.annotations.ApiModel(description = \"DTO " + r + "\")\n"
+                + "public class Dto" + r + " {\n"
+                + "    @io.swagger.annotations.ApiModelProperty(value = \"identifier\", required = true)\n"
+                + "    public long id;\n"
+                + "    public String name;\n"
+                + "    public Child" + r + " child;\n"
+                + "    public java.util.List<Child" + r + "> children;\n"
+                + "    public Shared shared;\n"
+                + "}\n";
+    }
+
+    private static String resource(String packageName, int r, int operations) {
+        final StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n")
+                .append("import javax.ws.rs.*;\n")
+                .append("import io.swagger.annotations.*;\n")
+                .append("@Path(\"/resource").append(r).append("\")\n")
+                .append("@Api(\"resource").append(r).append("\")\n")
+                .append("@Produces(\"application/json\")\n")
+                .append("@Consumes(\"application/json\")\n")
+                .append("public class Resource").append(r).append(" {\n");
+        for (int o = 0; o < operations; o++) {
+            final String description = "Operation " + o + " of resource " + r;
+            if (o % 2 == 0) {
+                source.append("    @GET\n")
+                        .append("    @Path(\"/op").append(o).append("/{id}\")\n")
+                        .append("    @ApiOperation(value = \"").append(description)
+                        .append("\", notes = \"Reads a DTO\")\n")
+                        .append("    public Dto").append(r).append(" op").append(o)
+                        .append("(@PathParam(\"id\") long id, ")
+                        .append("@QueryParam(\"filter\") String filter, ")
+                        .append("@HeaderParam(\"X-Trace-Id\") String traceId) {\n")
+                        .append("        return null;\n    }\n");
+            } else {
+                source.append("    @POST\n")
+                        .append("    @Path(\"/op").append(o).append("\")\n")
+                        .append("    @ApiOperation(value = \"").append(description)
+                        .append("\", notes = \"Writes a DTO\")\n")
+                        .append("    public Dto").append(r).append(" op").append(o)
+                        .append("(Dto").append(r).append(" body) {\n")
+                        .append("        return body;\n    }\n");
+            }
+        }
+        return source.append("}\n").toString();
+    }
+
+    private static File write(Path directory, String className, String source)
+            throws IOException {
+        final Path file = directory.resolve(className + ".java");
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    private static void compile(List<File> files, Path classes)
+            throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException(
+                    "Generating the synthetic API requires a JDK");
+        }
+        try (StandardJavaFileManager fileManager = compiler
+                .getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            final List<String> options = new ArrayList<>();
+            options.add("-d");
+            options.add(classes.toString());
+            options.add("-classpath");
+            options.add(System.getProperty("java.class.path"));
+            options.add("-proc:none");
+            options.add("-nowarn");
+            final boolean compiled = compiler.getTask(null, fileManager, null,
+                    options, null, fileManager.getJavaFileObjectsFromFiles(files))
+                    .call();
+            if (!compiled) {
+                throw new IllegalStateException(
+                        "Unable to compile the synthetic API");
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import io.dropwizard.Application;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.setup.Environment;
+
+public class TestApplicationWithBulkhead extends Application<TestConfiguration> {
+
+    /**
+     * Header making a documentation request wait for {@link #RELEASE}, past
+     * the bulkhead
+     */
+    public static final String HOLD = "X-Hold";
+
+    public static volatile CountDownLatch RELEASE = new CountDownLatch(0);
+
+    @Override
+    public void initialize(Bootstrap<TestConfiguration> bootstrap) {
+        bootstrap.addBundle(new SwaggerBundle<TestConfiguration>() {
+            @Override
+            protected SwaggerBundleConfiguration getSwaggerBundleConfiguration(TestConfiguration configuration) {
+                return configuration.swaggerBundleConfiguration;
+            }
+        });
+    }
+
+    @Override
+    public void run(TestConfiguration configuration, Environment environment) throws Exception {
+        environment.jersey().register(new TestResource());
+        // registered after the bundle's filters, so it holds a permit
+        environment.servlets().addFilter("hold", new Filter() {
+            @Override
+            public void init(FilterConfig filterConfig) {
+                // nothing to do
+            }
+
+            @Override
+            public void doFilter(ServletRequest request,
+                    ServletResponse response, FilterChain chain)
+                    throws IOException, ServletException {
+                if (((HttpServletRequest) request).getHeader(HOLD) != null) {
+                    try {
+                        RELEASE.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                chain.doFilter(request, response);
+            }
+
+            @Override
+            public void destroy() {
+                // nothing to do
+            }
+        }).addMappingForUrlPatterns(EnumSet.of(DispatcherType.REQUEST), true,
+                "/swagger.json");
+    }
+}
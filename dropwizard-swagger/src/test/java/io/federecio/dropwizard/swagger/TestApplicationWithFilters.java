@@ -0,0 +1,71 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import java.util.List;
+import java.util.Map;
+import io.dropwizard.Application;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.setup.Environment;
+import io.swagger.core.filter.AbstractSpecFilter;
+import io.swagger.model.ApiDescription;
+import io.swagger.models.Operation;
+
+public class TestApplicationWithFilters extends Application<TestConfiguration> {
+
+    public static final String BETA_HEADER = "X-Beta";
+
+    @Override
+    public void initialize(Bootstrap<TestConfiguration> bootstrap) {
+        bootstrap.addBundle(new SwaggerBundle<TestConfiguration>() {
+            @Override
+            protected SwaggerBundleConfiguration getSwaggerBundleConfiguration(
+                    TestConfiguration configuration) {
+                final SwaggerBundleConfiguration swaggerBundleConfiguration = configuration.swaggerBundleConfiguration;
+                swaggerBundleConfiguration.getFilterPipeline()
+                        .addBuildTimeFilter(new DraftFilter())
+                        .addServeTimeFilter(new BetaFilter());
+                return swaggerBundleConfiguration;
+            }
+        });
+    }
+
+    @Override
+    public void run(TestConfiguration configuration, Environment environment) throws Exception {
+        environment.jersey().register(new TestResource());
+    }
+
+    public static class DraftFilter extends AbstractSpecFilter {
+        @Override
+        public boolean isOperationAllowed(Operation operation,
+                ApiDescription api, Map<String, List<String>> params,
+                Map<String, String> cookies,
+                Map<String, List<String>> headers) {
+            return !"getDraft".equals(operation.getOperationId());
+        }
+    }
+
+    public static class BetaFilter extends AbstractSpecFilter {
+        @Override
+        public boolean isOperationAllowed(Operation operation,
+                ApiDescription api, Map<String, List<String>> params,
+                Map<String, String> cookies,
+                Map<String, List<String>> headers) {
+            return operation.getTags() == null
+                    || !operation.getTags().contains("beta")
+                    || headers.containsKey(BETA_HEADER);
+        }
+    }
+}
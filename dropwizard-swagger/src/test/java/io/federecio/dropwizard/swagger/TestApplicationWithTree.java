@@ -0,0 +1,42 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.swagger;
+
+import io.dropwizard.Application;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.setup.Environment;
+import io.federecio.dropwizard.tree.TreeResource;
+
+public class TestApplicationWithTree extends Application<TestConfiguration> {
+
+    @Override
+    public void initialize(Bootstrap<TestConfiguration> bootstrap) {
+        final SwaggerBundle<TestConfiguration> bundle = new SwaggerBundle<TestConfiguration>() {
+            @Override
+            protected SwaggerBundleConfiguration getSwaggerBundleConfiguration(TestConfiguration configuration) {
+                return configuration.swaggerBundleConfiguration;
+            }
+        };
+        bootstrap.addBundle(bundle);
+        bootstrap.addCommand(
+                new SwaggerLoadCommand<>(bundle, TestConfiguration.class));
+    }
+
+    @Override
+    public void run(TestConfiguration configuration, Environment environment) throws Exception {
+        environment.jersey().register(new TestResource());
+        environment.jersey().register(new TreeResource());
+    }
+}
@@ -0,0 +1,55 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.tree;
+
+import java.util.List;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+
+/**
+ * Operations on a recursive model, kept out of the default resource package
+ * so that they only appear in the specifications of the tests asking for
+ * them
+ */
+@Path("/tree")
+@Api("/tree")
+@Produces(MediaType.APPLICATION_JSON)
+public class TreeResource {
+
+    @GET
+    @Path("/node")
+    @ApiOperation("Returns a tree of nodes")
+    public TreeNode getNode() {
+        return new TreeNode();
+    }
+
+    @POST
+    @Path("/node")
+    @ApiOperation("Stores a tree of nodes")
+    public TreeNode postNode(final TreeNode node) {
+        return node;
+    }
+
+    public static class TreeNode {
+        public String name;
+        public TreeNode parent;
+        public List<TreeNode> children;
+    }
+}
@@ -0,0 +1,68 @@
+//  Copyright (C) 2014 Federico Recio
+/**
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.federecio.dropwizard.validated;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiModelProperty;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+
+/**
+ * Operations whose requests are validated against the specification, kept
+ * out of the default resource package so that they only appear in the
+ * specification of the validation test
+ */
+@Path("/orders")
+@Api("/orders")
+@Produces(MediaType.APPLICATION_JSON)
+public class ValidatedResource {
+
+    @GET
+    @Path("/{id}")
+    @ApiOperation("Find an order")
+    public Order getOrder(@PathParam("id") String id,
+            @ApiParam(allowableValues = "open, closed") @QueryParam("status") String status) {
+        final Order order = new Order();
+        order.item = id;
+        order.quantity = 1;
+        return order;
+    }
+
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @ApiOperation("Place an order")
+    public Order placeOrder(Order order) {
+        return order;
+    }
+
+    public static class Order {
+        @JsonProperty
+        @ApiModelProperty(required = true)
+        public String item;
+
+        @JsonProperty
+        @ApiModelProperty(allowableValues = "range[1, 100]")
+        public int quantity;
+    }
+}